@@ -0,0 +1,145 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.benchmarks;
+
+import org.ehcache.benchmarks.clustered.PassthroughCluster;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+
+import static org.ehcache.clustered.client.config.builders.ClusteredResourcePoolBuilder.clusteredDedicated;
+import static org.ehcache.config.builders.ResourcePoolsBuilder.newResourcePoolsBuilder;
+
+/**
+ * The tier combinations, and hence the {@link org.ehcache.core.spi.store.Store} implementations, exercised by the
+ * benchmarks.
+ * <p>
+ * Authoritative tiers are sized to hold the whole key space, while caching tiers stacked on top of them only hold a
+ * tenth of it so that the benchmarks go through faulting and eviction on the tiered paths.
+ */
+public enum CacheTopology {
+
+  HEAP(false, false) {
+    @Override
+    ResourcePoolsBuilder resources(long keySpace, int valueSize) {
+      return newResourcePoolsBuilder().heap(keySpace);
+    }
+  },
+  OFFHEAP(false, false) {
+    @Override
+    ResourcePoolsBuilder resources(long keySpace, int valueSize) {
+      return newResourcePoolsBuilder().offheap(megabytes(keySpace, valueSize), MemoryUnit.MB);
+    }
+  },
+  DISK(true, false) {
+    @Override
+    ResourcePoolsBuilder resources(long keySpace, int valueSize) {
+      return newResourcePoolsBuilder().disk(megabytes(keySpace, valueSize), MemoryUnit.MB);
+    }
+  },
+  HEAP_OFFHEAP(false, false) {
+    @Override
+    ResourcePoolsBuilder resources(long keySpace, int valueSize) {
+      return newResourcePoolsBuilder().heap(cachingEntries(keySpace))
+        .offheap(megabytes(keySpace, valueSize), MemoryUnit.MB);
+    }
+  },
+  HEAP_DISK(true, false) {
+    @Override
+    ResourcePoolsBuilder resources(long keySpace, int valueSize) {
+      return newResourcePoolsBuilder().heap(cachingEntries(keySpace))
+        .disk(megabytes(keySpace, valueSize), MemoryUnit.MB);
+    }
+  },
+  HEAP_OFFHEAP_DISK(true, false) {
+    @Override
+    ResourcePoolsBuilder resources(long keySpace, int valueSize) {
+      long megabytes = megabytes(keySpace, valueSize);
+      return newResourcePoolsBuilder().heap(cachingEntries(keySpace))
+        .offheap(megabytes / 2, MemoryUnit.MB)
+        .disk(megabytes, MemoryUnit.MB);
+    }
+  },
+  CLUSTERED(false, true) {
+    @Override
+    ResourcePoolsBuilder resources(long keySpace, int valueSize) {
+      return newResourcePoolsBuilder()
+        .with(clusteredDedicated(PassthroughCluster.RESOURCE, megabytes(keySpace, valueSize), MemoryUnit.MB));
+    }
+  },
+  HEAP_CLUSTERED(false, true) {
+    @Override
+    ResourcePoolsBuilder resources(long keySpace, int valueSize) {
+      return newResourcePoolsBuilder().heap(cachingEntries(keySpace))
+        .with(clusteredDedicated(PassthroughCluster.RESOURCE, megabytes(keySpace, valueSize), MemoryUnit.MB));
+    }
+  };
+
+  private static final int ENTRY_OVERHEAD = 128;
+  private static final long MINIMUM_MEGABYTES = 16;
+
+  private final boolean persistent;
+  private final boolean clustered;
+
+  CacheTopology(boolean persistent, boolean clustered) {
+    this.persistent = persistent;
+    this.clustered = clustered;
+  }
+
+  /**
+   * Returns the resource pools of a cache of this topology.
+   *
+   * @param keySpace the number of distinct keys
+   * @param valueSize the size of the values, in bytes
+   * @return the resource pools builder
+   */
+  abstract ResourcePoolsBuilder resources(long keySpace, int valueSize);
+
+  /**
+   * Indicates whether caches of this topology need a persistence directory.
+   *
+   * @return {@code true} if a disk tier is used
+   */
+  boolean isPersistent() {
+    return persistent;
+  }
+
+  /**
+   * Indicates whether caches of this topology need a cluster.
+   *
+   * @return {@code true} if a clustered tier is used
+   */
+  boolean isClustered() {
+    return clustered;
+  }
+
+  /**
+   * Returns the size, in megabytes, of a tier holding the whole key space with some headroom.
+   *
+   * @param keySpace the number of distinct keys
+   * @param valueSize the size of the values, in bytes
+   * @return the tier size in megabytes
+   */
+  static long megabytes(long keySpace, int valueSize) {
+    long bytes = keySpace * (valueSize + ENTRY_OVERHEAD);
+    return Math.max(MINIMUM_MEGABYTES, (bytes + bytes / 2) / MemoryUnit.MB.toBytes(1) + 1);
+  }
+
+  private static long cachingEntries(long keySpace) {
+    return Math.max(1, keySpace / 10);
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ehcache.benchmarks;
+
+import org.ehcache.Cache;
+import org.ehcache.CacheManager;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.impl.config.store.disk.DiskAccess;
+import org.ehcache.impl.config.store.disk.OffHeapDiskStoreConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.ehcache.config.builders.CacheConfigurationBuilder.newCacheConfigurationBuilder;
+import static org.ehcache.config.builders.CacheManagerBuilder.newCacheManagerBuilder;
+import static org.ehcache.config.builders.ResourcePoolsBuilder.newResourcePoolsBuilder;
+import static org.ehcache.impl.config.store.disk.OffHeapDiskStoreConfiguration.DEFAULT_COMPRESSION_THRESHOLD;
+import static org.ehcache.impl.config.store.disk.OffHeapDiskStoreConfiguration.DEFAULT_DISK_SEGMENTS;
+import static org.ehcache.impl.config.store.disk.OffHeapDiskStoreConfiguration.DEFAULT_WRITER_CONCURRENCY;
+import static org.ehcache.impl.config.store.disk.OffHeapDiskStoreConfiguration.DEFAULT_WRITE_QUEUE_SIZE;
+
+/**
+ * Throughput of a disk only cache, with shared and copy-on-write mappings of the segment tables.
+ * <p>
+ * The default datasets fit in the memory of any machine, so that a default run stays short and small on disk. Once
+ * the dataset outgrows the memory, reads stop being served from the page cache of the operating system and the disk
+ * tier competes for it with the other processes of the machine: compare both disk accesses on such a dataset by
+ * running the benchmark jar with a size above the memory of the machine, for instance
+ * <pre>
+ *   ./gradlew :benchmarks:jmhJar
+ *   java -jar benchmarks/build/libs/*-jmh.jar DiskTierBenchmark -p datasetMegabytes=16384
+ * </pre>
+ * which needs as much free disk space and takes a while to populate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DiskTierBenchmark {
+
+  private static final String CACHE = "benchmark";
+  private static final int VALUE_SIZE = 4096;
+
+  /**
+   * Size of the cached data, in megabytes.
+   */
+  @Param({"64", "256"})
+  public long datasetMegabytes;
+
+  @Param({"MEMORY_MAPPED", "EXPLICIT_IO"})
+  public DiskAccess diskAccess;
+
+  @Param({"UNIFORM", "ZIPFIAN"})
+  public KeyDistribution distribution;
+
+  private Path persistence;
+  private CacheManager cacheManager;
+  private Cache<Long, byte[]> cache;
+  private long keySpace;
+  private byte[] value;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    keySpace = MemoryUnit.MB.toBytes(datasetMegabytes) / VALUE_SIZE;
+    persistence = Files.createTempDirectory("ehcache-benchmark");
+    cacheManager = newCacheManagerBuilder()
+      .using(new DefaultPersistenceConfiguration(persistence.toFile()))
+      .withCache(CACHE, newCacheConfigurationBuilder(Long.class, byte[].class,
+        newResourcePoolsBuilder().disk(CacheTopology.megabytes(keySpace, VALUE_SIZE), MemoryUnit.MB))
+        .withService(new OffHeapDiskStoreConfiguration(null, DEFAULT_WRITER_CONCURRENCY, DEFAULT_DISK_SEGMENTS, null,
+          DEFAULT_COMPRESSION_THRESHOLD, false, null, Long.MAX_VALUE, DEFAULT_WRITE_QUEUE_SIZE, null, Long.MAX_VALUE, diskAccess)))
+      .build(true);
+    cache = cacheManager.getCache(CACHE, Long.class, byte[].class);
+
+    value = new byte[VALUE_SIZE];
+    ThreadLocalRandom.current().nextBytes(value);
+    for (long key = 0; key < keySpace; key++) {
+      cache.put(key, value);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    try {
+      if (cacheManager != null) {
+        cacheManager.close();
+      }
+    } finally {
+      try (Stream<Path> files = Files.walk(persistence)) {
+        files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+      }
+    }
+  }
+
+  /**
+   * The key sequence replayed by a benchmark thread.
+   */
+  @State(Scope.Thread)
+  public static class Keys {
+
+    private static final int SEQUENCE_LENGTH = 1 << 16;
+
+    private long[] keys;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp(DiskTierBenchmark benchmark, ThreadParams threads) {
+      keys = benchmark.distribution.sequence(benchmark.keySpace, SEQUENCE_LENGTH, 31L * threads.getThreadIndex() + 17L);
+    }
+
+    long next() {
+      int index = cursor;
+      cursor = (index + 1) & (SEQUENCE_LENGTH - 1);
+      return keys[index];
+    }
+  }
+
+  @Benchmark
+  public byte[] get(Keys keys) {
+    return cache.get(keys.next());
+  }
+
+  @Benchmark
+  public void put(Keys keys) {
+    cache.put(keys.next(), value);
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.benchmarks;
+
+import org.ehcache.Cache;
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.config.store.heap.OnHeapAccessRecordingConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.ehcache.config.builders.CacheConfigurationBuilder.newCacheConfigurationBuilder;
+import static org.ehcache.config.builders.CacheManagerBuilder.newCacheManagerBuilder;
+import static org.ehcache.config.builders.ResourcePoolsBuilder.heap;
+
+/**
+ * Scalability of heap hits when every thread reads the same key.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(64)
+public class HotKeyBenchmark {
+
+  /**
+   * Expiry policies, selecting the different access time and expiry update paths of the heap tier.
+   */
+  public enum Expiry {
+    NONE(ExpiryPolicyBuilder.noExpiration()),
+    TIME_TO_LIVE(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofHours(1))),
+    TIME_TO_IDLE(ExpiryPolicyBuilder.timeToIdleExpiration(Duration.ofHours(1)));
+
+    private final ExpiryPolicy<Object, Object> policy;
+
+    Expiry(ExpiryPolicy<Object, Object> policy) {
+      this.policy = policy;
+    }
+  }
+
+  @Param({"NONE", "TIME_TO_LIVE", "TIME_TO_IDLE"})
+  public Expiry expiry;
+
+  @Param({"IMMEDIATE", "BUFFERED"})
+  public OnHeapAccessRecordingConfiguration.Mode accessRecording;
+
+  private CacheManager cacheManager;
+  private Cache<Long, String> cache;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    cacheManager = newCacheManagerBuilder()
+      .withCache("hot", newCacheConfigurationBuilder(Long.class, String.class, heap(1000))
+        .withExpiry(expiry.policy)
+        .withService(new OnHeapAccessRecordingConfiguration(accessRecording)))
+      .build(true);
+    cache = cacheManager.getCache("hot", Long.class, String.class);
+    cache.put(0L, "value");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    cacheManager.close();
+  }
+
+  @Benchmark
+  public String get() {
+    return cache.get(0L);
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Distributions of the keys accessed by the benchmarks.
+ */
+public enum KeyDistribution {
+
+  /**
+   * Every key is equally likely to be accessed.
+   */
+  UNIFORM {
+    @Override
+    long[] sequence(long keySpace, int length, long seed) {
+      Random random = new Random(seed);
+      long[] keys = new long[length];
+      for (int i = 0; i < length; i++) {
+        keys[i] = (long) (random.nextDouble() * keySpace);
+      }
+      return keys;
+    }
+  },
+
+  /**
+   * Key popularity follows a Zipf law of exponent {@value #ZIPF_EXPONENT}, the popular keys being scattered over the
+   * key space.
+   */
+  ZIPFIAN {
+    @Override
+    long[] sequence(long keySpace, int length, long seed) {
+      Random random = new Random(seed);
+      double zetaN = zeta(keySpace);
+      double alpha = 1.0 / (1.0 - ZIPF_EXPONENT);
+      double eta = (1.0 - Math.pow(2.0 / keySpace, 1.0 - ZIPF_EXPONENT)) / (1.0 - zeta(2) / zetaN);
+      double half = 1.0 + Math.pow(0.5, ZIPF_EXPONENT);
+
+      long[] keys = new long[length];
+      for (int i = 0; i < length; i++) {
+        double u = random.nextDouble();
+        double uz = u * zetaN;
+        long rank;
+        if (uz < 1.0) {
+          rank = 0;
+        } else if (uz < half) {
+          rank = 1;
+        } else {
+          rank = Math.min(keySpace - 1, (long) (keySpace * Math.pow(eta * u - eta + 1.0, alpha)));
+        }
+        keys[i] = scatter(rank, keySpace);
+      }
+      return keys;
+    }
+  };
+
+  static final double ZIPF_EXPONENT = 0.99;
+
+  /**
+   * Returns a sequence of keys, in {@code [0, keySpace)}, following this distribution.
+   *
+   * @param keySpace the number of distinct keys
+   * @param length the length of the sequence
+   * @param seed the random seed
+   * @return the key sequence
+   */
+  abstract long[] sequence(long keySpace, int length, long seed);
+
+  private static double zeta(long n) {
+    double sum = 0.0;
+    for (long i = 1; i <= n; i++) {
+      sum += 1.0 / Math.pow(i, ZIPF_EXPONENT);
+    }
+    return sum;
+  }
+
+  private static long scatter(long rank, long keySpace) {
+    long h = rank * 0x9e3779b97f4a7c15L;
+    h ^= h >>> 32;
+    return Math.floorMod(h, keySpace);
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.benchmarks;
+
+import org.ehcache.core.spi.store.TransientStateHolder;
+import org.ehcache.impl.serialization.CompactJavaSerializer;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
+import org.ehcache.spi.persistence.StateHolder;
+import org.ehcache.spi.persistence.StateRepository;
+import org.ehcache.spi.serialization.Serializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Throughput of the Java serialization based serializers on small POJO values, as written on every put into an
+ * off-heap or disk tier. Compare the results of two commits to measure a change against the previous implementation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SerializerBenchmark {
+
+  /**
+   * The serializers under test.
+   */
+  public enum Implementation {
+    COMPACT {
+      @Override
+      Serializer<Serializable> create() {
+        CompactJavaSerializer<Serializable> serializer = new CompactJavaSerializer<>(SerializerBenchmark.class.getClassLoader());
+        TransientStateHolder<Integer, ObjectStreamClass> state = new TransientStateHolder<>();
+        serializer.init(new StateRepository() {
+          @Override
+          @SuppressWarnings("unchecked")
+          public <K extends Serializable, V extends Serializable> StateHolder<K, V> getPersistentStateHolder(String name, Class<K> keyClass, Class<V> valueClass, Predicate<Class<?>> isClassPermitted, ClassLoader classLoader) {
+            return (StateHolder<K, V>) state;
+          }
+        });
+        return serializer;
+      }
+    },
+    PLAIN {
+      @Override
+      Serializer<Serializable> create() {
+        return new PlainJavaSerializer<>(SerializerBenchmark.class.getClassLoader());
+      }
+    };
+
+    abstract Serializer<Serializable> create();
+  }
+
+  /**
+   * A small value type, typical of cached domain objects.
+   */
+  public static class Pojo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long id;
+    private final String name;
+    private final int quantity;
+    private final double price;
+
+    Pojo(long id, String name, int quantity, double price) {
+      this.id = id;
+      this.name = name;
+      this.quantity = quantity;
+      this.price = price;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (o instanceof Pojo) {
+        Pojo other = (Pojo) o;
+        return id == other.id && name.equals(other.name) && quantity == other.quantity && price == other.price;
+      } else {
+        return false;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(id);
+    }
+  }
+
+  @Param({"COMPACT", "PLAIN"})
+  public Implementation implementation;
+
+  private Serializer<Serializable> serializer;
+  private Pojo value;
+  private ByteBuffer serialized;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    serializer = implementation.create();
+    value = new Pojo(42L, "widget-42", 7, 19.99);
+    serialized = serializer.serialize(value);
+  }
+
+  @Benchmark
+  public ByteBuffer serialize() {
+    return serializer.serialize(value);
+  }
+
+  @Benchmark
+  public Object read() throws ClassNotFoundException {
+    return serializer.read(serialized.duplicate());
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.benchmarks;
+
+import org.ehcache.Cache;
+import org.ehcache.CacheManager;
+import org.ehcache.benchmarks.clustered.PassthroughCluster;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.ehcache.clustered.client.config.builders.ClusteringServiceConfigurationBuilder.cluster;
+import static org.ehcache.config.builders.CacheConfigurationBuilder.newCacheConfigurationBuilder;
+import static org.ehcache.config.builders.CacheManagerBuilder.newCacheManagerBuilder;
+
+/**
+ * Throughput of the {@link Cache} operations over each {@link CacheTopology}.
+ * <p>
+ * Every thread replays its own precomputed key sequence, so that the cost of generating keys stays out of the
+ * measurements. The number of threads is the one given to JMH ({@code -t}, or {@code -Pjmh.threads} through Gradle).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class StoreBenchmark {
+
+  private static final String CACHE = "benchmark";
+
+  @Param({"HEAP", "OFFHEAP", "DISK", "HEAP_OFFHEAP", "HEAP_DISK", "HEAP_OFFHEAP_DISK", "CLUSTERED", "HEAP_CLUSTERED"})
+  public CacheTopology topology;
+
+  @Param({"UNIFORM", "ZIPFIAN"})
+  public KeyDistribution distribution;
+
+  @Param({"16", "1024", "16384"})
+  public int valueSize;
+
+  @Param({"100000"})
+  public long keySpace;
+
+  private PassthroughCluster cluster;
+  private Path persistence;
+  private CacheManager cacheManager;
+  private Cache<Long, byte[]> cache;
+  private byte[] value;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    CacheManagerBuilder<CacheManager> builder = newCacheManagerBuilder();
+    if (topology.isPersistent()) {
+      persistence = Files.createTempDirectory("ehcache-benchmark");
+      builder = builder.using(new DefaultPersistenceConfiguration(persistence.toFile()));
+    }
+    if (topology.isClustered()) {
+      cluster = PassthroughCluster.start("benchmark", 2 * CacheTopology.megabytes(keySpace, valueSize));
+      builder = builder.using(cluster(cluster.getClusterUri()).autoCreate(server -> server).build());
+    }
+    cacheManager = builder
+      .withCache(CACHE, newCacheConfigurationBuilder(Long.class, byte[].class, topology.resources(keySpace, valueSize)))
+      .build(true);
+    cache = cacheManager.getCache(CACHE, Long.class, byte[].class);
+
+    value = new byte[valueSize];
+    ThreadLocalRandom.current().nextBytes(value);
+    for (long key = 0; key < keySpace; key++) {
+      cache.put(key, value);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    try {
+      if (cacheManager != null) {
+        cacheManager.close();
+      }
+    } finally {
+      if (cluster != null) {
+        cluster.close();
+      }
+      if (persistence != null) {
+        try (Stream<Path> files = Files.walk(persistence)) {
+          files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+      }
+    }
+  }
+
+  /**
+   * The key sequence replayed by a benchmark thread.
+   */
+  @State(Scope.Thread)
+  public static class Keys {
+
+    private static final int SEQUENCE_LENGTH = 1 << 16;
+
+    private long[] keys;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp(StoreBenchmark benchmark, ThreadParams threads) {
+      keys = benchmark.distribution.sequence(benchmark.keySpace, SEQUENCE_LENGTH, 31L * threads.getThreadIndex() + 17L);
+    }
+
+    int next() {
+      int index = cursor;
+      cursor = (index + 1) & (SEQUENCE_LENGTH - 1);
+      return index;
+    }
+  }
+
+  /**
+   * The read/write sequence replayed by a benchmark thread alongside its {@link Keys}. Only
+   * {@link StoreBenchmark#mixed} uses it, so that the other benchmarks do not run once per read percentage.
+   */
+  @State(Scope.Thread)
+  public static class Operations {
+
+    /**
+     * Share of reads in the {@link StoreBenchmark#mixed} benchmark.
+     */
+    @Param({"100", "90", "50"})
+    public int readPercentage;
+
+    private boolean[] reads;
+
+    @Setup(Level.Trial)
+    public void setUp(ThreadParams threads) {
+      reads = new boolean[Keys.SEQUENCE_LENGTH];
+      Random random = new Random(37L * threads.getThreadIndex() + 11L);
+      for (int i = 0; i < reads.length; i++) {
+        reads[i] = random.nextInt(100) < readPercentage;
+      }
+    }
+  }
+
+  @Benchmark
+  public byte[] get(Keys keys) {
+    return cache.get(keys.keys[keys.next()]);
+  }
+
+  @Benchmark
+  public void put(Keys keys) {
+    cache.put(keys.keys[keys.next()], value);
+  }
+
+  /**
+   * Reads or writes, following {@link Operations#readPercentage}.
+   */
+  @Benchmark
+  public void mixed(Keys keys, Operations operations, Blackhole blackhole) {
+    int index = keys.next();
+    long key = keys.keys[index];
+    if (operations.reads[index]) {
+      blackhole.consume(cache.get(key));
+    } else {
+      cache.put(key, value);
+    }
+  }
+}
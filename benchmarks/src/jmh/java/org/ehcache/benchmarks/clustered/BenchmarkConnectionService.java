@@ -0,0 +1,75 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.benchmarks.clustered;
+
+import org.terracotta.connection.Connection;
+import org.terracotta.connection.ConnectionException;
+import org.terracotta.connection.ConnectionPropertyNames;
+import org.terracotta.connection.ConnectionService;
+import org.terracotta.passthrough.PassthroughServer;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link ConnectionService} connecting clients to the in-process passthrough servers of the benchmarks.
+ * <p>
+ * Servers are looked up by the authority of the cluster {@code URI}, this service being loaded through the
+ * {@link java.util.ServiceLoader} provider-configuration file shipped with the benchmarks.
+ */
+public class BenchmarkConnectionService implements ConnectionService {
+
+  private static final Map<String, PassthroughServer> SERVERS = new ConcurrentHashMap<>();
+
+  static void add(URI uri, PassthroughServer server) {
+    if (SERVERS.putIfAbsent(uri.getAuthority(), server) != null) {
+      throw new IllegalStateException("Server already registered for " + uri);
+    }
+  }
+
+  static void remove(URI uri) {
+    SERVERS.remove(uri.getAuthority());
+  }
+
+  @Override
+  public boolean handlesURI(URI uri) {
+    return uri.getAuthority() != null && SERVERS.containsKey(uri.getAuthority());
+  }
+
+  @Override
+  public boolean handlesConnectionType(String connectionType) {
+    return false;
+  }
+
+  @Override
+  public Connection connect(URI uri, Properties properties) throws ConnectionException {
+    PassthroughServer server = SERVERS.get(uri.getAuthority());
+    if (server == null) {
+      throw new IllegalArgumentException("No server available for " + uri);
+    }
+    return server.connectNewClient(properties.getProperty(ConnectionPropertyNames.CONNECTION_NAME, "Ehcache:BENCHMARK"));
+  }
+
+  @Override
+  public Connection connect(Iterable<InetSocketAddress> servers, Properties properties) {
+    throw new UnsupportedOperationException("Operation not supported. Use connect(URI, Properties) instead");
+  }
+}
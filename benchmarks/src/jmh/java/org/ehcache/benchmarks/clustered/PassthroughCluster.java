@@ -0,0 +1,98 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.benchmarks.clustered;
+
+import org.ehcache.clustered.client.internal.ClusterTierManagerClientEntityService;
+import org.ehcache.clustered.client.internal.lock.VoltronReadWriteLockEntityClientService;
+import org.ehcache.clustered.client.internal.store.ClusterTierClientEntityService;
+import org.ehcache.clustered.lock.server.VoltronReadWriteLockServerEntityService;
+import org.ehcache.clustered.server.ClusterTierManagerServerEntityService;
+import org.ehcache.clustered.server.store.ClusterTierServerEntityService;
+import org.terracotta.offheapresource.OffHeapResourcesProvider;
+import org.terracotta.offheapresource.config.MemoryUnit;
+import org.terracotta.offheapresource.config.OffheapResourcesType;
+import org.terracotta.offheapresource.config.ResourceType;
+import org.terracotta.passthrough.PassthroughServer;
+
+import java.math.BigInteger;
+import java.net.URI;
+
+/**
+ * An in-process single server cluster backing the clustered benchmarks.
+ */
+public final class PassthroughCluster implements AutoCloseable {
+
+  /**
+   * Name of the server offheap resource clustered caches are carved from.
+   */
+  public static final String RESOURCE = "primary-server-resource";
+
+  private final URI clusterUri;
+  private final PassthroughServer server;
+
+  private PassthroughCluster(URI clusterUri, PassthroughServer server) {
+    this.clusterUri = clusterUri;
+    this.server = server;
+  }
+
+  /**
+   * Starts a new server.
+   *
+   * @param name the server name, unique amongst running servers
+   * @param resourceSizeInMegabytes the size of the {@link #RESOURCE} offheap resource
+   * @return the started cluster
+   */
+  public static PassthroughCluster start(String name, long resourceSizeInMegabytes) {
+    PassthroughServer server = new PassthroughServer();
+    server.registerServerEntityService(new ClusterTierManagerServerEntityService());
+    server.registerClientEntityService(new ClusterTierManagerClientEntityService());
+    server.registerServerEntityService(new ClusterTierServerEntityService());
+    server.registerClientEntityService(new ClusterTierClientEntityService());
+    server.registerServerEntityService(new VoltronReadWriteLockServerEntityService());
+    server.registerClientEntityService(new VoltronReadWriteLockEntityClientService());
+
+    ResourceType resource = new ResourceType();
+    resource.setName(RESOURCE);
+    resource.setUnit(MemoryUnit.MB);
+    resource.setValue(BigInteger.valueOf(resourceSizeInMegabytes));
+    OffheapResourcesType resources = new OffheapResourcesType();
+    resources.getResource().add(resource);
+    server.registerExtendedConfiguration(new OffHeapResourcesProvider(resources));
+
+    server.start(true, false);
+
+    URI clusterUri = URI.create("terracotta://" + name + ":9410/benchmark");
+    BenchmarkConnectionService.add(clusterUri, server);
+    return new PassthroughCluster(clusterUri, server);
+  }
+
+  /**
+   * Returns the {@code URI} clients connect to.
+   *
+   * @return the cluster {@code URI}
+   */
+  public URI getClusterUri() {
+    return clusterUri;
+  }
+
+  @Override
+  public void close() {
+    BenchmarkConnectionService.remove(clusterUri);
+    server.stop();
+  }
+}
@@ -27,6 +27,7 @@ import org.ehcache.spi.service.ServiceConfiguration;
 public class ClusteredStoreConfiguration implements ServiceConfiguration<ClusteredStore.Provider, Consistency> {
 
   private final Consistency consistency;
+  private final int chainCacheSize;
 
   /**
    * Creates a new configuration with consistency set to {@link Consistency#EVENTUAL EVENTUAL}.
@@ -41,7 +42,26 @@ public class ClusteredStoreConfiguration implements ServiceConfiguration<Cluster
    * @param consistency the {@code Consistency}
    */
   public ClusteredStoreConfiguration(Consistency consistency) {
+    this(consistency, 0);
+  }
+
+  /**
+   * Creates a new configuration with the provided {@link Consistency} and chain cache size.
+   * <p>
+   * A non-zero chain cache size keeps up to that many of the chains fetched from the server on the client, and has the
+   * server send a chain again only if it changed since it was fetched. Servers older than this client cannot answer
+   * these requests, so the cache is disabled by default.
+   *
+   * @param consistency the {@code Consistency}
+   * @param chainCacheSize the number of chains cached on the client, {@code 0} to disable the cache
+   * @throws IllegalArgumentException if {@code chainCacheSize} is negative
+   */
+  public ClusteredStoreConfiguration(Consistency consistency, int chainCacheSize) {
+    if (chainCacheSize < 0) {
+      throw new IllegalArgumentException("Chain cache size must be non-negative: " + chainCacheSize);
+    }
     this.consistency = consistency;
+    this.chainCacheSize = chainCacheSize;
   }
 
   /**
@@ -61,6 +81,15 @@ public class ClusteredStoreConfiguration implements ServiceConfiguration<Cluster
     return consistency;
   }
 
+  /**
+   * Returns the number of chains cached on the client, {@code 0} if the cache is disabled.
+   *
+   * @return the chain cache size
+   */
+  public int getChainCacheSize() {
+    return chainCacheSize;
+  }
+
   @Override
   public Consistency derive() {
     return getConsistency();
@@ -68,6 +97,6 @@ public class ClusteredStoreConfiguration implements ServiceConfiguration<Cluster
 
   @Override
   public ClusteredStoreConfiguration build(Consistency representation) {
-    return new ClusteredStoreConfiguration(representation);
+    return new ClusteredStoreConfiguration(representation, chainCacheSize);
   }
 }
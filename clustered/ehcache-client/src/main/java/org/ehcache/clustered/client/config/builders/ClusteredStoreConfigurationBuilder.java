@@ -27,6 +27,7 @@ import org.ehcache.config.Builder;
 public class ClusteredStoreConfigurationBuilder implements Builder<ClusteredStoreConfiguration> {
 
   private final Consistency consistency;
+  private final int chainCacheSize;
 
   /**
    * Creates a new builder instance with the provided {@link Consistency} configured.
@@ -39,7 +40,24 @@ public class ClusteredStoreConfigurationBuilder implements Builder<ClusteredStor
   }
 
   ClusteredStoreConfigurationBuilder(Consistency consistency) {
+    this(consistency, 0);
+  }
+
+  private ClusteredStoreConfigurationBuilder(Consistency consistency, int chainCacheSize) {
     this.consistency = consistency;
+    this.chainCacheSize = chainCacheSize;
+  }
+
+  /**
+   * Returns a new builder caching up to the given number of chains fetched from the server on the client.
+   *
+   * @param chainCacheSize the number of chains cached on the client, {@code 0} to disable the cache
+   * @return a new {@code Builder} instance
+   *
+   * @see ClusteredStoreConfiguration#ClusteredStoreConfiguration(Consistency, int)
+   */
+  public ClusteredStoreConfigurationBuilder withChainCacheSize(int chainCacheSize) {
+    return new ClusteredStoreConfigurationBuilder(consistency, chainCacheSize);
   }
 
   /**
@@ -47,6 +65,6 @@ public class ClusteredStoreConfigurationBuilder implements Builder<ClusteredStor
    */
   @Override
   public ClusteredStoreConfiguration build() {
-    return new ClusteredStoreConfiguration(consistency);
+    return new ClusteredStoreConfiguration(consistency, chainCacheSize);
   }
 }
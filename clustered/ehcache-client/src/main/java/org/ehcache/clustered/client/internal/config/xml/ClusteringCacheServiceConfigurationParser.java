@@ -35,16 +35,23 @@ public class ClusteringCacheServiceConfigurationParser extends ClusteringParser<
 
   public static final String CLUSTERED_STORE_ELEMENT = "clustered-store";
   public static final String CONSISTENCY_ATTRIBUTE = "consistency";
+  public static final String CHAIN_CACHE_SIZE_ATTRIBUTE = "chain-cache-size";
 
   @Override
   public ClusteredStoreConfiguration parse(Element fragment, ClassLoader classLoader) {
     if (CLUSTERED_STORE_ELEMENT.equals(fragment.getLocalName())) {
       Attr consistency = fragment.getAttributeNode(CONSISTENCY_ATTRIBUTE);
+      ClusteredStoreConfigurationBuilder builder;
       if (consistency == null) {
-        return ClusteredStoreConfigurationBuilder.withConsistency(Consistency.EVENTUAL).build();
+        builder = ClusteredStoreConfigurationBuilder.withConsistency(Consistency.EVENTUAL);
       } else {
-        return ClusteredStoreConfigurationBuilder.withConsistency(Consistency.valueOf(consistency.getValue().toUpperCase())).build();
+        builder = ClusteredStoreConfigurationBuilder.withConsistency(Consistency.valueOf(consistency.getValue().toUpperCase()));
       }
+      Attr chainCacheSize = fragment.getAttributeNode(CHAIN_CACHE_SIZE_ATTRIBUTE);
+      if (chainCacheSize != null) {
+        builder = builder.withChainCacheSize(Integer.parseInt(chainCacheSize.getValue()));
+      }
+      return builder.build();
     } else {
       throw new XmlConfigurationException(String.format("XML configuration element <%s> in <%s> is not supported",
         fragment.getTagName(), (fragment.getParentNode() == null ? "null" : fragment.getParentNode().getLocalName())));
@@ -61,6 +68,9 @@ public class ClusteringCacheServiceConfigurationParser extends ClusteringParser<
     Consistency consistency = clusteredStoreConfiguration.getConsistency();
     Element rootElement = doc.createElementNS(NAMESPACE, TC_CLUSTERED_NAMESPACE_PREFIX + CLUSTERED_STORE_ELEMENT);
     rootElement.setAttribute(CONSISTENCY_ATTRIBUTE, consistency.name().toLowerCase());
+    if (clusteredStoreConfiguration.getChainCacheSize() > 0) {
+      rootElement.setAttribute(CHAIN_CACHE_SIZE_ATTRIBUTE, Integer.toString(clusteredStoreConfiguration.getChainCacheSize()));
+    }
     return rootElement;
   }
 
@@ -47,7 +47,9 @@ import org.ehcache.spi.service.ServiceDependencies;
 
 import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeoutException;
 
 import static org.ehcache.core.exceptions.ExceptionFactory.newCacheLoadingException;
@@ -79,6 +81,30 @@ public class ClusteredLoaderWriterStore<K, V> extends ClusteredStore<K, V> imple
     return (LockingServerStoreProxy) storeProxy;
   }
 
+  @Override
+  public CompletionStage<ValueHolder<V>> getAsync(K key) {
+    // reads may invoke the loader while holding the key lock
+    return getSynchronously(key);
+  }
+
+  @Override
+  protected Map<K, ValueHolder<V>> getAllInternal(Set<? extends K> keys) throws StoreAccessException {
+    // reads may invoke the loader while holding the key lock
+    return getAllIndividually(keys);
+  }
+
+  @Override
+  protected void silentPutAll(Map<K, V> entries) throws StoreAccessException {
+    // writes go through the loader-writer under the key lock
+    silentPutIndividually(entries);
+  }
+
+  @Override
+  protected Set<K> silentConditionalWriteAll(Map<K, V> values, Map<K, ValueHolder<V>> current) throws StoreAccessException {
+    // writes go through the loader-writer under the key lock
+    return silentConditionalWriteIndividually(values, current);
+  }
+
   @Override
   protected ValueHolder<V> getInternal(K key) throws StoreAccessException, TimeoutException {
     ValueHolder<V> holder = super.getInternal(key);
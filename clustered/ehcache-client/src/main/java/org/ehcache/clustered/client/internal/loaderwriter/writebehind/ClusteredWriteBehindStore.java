@@ -49,7 +49,9 @@ import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeoutException;
@@ -93,6 +95,30 @@ public class ClusteredWriteBehindStore<K, V> extends ClusteredStore<K, V> implem
     storeProxy.replaceAtHead(key, expected, replacement);
   }
 
+  @Override
+  public CompletionStage<ValueHolder<V>> getAsync(K key) {
+    // misses are loaded through the loader-writer under the key lock
+    return getSynchronously(key);
+  }
+
+  @Override
+  protected Map<K, ValueHolder<V>> getAllInternal(Set<? extends K> keys) throws StoreAccessException {
+    // misses are loaded through the loader-writer under the key lock
+    return getAllIndividually(keys);
+  }
+
+  @Override
+  protected void silentPutAll(Map<K, V> entries) throws StoreAccessException {
+    // writes are scheduled for write-behind one key at a time
+    silentPutIndividually(entries);
+  }
+
+  @Override
+  protected Set<K> silentConditionalWriteAll(Map<K, V> values, Map<K, ValueHolder<V>> current) throws StoreAccessException {
+    // writes are scheduled for write-behind one key at a time
+    return silentConditionalWriteIndividually(values, current);
+  }
+
   @Override
   protected ValueHolder<V> getInternal(K key) throws StoreAccessException, TimeoutException {
     try {
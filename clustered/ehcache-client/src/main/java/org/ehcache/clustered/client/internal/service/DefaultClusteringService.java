@@ -22,6 +22,7 @@ import org.ehcache.clustered.client.internal.ClusterTierManagerValidationExcepti
 import org.ehcache.clustered.client.internal.PerpetualCachePersistenceException;
 import org.ehcache.clustered.client.config.ClusteredResourcePool;
 import org.ehcache.clustered.client.config.ClusteredResourceType;
+import org.ehcache.clustered.client.config.ClusteredStoreConfiguration;
 import org.ehcache.clustered.client.config.ClusteringServiceConfiguration;
 import org.ehcache.clustered.client.internal.loaderwriter.writebehind.ClusteredWriteBehindStore;
 import org.ehcache.clustered.client.internal.store.ClusterTierClientEntity;
@@ -38,6 +39,7 @@ import org.ehcache.clustered.common.Consistency;
 import org.ehcache.clustered.common.internal.ServerStoreConfiguration;
 import org.ehcache.config.ResourcePool;
 import org.ehcache.config.ResourceType;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
 import org.ehcache.core.spi.store.Store;
 import org.ehcache.spi.persistence.StateRepository;
 import org.ehcache.spi.service.MaintainableService;
@@ -246,10 +248,11 @@ public class DefaultClusteringService implements ClusteringService, EntityServic
   @Override
   public <K, V> ServerStoreProxy getServerStoreProxy(ClusteredCacheIdentifier cacheIdentifier,
                                                      Store.Configuration<K, V> storeConfig,
-                                                     Consistency configuredConsistency,
+                                                     ClusteredStoreConfiguration clusteredStoreConfig,
                                                      ServerCallback invalidation) throws CachePersistenceException {
     final String cacheId = cacheIdentifier.getId();
 
+    Consistency configuredConsistency = clusteredStoreConfig.getConsistency();
     if (configuredConsistency == null) {
       throw new NullPointerException("Consistency cannot be null");
     }
@@ -278,17 +281,18 @@ public class DefaultClusteringService implements ClusteringService, EntityServic
       (storeConfig.getKeySerializer() == null ? null : storeConfig.getKeySerializer().getClass().getName()),
       (storeConfig.getValueSerializer() == null ? null : storeConfig.getValueSerializer().getClass().getName()),
       configuredConsistency, storeConfig.getCacheLoaderWriter() != null,
-      invalidation instanceof ClusteredWriteBehindStore.WriteBehindServerCallback);
+      invalidation instanceof ClusteredWriteBehindStore.WriteBehindServerCallback,
+      ExpiryPolicyBuilder.noExpiration().equals(storeConfig.getExpiry()));
 
     ClusterTierClientEntity storeClientEntity = connectionState.createClusterTierClientEntity(cacheId, clientStoreConfiguration, reconnectSet.remove(cacheId));
 
     ServerStoreProxy serverStoreProxy;
     switch (configuredConsistency) {
       case STRONG:
-        serverStoreProxy =  new StrongServerStoreProxy(cacheId, storeClientEntity, invalidation);
+        serverStoreProxy =  new StrongServerStoreProxy(cacheId, storeClientEntity, invalidation, clusteredStoreConfig.getChainCacheSize());
         break;
       case EVENTUAL:
-        serverStoreProxy = new EventualServerStoreProxy(cacheId, storeClientEntity, invalidation);
+        serverStoreProxy = new EventualServerStoreProxy(cacheId, storeClientEntity, invalidation, clusteredStoreConfig.getChainCacheSize());
         break;
       default:
         throw new AssertionError("Unknown consistency : " + configuredConsistency);
@@ -27,6 +27,7 @@ import org.ehcache.clustered.common.internal.messages.EhcacheOperationMessage;
 import org.ehcache.clustered.common.internal.messages.StateRepositoryOpMessage;
 import org.terracotta.connection.entity.Entity;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -48,6 +49,14 @@ public interface ClusterTierClientEntity extends Entity {
 
   EhcacheEntityResponse invokeAndWaitForRetired(EhcacheOperationMessage message, boolean track) throws ClusterException, TimeoutException;
 
+  /**
+   * Invokes the message without waiting for its completion.
+   * <p>
+   * The returned future completes with the response once the message completes on the server, or exceptionally with
+   * the failure reported by the server. It is not subject to the configured operation timeouts.
+   */
+  CompletableFuture<EhcacheEntityResponse> invokeAsync(EhcacheOperationMessage message, boolean track);
+
   EhcacheEntityResponse invokeStateRepositoryOperation(StateRepositoryOpMessage message, boolean track) throws ClusterException, TimeoutException;
 
   <T extends EhcacheEntityResponse> void addResponseListener(Class<T> responseType, ResponseListener<T> responseListener);
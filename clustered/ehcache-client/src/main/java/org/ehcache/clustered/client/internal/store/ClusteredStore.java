@@ -29,7 +29,6 @@ import org.ehcache.clustered.client.internal.store.operations.EternalChainResolv
 import org.ehcache.clustered.client.internal.store.operations.ExpiryChainResolver;
 import org.ehcache.clustered.client.service.ClusteringService;
 import org.ehcache.clustered.client.service.ClusteringService.ClusteredCacheIdentifier;
-import org.ehcache.clustered.common.Consistency;
 import org.ehcache.clustered.common.internal.store.Chain;
 import org.ehcache.clustered.common.internal.store.operations.ConditionalRemoveOperation;
 import org.ehcache.clustered.common.internal.store.operations.ConditionalReplaceOperation;
@@ -49,6 +48,7 @@ import org.ehcache.core.events.StoreEventDispatcher;
 import org.ehcache.core.events.StoreEventSink;
 import org.ehcache.core.spi.service.ExecutionService;
 import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.core.spi.store.AsyncStore;
 import org.ehcache.core.spi.store.Store;
 import org.ehcache.core.spi.store.events.StoreEventFilter;
 import org.ehcache.core.spi.store.events.StoreEventListener;
@@ -76,6 +76,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -85,6 +87,8 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
@@ -101,11 +105,14 @@ import static org.ehcache.core.spi.service.ServiceUtils.findSingletonAmongst;
 /**
  * Supports a {@link Store} in a clustered environment.
  */
-public class ClusteredStore<K, V> extends BaseStore<K, V> implements AuthoritativeTier<K, V> {
+public class ClusteredStore<K, V> extends BaseStore<K, V> implements AuthoritativeTier<K, V>, AsyncStore<K, V> {
 
   static final String CHAIN_COMPACTION_THRESHOLD_PROP = "ehcache.client.chain.compaction.threshold";
   static final int DEFAULT_CHAIN_COMPACTION_THRESHOLD = 4;
 
+  private static final Supplier<Boolean> REPLACE_EQUALS_TRUE = () -> Boolean.TRUE;
+  static final int MAX_BULK_COMPUTE_ATTEMPTS = 16;
+
   private final int chainCompactionLimit;
   protected final OperationsCodec<K, V> codec;
   protected final ChainResolver<K, V> resolver;
@@ -180,6 +187,65 @@ public class ClusteredStore<K, V> extends BaseStore<K, V> implements Authoritati
     }
   }
 
+  @Override
+  public CompletionStage<ValueHolder<V>> getAsync(K key) {
+    getObserver.begin();
+    CompletableFuture<ValueHolder<V>> result = new CompletableFuture<>();
+    CompletionStage<ServerStoreProxy.ChainEntry> lookup;
+    try {
+      lookup = storeProxy.getAsync(extractLongKey(key));
+    } catch (RuntimeException re) {
+      result.completeExceptionally(asyncFailure(re));
+      return result;
+    }
+    lookup.whenComplete((entry, failure) -> {
+      if (failure == null) {
+        try {
+          ValueHolder<V> value = resolver.resolve(entry, key, timeSource.getTimeMillis());
+          getObserver.end(value == null ? StoreOperationOutcomes.GetOutcome.MISS : StoreOperationOutcomes.GetOutcome.HIT);
+          result.complete(value);
+        } catch (RuntimeException re) {
+          result.completeExceptionally(asyncFailure(re));
+        }
+      } else {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof TimeoutException) {
+          getObserver.end(StoreOperationOutcomes.GetOutcome.TIMEOUT);
+          result.complete(null);
+        } else if (cause instanceof RuntimeException) {
+          result.completeExceptionally(asyncFailure((RuntimeException) cause));
+        } else {
+          result.completeExceptionally(new StoreAccessException(cause));
+        }
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Performs a synchronous {@link #get(Object)}, for subclasses whose reads cannot be pipelined.
+   *
+   * @param key the key
+   * @return a completed stage
+   */
+  protected CompletionStage<ValueHolder<V>> getSynchronously(K key) {
+    CompletableFuture<ValueHolder<V>> result = new CompletableFuture<>();
+    try {
+      result.complete(get(key));
+    } catch (StoreAccessException | RuntimeException e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  private static Throwable asyncFailure(RuntimeException re) {
+    try {
+      return handleException(re);
+    } catch (RuntimeException passThrough) {
+      return passThrough;
+    }
+  }
+
   protected ValueHolder<V> getInternal(K key) throws StoreAccessException, TimeoutException {
     try {
       ServerStoreProxy.ChainEntry entry = storeProxy.get(extractLongKey(key));
@@ -189,6 +255,53 @@ public class ClusteredStore<K, V> extends BaseStore<K, V> implements Authoritati
     }
   }
 
+  /**
+   * Fetches the chains of all keys from the server in a handful of batched round trips, and resolves them in key order.
+   *
+   * @param keys the keys
+   * @return the resolved values, {@code null} for absent keys
+   */
+  protected Map<K, ValueHolder<V>> getAllInternal(Set<? extends K> keys) throws StoreAccessException, TimeoutException {
+    List<K> orderedKeys = new ArrayList<>(keys);
+    long[] hashes = new long[orderedKeys.size()];
+    for (int i = 0; i < hashes.length; i++) {
+      hashes[i] = extractLongKey(orderedKeys.get(i));
+    }
+    try {
+      List<ServerStoreProxy.ChainEntry> entries = storeProxy.getAll(hashes);
+      long now = timeSource.getTimeMillis();
+      Map<K, ValueHolder<V>> map = new HashMap<>();
+      for (int i = 0; i < hashes.length; i++) {
+        K key = orderedKeys.get(i);
+        map.put(key, resolver.resolve(entries.get(i), key, now));
+      }
+      return map;
+    } catch (RuntimeException re) {
+      throw handleException(re);
+    }
+  }
+
+  /**
+   * Performs a {@link #getInternal(Object)} per key, for subclasses whose reads cannot be batched.
+   *
+   * @param keys the keys
+   * @return the resolved values, {@code null} for absent or timed out keys
+   */
+  protected Map<K, ValueHolder<V>> getAllIndividually(Set<? extends K> keys) throws StoreAccessException {
+    Map<K, ValueHolder<V>> map  = new HashMap<>();
+    for (K key : keys) {
+      ValueHolder<V> value;
+      try {
+        value = getInternal(key);
+      } catch (TimeoutException e) {
+        // This timeout handling is safe **only** in the context of a get/read operation!
+        value = null;
+      }
+      map.put(key, value);
+    }
+    return map;
+  }
+
   protected long extractLongKey(K key) {
     return HashUtils.intHashToLong(key.hashCode());
   }
@@ -221,6 +334,42 @@ public class ClusteredStore<K, V> extends BaseStore<K, V> implements Authoritati
     }
   }
 
+  /**
+   * Appends a put operation for every entry, with all appends in flight at the same time.
+   *
+   * @param entries the mappings to put
+   */
+  protected void silentPutAll(Map<K, V> entries) throws StoreAccessException {
+    if (entries.isEmpty()) {
+      return;
+    }
+    try {
+      long now = timeSource.getTimeMillis();
+      long[] hashes = new long[entries.size()];
+      ByteBuffer[] payloads = new ByteBuffer[entries.size()];
+      int i = 0;
+      for (Map.Entry<K, V> entry : entries.entrySet()) {
+        hashes[i] = extractLongKey(entry.getKey());
+        payloads[i] = codec.encode(new PutOperation<>(entry.getKey(), entry.getValue(), now));
+        i++;
+      }
+      storeProxy.appendAll(hashes, payloads);
+    } catch (Exception re) {
+      throw handleException(re);
+    }
+  }
+
+  /**
+   * Performs a {@link #silentPut(Object, Object)} per entry, for subclasses whose writes cannot be pipelined.
+   *
+   * @param entries the mappings to put
+   */
+  protected void silentPutIndividually(Map<K, V> entries) throws StoreAccessException {
+    for (Map.Entry<K, V> entry : entries.entrySet()) {
+      silentPut(entry.getKey(), entry.getValue());
+    }
+  }
+
   @Override
   public ValueHolder<V> getAndPut(K key, V value) throws StoreAccessException {
     putObserver.begin();
@@ -493,18 +642,27 @@ public class ClusteredStore<K, V> extends BaseStore<K, V> implements Authoritati
     throw new UnsupportedOperationException("Implement me");
   }
 
+  @Override
+  public Map<K, ValueHolder<V>> bulkCompute(final Set<? extends K> keys, final Function<Iterable<? extends Map.Entry<? extends K, ? extends V>>, Iterable<? extends Map.Entry<? extends K, ? extends V>>> remappingFunction)
+      throws StoreAccessException {
+    return bulkCompute(keys, remappingFunction, REPLACE_EQUALS_TRUE);
+  }
+
   /**
-   * The assumption is that this method will be invoked only by cache.putAll and cache.removeAll methods.
+   * {@code cache.putAll} and {@code cache.removeAll} are served without reading the current mappings. Any other
+   * function is applied to the mappings fetched in batches from the server, and its results are appended as
+   * conditional operations against the values read. Keys written concurrently in between are fetched and computed
+   * again, at most {@value #MAX_BULK_COMPUTE_ATTEMPTS} times.
    */
   @Override
-  public Map<K, ValueHolder<V>> bulkCompute(final Set<? extends K> keys, final Function<Iterable<? extends Map.Entry<? extends K, ? extends V>>, Iterable<? extends Map.Entry<? extends K, ? extends V>>> remappingFunction)
+  public Map<K, ValueHolder<V>> bulkCompute(final Set<? extends K> keys, final Function<Iterable<? extends Map.Entry<? extends K, ? extends V>>, Iterable<? extends Map.Entry<? extends K, ? extends V>>> remappingFunction, final Supplier<Boolean> replaceEqual)
       throws StoreAccessException {
     Map<K, ValueHolder<V>> valueHolderMap = new HashMap<>();
     if(remappingFunction instanceof Ehcache.PutAllFunction) {
       Ehcache.PutAllFunction<K, V> putAllFunction = (Ehcache.PutAllFunction<K, V>)remappingFunction;
       Map<K, V> entriesToRemap = putAllFunction.getEntriesToRemap();
+      silentPutAll(entriesToRemap);
       for(Map.Entry<K, V> entry: entriesToRemap.entrySet()) {
-        silentPut(entry.getKey(), entry.getValue());
         putAllFunction.getActualPutCount().incrementAndGet();
         valueHolderMap.put(entry.getKey(), new ClusteredValueHolder<>(entry.getValue()));
       }
@@ -517,38 +675,184 @@ public class ClusteredStore<K, V> extends BaseStore<K, V> implements Authoritati
         }
       }
     } else {
-      throw new UnsupportedOperationException("This bulkCompute method is not yet capable of handling generic computation functions");
+      Set<K> pending = new HashSet<>(keys);
+      for (int attempt = 0; !pending.isEmpty(); attempt++) {
+        if (attempt == MAX_BULK_COMPUTE_ATTEMPTS) {
+          throw new StoreAccessException(pending.size() + " keys were written concurrently through "
+                                         + MAX_BULK_COMPUTE_ATTEMPTS + " bulk compute attempts");
+        }
+        Map<K, ValueHolder<V>> existing = fetchAll(pending);
+        List<Map.Entry<K, V>> entries = new ArrayList<>(existing.size());
+        for (Map.Entry<K, ValueHolder<V>> entry : existing.entrySet()) {
+          ValueHolder<V> holder = entry.getValue();
+          entries.add(new AbstractMap.SimpleEntry<>(entry.getKey(), holder == null ? null : holder.get()));
+        }
+
+        valueHolderMap.putAll(existing);
+        Map<K, V> writes = new HashMap<>();
+        for (Map.Entry<? extends K, ? extends V> result : remappingFunction.apply(entries)) {
+          K key = result.getKey();
+          ValueHolder<V> current = existing.get(key);
+          V value = result.getValue();
+          if (current == null && value == null) {
+            writes.remove(key);
+          } else if (current != null && value != null && value.equals(current.get()) && !replaceEqual.get()) {
+            writes.remove(key);
+            valueHolderMap.put(key, current);
+          } else {
+            writes.put(key, value);
+          }
+        }
+        pending = silentConditionalWriteAll(writes, existing);
+        for (Map.Entry<K, V> write : writes.entrySet()) {
+          if (!pending.contains(write.getKey())) {
+            V value = write.getValue();
+            valueHolderMap.put(write.getKey(), value == null ? null : new ClusteredValueHolder<>(value));
+          }
+        }
+      }
     }
     return valueHolderMap;
   }
 
-  @Override
-  public Map<K, ValueHolder<V>> bulkCompute(final Set<? extends K> keys, final Function<Iterable<? extends Map.Entry<? extends K, ? extends V>>, Iterable<? extends Map.Entry<? extends K, ? extends V>>> remappingFunction, final Supplier<Boolean> replaceEqual) {
-    // TODO: Make appropriate ServerStoreProxy call
-    throw new UnsupportedOperationException("Implement me");
+  /**
+   * Appends, for every computed value, an operation writing it provided its key still maps to the value it was
+   * computed from, with all appends in flight at the same time.
+   *
+   * @param values the computed values, {@code null} to remove the mapping
+   * @param current the mappings the values were computed from, {@code null} for absent keys
+   * @return the keys that were concurrently written, and whose value must be computed again
+   */
+  protected Set<K> silentConditionalWriteAll(Map<K, V> values, Map<K, ValueHolder<V>> current) throws StoreAccessException {
+    Set<K> conflicts = new HashSet<>();
+    if (values.isEmpty()) {
+      return conflicts;
+    }
+    try {
+      long now = timeSource.getTimeMillis();
+      List<K> keys = new ArrayList<>(values.keySet());
+      long[] hashes = new long[keys.size()];
+      ByteBuffer[] payloads = new ByteBuffer[keys.size()];
+      for (int i = 0; i < hashes.length; i++) {
+        K key = keys.get(i);
+        V value = values.get(key);
+        ValueHolder<V> holder = current.get(key);
+        Operation<K, V> operation;
+        if (holder == null) {
+          operation = new PutIfAbsentOperation<>(key, value, now);
+        } else if (value == null) {
+          operation = new ConditionalRemoveOperation<>(key, holder.get(), now);
+        } else {
+          operation = new ConditionalReplaceOperation<>(key, holder.get(), value, now);
+        }
+        hashes[i] = extractLongKey(key);
+        payloads[i] = codec.encode(operation);
+      }
+      List<ServerStoreProxy.ChainEntry> chains = storeProxy.getAndAppendAll(hashes, payloads);
+      now = timeSource.getTimeMillis();
+      for (int i = 0; i < hashes.length; i++) {
+        K key = keys.get(i);
+        ValueHolder<V> holder = current.get(key);
+        ValueHolder<V> previous = resolver.resolve(chains.get(i), key, now, chainCompactionLimit);
+        boolean applied = holder == null ? previous == null : previous != null && holder.get().equals(previous.get());
+        if (!applied) {
+          conflicts.add(key);
+        }
+      }
+      return conflicts;
+    } catch (Exception re) {
+      throw handleException(re);
+    }
   }
 
   /**
-   * The assumption is that this method will be invoked only by cache.getAll method.
+   * Performs a conditional write per computed value, for subclasses whose writes cannot be pipelined.
+   *
+   * @param values the computed values, {@code null} to remove the mapping
+   * @param current the mappings the values were computed from, {@code null} for absent keys
+   * @return the keys that were concurrently written, and whose value must be computed again
+   */
+  protected Set<K> silentConditionalWriteIndividually(Map<K, V> values, Map<K, ValueHolder<V>> current) throws StoreAccessException {
+    Set<K> conflicts = new HashSet<>();
+    for (Map.Entry<K, V> entry : values.entrySet()) {
+      if (!conditionallyWrite(entry.getKey(), current.get(entry.getKey()), entry.getValue())) {
+        conflicts.add(entry.getKey());
+      }
+    }
+    return conflicts;
+  }
+
+  /**
+   * Writes the computed value of a key, provided the key still maps to the value it was computed from.
+   *
+   * @param key the key
+   * @param current the mapping the value was computed from, {@code null} if absent
+   * @param value the computed value, {@code null} to remove the mapping
+   * @return {@code false} if the key was concurrently written and the value must be computed again
+   */
+  private boolean conditionallyWrite(K key, ValueHolder<V> current, V value) throws StoreAccessException {
+    if (current == null) {
+      return value == null || silentPutIfAbsent(key, value) == null;
+    }
+    V currentValue = current.get();
+    ValueHolder<V> previous;
+    if (value == null) {
+      previous = silentRemove(key, currentValue);
+    } else {
+      previous = silentReplace(key, currentValue, value);
+    }
+    return previous != null && currentValue.equals(previous.get());
+  }
+
+  /**
+   * {@code cache.getAll} is served from a batched fetch alone. Any other function is handed the keys that have no
+   * mapping, and the mappings it computes are installed with put-if-absent operations. A key mapped concurrently in
+   * between keeps, and returns, the concurrent mapping.
    */
   @Override
   public Map<K, ValueHolder<V>> bulkComputeIfAbsent(final Set<? extends K> keys, final Function<Iterable<? extends K>, Iterable<? extends Map.Entry<? extends K, ? extends V>>> mappingFunction)
       throws StoreAccessException {
     if(mappingFunction instanceof Ehcache.GetAllFunction) {
-      Map<K, ValueHolder<V>> map  = new HashMap<>();
-      for (K key : keys) {
-        ValueHolder<V> value;
-        try {
-          value = getInternal(key);
-        } catch (TimeoutException e) {
-          // This timeout handling is safe **only** in the context of a get/read operation!
-          value = null;
+      try {
+        return getAllInternal(keys);
+      } catch (TimeoutException e) {
+        // This timeout handling is safe **only** in the context of a get/read operation!
+        Map<K, ValueHolder<V>> map = new HashMap<>();
+        for (K key : keys) {
+          map.put(key, null);
         }
-        map.put(key, value);
+        return map;
       }
-      return map;
     } else {
-      throw new UnsupportedOperationException("This bulkComputeIfAbsent method is not yet capable of handling generic computation functions");
+      Map<K, ValueHolder<V>> valueHolderMap = fetchAll(keys);
+      List<K> missingKeys = new ArrayList<>();
+      for (Map.Entry<K, ValueHolder<V>> entry : valueHolderMap.entrySet()) {
+        if (entry.getValue() == null) {
+          missingKeys.add(entry.getKey());
+        }
+      }
+      if (!missingKeys.isEmpty()) {
+        for (Map.Entry<? extends K, ? extends V> result : mappingFunction.apply(missingKeys)) {
+          K key = result.getKey();
+          V value = result.getValue();
+          if (value != null && valueHolderMap.containsKey(key) && valueHolderMap.get(key) == null) {
+            ValueHolder<V> concurrent = silentPutIfAbsent(key, value);
+            valueHolderMap.put(key, concurrent == null ? new ClusteredValueHolder<>(value) : concurrent);
+          }
+        }
+      }
+      return valueHolderMap;
+    }
+  }
+
+  /**
+   * Fetches the current mappings for a bulk computation, where a timeout cannot be mistaken for a miss.
+   */
+  private Map<K, ValueHolder<V>> fetchAll(Set<? extends K> keys) throws StoreAccessException {
+    try {
+      return getAllInternal(keys);
+    } catch (TimeoutException e) {
+      throw new StoreAccessException(e);
     }
   }
 
@@ -677,7 +981,7 @@ public class ClusteredStore<K, V> extends BaseStore<K, V> implements Authoritati
 
         ClusteredStore<K, V> store = createStore(storeConfig, codec, resolver, timeSource, storeConfig.useLoaderInAtomics(), serviceConfigs);
 
-        createdStores.put(store, new StoreConfig(cacheId, storeConfig, clusteredStoreConfiguration.getConsistency()));
+        createdStores.put(store, new StoreConfig(cacheId, storeConfig, clusteredStoreConfiguration));
         return store;
       } finally {
         connectLock.unlock();
@@ -728,7 +1032,7 @@ public class ClusteredStore<K, V> extends BaseStore<K, V> implements Authoritati
         }
         ClusteredStore<?, ?> clusteredStore = (ClusteredStore<?, ?>) resource;
         ClusteredCacheIdentifier cacheIdentifier = storeConfig.getCacheIdentifier();
-        ServerStoreProxy storeProxy = clusteringService.getServerStoreProxy(cacheIdentifier, storeConfig.getStoreConfig(), storeConfig.getConsistency(),
+        ServerStoreProxy storeProxy = clusteringService.getServerStoreProxy(cacheIdentifier, storeConfig.getStoreConfig(), storeConfig.getClusteredStoreConfig(),
                                                                             getServerCallback(clusteredStore));
         ReconnectingServerStoreProxy reconnectingServerStoreProxy = new ReconnectingServerStoreProxy(storeProxy, () -> {
           Runnable reconnectTask = () -> {
@@ -932,12 +1236,12 @@ public class ClusteredStore<K, V> extends BaseStore<K, V> implements Authoritati
 
     private final ClusteredCacheIdentifier cacheIdentifier;
     private final Store.Configuration<?, ?> storeConfig;
-    private final Consistency consistency;
+    private final ClusteredStoreConfiguration clusteredStoreConfig;
 
-    StoreConfig(ClusteredCacheIdentifier cacheIdentifier, Configuration<?, ?> storeConfig, Consistency consistency) {
+    StoreConfig(ClusteredCacheIdentifier cacheIdentifier, Configuration<?, ?> storeConfig, ClusteredStoreConfiguration clusteredStoreConfig) {
       this.cacheIdentifier = cacheIdentifier;
       this.storeConfig = storeConfig;
-      this.consistency = consistency;
+      this.clusteredStoreConfig = clusteredStoreConfig;
     }
 
     public Configuration<?, ?> getStoreConfig() {
@@ -948,8 +1252,8 @@ public class ClusteredStore<K, V> extends BaseStore<K, V> implements Authoritati
       return this.cacheIdentifier;
     }
 
-    public Consistency getConsistency() {
-      return consistency;
+    public ClusteredStoreConfiguration getClusteredStoreConfig() {
+      return clusteredStoreConfig;
     }
   }
 
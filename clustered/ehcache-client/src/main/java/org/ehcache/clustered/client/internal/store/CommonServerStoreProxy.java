@@ -21,6 +21,7 @@ import org.ehcache.clustered.common.internal.exceptions.ClusterException;
 import org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse;
 import org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.ClientInvalidateAll;
 import org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.ClientInvalidateHash;
+import org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.ClientInvalidateHashes;
 import org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.ServerAppend;
 import org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.ServerInvalidateHash;
 import org.ehcache.clustered.common.internal.messages.EhcacheOperationMessage;
@@ -29,6 +30,9 @@ import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.AppendMessage;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.ClientInvalidationAck;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.ClientInvalidationAllAck;
+import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.ClientInvalidationBatchAck;
+import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.GetAllMessage;
+import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.GetIfModifiedMessage;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.GetAndAppendMessage;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.GetMessage;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.ReplaceAtHeadMessage;
@@ -39,13 +43,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
 
+import static java.lang.Math.min;
 import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.ehcache.clustered.client.config.Timeouts.nanosStartingFromNow;
 
 /**
  * Provides client-side access to the services of a {@code ServerStore}.
@@ -53,19 +69,35 @@ import static java.util.Objects.requireNonNull;
 class CommonServerStoreProxy implements ServerStoreProxy {
 
   private static final int ITERATOR_BATCH_SIZE = toIntExact(MemoryUnit.KB.toBytes(100));
+  private static final int GET_ALL_BATCH_SIZE = 256;
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CommonServerStoreProxy.class);
 
   private final String cacheId;
   private final ClusterTierClientEntity entity;
+  private final VersionedChainCache chainCache;
 
   CommonServerStoreProxy(final String cacheId, final ClusterTierClientEntity entity, final ServerCallback invalidation) {
+    this(cacheId, entity, invalidation, 0);
+  }
+
+  CommonServerStoreProxy(final String cacheId, final ClusterTierClientEntity entity, final ServerCallback invalidation, int chainCacheSize) {
     this.cacheId = requireNonNull(cacheId, "Cache-ID must be non-null");
     this.entity = requireNonNull(entity, "ClusterTierClientEntity must be non-null");
     requireNonNull(invalidation, "ServerCallback must be non-null");
 
     entity.addDisconnectionListener(invalidation::onInvalidateAll);
 
+    if (chainCacheSize > 0) {
+      VersionedChainCache cache = new VersionedChainCache(chainCacheSize);
+      // chain versions are only meaningful to the server that produced them
+      entity.addDisconnectionListener(cache::clear);
+      entity.addReconnectListener(reconnectMessage -> cache.clear());
+      this.chainCache = cache;
+    } else {
+      this.chainCache = null;
+    }
+
     entity.addResponseListener(ServerAppend.class, response -> {
       LOGGER.debug("CLIENT: on cache {}, server append notification", cacheId);
       invalidation.onAppend(response.getBeforeAppend(), response.getAppended());
@@ -90,6 +122,22 @@ class CommonServerStoreProxy implements ServerStoreProxy {
         LOGGER.error("error acking client invalidation of hash {} on cache {}", key, cacheId, e);
       }
     });
+    entity.addResponseListener(ClientInvalidateHashes.class, response -> {
+      long[] keys = response.getKeys();
+      int invalidationId = response.getInvalidationId();
+
+      LOGGER.debug("CLIENT: doing work to invalidate {} hashes from cache {} (ID {})", keys.length, cacheId, invalidationId);
+      for (long key : keys) {
+        invalidation.onAppendInvalidateHash(key);
+      }
+
+      try {
+        LOGGER.debug("CLIENT: ack'ing invalidation of {} hashes from cache {} (ID {})", keys.length, cacheId, invalidationId);
+        entity.invokeAndWaitForSend(new ClientInvalidationBatchAck(invalidationId), false);
+      } catch (ClusterException e) {
+        LOGGER.error("error acking client invalidation of {} hashes on cache {}", keys.length, cacheId, e);
+      }
+    });
     entity.addResponseListener(ClientInvalidateAll.class, response -> {
       int invalidationId = response.getInvalidationId();
 
@@ -123,24 +171,107 @@ class CommonServerStoreProxy implements ServerStoreProxy {
     entity.close();
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * When chain caching is enabled, the version of the chain last fetched for the key is sent along and the server
+   * only returns the chain if it changed since.
+   */
   @Override
   public ChainEntry get(long key) throws TimeoutException {
+    VersionedChainCache.VersionedChain cached = cachedChain(key);
     EhcacheEntityResponse response;
     try {
-      response = entity.invokeAndWaitForComplete(new GetMessage(key), false);
+      response = entity.invokeAndWaitForComplete(getMessage(key, cached), false);
     } catch (TimeoutException e) {
       throw e;
     } catch (Exception e) {
       throw new ServerStoreProxyException(e);
     }
-    if (response != null && response.getResponseType() == EhcacheResponseType.GET_RESPONSE) {
-      return new SimpleEntry(key, ((EhcacheEntityResponse.GetResponse)response).getChain());
+    Chain chain = chainFromResponse(key, cached, response);
+    if (chain != null) {
+      return new SimpleEntry(key, chain);
     } else {
       throw new ServerStoreProxyException("Response for get operation was invalid : " +
                                           (response != null ? response.getResponseType() : "null message"));
     }
   }
 
+  @Override
+  public CompletionStage<ChainEntry> getAsync(long key) {
+    VersionedChainCache.VersionedChain cached = cachedChain(key);
+    CompletableFuture<ChainEntry> result = new CompletableFuture<>();
+    entity.invokeAsync(getMessage(key, cached), false).whenComplete((response, failure) -> {
+      if (failure != null) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        result.completeExceptionally(cause instanceof TimeoutException ? cause : new ServerStoreProxyException(cause));
+      } else {
+        Chain chain = chainFromResponse(key, cached, response);
+        if (chain != null) {
+          result.complete(new SimpleEntry(key, chain));
+        } else {
+          result.completeExceptionally(new ServerStoreProxyException("Response for get operation was invalid : " +
+                                                                     (response != null ? response.getResponseType() : "null message")));
+        }
+      }
+    });
+    return result;
+  }
+
+  private VersionedChainCache.VersionedChain cachedChain(long key) {
+    return chainCache == null ? null : chainCache.get(key);
+  }
+
+  private static ServerStoreOpMessage getMessage(long key, VersionedChainCache.VersionedChain cached) {
+    return cached == null ? new GetMessage(key) : new GetIfModifiedMessage(key, cached.getVersion());
+  }
+
+  /**
+   * Returns the chain carried by a get response, or {@code null} if the response is invalid.
+   */
+  private Chain chainFromResponse(long key, VersionedChainCache.VersionedChain cached, EhcacheEntityResponse response) {
+    if (response == null) {
+      return null;
+    } else if (response.getResponseType() == EhcacheResponseType.GET_RESPONSE) {
+      Chain chain = ((EhcacheEntityResponse.GetResponse) response).getChain();
+      if (chainCache != null) {
+        chainCache.put(key, chain);
+      }
+      return chain;
+    } else if (response.getResponseType() == EhcacheResponseType.NOT_MODIFIED && cached != null) {
+      return cached.getChain();
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Keys are fetched in fixed size batches, all batches being in flight at the same time.
+   */
+  @Override
+  public List<ChainEntry> getAll(long[] keys) throws TimeoutException {
+    List<CompletableFuture<EhcacheEntityResponse>> batches = new ArrayList<>();
+    for (int from = 0; from < keys.length; from += GET_ALL_BATCH_SIZE) {
+      long[] batch = Arrays.copyOfRange(keys, from, min(keys.length, from + GET_ALL_BATCH_SIZE));
+      batches.add(entity.invokeAsync(new GetAllMessage(batch), false));
+    }
+
+    List<ChainEntry> entries = new ArrayList<>(keys.length);
+    for (EhcacheEntityResponse response : awaitAll(batches, entity.getTimeouts().getReadOperationTimeout())) {
+      if (response != null && response.getResponseType() == EhcacheResponseType.GET_ALL_RESPONSE) {
+        for (Chain chain : ((EhcacheEntityResponse.GetAllResponse) response).getChains()) {
+          entries.add(new SimpleEntry(keys[entries.size()], chain));
+        }
+      } else {
+        throw new ServerStoreProxyException("Response for getAll operation was invalid : " +
+                                            (response != null ? response.getResponseType() : "null message"));
+      }
+    }
+    return entries;
+  }
+
   @Override
   public void append(long key, ByteBuffer payLoad) {
     try {
@@ -150,6 +281,70 @@ class CommonServerStoreProxy implements ServerStoreProxy {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Each payload is sent as its own append so that replication and invalidation stay per key, but all appends are in
+   * flight at the same time.
+   */
+  @Override
+  public void appendAll(long[] keys, ByteBuffer[] payLoads) throws TimeoutException {
+    List<CompletableFuture<EhcacheEntityResponse>> appends = new ArrayList<>(keys.length);
+    for (int i = 0; i < keys.length; i++) {
+      appends.add(entity.invokeAsync(new AppendMessage(keys[i], payLoads[i]), true));
+    }
+    awaitAll(appends, entity.getTimeouts().getWriteOperationTimeout());
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Each payload is sent as its own get and append, all of them in flight at the same time.
+   */
+  @Override
+  public List<ChainEntry> getAndAppendAll(long[] keys, ByteBuffer[] payLoads) throws TimeoutException {
+    List<CompletableFuture<EhcacheEntityResponse>> appends = new ArrayList<>(keys.length);
+    for (int i = 0; i < keys.length; i++) {
+      appends.add(entity.invokeAsync(new GetAndAppendMessage(keys[i], payLoads[i]), true));
+    }
+
+    List<ChainEntry> entries = new ArrayList<>(keys.length);
+    for (EhcacheEntityResponse response : awaitAll(appends, entity.getTimeouts().getWriteOperationTimeout())) {
+      if (response != null && response.getResponseType() == EhcacheResponseType.GET_RESPONSE) {
+        entries.add(new SimpleEntry(keys[entries.size()], ((EhcacheEntityResponse.GetResponse) response).getChain()));
+      } else {
+        throw new ServerStoreProxyException("Response for getAndAppend operation was invalid : " +
+                                            (response != null ? response.getResponseType() : "null message"));
+      }
+    }
+    return entries;
+  }
+
+  private static List<EhcacheEntityResponse> awaitAll(List<CompletableFuture<EhcacheEntityResponse>> futures, Duration timeout) throws TimeoutException {
+    LongSupplier nanosRemaining = nanosStartingFromNow(timeout);
+    List<EhcacheEntityResponse> responses = new ArrayList<>(futures.size());
+    boolean interrupted = Thread.interrupted();
+    try {
+      for (CompletableFuture<EhcacheEntityResponse> future : futures) {
+        while (true) {
+          try {
+            responses.add(future.get(nanosRemaining.getAsLong(), NANOSECONDS));
+            break;
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+      }
+      return responses;
+    } catch (ExecutionException e) {
+      throw new ServerStoreProxyException(e.getCause());
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
   @Override
   public ChainEntry getAndAppend(long key, ByteBuffer payLoad) throws TimeoutException {
     EhcacheEntityResponse response;
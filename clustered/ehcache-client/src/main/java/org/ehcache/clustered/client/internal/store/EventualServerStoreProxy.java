@@ -20,7 +20,9 @@ import org.ehcache.clustered.common.internal.store.Chain;
 
 import java.nio.ByteBuffer;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeoutException;
 
 public class EventualServerStoreProxy implements ServerStoreProxy {
@@ -28,7 +30,11 @@ public class EventualServerStoreProxy implements ServerStoreProxy {
   private final ServerStoreProxy delegate;
 
   public EventualServerStoreProxy(String cacheId, final ClusterTierClientEntity entity, final ServerCallback invalidation) {
-    this.delegate = new CommonServerStoreProxy(cacheId, entity, invalidation);
+    this(cacheId, entity, invalidation, 0);
+  }
+
+  public EventualServerStoreProxy(String cacheId, final ClusterTierClientEntity entity, final ServerCallback invalidation, int chainCacheSize) {
+    this.delegate = new CommonServerStoreProxy(cacheId, entity, invalidation, chainCacheSize);
   }
 
   @Override
@@ -46,16 +52,36 @@ public class EventualServerStoreProxy implements ServerStoreProxy {
     return delegate.get(key);
   }
 
+  @Override
+  public CompletionStage<ChainEntry> getAsync(long key) {
+    return delegate.getAsync(key);
+  }
+
+  @Override
+  public List<ChainEntry> getAll(long[] keys) throws TimeoutException {
+    return delegate.getAll(keys);
+  }
+
   @Override
   public void append(final long key, final ByteBuffer payLoad) throws TimeoutException {
     delegate.append(key, payLoad);
   }
 
+  @Override
+  public void appendAll(long[] keys, ByteBuffer[] payLoads) throws TimeoutException {
+    delegate.appendAll(keys, payLoads);
+  }
+
   @Override
   public ChainEntry getAndAppend(final long key, final ByteBuffer payLoad) throws TimeoutException {
     return delegate.getAndAppend(key, payLoad);
   }
 
+  @Override
+  public List<ChainEntry> getAndAppendAll(long[] keys, ByteBuffer[] payLoads) throws TimeoutException {
+    return delegate.getAndAppendAll(keys, payLoads);
+  }
+
   @Override
   public void enableEvents(boolean enable) throws TimeoutException {
     delegate.enableEvents(enable);
@@ -25,7 +25,10 @@ import org.terracotta.exception.ConnectionShutdownException;
 
 import java.nio.ByteBuffer;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -70,6 +73,36 @@ public class ReconnectingServerStoreProxy implements LockingServerStoreProxy {
     return onStoreProxy(serverStoreProxy -> serverStoreProxy.get(key));
   }
 
+  @Override
+  public CompletionStage<ChainEntry> getAsync(long key) {
+    LockingServerStoreProxy storeProxy = proxy();
+    CompletableFuture<ChainEntry> result = new CompletableFuture<>();
+    CompletionStage<ChainEntry> get;
+    try {
+      get = storeProxy.getAsync(key);
+    } catch (ServerStoreProxyException sspe) {
+      get = failed(sspe);
+    }
+    get.whenComplete((entry, failure) -> {
+      if (failure == null) {
+        result.complete(entry);
+      } else if (containsCause(failure, ConnectionClosedException.class)) {
+        if (delegateRef.compareAndSet(storeProxy, new ReconnectInProgressProxy(storeProxy.getCacheId()))) {
+          onReconnect.run();
+        }
+        result.completeExceptionally(new ReconnectInProgressException());
+      } else {
+        result.completeExceptionally(failure);
+      }
+    });
+    return result;
+  }
+
+  @Override
+  public List<ChainEntry> getAll(long[] keys) throws TimeoutException {
+    return onStoreProxy(serverStoreProxy -> serverStoreProxy.getAll(keys));
+  }
+
   @Override
   public void append(long key, ByteBuffer payLoad) throws TimeoutException {
     onStoreProxy(serverStoreProxy -> {
@@ -78,11 +111,24 @@ public class ReconnectingServerStoreProxy implements LockingServerStoreProxy {
     });
   }
 
+  @Override
+  public void appendAll(long[] keys, ByteBuffer[] payLoads) throws TimeoutException {
+    onStoreProxy(serverStoreProxy -> {
+      serverStoreProxy.appendAll(keys, payLoads);
+      return null;
+    });
+  }
+
   @Override
   public ChainEntry getAndAppend(long key, ByteBuffer payLoad) throws TimeoutException {
     return onStoreProxy(serverStoreProxy -> serverStoreProxy.getAndAppend(key, payLoad));
   }
 
+  @Override
+  public List<ChainEntry> getAndAppendAll(long[] keys, ByteBuffer[] payLoads) throws TimeoutException {
+    return onStoreProxy(serverStoreProxy -> serverStoreProxy.getAndAppendAll(keys, payLoads));
+  }
+
   @Override
   public void enableEvents(boolean enable) throws TimeoutException {
     onStoreProxy(serverStoreProxy -> {
@@ -116,6 +162,12 @@ public class ReconnectingServerStoreProxy implements LockingServerStoreProxy {
     return onStoreProxy(LockingServerStoreProxy::iterator);
   }
 
+  private static <T> CompletionStage<T> failed(Throwable failure) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(failure);
+    return future;
+  }
+
   private LockingServerStoreProxy proxy() {
     return delegateRef.get();
   }
@@ -235,11 +287,26 @@ public class ReconnectingServerStoreProxy implements LockingServerStoreProxy {
         return serverStoreProxy.get(key);
       }
 
+      @Override
+      public CompletionStage<ChainEntry> getAsync(long key) {
+        return serverStoreProxy.getAsync(key);
+      }
+
+      @Override
+      public List<ChainEntry> getAll(long[] keys) throws TimeoutException {
+        return serverStoreProxy.getAll(keys);
+      }
+
       @Override
       public ChainEntry getAndAppend(long key, ByteBuffer payLoad) throws TimeoutException {
         return serverStoreProxy.getAndAppend(key, payLoad);
       }
 
+      @Override
+      public List<ChainEntry> getAndAppendAll(long[] keys, ByteBuffer[] payLoads) throws TimeoutException {
+        return serverStoreProxy.getAndAppendAll(keys, payLoads);
+      }
+
       @Override
       public void enableEvents(boolean enable) throws TimeoutException {
         serverStoreProxy.enableEvents(enable);
@@ -260,6 +327,11 @@ public class ReconnectingServerStoreProxy implements LockingServerStoreProxy {
         serverStoreProxy.append(key, payLoad);
       }
 
+      @Override
+      public void appendAll(long[] keys, ByteBuffer[] payLoads) throws TimeoutException {
+        serverStoreProxy.appendAll(keys, payLoads);
+      }
+
       @Override
       public void replaceAtHead(long key, Chain expect, Chain update) {
         serverStoreProxy.replaceAtHead(key, expect, update);
@@ -21,6 +21,10 @@ import org.ehcache.clustered.common.internal.store.Element;
 import org.ehcache.clustered.common.internal.store.ServerStore;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -38,6 +42,61 @@ public interface ServerStoreProxy extends ServerStore {
   @Override
   ChainEntry get(long key) throws TimeoutException;
 
+  /**
+   * Asynchronously retrieves the chain for the given key.
+   * <p>
+   * The returned stage completes exceptionally with a {@link TimeoutException} or a {@link ServerStoreProxyException}
+   * where {@link #get(long)} would have thrown them. This default implementation performs a synchronous get.
+   *
+   * @param key the key
+   * @return a stage completed with the associated chain entry
+   */
+  default CompletionStage<ChainEntry> getAsync(long key) {
+    CompletableFuture<ChainEntry> future = new CompletableFuture<>();
+    try {
+      future.complete(get(key));
+    } catch (TimeoutException | RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Retrieves the chains for the given keys.
+   * <p>
+   * Entries are returned in the order of {@code keys}, repeated keys included. This default implementation performs one
+   * {@link #get(long)} per key.
+   *
+   * @param keys the keys
+   * @return the associated chain entries
+   *
+   * @throws TimeoutException if the retrieval exceeds the timeout configured for read operations
+   */
+  default List<ChainEntry> getAll(long[] keys) throws TimeoutException {
+    List<ChainEntry> entries = new ArrayList<>(keys.length);
+    for (long key : keys) {
+      entries.add(get(key));
+    }
+    return entries;
+  }
+
+  /**
+   * Appends each payload to the chain of the key at the same index.
+   * <p>
+   * Appends to a given key are applied in the order they appear in. This default implementation performs one
+   * {@link #append(long, ByteBuffer)} per key.
+   *
+   * @param keys the keys
+   * @param payLoads the payloads, one per key
+   *
+   * @throws TimeoutException if the appends exceed the timeout configured for write operations
+   */
+  default void appendAll(long[] keys, ByteBuffer[] payLoads) throws TimeoutException {
+    for (int i = 0; i < keys.length; i++) {
+      append(keys[i], payLoads[i]);
+    }
+  }
+
   /**
    * {@inheritDoc}
    * <p>
@@ -48,6 +107,26 @@ public interface ServerStoreProxy extends ServerStore {
   @Override
   ChainEntry getAndAppend(long key, ByteBuffer payLoad) throws TimeoutException;
 
+  /**
+   * Appends each payload to the chain of the key at the same index, and returns the chains as they were before.
+   * <p>
+   * Appends to a given key are applied in the order they appear in. This default implementation performs one
+   * {@link #getAndAppend(long, ByteBuffer)} per key.
+   *
+   * @param keys the keys
+   * @param payLoads the payloads, one per key
+   * @return the chain entries preceding each append, in the order of {@code keys}
+   *
+   * @throws TimeoutException if the appends exceed the timeout configured for write operations
+   */
+  default List<ChainEntry> getAndAppendAll(long[] keys, ByteBuffer[] payLoads) throws TimeoutException {
+    List<ChainEntry> entries = new ArrayList<>(keys.length);
+    for (int i = 0; i < keys.length; i++) {
+      entries.add(getAndAppend(keys[i], payLoads[i]));
+    }
+    return entries;
+  }
+
   /**
    * The invalidation listener
    */
@@ -44,18 +44,24 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeoutException;
 
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.terracotta.entity.InvocationCallback.Types.COMPLETE;
+import static org.terracotta.entity.InvocationCallback.Types.FAILURE;
 import static org.terracotta.entity.InvocationCallback.Types.RECEIVED;
+import static org.terracotta.entity.InvocationCallback.Types.RESULT;
 import static org.terracotta.entity.InvocationCallback.Types.RETIRED;
 import static org.terracotta.entity.InvocationCallback.Types.SENT;
 
@@ -67,9 +73,12 @@ public class SimpleClusterTierClientEntity implements InternalClusterTierClientE
   private static final Logger LOGGER = LoggerFactory.getLogger(SimpleClusterTierClientEntity.class);
   private static final Set<EhcacheMessageType> GET_STORE_OPS = EnumSet.of(
     EhcacheMessageType.GET_STORE,
+    EhcacheMessageType.GET_ALL_STORE,
     EhcacheMessageType.ITERATOR_ADVANCE,
     EhcacheMessageType.ITERATOR_OPEN,
     EhcacheMessageType.ITERATOR_CLOSE);
+  // shared by all entities, its tasks only hand the timeout of asynchronous invocations over to the async worker
+  private static final ScheduledThreadPoolExecutor ASYNC_TIMEOUTS = createAsyncTimeoutScheduler();
 
   private final EntityClientEndpoint<EhcacheEntityMessage, EhcacheEntityResponse> endpoint;
   private final LifeCycleMessageFactory messageFactory;
@@ -236,6 +245,50 @@ public class SimpleClusterTierClientEntity implements InternalClusterTierClientE
     return invokeInternalAndWaitFor(RETIRED, message);
   }
 
+  @Override
+  public CompletableFuture<EhcacheEntityResponse> invokeAsync(EhcacheOperationMessage message, boolean track) {
+    CompletableFuture<EhcacheEntityResponse> future = new CompletableFuture<>();
+    Duration timeLimit = getTimeoutDuration(message);
+    if (!Timeouts.INFINITE_TIMEOUT.equals(timeLimit)) {
+      ScheduledFuture<?> timeout = ASYNC_TIMEOUTS.schedule(() -> completeAsync(future, () -> {
+        String msg = "Timeout exceeded for " + message + " message; " + timeLimit;
+        if (future.completeExceptionally(new TimeoutException(msg))) {
+          LOGGER.info(msg);
+        }
+      }), timeLimit.toNanos(), NANOSECONDS);
+      future.whenComplete((response, failure) -> timeout.cancel(false));
+    }
+    endpoint.message(message).invoke(new InvocationCallback<EhcacheEntityResponse>() {
+      @Override
+      public void result(EhcacheEntityResponse response) {
+        if (response != null && EhcacheResponseType.FAILURE.equals(response.getResponseType())) {
+          completeAsync(future, () -> future.completeExceptionally(((Failure) response).getCause()));
+        } else {
+          completeAsync(future, () -> future.complete(response));
+        }
+      }
+
+      @Override
+      public void failure(Throwable failure) {
+        completeAsync(future, () -> future.completeExceptionally(failure));
+      }
+    }, EnumSet.of(RESULT, FAILURE));
+    return future;
+  }
+
+  /**
+   * Moves the completion of the future off the endpoint callback thread, as dependent stages may block on further
+   * invocations.
+   */
+  private void completeAsync(CompletableFuture<EhcacheEntityResponse> future, Runnable completion) {
+    try {
+      asyncWorker.execute(completion);
+    } catch (RejectedExecutionException e) {
+      LOGGER.warn("Completion of {} rejected using inline execution", future, e);
+      completion.run();
+    }
+  }
+
   private EhcacheEntityResponse invokeInternalAndWaitFor(InvocationCallback.Types type, EhcacheOperationMessage message)
       throws ClusterException, TimeoutException {
     return invokeInternalAndWaitFor(type, getTimeoutDuration(message), message);
@@ -292,4 +345,16 @@ public class SimpleClusterTierClientEntity implements InternalClusterTierClientE
       }
     }
   }
+
+  private static ScheduledThreadPoolExecutor createAsyncTimeoutScheduler() {
+    ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+      Thread t = new Thread(r, "Async ClusterTierClientEntity Timeouts");
+      t.setDaemon(true);
+      return t;
+    });
+    scheduler.setRemoveOnCancelPolicy(true);
+    scheduler.setKeepAliveTime(10, SECONDS);
+    scheduler.allowCoreThreadTimeOut(true);
+    return scheduler;
+  }
 }
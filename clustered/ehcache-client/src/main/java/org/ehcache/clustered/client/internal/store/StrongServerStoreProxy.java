@@ -24,10 +24,16 @@ import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
@@ -48,7 +54,11 @@ public class StrongServerStoreProxy implements ServerStoreProxy {
   private final ClusterTierClientEntity entity;
 
   public StrongServerStoreProxy(final String cacheId, final ClusterTierClientEntity entity, final ServerCallback invalidation) {
-    this.delegate = new CommonServerStoreProxy(cacheId, entity, invalidation);
+    this(cacheId, entity, invalidation, 0);
+  }
+
+  public StrongServerStoreProxy(final String cacheId, final ClusterTierClientEntity entity, final ServerCallback invalidation, int chainCacheSize) {
+    this.delegate = new CommonServerStoreProxy(cacheId, entity, invalidation, chainCacheSize);
     this.entity = entity;
     delegate.addResponseListener(EhcacheEntityResponse.HashInvalidationDone.class, this::hashInvalidationDoneResponseListener);
     delegate.addResponseListener(EhcacheEntityResponse.AllInvalidationDone.class, this::allInvalidationDoneResponseListener);
@@ -96,9 +106,7 @@ public class StrongServerStoreProxy implements ServerStoreProxy {
     }
   }
 
-  private <T> T performWaitingForHashInvalidation(long key, Callable<T> c, Duration timeout) throws TimeoutException {
-    LongSupplier nanosRemaining = nanosStartingFromNow(timeout);
-
+  private CountDownLatch registerHashInvalidation(long key, LongSupplier nanosRemaining) throws TimeoutException {
     CountDownLatch latch = new CountDownLatch(1);
     while (true) {
       if (!entity.isConnected()) {
@@ -106,10 +114,16 @@ public class StrongServerStoreProxy implements ServerStoreProxy {
       }
       CountDownLatch countDownLatch = hashInvalidationsInProgress.putIfAbsent(key, latch);
       if (countDownLatch == null) {
-        break;
+        return latch;
       }
       awaitOnLatch(countDownLatch, nanosRemaining);
     }
+  }
+
+  private <T> T performWaitingForHashInvalidation(long key, Callable<T> c, Duration timeout) throws TimeoutException {
+    LongSupplier nanosRemaining = nanosStartingFromNow(timeout);
+
+    CountDownLatch latch = registerHashInvalidation(key, nanosRemaining);
 
     try {
       T result = c.call();
@@ -131,6 +145,35 @@ public class StrongServerStoreProxy implements ServerStoreProxy {
     }
   }
 
+  private <T> T performWaitingForHashInvalidations(long[] keys, Callable<T> c, LongSupplier nanosRemaining) throws TimeoutException {
+    Map<Long, CountDownLatch> latches = new HashMap<>();
+    try {
+      for (long key : keys) {
+        latches.put(key, registerHashInvalidation(key, nanosRemaining));
+      }
+      T result = c.call();
+      LOGGER.debug("CLIENT: Waiting for invalidations on keys {}", latches.keySet());
+      for (CountDownLatch latch : latches.values()) {
+        awaitOnLatch(latch, nanosRemaining);
+      }
+      LOGGER.debug("CLIENT: keys {} invalidated on all clients, unblocking call", latches.keySet());
+      return result;
+    } catch (Exception ex) {
+      latches.forEach((key, latch) -> {
+        hashInvalidationsInProgress.remove(key, latch);
+        latch.countDown();
+      });
+
+      if (ex instanceof TimeoutException) {
+        throw (TimeoutException)ex;
+      }
+      if (ex instanceof ServerStoreProxyException) {
+        throw (ServerStoreProxyException)ex;
+      }
+      throw new RuntimeException(ex);
+    }
+  }
+
   private <T> T performWaitingForAllInvalidation(Callable<T> c, Duration timeout) throws TimeoutException {
     LongSupplier nanosRemaining = nanosStartingFromNow(timeout);
 
@@ -210,6 +253,16 @@ public class StrongServerStoreProxy implements ServerStoreProxy {
     return delegate.get(key);
   }
 
+  @Override
+  public CompletionStage<ChainEntry> getAsync(long key) {
+    return delegate.getAsync(key);
+  }
+
+  @Override
+  public List<ChainEntry> getAll(long[] keys) throws TimeoutException {
+    return delegate.getAll(keys);
+  }
+
   @Override
   public void append(final long key, final ByteBuffer payLoad) throws TimeoutException {
     performWaitingForHashInvalidation(key, () -> {
@@ -218,11 +271,61 @@ public class StrongServerStoreProxy implements ServerStoreProxy {
     }, entity.getTimeouts().getWriteOperationTimeout());
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * A hash can only have one invalidation in progress per client, so the keys are split in rounds of distinct hashes.
+   * The appends of a round are in flight together, and each round completes once all its hashes are invalidated.
+   */
+  @Override
+  public void appendAll(long[] keys, ByteBuffer[] payLoads) throws TimeoutException {
+    LongSupplier nanosRemaining = nanosStartingFromNow(entity.getTimeouts().getWriteOperationTimeout());
+    int from = 0;
+    while (from < keys.length) {
+      Set<Long> hashes = new HashSet<>();
+      int to = from;
+      while (to < keys.length && hashes.add(keys[to])) {
+        to++;
+      }
+      long[] roundKeys = Arrays.copyOfRange(keys, from, to);
+      ByteBuffer[] roundPayLoads = Arrays.copyOfRange(payLoads, from, to);
+      performWaitingForHashInvalidations(roundKeys, () -> {
+        delegate.appendAll(roundKeys, roundPayLoads);
+        return null;
+      }, nanosRemaining);
+      from = to;
+    }
+  }
+
   @Override
   public ChainEntry getAndAppend(final long key, final ByteBuffer payLoad) throws TimeoutException {
     return performWaitingForHashInvalidation(key, () -> delegate.getAndAppend(key, payLoad), entity.getTimeouts().getWriteOperationTimeout());
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The keys are split in rounds of distinct hashes, as for {@link #appendAll(long[], ByteBuffer[])}.
+   */
+  @Override
+  public List<ChainEntry> getAndAppendAll(long[] keys, ByteBuffer[] payLoads) throws TimeoutException {
+    LongSupplier nanosRemaining = nanosStartingFromNow(entity.getTimeouts().getWriteOperationTimeout());
+    List<ChainEntry> entries = new ArrayList<>(keys.length);
+    int from = 0;
+    while (from < keys.length) {
+      Set<Long> hashes = new HashSet<>();
+      int to = from;
+      while (to < keys.length && hashes.add(keys[to])) {
+        to++;
+      }
+      long[] roundKeys = Arrays.copyOfRange(keys, from, to);
+      ByteBuffer[] roundPayLoads = Arrays.copyOfRange(payLoads, from, to);
+      entries.addAll(performWaitingForHashInvalidations(roundKeys, () -> delegate.getAndAppendAll(roundKeys, roundPayLoads), nanosRemaining));
+      from = to;
+    }
+    return entries;
+  }
+
   @Override
   public void enableEvents(boolean enable) {
     delegate.enableEvents(enable);
@@ -0,0 +1,83 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ehcache.clustered.client.internal.store;
+
+import org.ehcache.clustered.common.internal.store.Chain;
+import org.ehcache.clustered.common.internal.store.ChainVersion;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least recently used, cache of the chains last fetched from the server along with their versions.
+ * <p>
+ * Cached chains are never returned without the server confirming they are still current, so this cache only saves
+ * the transfer of unchanged chains and never serves stale data.
+ */
+class VersionedChainCache {
+
+  private final Map<Long, VersionedChain> chains;
+
+  VersionedChainCache(int maxSize) {
+    this.chains = new LinkedHashMap<Long, VersionedChain>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, VersionedChain> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  synchronized VersionedChain get(long key) {
+    return chains.get(key);
+  }
+
+  /**
+   * Records the chain fetched for {@code key}, or forgets the key if the chain cannot be versioned.
+   */
+  synchronized void put(long key, Chain chain) {
+    ChainVersion version = ChainVersion.of(chain);
+    if (version == null) {
+      chains.remove(key);
+    } else {
+      chains.put(key, new VersionedChain(chain, version));
+    }
+  }
+
+  synchronized void clear() {
+    chains.clear();
+  }
+
+  static class VersionedChain {
+    private final Chain chain;
+    private final ChainVersion version;
+
+    VersionedChain(Chain chain, ChainVersion version) {
+      this.chain = chain;
+      this.version = version;
+    }
+
+    Chain getChain() {
+      return chain;
+    }
+
+    ChainVersion getVersion() {
+      return version;
+    }
+  }
+}
@@ -22,7 +22,9 @@ import org.ehcache.clustered.common.internal.store.Element;
 
 import java.nio.ByteBuffer;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeoutException;
 
 public class LockingServerStoreProxyImpl implements LockingServerStoreProxy {
@@ -86,11 +88,26 @@ public class LockingServerStoreProxyImpl implements LockingServerStoreProxy {
     return storeProxy.get(key);
   }
 
+  @Override
+  public CompletionStage<ChainEntry> getAsync(long key) {
+    return storeProxy.getAsync(key);
+  }
+
+  @Override
+  public List<ChainEntry> getAll(long[] keys) throws TimeoutException {
+    return storeProxy.getAll(keys);
+  }
+
   @Override
   public void append(long key, ByteBuffer payLoad) throws TimeoutException {
     storeProxy.append(key, payLoad);
   }
 
+  @Override
+  public void appendAll(long[] keys, ByteBuffer[] payLoads) throws TimeoutException {
+    storeProxy.appendAll(keys, payLoads);
+  }
+
   @Override
   public ChainEntry getAndAppend(long key, ByteBuffer payLoad) throws TimeoutException {
     return storeProxy.getAndAppend(key, payLoad);
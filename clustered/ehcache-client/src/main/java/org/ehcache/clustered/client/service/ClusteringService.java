@@ -18,6 +18,7 @@
 package org.ehcache.clustered.client.service;
 
 import org.ehcache.CachePersistenceException;
+import org.ehcache.clustered.client.config.ClusteredStoreConfiguration;
 import org.ehcache.clustered.client.config.ClusteringServiceConfiguration;
 import org.ehcache.clustered.client.internal.store.ServerStoreProxy;
 import org.ehcache.clustered.client.internal.store.ServerStoreProxy.ServerCallback;
@@ -53,8 +54,28 @@ public interface ClusteringService extends PersistableResourceService {
    *
    * @throws CachePersistenceException if the {@code cacheIdentifier} is unknown or the {@code ServerStoreProxy} cannot be created
    */
+  default <K, V> ServerStoreProxy getServerStoreProxy(ClusteredCacheIdentifier cacheIdentifier, final Configuration<K, V> storeConfig,
+                                                      Consistency consistency, ServerCallback invalidation) throws CachePersistenceException {
+    return getServerStoreProxy(cacheIdentifier, storeConfig, new ClusteredStoreConfiguration(consistency), invalidation);
+  }
+
+  /**
+   * Gets a {@link ServerStoreProxy} though which a server-resident {@code ServerStore} is accessed.
+   *
+   * @param <K> the cache-exposed key type
+   * @param <V> the cache-exposed value type
+   *
+   * @param cacheIdentifier the {@code ClusteredCacheIdentifier} for the cache for which a
+   *                        {@link ServerStoreProxy} is requested
+   * @param storeConfig the configuration used for the {@link Store} for which the {@link ServerStoreProxy}
+   *                    is requested
+   * @param clusteredStoreConfig the store's clustered configuration
+   * @return a new {@link ServerStoreProxy}
+   *
+   * @throws CachePersistenceException if the {@code cacheIdentifier} is unknown or the {@code ServerStoreProxy} cannot be created
+   */
   <K, V> ServerStoreProxy getServerStoreProxy(ClusteredCacheIdentifier cacheIdentifier, final Configuration<K, V> storeConfig,
-                                              Consistency consistency, ServerCallback invalidation) throws CachePersistenceException;
+                                              ClusteredStoreConfiguration clusteredStoreConfig, ServerCallback invalidation) throws CachePersistenceException;
 
   /**
    * Releases access to a {@link ServerStoreProxy} and the server-resident {@code ServerStore} it represents.
@@ -35,4 +35,23 @@ public class ClusteredStoreConfigurationTest {
     assertThat(derived, is(not(sameInstance(configuration))));
     assertThat(derived.getConsistency(), is(configuration.getConsistency()));
   }
+
+  @Test
+  public void testDeriveKeepsChainCacheSize() {
+    ClusteredStoreConfiguration configuration = new ClusteredStoreConfiguration(Consistency.EVENTUAL, 64);
+    ClusteredStoreConfiguration derived = configuration.build(Consistency.STRONG);
+
+    assertThat(derived.getConsistency(), is(Consistency.STRONG));
+    assertThat(derived.getChainCacheSize(), is(64));
+  }
+
+  @Test
+  public void testChainCacheIsDisabledByDefault() {
+    assertThat(new ClusteredStoreConfiguration(Consistency.STRONG).getChainCacheSize(), is(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeChainCacheSizeIsRejected() {
+    new ClusteredStoreConfiguration(Consistency.EVENTUAL, -1);
+  }
 }
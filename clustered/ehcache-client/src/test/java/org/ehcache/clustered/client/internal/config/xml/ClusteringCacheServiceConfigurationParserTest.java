@@ -16,9 +16,11 @@
  */
 package org.ehcache.clustered.client.internal.config.xml;
 
+import org.ehcache.clustered.client.config.ClusteredStoreConfiguration;
 import org.ehcache.clustered.client.config.builders.ClusteredStoreConfigurationBuilder;
 import org.ehcache.clustered.common.Consistency;
 import org.junit.Test;
+import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.xml.sax.SAXException;
 
@@ -28,6 +30,7 @@ import java.io.IOException;
 import static org.ehcache.xml.DomUtil.createDocumentRoot;
 import static org.ehcache.xml.XmlConfigurationMatchers.isSameConfigurationAs;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 
 public class ClusteringCacheServiceConfigurationParserTest {
 
@@ -42,4 +45,31 @@ public class ClusteringCacheServiceConfigurationParserTest {
       "xmlns:tc = \"http://www.ehcache.org/v3/clustered\"></tc:clustered-store>";
     assertThat(retNode, isSameConfigurationAs(inputString));
   }
+
+  @Test
+  public void testTranslateServiceStoreConfigurationWithChainCache() throws IOException, ParserConfigurationException, SAXException {
+
+    ClusteringCacheServiceConfigurationParser configurationTranslator = new ClusteringCacheServiceConfigurationParser();
+    Node retNode = configurationTranslator.unparse(createDocumentRoot(configurationTranslator.getSchema().values()),
+      ClusteredStoreConfigurationBuilder.withConsistency(Consistency.EVENTUAL).withChainCacheSize(128).build());
+
+    String inputString = "<tc:clustered-store consistency = \"eventual\" chain-cache-size = \"128\" " +
+      "xmlns:tc = \"http://www.ehcache.org/v3/clustered\"></tc:clustered-store>";
+    assertThat(retNode, isSameConfigurationAs(inputString));
+  }
+
+  @Test
+  public void testParseServiceStoreConfigurationWithChainCache() throws IOException, ParserConfigurationException, SAXException {
+
+    ClusteringCacheServiceConfigurationParser configurationTranslator = new ClusteringCacheServiceConfigurationParser();
+    Element element = createDocumentRoot(configurationTranslator.getSchema().values())
+      .createElementNS("http://www.ehcache.org/v3/clustered", "tc:clustered-store");
+    element.setAttribute("consistency", "strong");
+    element.setAttribute("chain-cache-size", "32");
+
+    ClusteredStoreConfiguration configuration = configurationTranslator.parse(element, getClass().getClassLoader());
+
+    assertThat(configuration.getConsistency(), is(Consistency.STRONG));
+    assertThat(configuration.getChainCacheSize(), is(32));
+  }
 }
@@ -56,6 +56,7 @@ import org.junit.Test;
 import org.terracotta.connection.Connection;
 
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -65,6 +66,7 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Properties;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -74,14 +76,18 @@ import static org.ehcache.core.spi.store.Store.ValueHolder.NO_EXPIRE;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.either;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.RETURNS_MOCKS;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 
@@ -518,12 +524,132 @@ public class ClusteredStoreTest {
     validateStats(store, EnumSet.noneOf(StoreOperationOutcomes.RemoveOutcome.class));
   }
 
-  @Test(expected = UnsupportedOperationException.class)
-  public void testBulkComputeThrowsForGenericFunction() throws Exception {
+  @Test
+  public void testBulkComputeGenericFunction() throws Exception {
+    store.put(1L, "one");
+    store.put(2L, "two");
+    store.put(3L, "three");
+    Function<Iterable<? extends Map.Entry<? extends Long, ? extends String>>, Iterable<? extends Map.Entry<? extends Long, ? extends String>>> remappingFunction = entries -> {
+      Map<Long, String> result = new HashMap<>();
+      for (Map.Entry<? extends Long, ? extends String> entry : entries) {
+        if (entry.getKey() == 1L) {
+          result.put(entry.getKey(), entry.getValue() + "!");
+        } else if (entry.getKey() == 2L) {
+          result.put(entry.getKey(), null);
+        } else {
+          result.put(entry.getKey(), entry.getValue() == null ? "four" : entry.getValue());
+        }
+      }
+      return result.entrySet();
+    };
+    Map<Long, Store.ValueHolder<String>> valueHolderMap = store.bulkCompute(new HashSet<>(Arrays.asList(1L, 2L, 3L, 4L)), remappingFunction);
+
+    assertThat(valueHolderMap.get(1L).get(), is("one!"));
+    assertThat(store.get(1L).get(), is("one!"));
+    assertThat(valueHolderMap.get(2L), nullValue());
+    assertThat(store.get(2L), nullValue());
+    assertThat(valueHolderMap.get(3L).get(), is("three"));
+    assertThat(store.get(3L).get(), is("three"));
+    assertThat(valueHolderMap.get(4L).get(), is("four"));
+    assertThat(store.get(4L).get(), is("four"));
+  }
+
+  @Test
+  public void testBulkComputeGenericFunctionRecomputesConcurrentlyWrittenKeys() throws Exception {
+    store.put(1L, "one");
+    AtomicInteger invocations = new AtomicInteger();
+    Function<Iterable<? extends Map.Entry<? extends Long, ? extends String>>, Iterable<? extends Map.Entry<? extends Long, ? extends String>>> remappingFunction = entries -> {
+      if (invocations.getAndIncrement() == 0) {
+        try {
+          store.put(1L, "concurrent");
+          store.put(2L, "concurrent");
+        } catch (StoreAccessException e) {
+          throw new AssertionError(e);
+        }
+      }
+      Map<Long, String> result = new HashMap<>();
+      for (Map.Entry<? extends Long, ? extends String> entry : entries) {
+        result.put(entry.getKey(), entry.getValue() + "!");
+      }
+      return result.entrySet();
+    };
+    Map<Long, Store.ValueHolder<String>> valueHolderMap = store.bulkCompute(new HashSet<>(Arrays.asList(1L, 2L)), remappingFunction);
+
+    assertThat(invocations.get(), is(2));
+    assertThat(valueHolderMap.get(1L).get(), is("concurrent!"));
+    assertThat(store.get(1L).get(), is("concurrent!"));
+    assertThat(valueHolderMap.get(2L).get(), is("concurrent!"));
+    assertThat(store.get(2L).get(), is("concurrent!"));
+  }
+
+  @Test
+  public void testBulkComputeGenericFunctionGivesUpOnKeysWrittenOnEveryAttempt() throws Exception {
+    AtomicInteger invocations = new AtomicInteger();
+    Function<Iterable<? extends Map.Entry<? extends Long, ? extends String>>, Iterable<? extends Map.Entry<? extends Long, ? extends String>>> remappingFunction = entries -> {
+      try {
+        store.put(1L, "concurrent" + invocations.incrementAndGet());
+      } catch (StoreAccessException e) {
+        throw new AssertionError(e);
+      }
+      Map<Long, String> result = new HashMap<>();
+      for (Map.Entry<? extends Long, ? extends String> entry : entries) {
+        result.put(entry.getKey(), entry.getValue() + "!");
+      }
+      return result.entrySet();
+    };
+
+    assertThatExceptionOfType(StoreAccessException.class)
+      .isThrownBy(() -> store.bulkCompute(Collections.singleton(1L), remappingFunction));
+    assertThat(invocations.get(), is(ClusteredStore.MAX_BULK_COMPUTE_ATTEMPTS));
+  }
+
+  @Test
+  public void testBulkComputeGenericFunctionPipelinesConditionalWrites() throws Exception {
+    ServerStoreProxy proxy = mock(ServerStoreProxy.class);
+    @SuppressWarnings("unchecked")
+    OperationsCodec<Long, String> codec = mock(OperationsCodec.class);
     @SuppressWarnings("unchecked")
-    Function<Iterable<? extends Map.Entry<? extends Long, ? extends String>>, Iterable<? extends Map.Entry<? extends Long, ? extends String>>> remappingFunction
-        = mock(Function.class);
-    store.bulkCompute(new HashSet<>(Arrays.asList(1L, 2L)), remappingFunction);
+    EternalChainResolver<Long, String> resolver = mock(EternalChainResolver.class);
+    ServerStoreProxy.ChainEntry chain = mock(ServerStoreProxy.ChainEntry.class);
+    when(proxy.getAll(any(long[].class))).thenReturn(Arrays.asList(chain, chain));
+    when(proxy.getAndAppendAll(any(long[].class), any(ByteBuffer[].class))).thenReturn(Arrays.asList(chain, chain));
+    when(resolver.resolve(any(ServerStoreProxy.ChainEntry.class), any(), anyLong())).thenReturn(new ClusteredValueHolder<>("one"));
+    when(resolver.resolve(any(ServerStoreProxy.ChainEntry.class), any(), anyLong(), anyInt())).thenReturn(new ClusteredValueHolder<>("one"));
+    ClusteredStore<Long, String> store = new ClusteredStore<>(config, codec, resolver, proxy, mock(TimeSource.class), null, new DefaultStatisticsService());
+
+    Function<Iterable<? extends Map.Entry<? extends Long, ? extends String>>, Iterable<? extends Map.Entry<? extends Long, ? extends String>>> remappingFunction = entries -> {
+      Map<Long, String> result = new HashMap<>();
+      for (Map.Entry<? extends Long, ? extends String> entry : entries) {
+        result.put(entry.getKey(), entry.getValue() + "!");
+      }
+      return result.entrySet();
+    };
+    Map<Long, Store.ValueHolder<String>> valueHolderMap = store.bulkCompute(new HashSet<>(Arrays.asList(1L, 2L)), remappingFunction);
+
+    assertThat(valueHolderMap.get(1L).get(), is("one!"));
+    assertThat(valueHolderMap.get(2L).get(), is("one!"));
+    verify(proxy).getAndAppendAll(any(long[].class), any(ByteBuffer[].class));
+    verify(proxy, never()).getAndAppend(anyLong(), any());
+  }
+
+  @Test
+  public void testBulkComputeGenericFunctionWithoutReplaceEqualSkipsUnchangedKeys() throws Exception {
+    ServerStoreProxy proxy = mock(ServerStoreProxy.class);
+    @SuppressWarnings("unchecked")
+    OperationsCodec<Long, String> codec = mock(OperationsCodec.class);
+    @SuppressWarnings("unchecked")
+    EternalChainResolver<Long, String> resolver = mock(EternalChainResolver.class);
+    ServerStoreProxy.ChainEntry chain = mock(ServerStoreProxy.ChainEntry.class);
+    when(proxy.getAll(any(long[].class))).thenReturn(Collections.singletonList(chain));
+    when(resolver.resolve(any(ServerStoreProxy.ChainEntry.class), any(), anyLong())).thenReturn(new ClusteredValueHolder<>("one"));
+    ClusteredStore<Long, String> store = new ClusteredStore<>(config, codec, resolver, proxy, mock(TimeSource.class), null, new DefaultStatisticsService());
+
+    Function<Iterable<? extends Map.Entry<? extends Long, ? extends String>>, Iterable<? extends Map.Entry<? extends Long, ? extends String>>> identity = entries -> entries;
+    Map<Long, Store.ValueHolder<String>> valueHolderMap = store.bulkCompute(Collections.singleton(1L), identity, () -> false);
+
+    assertThat(valueHolderMap.get(1L).get(), is("one"));
+    verify(proxy, never()).append(anyLong(), any());
+    verify(proxy, never()).appendAll(any(), any());
   }
 
   @Test
@@ -539,12 +665,47 @@ public class ClusteredStoreTest {
     assertThat(store.get(2L).get(), is("two"));
   }
 
-  @Test(expected = UnsupportedOperationException.class)
-  public void testBulkComputeIfAbsentThrowsForGenericFunction() throws Exception {
-    @SuppressWarnings("unchecked")
-    Function<Iterable<? extends Long>, Iterable<? extends Map.Entry<? extends Long, ? extends String>>> mappingFunction
-        = mock(Function.class);
-    store.bulkComputeIfAbsent(new HashSet<>(Arrays.asList(1L, 2L)), mappingFunction);
+  @Test
+  public void testBulkComputeIfAbsentGenericFunction() throws Exception {
+    store.put(1L, "one");
+    Function<Iterable<? extends Long>, Iterable<? extends Map.Entry<? extends Long, ? extends String>>> mappingFunction = keys -> {
+      Map<Long, String> result = new HashMap<>();
+      for (Long key : keys) {
+        assertThat(key, is(not(1L)));
+        result.put(key, key == 2L ? "two" : null);
+      }
+      return result.entrySet();
+    };
+    Map<Long, Store.ValueHolder<String>> valueHolderMap = store.bulkComputeIfAbsent(new HashSet<>(Arrays.asList(1L, 2L, 3L)), mappingFunction);
+
+    assertThat(valueHolderMap.get(1L).get(), is("one"));
+    assertThat(valueHolderMap.get(2L).get(), is("two"));
+    assertThat(store.get(2L).get(), is("two"));
+    assertThat(valueHolderMap.containsKey(3L), is(true));
+    assertThat(valueHolderMap.get(3L), nullValue());
+    assertThat(store.get(3L), nullValue());
+  }
+
+  @Test
+  public void testBulkComputeIfAbsentGenericFunctionKeepsConcurrentMappings() throws Exception {
+    Function<Iterable<? extends Long>, Iterable<? extends Map.Entry<? extends Long, ? extends String>>> mappingFunction = keys -> {
+      try {
+        store.put(1L, "concurrent");
+      } catch (StoreAccessException e) {
+        throw new AssertionError(e);
+      }
+      Map<Long, String> result = new HashMap<>();
+      for (Long key : keys) {
+        result.put(key, "computed");
+      }
+      return result.entrySet();
+    };
+    Map<Long, Store.ValueHolder<String>> valueHolderMap = store.bulkComputeIfAbsent(new HashSet<>(Arrays.asList(1L, 2L)), mappingFunction);
+
+    assertThat(valueHolderMap.get(1L).get(), is("concurrent"));
+    assertThat(store.get(1L).get(), is("concurrent"));
+    assertThat(valueHolderMap.get(2L).get(), is("computed"));
+    assertThat(store.get(2L).get(), is("computed"));
   }
 
   @Test
@@ -40,6 +40,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.either;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
@@ -315,6 +317,108 @@ public class CommonServerStoreProxyTest extends AbstractServerStoreProxyTest {
     assertThat(chain, hasPayloads(3L, 33L, 333l));
   }
 
+  @Test
+  public void testUnchangedChainIsServedFromChainCache() throws Exception {
+    ClusterTierClientEntity clientEntity = createClientEntity("testUnchangedChainIsServedFromChainCache", Consistency.EVENTUAL, true);
+    CommonServerStoreProxy serverStoreProxy = new CommonServerStoreProxy("testUnchangedChainIsServedFromChainCache", clientEntity, mock(ServerCallback.class), 16);
+
+    serverStoreProxy.append(4L, createPayload(4L));
+    serverStoreProxy.append(4L, createPayload(44L));
+
+    Chain fetched = serverStoreProxy.get(4L);
+    Chain unchanged = serverStoreProxy.get(4L);
+
+    assertThat(unchanged, hasPayloads(4L, 44L));
+    assertThat(unchanged.iterator().next(), sameInstance(fetched.iterator().next()));
+
+    serverStoreProxy.append(4L, createPayload(444L));
+    Chain changed = serverStoreProxy.get(4L);
+
+    assertThat(changed, hasPayloads(4L, 44L, 444L));
+    assertThat(changed.iterator().next(), not(sameInstance(fetched.iterator().next())));
+  }
+
+  @Test
+  public void testChainCacheIsDisabledByDefault() throws Exception {
+    ClusterTierClientEntity clientEntity = createClientEntity("testChainCacheIsDisabledByDefault", Consistency.EVENTUAL, true);
+    CommonServerStoreProxy serverStoreProxy = new CommonServerStoreProxy("testChainCacheIsDisabledByDefault", clientEntity, mock(ServerCallback.class));
+
+    serverStoreProxy.append(5L, createPayload(5L));
+
+    Chain fetched = serverStoreProxy.get(5L);
+    Chain refetched = serverStoreProxy.get(5L);
+
+    assertThat(refetched, hasPayloads(5L));
+    assertThat(refetched.iterator().next(), not(sameInstance(fetched.iterator().next())));
+  }
+
+  @Test
+  public void testGetAllReturnsChainsInKeyOrder() throws Exception {
+    ClusterTierClientEntity clientEntity = createClientEntity("testGetAllReturnsChainsInKeyOrder", Consistency.EVENTUAL, true);
+    CommonServerStoreProxy serverStoreProxy = new CommonServerStoreProxy("testGetAllReturnsChainsInKeyOrder", clientEntity, mock(ServerCallback.class));
+
+    serverStoreProxy.append(6L, createPayload(6L));
+    serverStoreProxy.append(8L, createPayload(8L));
+    serverStoreProxy.append(8L, createPayload(88L));
+
+    List<ServerStoreProxy.ChainEntry> chains = serverStoreProxy.getAll(new long[] {8L, 7L, 6L, 8L});
+
+    assertThat(chains.size(), is(4));
+    assertThat(chains.get(0), hasPayloads(8L, 88L));
+    assertThat(chains.get(1).isEmpty(), is(true));
+    assertThat(chains.get(2), hasPayloads(6L));
+    assertThat(chains.get(3), hasPayloads(8L, 88L));
+  }
+
+  @Test
+  public void testGetAllSpanningSeveralBatches() throws Exception {
+    ClusterTierClientEntity clientEntity = createClientEntity("testGetAllSpanningSeveralBatches", Consistency.EVENTUAL, true);
+    CommonServerStoreProxy serverStoreProxy = new CommonServerStoreProxy("testGetAllSpanningSeveralBatches", clientEntity, mock(ServerCallback.class));
+
+    long[] keys = new long[1000];
+    ByteBuffer[] payloads = new ByteBuffer[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = i;
+      payloads[i] = createPayload(i);
+    }
+    serverStoreProxy.appendAll(keys, payloads);
+
+    List<ServerStoreProxy.ChainEntry> chains = serverStoreProxy.getAll(keys);
+
+    assertThat(chains.size(), is(keys.length));
+    for (int i = 0; i < keys.length; i++) {
+      assertThat(chains.get(i), hasPayloads((long) i));
+    }
+  }
+
+  @Test
+  public void testAppendAllKeepsPerKeyOrder() throws Exception {
+    ClusterTierClientEntity clientEntity = createClientEntity("testAppendAllKeepsPerKeyOrder", Consistency.EVENTUAL, true);
+    CommonServerStoreProxy serverStoreProxy = new CommonServerStoreProxy("testAppendAllKeepsPerKeyOrder", clientEntity, mock(ServerCallback.class));
+
+    serverStoreProxy.appendAll(new long[] {9L, 10L, 9L, 9L},
+      new ByteBuffer[] {createPayload(9L), createPayload(10L), createPayload(99L), createPayload(999L)});
+
+    assertThat(serverStoreProxy.get(9L), hasPayloads(9L, 99L, 999L));
+    assertThat(serverStoreProxy.get(10L), hasPayloads(10L));
+  }
+
+  @Test
+  public void testGetAndAppendAllReturnsPrecedingChains() throws Exception {
+    ClusterTierClientEntity clientEntity = createClientEntity("testGetAndAppendAllReturnsPrecedingChains", Consistency.EVENTUAL, true);
+    CommonServerStoreProxy serverStoreProxy = new CommonServerStoreProxy("testGetAndAppendAllReturnsPrecedingChains", clientEntity, mock(ServerCallback.class));
+    serverStoreProxy.append(11L, createPayload(11L));
+
+    List<ServerStoreProxy.ChainEntry> chains = serverStoreProxy.getAndAppendAll(new long[] {11L, 12L, 11L},
+      new ByteBuffer[] {createPayload(111L), createPayload(12L), createPayload(1111L)});
+
+    assertThat(chains.get(0), hasPayloads(11L));
+    assertThat(chains.get(1).isEmpty(), is(true));
+    assertThat(chains.get(2), hasPayloads(11L, 111L));
+    assertThat(serverStoreProxy.get(11L), hasPayloads(11L, 111L, 1111L));
+    assertThat(serverStoreProxy.get(12L), hasPayloads(12L));
+  }
+
   @Test
   public void testGetAndAppendKeyNotPresent() throws Exception {
     ClusterTierClientEntity clientEntity = createClientEntity("testGetAndAppendKeyNotPresent", Consistency.EVENTUAL, true);
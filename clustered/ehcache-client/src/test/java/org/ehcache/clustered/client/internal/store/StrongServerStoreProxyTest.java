@@ -33,7 +33,9 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static java.util.Arrays.asList;
 import static org.ehcache.clustered.ChainUtils.createPayload;
+import static org.ehcache.clustered.Matchers.hasPayloads;
 import static org.ehcache.clustered.Matchers.matchesChain;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
@@ -179,6 +181,48 @@ public class StrongServerStoreProxyTest extends AbstractServerStoreProxyTest {
     assertThat(invalidatedAll.get(), is(false));
   }
 
+  @Test
+  public void testHashInvalidationListenerWithAppendAll() throws Exception {
+    SimpleClusterTierClientEntity clientEntity1 = createClientEntity("testHashInvalidationListenerWithAppendAll", Consistency.STRONG, true);
+    SimpleClusterTierClientEntity clientEntity2 = createClientEntity("testHashInvalidationListenerWithAppendAll", Consistency.STRONG, false);
+
+    final List<Long> invalidatedHashes = new CopyOnWriteArrayList<>();
+
+    StrongServerStoreProxy serverStoreProxy1 = new StrongServerStoreProxy("testHashInvalidationListenerWithAppendAll", clientEntity1, mock(ServerCallback.class));
+    StrongServerStoreProxy serverStoreProxy2 = new StrongServerStoreProxy("testHashInvalidationListenerWithAppendAll", clientEntity2, new ServerCallback() {
+      @Override
+      public void onAppendInvalidateHash(long hash) {
+        invalidatedHashes.add(hash);
+      }
+
+      @Override
+      public void onEvictInvalidateHash(long hash, Chain evictedChain) {
+        fail("should not be called");
+      }
+
+      @Override
+      public void onInvalidateAll() {
+        fail("should not be called");
+      }
+
+      @Override
+      public void onAppend(Chain beforeAppend, ByteBuffer appended) {
+        fail("should not be called");
+      }
+
+      @Override
+      public void compact(ServerStoreProxy.ChainEntry chain) {
+        throw new AssertionError();
+      }
+    });
+
+    serverStoreProxy1.appendAll(new long[] {1L, 2L, 1L}, new ByteBuffer[] {createPayload(1L), createPayload(2L), createPayload(11L)});
+
+    assertThat(invalidatedHashes.size(), is(3));
+    assertThat(invalidatedHashes.containsAll(asList(1L, 2L)), is(true));
+    assertThat(serverStoreProxy2.get(1L), hasPayloads(1L, 11L));
+  }
+
   @Test
   public void testConcurrentHashInvalidationListenerWithAppend() throws Exception {
     SimpleClusterTierClientEntity clientEntity1 = createClientEntity("testConcurrentHashInvalidationListenerWithAppend", Consistency.STRONG, true);
@@ -0,0 +1,116 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ehcache.clustered.common.internal.store.operations;
+
+import org.ehcache.clustered.common.internal.store.Chain;
+import org.ehcache.clustered.common.internal.store.Element;
+import org.ehcache.clustered.common.internal.store.operations.codecs.OperationsCodec;
+import org.ehcache.clustered.common.internal.util.ChainBuilder;
+import org.ehcache.impl.serialization.LongSerializer;
+import org.ehcache.impl.serialization.StringSerializer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class ServerSideChainResolverTest {
+
+  private static final OperationsCodec<Long, String> codec = new OperationsCodec<>(new LongSerializer(), new StringSerializer());
+
+  @Test
+  public void testEternalPutSupersedesPreviousOperations() {
+    Chain chain = chainOf(
+      new PutOperation<>(1L, "one", 1L),
+      new PutOperation<>(2L, "two", 2L),
+      new ReplaceOperation<>(1L, "un", 3L),
+      new PutOperation<>(1L, "eins", 4L));
+
+    Chain compacted = new ServerSideChainResolver(true).compact(chain);
+
+    assertThat(decode(compacted), contains(
+      new PutOperation<>(2L, "two", 2L),
+      new PutOperation<>(1L, "eins", 4L)));
+  }
+
+  @Test
+  public void testPutWithoutExpiryDoesNotSupersedeWhenNotEternal() {
+    Chain chain = chainOf(
+      new PutOperation<>(1L, "one", 1L),
+      new PutOperation<>(1L, "eins", 2L));
+
+    assertThat(new ServerSideChainResolver(false).compact(chain), sameInstance(chain));
+  }
+
+  @Test
+  public void testPutWithExpirySupersedesWhenNotEternal() {
+    Chain chain = chainOf(
+      new PutOperation<>(1L, "one", 1L),
+      new PutOperation<>(1L, "eins", -100L));
+
+    Chain compacted = new ServerSideChainResolver(false).compact(chain);
+
+    assertThat(decode(compacted), contains(new PutOperation<>(1L, "eins", -100L)));
+  }
+
+  @Test
+  public void testRemoveSupersedesPreviousOperations() {
+    Chain chain = chainOf(
+      new PutOperation<>(1L, "one", 1L),
+      new PutIfAbsentOperation<>(1L, "un", 2L),
+      new PutOperation<>(2L, "two", 3L),
+      new RemoveOperation<>(1L, 4L),
+      new PutIfAbsentOperation<>(1L, "eins", 5L));
+
+    Chain compacted = new ServerSideChainResolver(false).compact(chain);
+
+    assertThat(decode(compacted), contains(
+      new PutOperation<>(2L, "two", 3L),
+      new RemoveOperation<>(1L, 4L),
+      new PutIfAbsentOperation<>(1L, "eins", 5L)));
+  }
+
+  @Test
+  public void testConditionalOperationsAreKept() {
+    Chain chain = chainOf(
+      new PutOperation<>(1L, "one", 1L),
+      new ConditionalReplaceOperation<>(1L, "one", "un", 2L),
+      new ConditionalRemoveOperation<>(1L, "un", 3L));
+
+    assertThat(new ServerSideChainResolver(true).compact(chain), sameInstance(chain));
+  }
+
+  @SafeVarargs
+  private static Chain chainOf(Operation<Long, String>... operations) {
+    ChainBuilder builder = new ChainBuilder();
+    for (Operation<Long, String> operation : operations) {
+      builder = builder.add(codec.encode(operation));
+    }
+    return builder.build();
+  }
+
+  private static List<Operation<Long, String>> decode(Chain chain) {
+    List<Operation<Long, String>> operations = new ArrayList<>();
+    for (Element element : chain) {
+      operations.add(codec.decode(element.getPayload()));
+    }
+    return operations;
+  }
+}
@@ -40,6 +40,7 @@ public class ServerStoreConfiguration implements Serializable {
   private final Consistency consistency;
   private final boolean loaderWriterConfigured;
   private final boolean writeBehindConfigured;
+  private final boolean eternal;
 
   public ServerStoreConfiguration(PoolAllocation poolAllocation,
                                   String storedKeyType,
@@ -61,6 +62,19 @@ public class ServerStoreConfiguration implements Serializable {
                                   Consistency consistency,
                                   boolean loaderWriterConfigured,
                                   boolean writeBehindConfigured) {
+    this(poolAllocation, storedKeyType, storedValueType, keySerializerType, valueSerializerType, consistency,
+         loaderWriterConfigured, writeBehindConfigured, false);
+  }
+
+  public ServerStoreConfiguration(PoolAllocation poolAllocation,
+                                  String storedKeyType,
+                                  String storedValueType,
+                                  String keySerializerType,
+                                  String valueSerializerType,
+                                  Consistency consistency,
+                                  boolean loaderWriterConfigured,
+                                  boolean writeBehindConfigured,
+                                  boolean eternal) {
     this.poolAllocation = poolAllocation;
     this.storedKeyType = storedKeyType;
     this.storedValueType = storedValueType;
@@ -69,6 +83,7 @@ public class ServerStoreConfiguration implements Serializable {
     this.consistency = consistency;
     this.loaderWriterConfigured = loaderWriterConfigured;
     this.writeBehindConfigured = writeBehindConfigured;
+    this.eternal = eternal;
   }
 
   public PoolAllocation getPoolAllocation() {
@@ -103,6 +118,17 @@ public class ServerStoreConfiguration implements Serializable {
     return writeBehindConfigured;
   }
 
+  /**
+   * Whether the clients resolve this store's chains without expiry, so that a later put supersedes any previous
+   * operation on its key.
+   * <p>
+   * This is a hint for server side chain resolution, not part of the compatibility check: clients that disagree on it
+   * can share a tier, the server then leaves the expiry of plain puts to the client side resolution.
+   */
+  public boolean isEternal() {
+    return eternal;
+  }
+
   public boolean isCompatible(ServerStoreConfiguration otherConfiguration, StringBuilder sb) {
     boolean isCompatible = true;
 
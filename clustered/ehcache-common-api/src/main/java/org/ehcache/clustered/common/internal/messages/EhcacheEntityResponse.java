@@ -94,6 +94,51 @@ public abstract class EhcacheEntityResponse implements EntityResponse {
     }
   }
 
+  public static NotModified notModified() {
+    return NotModified.INSTANCE;
+  }
+
+  public static class NotModified extends EhcacheEntityResponse {
+
+    private static final NotModified INSTANCE = new NotModified();
+
+    private NotModified() {
+      //singleton
+    }
+
+    @Override
+    public final EhcacheResponseType getResponseType() {
+      return EhcacheResponseType.NOT_MODIFIED;
+    }
+  }
+
+  public static GetAllResponse getAllResponse(List<Chain> chains) {
+    return new GetAllResponse(chains);
+  }
+
+  public static class GetAllResponse extends EhcacheEntityResponse {
+
+    private final List<Chain> chains;
+
+    private GetAllResponse(List<Chain> chains) {
+      this.chains = chains;
+    }
+
+    /**
+     * Returns the chains in the order of the keys of the originating request.
+     *
+     * @return the chains
+     */
+    public List<Chain> getChains() {
+      return chains;
+    }
+
+    @Override
+    public final EhcacheResponseType getResponseType() {
+      return EhcacheResponseType.GET_ALL_RESPONSE;
+    }
+  }
+
   public static HashInvalidationDone hashInvalidationDone(long key) {
     return new HashInvalidationDone(key);
   }
@@ -217,6 +262,33 @@ public abstract class EhcacheEntityResponse implements EntityResponse {
     }
   }
 
+  public static ClientInvalidateHashes clientInvalidateHashes(long[] keys, int invalidationId) {
+    return new ClientInvalidateHashes(keys, invalidationId);
+  }
+
+  public static class ClientInvalidateHashes extends EhcacheEntityResponse {
+    private final long[] keys;
+    private final int invalidationId;
+
+    private ClientInvalidateHashes(long[] keys, int invalidationId) {
+      this.keys = keys;
+      this.invalidationId = invalidationId;
+    }
+
+    public long[] getKeys() {
+      return keys;
+    }
+
+    public int getInvalidationId() {
+      return invalidationId;
+    }
+
+    @Override
+    public final EhcacheResponseType getResponseType() {
+      return EhcacheResponseType.CLIENT_INVALIDATE_HASHES;
+    }
+  }
+
   public static ClientInvalidateAll clientInvalidateAll(int invalidationId) {
     return new ClientInvalidateAll(invalidationId);
   }
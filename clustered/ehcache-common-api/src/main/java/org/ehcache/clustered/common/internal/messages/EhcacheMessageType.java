@@ -46,6 +46,9 @@ public enum EhcacheMessageType {
   ITERATOR_CLOSE,
   ITERATOR_ADVANCE,
   ENABLE_EVENT_LISTENER,
+  GET_ALL_STORE,
+  CLIENT_INVALIDATION_BATCH_ACK,
+  GET_IF_MODIFIED_STORE,
 
   // StateRepository operation messages
   GET_STATE_REPO,
@@ -65,7 +68,8 @@ public enum EhcacheMessageType {
   }
 
   public static final EnumSet<EhcacheMessageType> STORE_OPERATION_MESSAGES = of(GET_AND_APPEND, APPEND,
-          REPLACE, CLIENT_INVALIDATION_ACK, CLIENT_INVALIDATION_ALL_ACK, CLEAR, GET_STORE, LOCK, UNLOCK, ITERATOR_OPEN, ITERATOR_CLOSE, ITERATOR_ADVANCE, ENABLE_EVENT_LISTENER);
+          REPLACE, CLIENT_INVALIDATION_ACK, CLIENT_INVALIDATION_ALL_ACK, CLEAR, GET_STORE, LOCK, UNLOCK, ITERATOR_OPEN, ITERATOR_CLOSE, ITERATOR_ADVANCE, ENABLE_EVENT_LISTENER, GET_ALL_STORE,
+          CLIENT_INVALIDATION_BATCH_ACK, GET_IF_MODIFIED_STORE);
   public static boolean isStoreOperationMessage(EhcacheMessageType value) {
     return STORE_OPERATION_MESSAGES.contains(value);
   }
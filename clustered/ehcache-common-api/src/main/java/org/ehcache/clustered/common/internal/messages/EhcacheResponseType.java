@@ -36,5 +36,8 @@ public enum EhcacheResponseType {
   LOCK_FAILURE,
   ITERATOR_BATCH,
   SERVER_APPEND,
+  GET_ALL_RESPONSE,
+  CLIENT_INVALIDATE_HASHES,
+  NOT_MODIFIED,
   ;
 }
@@ -25,8 +25,11 @@ import static org.ehcache.clustered.common.internal.messages.EhcacheMessageType.
 import static org.ehcache.clustered.common.internal.messages.EhcacheMessageType.CLEAR_INVALIDATION_COMPLETE;
 import static org.ehcache.clustered.common.internal.messages.EhcacheMessageType.CLIENT_INVALIDATION_ACK;
 import static org.ehcache.clustered.common.internal.messages.EhcacheMessageType.CLIENT_INVALIDATION_ALL_ACK;
+import static org.ehcache.clustered.common.internal.messages.EhcacheMessageType.CLIENT_INVALIDATION_BATCH_ACK;
 import static org.ehcache.clustered.common.internal.messages.EhcacheMessageType.ENABLE_EVENT_LISTENER;
 import static org.ehcache.clustered.common.internal.messages.EhcacheMessageType.ENTRY_SET;
+import static org.ehcache.clustered.common.internal.messages.EhcacheMessageType.GET_ALL_STORE;
+import static org.ehcache.clustered.common.internal.messages.EhcacheMessageType.GET_IF_MODIFIED_STORE;
 import static org.ehcache.clustered.common.internal.messages.EhcacheMessageType.REMOVE;
 import static org.ehcache.clustered.common.internal.messages.EhcacheMessageType.GET_AND_APPEND;
 import static org.ehcache.clustered.common.internal.messages.EhcacheMessageType.GET_STATE_REPO;
@@ -45,13 +48,16 @@ import static org.ehcache.clustered.common.internal.messages.EhcacheMessageType.
 import static org.ehcache.clustered.common.internal.messages.EhcacheResponseType.ALL_INVALIDATION_DONE;
 import static org.ehcache.clustered.common.internal.messages.EhcacheResponseType.CLIENT_INVALIDATE_ALL;
 import static org.ehcache.clustered.common.internal.messages.EhcacheResponseType.CLIENT_INVALIDATE_HASH;
+import static org.ehcache.clustered.common.internal.messages.EhcacheResponseType.CLIENT_INVALIDATE_HASHES;
 import static org.ehcache.clustered.common.internal.messages.EhcacheResponseType.FAILURE;
+import static org.ehcache.clustered.common.internal.messages.EhcacheResponseType.GET_ALL_RESPONSE;
 import static org.ehcache.clustered.common.internal.messages.EhcacheResponseType.GET_RESPONSE;
 import static org.ehcache.clustered.common.internal.messages.EhcacheResponseType.HASH_INVALIDATION_DONE;
 import static org.ehcache.clustered.common.internal.messages.EhcacheResponseType.ITERATOR_BATCH;
 import static org.ehcache.clustered.common.internal.messages.EhcacheResponseType.LOCK_FAILURE;
 import static org.ehcache.clustered.common.internal.messages.EhcacheResponseType.LOCK_SUCCESS;
 import static org.ehcache.clustered.common.internal.messages.EhcacheResponseType.MAP_VALUE;
+import static org.ehcache.clustered.common.internal.messages.EhcacheResponseType.NOT_MODIFIED;
 import static org.ehcache.clustered.common.internal.messages.EhcacheResponseType.RESOLVE_REQUEST;
 import static org.ehcache.clustered.common.internal.messages.EhcacheResponseType.SERVER_APPEND;
 import static org.ehcache.clustered.common.internal.messages.EhcacheResponseType.SERVER_INVALIDATE_HASH;
@@ -80,6 +86,9 @@ public class BaseCodec {
     .mapping(ITERATOR_CLOSE, 31)
     .mapping(ITERATOR_ADVANCE, 32)
     .mapping(ENABLE_EVENT_LISTENER, 33)
+    .mapping(GET_ALL_STORE, 34)
+    .mapping(CLIENT_INVALIDATION_BATCH_ACK, 35)
+    .mapping(GET_IF_MODIFIED_STORE, 36)
 
     .mapping(GET_STATE_REPO, 41)
     .mapping(PUT_IF_ABSENT, 42)
@@ -111,6 +120,9 @@ public class BaseCodec {
     .mapping(LOCK_FAILURE, 92)
     .mapping(ITERATOR_BATCH, 93)
     .mapping(SERVER_APPEND, 94)
+    .mapping(GET_ALL_RESPONSE, 95)
+    .mapping(CLIENT_INVALIDATE_HASHES, 96)
+    .mapping(NOT_MODIFIED, 97)
     .build();
 
 }
@@ -58,6 +58,7 @@ public class CommonConfigCodec implements ConfigCodec {
   private static final String POOL_NAME_FIELD = "poolName";
   private static final String LOADER_WRITER_CONFIGURED_FIELD = "loaderWriterConfigured";
   private static final String WRITE_BEHIND_CONFIGURED_FIELD = "writeBehindConfigured";
+  private static final String ETERNAL_FIELD = "eternal";
 
   private static final EnumMapping<Consistency> CONSISTENCY_ENUM_MAPPING = newEnumMappingBuilder(Consistency.class)
     .mapping(Consistency.EVENTUAL, 1)
@@ -81,6 +82,7 @@ public class CommonConfigCodec implements ConfigCodec {
       .enm(STORE_CONFIG_CONSISTENCY_FIELD, index + 16, CONSISTENCY_ENUM_MAPPING)
       .bool(LOADER_WRITER_CONFIGURED_FIELD, index + 17)
       .bool(WRITE_BEHIND_CONFIGURED_FIELD, index + 18)
+      .bool(ETERNAL_FIELD, index + 19)
       // keep poolsize and resource name last
       .int64(POOL_SIZE_FIELD, index + 20)
       .string(POOL_RESOURCE_NAME_FIELD, lastIndexToReturn);
@@ -129,6 +131,7 @@ public class CommonConfigCodec implements ConfigCodec {
 
     encoder.bool(LOADER_WRITER_CONFIGURED_FIELD, configuration.isLoaderWriterConfigured());
     encoder.bool(WRITE_BEHIND_CONFIGURED_FIELD, configuration.isWriteBehindConfigured());
+    encoder.bool(ETERNAL_FIELD, configuration.isEternal());
 
     PoolAllocation poolAllocation = configuration.getPoolAllocation();
     if (poolAllocation instanceof PoolAllocation.Dedicated) {
@@ -155,6 +158,7 @@ public class CommonConfigCodec implements ConfigCodec {
     }
     Boolean loaderWriterConfigured = decoder.bool(LOADER_WRITER_CONFIGURED_FIELD);
     Boolean writeBehindConfigured = decoder.bool(WRITE_BEHIND_CONFIGURED_FIELD);
+    Boolean eternal = decoder.bool(ETERNAL_FIELD);
 
     Long poolSize = decoder.int64(POOL_SIZE_FIELD);
     String poolResource = decoder.string(POOL_RESOURCE_NAME_FIELD);
@@ -166,7 +170,7 @@ public class CommonConfigCodec implements ConfigCodec {
     }
 
     return new ServerStoreConfiguration(poolAllocation, keyType, valueType, keySerializer, valueSerializer, consistency,
-            getNonNullBoolean(loaderWriterConfigured), getNonNullBoolean(writeBehindConfigured));
+            getNonNullBoolean(loaderWriterConfigured), getNonNullBoolean(writeBehindConfigured), getNonNullBoolean(eternal));
   }
 
   private static Boolean getNonNullBoolean(Boolean loaderWriterConfigured) {
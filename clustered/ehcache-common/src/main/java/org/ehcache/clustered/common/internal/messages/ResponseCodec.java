@@ -48,11 +48,14 @@ import static org.ehcache.clustered.common.internal.messages.ChainCodec.CHAIN_ST
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.allInvalidationDone;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.clientInvalidateAll;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.clientInvalidateHash;
+import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.clientInvalidateHashes;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.failure;
+import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.getAllResponse;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.getResponse;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.hashInvalidationDone;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.lockFailure;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.mapValue;
+import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.notModified;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.prepareForDestroy;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.resolveRequest;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.serverAppend;
@@ -70,6 +73,7 @@ public class ResponseCodec {
   private static final String APPENDED_FIELD = "appended";
   private static final String MAP_VALUE_FIELD = "mapValue";
   private static final String STORES_FIELD = "stores";
+  private static final String KEYS_FIELD = "keys";
 
   private static final Struct SUCCESS_RESPONSE_STRUCT = StructBuilder.newStructBuilder()
     .enm(RESPONSE_TYPE_FIELD_NAME, RESPONSE_TYPE_FIELD_INDEX, EHCACHE_RESPONSE_TYPES_ENUM_MAPPING)
@@ -94,6 +98,11 @@ public class ResponseCodec {
     .int64(KEY_FIELD, 20)
     .int32(INVALIDATION_ID_FIELD, 30)
     .build();
+  private static final Struct CLIENT_INVALIDATE_HASHES_RESPONSE_STRUCT = StructBuilder.newStructBuilder()
+    .enm(RESPONSE_TYPE_FIELD_NAME, RESPONSE_TYPE_FIELD_INDEX, EHCACHE_RESPONSE_TYPES_ENUM_MAPPING)
+    .int64s(KEYS_FIELD, 20)
+    .int32(INVALIDATION_ID_FIELD, 30)
+    .build();
   private static final Struct CLIENT_INVALIDATE_ALL_RESPONSE_STRUCT = StructBuilder.newStructBuilder()
     .enm(RESPONSE_TYPE_FIELD_NAME, RESPONSE_TYPE_FIELD_INDEX, EHCACHE_RESPONSE_TYPES_ENUM_MAPPING)
     .int32(INVALIDATION_ID_FIELD, 20)
@@ -125,6 +134,13 @@ public class ResponseCodec {
     .enm(RESPONSE_TYPE_FIELD_NAME, RESPONSE_TYPE_FIELD_INDEX, EHCACHE_RESPONSE_TYPES_ENUM_MAPPING)
     .struct(CHAIN_FIELD, 20, CHAIN_STRUCT)
     .build();
+  private static final Struct NOT_MODIFIED_RESPONSE_STRUCT = newStructBuilder()
+    .enm(RESPONSE_TYPE_FIELD_NAME, RESPONSE_TYPE_FIELD_INDEX, EHCACHE_RESPONSE_TYPES_ENUM_MAPPING)
+    .build();
+  private static final Struct GET_ALL_RESPONSE_STRUCT = newStructBuilder()
+    .enm(RESPONSE_TYPE_FIELD_NAME, RESPONSE_TYPE_FIELD_INDEX, EHCACHE_RESPONSE_TYPES_ENUM_MAPPING)
+    .structs("chains", 20, CHAIN_STRUCT)
+    .build();
   private static final Struct ITERATOR_BATCH_STRUCT = newStructBuilder()
     .enm(RESPONSE_TYPE_FIELD_NAME, RESPONSE_TYPE_FIELD_INDEX, EHCACHE_RESPONSE_TYPES_ENUM_MAPPING)
     .string("id", 20)
@@ -150,6 +166,17 @@ public class ResponseCodec {
           .enm(RESPONSE_TYPE_FIELD_NAME, getResponse.getResponseType())
           .struct(CHAIN_FIELD, getResponse.getChain(), ChainCodec::encodeChain)
           .encode().array();
+      case NOT_MODIFIED:
+        return NOT_MODIFIED_RESPONSE_STRUCT.encoder()
+          .enm(RESPONSE_TYPE_FIELD_NAME, response.getResponseType())
+          .encode().array();
+      case GET_ALL_RESPONSE: {
+        EhcacheEntityResponse.GetAllResponse getAllResponse = (EhcacheEntityResponse.GetAllResponse) response;
+        return GET_ALL_RESPONSE_STRUCT.encoder()
+          .enm(RESPONSE_TYPE_FIELD_NAME, getAllResponse.getResponseType())
+          .structs("chains", getAllResponse.getChains(), ChainCodec::encodeChain)
+          .encode().array();
+      }
       case HASH_INVALIDATION_DONE: {
         EhcacheEntityResponse.HashInvalidationDone hashInvalidationDone = (EhcacheEntityResponse.HashInvalidationDone) response;
         return HASH_INVALIDATION_DONE_RESPONSE_STRUCT.encoder()
@@ -171,6 +198,18 @@ public class ResponseCodec {
           .int32(INVALIDATION_ID_FIELD, clientInvalidateHash.getInvalidationId())
           .encode().array();
       }
+      case CLIENT_INVALIDATE_HASHES: {
+        EhcacheEntityResponse.ClientInvalidateHashes clientInvalidateHashes = (EhcacheEntityResponse.ClientInvalidateHashes) response;
+        StructEncoder<Void> encoder = CLIENT_INVALIDATE_HASHES_RESPONSE_STRUCT.encoder()
+          .enm(RESPONSE_TYPE_FIELD_NAME, clientInvalidateHashes.getResponseType());
+        ArrayEncoder<Long, StructEncoder<Void>> keysEncoder = encoder.int64s(KEYS_FIELD);
+        for (long key : clientInvalidateHashes.getKeys()) {
+          keysEncoder.value(key);
+        }
+        return encoder
+          .int32(INVALIDATION_ID_FIELD, clientInvalidateHashes.getInvalidationId())
+          .encode().array();
+      }
       case CLIENT_INVALIDATE_ALL: {
         EhcacheEntityResponse.ClientInvalidateAll clientInvalidateAll = (EhcacheEntityResponse.ClientInvalidateAll) response;
         return CLIENT_INVALIDATE_ALL_RESPONSE_STRUCT.encoder()
@@ -275,6 +314,17 @@ public class ResponseCodec {
       case GET_RESPONSE:
         decoder = GET_RESPONSE_STRUCT.decoder(buffer);
         return getResponse(ChainCodec.decodeChain(decoder.struct(CHAIN_FIELD)));
+      case NOT_MODIFIED:
+        return notModified();
+      case GET_ALL_RESPONSE: {
+        decoder = GET_ALL_RESPONSE_STRUCT.decoder(buffer);
+        StructArrayDecoder<StructDecoder<Void>> chainsDecoder = decoder.structs("chains");
+        List<Chain> chains = new ArrayList<>(chainsDecoder.length());
+        while (chainsDecoder.hasNext()) {
+          chains.add(ChainCodec.decodeChain(chainsDecoder.next()));
+        }
+        return getAllResponse(chains);
+      }
       case HASH_INVALIDATION_DONE: {
         decoder = HASH_INVALIDATION_DONE_RESPONSE_STRUCT.decoder(buffer);
         long key = decoder.int64(KEY_FIELD);
@@ -296,6 +346,16 @@ public class ResponseCodec {
         int invalidationId = decoder.int32(INVALIDATION_ID_FIELD);
         return clientInvalidateHash(key, invalidationId);
       }
+      case CLIENT_INVALIDATE_HASHES: {
+        decoder = CLIENT_INVALIDATE_HASHES_RESPONSE_STRUCT.decoder(buffer);
+        ArrayDecoder<Long, StructDecoder<Void>> keysDecoder = decoder.int64s(KEYS_FIELD);
+        long[] keys = new long[keysDecoder == null ? 0 : keysDecoder.length()];
+        for (int i = 0; i < keys.length; i++) {
+          keys[i] = keysDecoder.value();
+        }
+        int invalidationId = decoder.int32(INVALIDATION_ID_FIELD);
+        return clientInvalidateHashes(keys, invalidationId);
+      }
       case CLIENT_INVALIDATE_ALL: {
         decoder = CLIENT_INVALIDATE_ALL_RESPONSE_STRUCT.decoder(buffer);
         int invalidationId = decoder.int32(INVALIDATION_ID_FIELD);
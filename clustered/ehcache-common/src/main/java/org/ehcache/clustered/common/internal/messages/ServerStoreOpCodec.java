@@ -21,12 +21,19 @@ import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.Appen
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.ClearMessage;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.ClientInvalidationAck;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.ClientInvalidationAllAck;
+import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.ClientInvalidationBatchAck;
+import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.GetAllMessage;
+import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.GetIfModifiedMessage;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.GetAndAppendMessage;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.GetMessage;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.ReplaceAtHeadMessage;
 import org.ehcache.clustered.common.internal.store.Chain;
+import org.ehcache.clustered.common.internal.store.ChainVersion;
 import org.terracotta.runnel.Struct;
+import org.terracotta.runnel.decoding.ArrayDecoder;
 import org.terracotta.runnel.decoding.StructDecoder;
+import org.terracotta.runnel.encoding.ArrayEncoder;
+import org.terracotta.runnel.encoding.StructEncoder;
 
 import java.nio.ByteBuffer;
 import java.util.UUID;
@@ -71,6 +78,11 @@ public class ServerStoreOpCodec {
     .int32("invalidationId", 40)
     .build();
 
+  private static final Struct CLIENT_INVALIDATION_BATCH_ACK_MESSAGE_STRUCT = newStructBuilder()
+    .enm(MESSAGE_TYPE_FIELD_NAME, MESSAGE_TYPE_FIELD_INDEX, EHCACHE_MESSAGE_TYPES_ENUM_MAPPING)
+    .int32("invalidationId", 40)
+    .build();
+
   private static final Struct CLEAR_MESSAGE_STRUCT = newStructBuilder()
     .enm(MESSAGE_TYPE_FIELD_NAME, MESSAGE_TYPE_FIELD_INDEX, EHCACHE_MESSAGE_TYPES_ENUM_MAPPING)
     .build();
@@ -80,6 +92,19 @@ public class ServerStoreOpCodec {
     .int64(KEY_FIELD, 30)
     .build();
 
+  private static final Struct GET_IF_MODIFIED_MESSAGE_STRUCT = newStructBuilder()
+    .enm(MESSAGE_TYPE_FIELD_NAME, MESSAGE_TYPE_FIELD_INDEX, EHCACHE_MESSAGE_TYPES_ENUM_MAPPING)
+    .int64(KEY_FIELD, 30)
+    .int64("firstSequence", 40)
+    .int64("lastSequence", 50)
+    .int32("length", 60)
+    .build();
+
+  private static final Struct GET_ALL_MESSAGE_STRUCT = newStructBuilder()
+    .enm(MESSAGE_TYPE_FIELD_NAME, MESSAGE_TYPE_FIELD_INDEX, EHCACHE_MESSAGE_TYPES_ENUM_MAPPING)
+    .int64s("keys", 30)
+    .build();
+
   private static final Struct LOCK_STRUCT = newStructBuilder()
     .enm(MESSAGE_TYPE_FIELD_NAME, MESSAGE_TYPE_FIELD_INDEX, EHCACHE_MESSAGE_TYPES_ENUM_MAPPING)
     .int64("hash", 30)
@@ -113,6 +138,24 @@ public class ServerStoreOpCodec {
         return encodeMandatoryFields(GET_MESSAGE_STRUCT, message)
           .int64(KEY_FIELD, getMessage.getKey())
           .encode().array();
+      case GET_IF_MODIFIED_STORE: {
+        GetIfModifiedMessage getIfModifiedMessage = (GetIfModifiedMessage) message;
+        ChainVersion version = getIfModifiedMessage.getVersion();
+        return encodeMandatoryFields(GET_IF_MODIFIED_MESSAGE_STRUCT, message)
+          .int64(KEY_FIELD, getIfModifiedMessage.getKey())
+          .int64("firstSequence", version.getFirstSequence())
+          .int64("lastSequence", version.getLastSequence())
+          .int32("length", version.getLength())
+          .encode().array();
+      }
+      case GET_ALL_STORE: {
+        StructEncoder<Void> encoder = encodeMandatoryFields(GET_ALL_MESSAGE_STRUCT, message);
+        ArrayEncoder<Long, StructEncoder<Void>> keysEncoder = encoder.int64s("keys");
+        for (long key : ((GetAllMessage) message).getKeys()) {
+          keysEncoder.value(key);
+        }
+        return encoder.encode().array();
+      }
       case APPEND:
         AppendMessage appendMessage = (AppendMessage) message;
         return encodeMandatoryFields(APPEND_MESSAGE_STRUCT, message)
@@ -143,6 +186,11 @@ public class ServerStoreOpCodec {
         return encodeMandatoryFields(CLIENT_INVALIDATION_ALL_ACK_MESSAGE_STRUCT, message)
           .int32("invalidationId", clientInvalidationAllAckMessage.getInvalidationId())
           .encode().array();
+      case CLIENT_INVALIDATION_BATCH_ACK:
+        ClientInvalidationBatchAck clientInvalidationBatchAckMessage = (ClientInvalidationBatchAck) message;
+        return encodeMandatoryFields(CLIENT_INVALIDATION_BATCH_ACK_MESSAGE_STRUCT, message)
+          .int32("invalidationId", clientInvalidationBatchAckMessage.getInvalidationId())
+          .encode().array();
       case CLEAR:
         return encodeMandatoryFields(CLEAR_MESSAGE_STRUCT, message)
           .encode().array();
@@ -185,6 +233,23 @@ public class ServerStoreOpCodec {
         Long key = decoder.int64(KEY_FIELD);
         return new GetMessage(key);
       }
+      case GET_IF_MODIFIED_STORE: {
+        StructDecoder<Void> decoder = GET_IF_MODIFIED_MESSAGE_STRUCT.decoder(messageBuffer);
+        long key = decoder.int64(KEY_FIELD);
+        long firstSequence = decoder.int64("firstSequence");
+        long lastSequence = decoder.int64("lastSequence");
+        int length = decoder.int32("length");
+        return new GetIfModifiedMessage(key, new ChainVersion(firstSequence, lastSequence, length));
+      }
+      case GET_ALL_STORE: {
+        StructDecoder<Void> decoder = GET_ALL_MESSAGE_STRUCT.decoder(messageBuffer);
+        ArrayDecoder<Long, StructDecoder<Void>> keysDecoder = decoder.int64s("keys");
+        long[] keys = new long[keysDecoder == null ? 0 : keysDecoder.length()];
+        for (int i = 0; i < keys.length; i++) {
+          keys[i] = keysDecoder.value();
+        }
+        return new GetAllMessage(keys);
+      }
       case GET_AND_APPEND: {
         StructDecoder<Void> decoder = GET_AND_APPEND_MESSAGE_STRUCT.decoder(messageBuffer);
         Long key = decoder.int64(KEY_FIELD);
@@ -215,6 +280,11 @@ public class ServerStoreOpCodec {
         Integer invalidationId = decoder.int32("invalidationId");
         return new ClientInvalidationAllAck(invalidationId);
       }
+      case CLIENT_INVALIDATION_BATCH_ACK: {
+        StructDecoder<Void> decoder = CLIENT_INVALIDATION_BATCH_ACK_MESSAGE_STRUCT.decoder(messageBuffer);
+        Integer invalidationId = decoder.int32("invalidationId");
+        return new ClientInvalidationBatchAck(invalidationId);
+      }
       case CLEAR: {
         return new ClearMessage();
       }
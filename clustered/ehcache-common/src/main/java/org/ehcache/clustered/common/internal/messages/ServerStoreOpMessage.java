@@ -18,6 +18,7 @@
 package org.ehcache.clustered.common.internal.messages;
 
 import org.ehcache.clustered.common.internal.store.Chain;
+import org.ehcache.clustered.common.internal.store.ChainVersion;
 
 import java.nio.ByteBuffer;
 import java.util.UUID;
@@ -57,6 +58,53 @@ public abstract class ServerStoreOpMessage extends EhcacheOperationMessage {
     }
   }
 
+  /**
+   * Fetches the chain of a key unless it is still at the given version.
+   * <p>
+   * The server answers with a {@link EhcacheResponseType#NOT_MODIFIED} response if the chain did not change.
+   */
+  public static class GetIfModifiedMessage extends KeyBasedServerStoreOpMessage {
+
+    private final ChainVersion version;
+
+    public GetIfModifiedMessage(long key, ChainVersion version) {
+      super(key);
+      this.version = version;
+    }
+
+    public ChainVersion getVersion() {
+      return version;
+    }
+
+    @Override
+    public EhcacheMessageType getMessageType() {
+      return EhcacheMessageType.GET_IF_MODIFIED_STORE;
+    }
+  }
+
+  /**
+   * Fetches the chains of several keys in a single round trip.
+   * <p>
+   * Chains are returned in key order, duplicated keys included.
+   */
+  public static class GetAllMessage extends ServerStoreOpMessage {
+
+    private final long[] keys;
+
+    public GetAllMessage(long[] keys) {
+      this.keys = keys;
+    }
+
+    public long[] getKeys() {
+      return keys;
+    }
+
+    @Override
+    public EhcacheMessageType getMessageType() {
+      return EhcacheMessageType.GET_ALL_STORE;
+    }
+  }
+
   public static class GetAndAppendMessage extends KeyBasedServerStoreOpMessage {
 
     private final ByteBuffer payload;
@@ -160,6 +208,25 @@ public abstract class ServerStoreOpMessage extends EhcacheOperationMessage {
     }
   }
 
+  public static class ClientInvalidationBatchAck extends ServerStoreOpMessage {
+
+    private final int invalidationId;
+
+    public ClientInvalidationBatchAck(int invalidationId) {
+      super();
+      this.invalidationId = invalidationId;
+    }
+
+    @Override
+    public EhcacheMessageType getMessageType() {
+      return EhcacheMessageType.CLIENT_INVALIDATION_BATCH_ACK;
+    }
+
+    public int getInvalidationId() {
+      return invalidationId;
+    }
+  }
+
   public static class ClearMessage extends ServerStoreOpMessage {
 
     @Override
@@ -0,0 +1,102 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ehcache.clustered.common.internal.store;
+
+import java.util.Iterator;
+
+/**
+ * Identifies the content of a chain from the sequence numbers of its elements.
+ * <p>
+ * Sequence numbers are assigned by the server when an element is stored and are never reused. Once an element is at
+ * the head of a chain, the only way for the chain to change without that element being removed is by appending to it.
+ * The sequence numbers of the first and last elements together with the chain length therefore identify a chain
+ * content.
+ */
+public final class ChainVersion {
+
+  private final long firstSequence;
+  private final long lastSequence;
+  private final int length;
+
+  public ChainVersion(long firstSequence, long lastSequence, int length) {
+    this.firstSequence = firstSequence;
+    this.lastSequence = lastSequence;
+    this.length = length;
+  }
+
+  /**
+   * Returns the version of the given chain, or {@code null} if the chain is empty or its elements are not sequenced.
+   *
+   * @param chain the chain to identify
+   * @return the chain version, or {@code null}
+   */
+  public static ChainVersion of(Chain chain) {
+    Iterator<Element> it = chain.iterator();
+    if (!it.hasNext()) {
+      return null;
+    }
+    Element first = it.next();
+    Element last = first;
+    int length = 1;
+    while (it.hasNext()) {
+      last = it.next();
+      length++;
+    }
+    if (first instanceof SequencedElement && last instanceof SequencedElement) {
+      return new ChainVersion(((SequencedElement) first).getSequenceNumber(), ((SequencedElement) last).getSequenceNumber(), length);
+    } else {
+      return null;
+    }
+  }
+
+  public long getFirstSequence() {
+    return firstSequence;
+  }
+
+  public long getLastSequence() {
+    return lastSequence;
+  }
+
+  public int getLength() {
+    return length;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ChainVersion that = (ChainVersion) o;
+    return firstSequence == that.firstSequence && lastSequence == that.lastSequence && length == that.length;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = Long.hashCode(firstSequence);
+    result = 31 * result + Long.hashCode(lastSequence);
+    result = 31 * result + length;
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "ChainVersion{first=" + firstSequence + " last=" + lastSequence + " length=" + length + "}";
+  }
+}
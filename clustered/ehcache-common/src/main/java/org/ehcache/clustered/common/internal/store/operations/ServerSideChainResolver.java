@@ -0,0 +1,136 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ehcache.clustered.common.internal.store.operations;
+
+import org.ehcache.clustered.common.internal.store.Chain;
+import org.ehcache.clustered.common.internal.store.Element;
+import org.ehcache.clustered.common.internal.util.ChainBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.ehcache.clustered.common.internal.store.operations.Operation.BYTE_SIZE_BYTES;
+import static org.ehcache.clustered.common.internal.store.operations.Operation.INT_SIZE_BYTES;
+import static org.ehcache.clustered.common.internal.store.operations.Operation.LONG_SIZE_BYTES;
+
+/**
+ * Collapses operation chains on the server, without access to the key and value serializers.
+ * <p>
+ * Keys are compared by their serialized form. An operation is dropped when a later unconditional {@link PutOperation}
+ * or {@link RemoveOperation} on the same serialized key makes it irrelevant to the resolved value. A put only
+ * supersedes earlier operations when it carries its own expiry, or when the chain is known to be eternal: otherwise
+ * the client side resolution needs the previous value to tell a creation from an update.
+ * <p>
+ * Operations on keys whose serialized forms differ are never merged, so a serializer that does not produce a
+ * canonical form only limits the compaction.
+ */
+public class ServerSideChainResolver {
+
+  private final boolean eternal;
+
+  /**
+   * Creates a resolver.
+   *
+   * @param eternal {@code true} if the chains are resolved without expiry
+   */
+  public ServerSideChainResolver(boolean eternal) {
+    this.eternal = eternal;
+  }
+
+  /**
+   * Drops the superseded operations from the given chain, keeping the order of the remaining ones.
+   *
+   * @param chain the chain to compact
+   * @return the compacted chain, or the given chain if nothing could be dropped
+   */
+  public Chain compact(Chain chain) {
+    List<ByteBuffer> payloads = new ArrayList<>(chain.length());
+    for (Element element : chain) {
+      payloads.add(element.getPayload());
+    }
+
+    boolean[] superseded = new boolean[payloads.size()];
+    Set<ByteBuffer> resolvedKeys = new HashSet<>();
+    int dropped = 0;
+    for (int i = payloads.size() - 1; i >= 0; i--) {
+      ByteBuffer payload = payloads.get(i);
+      ByteBuffer key = serializedKey(payload);
+      if (resolvedKeys.contains(key)) {
+        superseded[i] = true;
+        dropped++;
+      } else if (supersedesPrevious(payload)) {
+        resolvedKeys.add(key);
+      }
+    }
+
+    if (dropped == 0) {
+      return chain;
+    }
+    ChainBuilder builder = new ChainBuilder();
+    for (int i = 0; i < payloads.size(); i++) {
+      if (!superseded[i]) {
+        builder = builder.add(payloads.get(i));
+      }
+    }
+    return builder.build();
+  }
+
+  private boolean supersedesPrevious(ByteBuffer payload) {
+    switch (opCode(payload)) {
+      case REMOVE:
+        return true;
+      case PUT:
+        // -ve timestamps are expiry times, see BaseKeyValueOperation
+        return eternal || timeStamp(payload) < 0;
+      default:
+        return false;
+    }
+  }
+
+  private static OperationCode opCode(ByteBuffer payload) {
+    return OperationCode.valueOf(payload.get(payload.position()));
+  }
+
+  private static long timeStamp(ByteBuffer payload) {
+    return payload.getLong(payload.position() + BYTE_SIZE_BYTES);
+  }
+
+  /**
+   * Slices the serialized key out of an encoded operation.
+   * <p>
+   * Key-only operations end with the key, while key-value operations prefix it with its size.
+   */
+  private static ByteBuffer serializedKey(ByteBuffer payload) {
+    ByteBuffer key = payload.duplicate();
+    int keyStart = key.position() + BYTE_SIZE_BYTES + LONG_SIZE_BYTES;
+    switch (opCode(payload)) {
+      case REMOVE:
+      case TIMESTAMP:
+        key.position(keyStart);
+        break;
+      default:
+        int keySize = key.getInt(keyStart);
+        key.position(keyStart + INT_SIZE_BYTES);
+        key.limit(keyStart + INT_SIZE_BYTES + keySize);
+        break;
+    }
+    return key.slice();
+  }
+}
@@ -76,6 +76,21 @@ public class CommonConfigCodecTest {
 
   }
 
+  @Test
+  public void testEncodeDecodeEternalServerStoreConfiguration() {
+    ServerStoreConfiguration serverStoreConfiguration = new ServerStoreConfiguration(new PoolAllocation.Shared("foo"), "Long.class",
+            "String.class", null, null, Consistency.STRONG, false, false, true);
+    Struct struct = CODEC.injectServerStoreConfiguration(newStructBuilder(), 10).getUpdatedBuilder().build();
+    StructEncoder<Void> encoder = struct.encoder();
+    CODEC.encodeServerStoreConfiguration(encoder, serverStoreConfiguration);
+    ByteBuffer byteBuffer = encoder.encode();
+    byteBuffer.rewind();
+
+    ServerStoreConfiguration decodedConfiguration = CODEC.decodeServerStoreConfiguration(struct.decoder(byteBuffer));
+    assertThat(decodedConfiguration.isEternal(), is(true));
+    assertThat(decodedConfiguration.isCompatible(serverStoreConfiguration, new StringBuilder()), is(true));
+  }
+
   @Test
   public void testDecodeNonLoaderWriterServerStoreConfiguration() {
     EnumMapping<Consistency> consistencyEnumMapping = newEnumMappingBuilder(Consistency.class)
@@ -118,6 +133,7 @@ public class CommonConfigCodecTest {
 
     assertThat(serverStoreConfiguration.isLoaderWriterConfigured(), is(false));
     assertThat(serverStoreConfiguration.isWriteBehindConfigured(), is(false));
+    assertThat(serverStoreConfiguration.isEternal(), is(false));
 
   }
 
@@ -36,10 +36,13 @@ import static org.ehcache.clustered.Matchers.hasPayloads;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.allInvalidationDone;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.clientInvalidateAll;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.clientInvalidateHash;
+import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.clientInvalidateHashes;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.failure;
+import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.getAllResponse;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.getResponse;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.hashInvalidationDone;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.mapValue;
+import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.notModified;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.prepareForDestroy;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.serverInvalidateHash;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.success;
@@ -74,6 +77,20 @@ public class ResponseCodecTest {
     assertThat(decodedChain, hasPayloads(1L, 11L, 111L));
   }
 
+  @Test
+  public void testGetAllResponseCodec() {
+    EhcacheEntityResponse getAllResponse = getAllResponse(asList(chainOf(createPayload(2L), createPayload(22L)), chainOf(), chainOf(createPayload(1L))));
+
+    EhcacheEntityResponse decoded = RESPONSE_CODEC.decode(RESPONSE_CODEC.encode(getAllResponse));
+
+    assertThat(decoded.getResponseType(), is(EhcacheResponseType.GET_ALL_RESPONSE));
+    List<Chain> decodedChains = ((EhcacheEntityResponse.GetAllResponse) decoded).getChains();
+    assertThat(decodedChains.size(), is(3));
+    assertThat(decodedChains.get(0), hasPayloads(2L, 22L));
+    assertThat(decodedChains.get(1).isEmpty(), is(true));
+    assertThat(decodedChains.get(2), hasPayloads(1L));
+  }
+
   @Test
   public void testMapValueCodec() throws Exception {
     Object subject = new Integer(10);
@@ -120,6 +137,26 @@ public class ResponseCodecTest {
     assertThat(decodedResponse.getInvalidationId(), is(INVALIDATION_ID));
   }
 
+  @Test
+  public void testNotModified() throws Exception {
+    byte[] encoded = RESPONSE_CODEC.encode(notModified());
+    EhcacheEntityResponse decodedResponse = RESPONSE_CODEC.decode(encoded);
+
+    assertThat(decodedResponse.getResponseType(), is(EhcacheResponseType.NOT_MODIFIED));
+  }
+
+  @Test
+  public void testClientInvalidateHashes() throws Exception {
+    EhcacheEntityResponse.ClientInvalidateHashes response = clientInvalidateHashes(new long[] {KEY, 7L, -3L}, INVALIDATION_ID);
+
+    byte[] encoded = RESPONSE_CODEC.encode(response);
+    EhcacheEntityResponse.ClientInvalidateHashes decodedResponse = (EhcacheEntityResponse.ClientInvalidateHashes) RESPONSE_CODEC.decode(encoded);
+
+    assertThat(decodedResponse.getResponseType(), is(EhcacheResponseType.CLIENT_INVALIDATE_HASHES));
+    assertThat(decodedResponse.getKeys(), is(new long[] {KEY, 7L, -3L}));
+    assertThat(decodedResponse.getInvalidationId(), is(INVALIDATION_ID));
+  }
+
   @Test
   public void testClientInvalidateAll() throws Exception {
     EhcacheEntityResponse.ClientInvalidateAll response = clientInvalidateAll(INVALIDATION_ID);
@@ -17,6 +17,7 @@
 
 package org.ehcache.clustered.common.internal.messages;
 
+import org.ehcache.clustered.common.internal.store.ChainVersion;
 import org.junit.Test;
 
 import java.util.UUID;
@@ -60,6 +61,31 @@ public class ServerStoreOpCodecTest {
     assertThat(decodedGetMessage.getMessageType(), is(EhcacheMessageType.GET_STORE));
   }
 
+  @Test
+  public void testGetAllMessageCodec() {
+    ServerStoreOpMessage getAllMessage = new ServerStoreOpMessage.GetAllMessage(new long[] {3L, 1L, 3L});
+
+    byte[] encoded = STORE_OP_CODEC.encode(getAllMessage);
+    EhcacheEntityMessage decodedMsg = STORE_OP_CODEC.decode(getAllMessage.getMessageType(), wrap(encoded));
+    ServerStoreOpMessage.GetAllMessage decodedGetAllMessage = (ServerStoreOpMessage.GetAllMessage) decodedMsg;
+
+    assertThat(decodedGetAllMessage.getKeys(), is(new long[] {3L, 1L, 3L}));
+    assertThat(decodedGetAllMessage.getMessageType(), is(EhcacheMessageType.GET_ALL_STORE));
+  }
+
+  @Test
+  public void testGetIfModifiedMessageCodec() {
+    ServerStoreOpMessage getIfModifiedMessage = new ServerStoreOpMessage.GetIfModifiedMessage(2L, new ChainVersion(10L, 42L, 3));
+
+    byte[] encoded = STORE_OP_CODEC.encode(getIfModifiedMessage);
+    EhcacheEntityMessage decodedMsg = STORE_OP_CODEC.decode(getIfModifiedMessage.getMessageType(), wrap(encoded));
+    ServerStoreOpMessage.GetIfModifiedMessage decodedGetIfModifiedMessage = (ServerStoreOpMessage.GetIfModifiedMessage) decodedMsg;
+
+    assertThat(decodedGetIfModifiedMessage.getKey(), is(2L));
+    assertThat(decodedGetIfModifiedMessage.getVersion(), is(new ChainVersion(10L, 42L, 3)));
+    assertThat(decodedGetIfModifiedMessage.getMessageType(), is(EhcacheMessageType.GET_IF_MODIFIED_STORE));
+  }
+
   @Test
   public void testGetAndAppendMessageCodec() {
     ServerStoreOpMessage getAndAppendMessage = new ServerStoreOpMessage.GetAndAppendMessage(10L, createPayload(10L));
@@ -112,6 +138,18 @@ public class ServerStoreOpCodecTest {
     assertThat(decodedInvalidationAckMessage.getMessageType(), is(EhcacheMessageType.CLIENT_INVALIDATION_ACK));
   }
 
+  @Test
+  public void testClientInvalidationBatchAckMessageCodec() throws Exception {
+    ServerStoreOpMessage batchAckMessage = new ServerStoreOpMessage.ClientInvalidationBatchAck(123);
+
+    byte[] encoded = STORE_OP_CODEC.encode(batchAckMessage);
+    EhcacheEntityMessage decodedMsg = STORE_OP_CODEC.decode(batchAckMessage.getMessageType(), wrap(encoded));
+    ServerStoreOpMessage.ClientInvalidationBatchAck decodedBatchAckMessage = (ServerStoreOpMessage.ClientInvalidationBatchAck)decodedMsg;
+
+    assertThat(decodedBatchAckMessage.getInvalidationId(), is(123));
+    assertThat(decodedBatchAckMessage.getMessageType(), is(EhcacheMessageType.CLIENT_INVALIDATION_BATCH_ACK));
+  }
+
   @Test
   public void testLockMessage() throws Exception {
     ServerStoreOpMessage lockMessage = new ServerStoreOpMessage.LockMessage(2L);
@@ -0,0 +1,60 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ehcache.clustered.common.internal.store;
+
+import org.junit.Test;
+
+import static org.ehcache.clustered.ChainUtils.chainOf;
+import static org.ehcache.clustered.ChainUtils.createPayload;
+import static org.ehcache.clustered.ChainUtils.sequencedChainOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+public class ChainVersionTest {
+
+  @Test
+  public void testVersionOfSequencedChain() {
+    ChainVersion version = ChainVersion.of(sequencedChainOf(createPayload(1L), createPayload(2L), createPayload(3L)));
+
+    assertThat(version, is(new ChainVersion(0L, 2L, 3)));
+  }
+
+  @Test
+  public void testVersionOfSingleElementChain() {
+    assertThat(ChainVersion.of(sequencedChainOf(createPayload(1L))), is(new ChainVersion(0L, 0L, 1)));
+  }
+
+  @Test
+  public void testEmptyChainHasNoVersion() {
+    assertThat(ChainVersion.of(sequencedChainOf()), nullValue());
+  }
+
+  @Test
+  public void testUnsequencedChainHasNoVersion() {
+    assertThat(ChainVersion.of(chainOf(createPayload(1L), createPayload(2L))), nullValue());
+  }
+
+  @Test
+  public void testVersionsDifferOnLength() {
+    ChainVersion shorter = ChainVersion.of(sequencedChainOf(createPayload(1L), createPayload(2L)));
+    ChainVersion longer = ChainVersion.of(sequencedChainOf(createPayload(1L), createPayload(2L), createPayload(3L)));
+
+    assertThat(shorter, not(longer));
+  }
+}
@@ -67,7 +67,7 @@ public final class ConcurrencyStrategies {
 
     @Override
     public int concurrencyKey(EhcacheEntityMessage entityMessage) {
-      if (entityMessage instanceof ServerStoreOpMessage.GetMessage) {
+      if (entityMessage instanceof ServerStoreOpMessage.GetMessage || entityMessage instanceof ServerStoreOpMessage.GetAllMessage) {
         return UNIVERSAL_KEY;
       } else if (entityMessage instanceof ConcurrentEntityMessage) {
         ConcurrentEntityMessage concurrentEntityMessage = (ConcurrentEntityMessage) entityMessage;
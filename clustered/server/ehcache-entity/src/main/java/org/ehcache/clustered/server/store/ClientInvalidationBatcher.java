@@ -0,0 +1,163 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ehcache.clustered.server.store;
+
+import org.terracotta.entity.ClientDescriptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Aggregates the hash invalidations destined to each client into batches.
+ * <p>
+ * Invalidations for a client are accumulated until either the batching window elapses or the batch reaches its maximum
+ * size, at which point all pending hashes are sent in a single message. A hash invalidated several times within a
+ * window is only sent once, and the acknowledgement of the batch releases every invalidation it covers.
+ */
+class ClientInvalidationBatcher {
+
+  /**
+   * Delivers a batch of hashes to a client.
+   */
+  @FunctionalInterface
+  interface BatchSender {
+    void send(ClientDescriptor client, long[] hashes, int batchId);
+  }
+
+  private final ScheduledExecutorService scheduler;
+  private final long windowMillis;
+  private final int maxBatchSize;
+  private final BatchSender sender;
+  private final AtomicInteger batchIdGenerator = new AtomicInteger();
+  private final ConcurrentMap<ClientDescriptor, PendingBatch> pendingBatches = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Integer, InFlightBatch> inFlightBatches = new ConcurrentHashMap<>();
+
+  ClientInvalidationBatcher(ScheduledExecutorService scheduler, long windowMillis, int maxBatchSize, BatchSender sender) {
+    this.scheduler = scheduler;
+    this.windowMillis = windowMillis;
+    this.maxBatchSize = maxBatchSize;
+    this.sender = sender;
+  }
+
+  /**
+   * Queues the invalidation of {@code hash} on {@code client} on behalf of invalidation {@code invalidationId}.
+   */
+  void invalidate(ClientDescriptor client, long hash, int invalidationId) {
+    while (true) {
+      PendingBatch batch = pendingBatches.computeIfAbsent(client, c -> new PendingBatch());
+      boolean flushNow;
+      boolean scheduleFlush;
+      synchronized (batch) {
+        if (batch.closed) {
+          // the batch was retired by a concurrent disconnection, the client is gone
+          pendingBatches.remove(client, batch);
+          continue;
+        }
+        batch.invalidations.computeIfAbsent(hash, h -> new ArrayList<>()).add(invalidationId);
+        flushNow = batch.invalidations.size() >= maxBatchSize;
+        scheduleFlush = !flushNow && !batch.flushScheduled;
+        if (scheduleFlush) {
+          batch.flushScheduled = true;
+        }
+      }
+      if (flushNow) {
+        flush(client, batch);
+      } else if (scheduleFlush) {
+        scheduler.schedule(() -> flush(client, batch), windowMillis, MILLISECONDS);
+      }
+      return;
+    }
+  }
+
+  /**
+   * Returns the invalidation ids covered by the batch {@code batchId} now acknowledged by {@code client}.
+   */
+  List<Integer> acknowledged(ClientDescriptor client, int batchId) {
+    InFlightBatch batch = inFlightBatches.get(batchId);
+    if (batch == null || !batch.client.equals(client) || !inFlightBatches.remove(batchId, batch)) {
+      return Collections.emptyList();
+    }
+    return batch.invalidationIds;
+  }
+
+  /**
+   * Drops all pending and in-flight batches of a disconnected client.
+   */
+  void clientDisconnected(ClientDescriptor client) {
+    PendingBatch batch = pendingBatches.remove(client);
+    if (batch != null) {
+      synchronized (batch) {
+        batch.closed = true;
+        batch.invalidations.clear();
+      }
+    }
+    inFlightBatches.values().removeIf(inFlight -> inFlight.client.equals(client));
+  }
+
+  int inFlightBatchCount() {
+    return inFlightBatches.size();
+  }
+
+  private void flush(ClientDescriptor client, PendingBatch batch) {
+    long[] hashes;
+    int batchId;
+    synchronized (batch) {
+      batch.flushScheduled = false;
+      if (batch.closed || batch.invalidations.isEmpty()) {
+        return;
+      }
+      hashes = new long[batch.invalidations.size()];
+      List<Integer> invalidationIds = new ArrayList<>();
+      Iterator<Map.Entry<Long, List<Integer>>> it = batch.invalidations.entrySet().iterator();
+      for (int i = 0; it.hasNext(); i++) {
+        Map.Entry<Long, List<Integer>> entry = it.next();
+        hashes[i] = entry.getKey();
+        invalidationIds.addAll(entry.getValue());
+      }
+      batch.invalidations.clear();
+      batchId = batchIdGenerator.getAndIncrement();
+      inFlightBatches.put(batchId, new InFlightBatch(client, invalidationIds));
+    }
+    sender.send(client, hashes, batchId);
+  }
+
+  private static class PendingBatch {
+    private final Map<Long, List<Integer>> invalidations = new LinkedHashMap<>();
+    private boolean flushScheduled;
+    private boolean closed;
+  }
+
+  private static class InFlightBatch {
+    private final ClientDescriptor client;
+    private final List<Integer> invalidationIds;
+
+    InFlightBatch(ClientDescriptor client, List<Integer> invalidationIds) {
+      this.client = client;
+      this.invalidationIds = invalidationIds;
+    }
+  }
+}
@@ -36,7 +36,10 @@ import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.AppendMessage;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.ClientInvalidationAck;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.ClientInvalidationAllAck;
+import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.ClientInvalidationBatchAck;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.EnableEventListenerMessage;
+import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.GetAllMessage;
+import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.GetIfModifiedMessage;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.GetMessage;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.IteratorAdvanceMessage;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.IteratorCloseMessage;
@@ -47,8 +50,10 @@ import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.Repla
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage.UnlockMessage;
 import org.ehcache.clustered.common.internal.messages.StateRepositoryOpMessage;
 import org.ehcache.clustered.common.internal.store.Chain;
+import org.ehcache.clustered.common.internal.store.ChainVersion;
 import org.ehcache.clustered.common.internal.store.ClusterTierEntityConfiguration;
 import org.ehcache.clustered.common.internal.store.Element;
+import org.ehcache.clustered.common.internal.store.operations.ServerSideChainResolver;
 import org.ehcache.clustered.server.CommunicatorServiceConfiguration;
 import org.ehcache.clustered.server.KeySegmentMapper;
 import org.ehcache.clustered.server.ServerSideServerStore;
@@ -103,6 +108,7 @@ import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -116,12 +122,15 @@ import static java.util.stream.Collectors.toSet;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.allInvalidationDone;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.clientInvalidateAll;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.clientInvalidateHash;
+import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.clientInvalidateHashes;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.failure;
+import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.getAllResponse;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.getResponse;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.hashInvalidationDone;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.iteratorBatchResponse;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.lockFailure;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.lockSuccess;
+import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.notModified;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.resolveRequest;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.serverAppend;
 import static org.ehcache.clustered.common.internal.messages.EhcacheEntityResponse.serverInvalidateHash;
@@ -148,6 +157,12 @@ public class ClusterTierActiveEntity implements ActiveServerEntity<EhcacheEntity
 
   static final String CHAIN_COMPACTION_THRESHOLD_PROP = "ehcache.server.chain.compaction.threshold";
   private static final int DEFAULT_CHAIN_COMPACTION_THRESHOLD = 8;
+  static final String CHAIN_RESOLUTION_PROP = "ehcache.server.chain.resolution";
+
+  // batching of hash invalidations is disabled by default as clients older than this server cannot process batches
+  static final String INVALIDATION_BATCH_WINDOW_PROP = "ehcache.server.invalidation.batch.window";
+  static final String INVALIDATION_BATCH_SIZE_PROP = "ehcache.server.invalidation.batch.size";
+  private static final int DEFAULT_INVALIDATION_BATCH_SIZE = 256;
 
   private final Executor syncGetsExecutor;
 
@@ -167,14 +182,21 @@ public class ClusterTierActiveEntity implements ActiveServerEntity<EhcacheEntity
   private final Map<ClientDescriptor, Boolean> connectedClients = new ConcurrentHashMap<>();
   private final Map<ClientDescriptor, Map<UUID, Iterator<Map.Entry<Long, Chain>>>> liveIterators = new ConcurrentHashMap<>();
   private final int chainCompactionLimit;
+  private volatile ServerSideChainResolver chainResolver;
+  private final ClientInvalidationBatcher invalidationBatcher;
   private final ServerLockManager lockManager;
 
   private final long dataSizeThreshold = Long.getLong(SYNC_DATA_SIZE_PROP, DEFAULT_SYNC_DATA_SIZE_THRESHOLD);
   private final int dataGetsThreshold = Integer.getInteger(SYNC_DATA_GETS_PROP, DEFAULT_SYNC_DATA_GETS_THRESHOLD);
   private volatile Integer dataMapInitialCapacity = null;
 
-  @SuppressWarnings("unchecked")
   public ClusterTierActiveEntity(ServiceRegistry registry, ClusterTierEntityConfiguration entityConfiguration, KeySegmentMapper defaultMapper, Executor getSyncExecutor) throws ConfigurationException {
+    this(registry, entityConfiguration, defaultMapper, getSyncExecutor, null);
+  }
+
+  @SuppressWarnings("unchecked")
+  public ClusterTierActiveEntity(ServiceRegistry registry, ClusterTierEntityConfiguration entityConfiguration, KeySegmentMapper defaultMapper,
+                                 Executor getSyncExecutor, ScheduledExecutorService invalidationScheduler) throws ConfigurationException {
     if (entityConfiguration == null) {
       throw new ConfigurationException("ClusteredStoreEntityConfiguration cannot be null");
     }
@@ -195,12 +217,25 @@ public class ClusterTierActiveEntity implements ActiveServerEntity<EhcacheEntity
     }
     management = new ClusterTierManagement(registry, stateService, true, storeIdentifier, entityConfiguration.getManagerIdentifier());
     chainCompactionLimit = Integer.getInteger(CHAIN_COMPACTION_THRESHOLD_PROP, DEFAULT_CHAIN_COMPACTION_THRESHOLD);
+    if (Boolean.getBoolean(CHAIN_RESOLUTION_PROP) && !configuration.isWriteBehindConfigured()) {
+      // write-behind chains must keep every operation until the client has written them
+      chainResolver = new ServerSideChainResolver(configuration.isEternal());
+    } else {
+      chainResolver = null;
+    }
     if (configuration.isLoaderWriterConfigured()) {
       lockManager = new LockManagerImpl();
     } else {
       lockManager = new NoopLockManager();
     }
     syncGetsExecutor = getSyncExecutor;
+    long invalidationBatchWindow = Long.getLong(INVALIDATION_BATCH_WINDOW_PROP, 0L);
+    if (invalidationScheduler != null && invalidationBatchWindow > 0) {
+      invalidationBatcher = new ClientInvalidationBatcher(invalidationScheduler, invalidationBatchWindow,
+        Integer.getInteger(INVALIDATION_BATCH_SIZE_PROP, DEFAULT_INVALIDATION_BATCH_SIZE), this::sendInvalidationBatch);
+    } else {
+      invalidationBatcher = null;
+    }
   }
 
   static boolean isTrackedMessage(EhcacheEntityMessage msg) {
@@ -236,6 +271,8 @@ public class ClusterTierActiveEntity implements ActiveServerEntity<EhcacheEntity
   @Override
   public void loadExisting() {
     stateService.loadStore(storeIdentifier, configuration).setEventListener(new Listener());
+    // reconnecting clients are not validated again, so their eternal flag is unknown
+    resolveExpiryOnClients();
     management.entityPromotionCompleted();
   }
 
@@ -283,6 +320,10 @@ public class ClusterTierActiveEntity implements ActiveServerEntity<EhcacheEntity
 
   @Override
   public void disconnected(ClientDescriptor clientDescriptor) {
+    if (invalidationBatcher != null) {
+      invalidationBatcher.clientDisconnected(clientDescriptor);
+    }
+
     // cleanup all invalidation requests waiting for a ack from this client
     Set<Integer> invalidationIds = clientsWaitingForInvalidation.keySet();
     for (Integer invalidationId : invalidationIds) {
@@ -362,6 +403,10 @@ public class ClusterTierActiveEntity implements ActiveServerEntity<EhcacheEntity
     ServerSideServerStore store = stateService.getStore(storeIdentifier);
     if (store != null) {
       storeCompatibility.verify(store.getStoreConfiguration(), clientConfiguration);
+      if (configuration.isEternal() && !clientConfiguration.isEternal()) {
+        LOGGER.info("Client {} resolves the chains of eternal cluster tier '{}' with expiry", clientDescriptor, storeIdentifier);
+        resolveExpiryOnClients();
+      }
       connectedClients.put(clientDescriptor, Boolean.TRUE);
     } else {
       throw new InvalidStoreException("cluster tier '" + storeIdentifier + "' does not exist");
@@ -388,6 +433,32 @@ public class ClusterTierActiveEntity implements ActiveServerEntity<EhcacheEntity
           throw new AssertionError("Server side store is not expected to throw timeout exception", e);
         }
       }
+      case GET_IF_MODIFIED_STORE: {
+        GetIfModifiedMessage getIfModifiedMessage = (GetIfModifiedMessage) message;
+        Chain chain;
+        try {
+          chain = cacheStore.get(getIfModifiedMessage.getKey());
+        } catch (TimeoutException e) {
+          throw new AssertionError("Server side store is not expected to throw timeout exception", e);
+        }
+        if (getIfModifiedMessage.getVersion().equals(ChainVersion.of(chain))) {
+          return notModified();
+        } else {
+          return getResponse(chain);
+        }
+      }
+      case GET_ALL_STORE: {
+        long[] keys = ((GetAllMessage) message).getKeys();
+        List<Chain> chains = new ArrayList<>(keys.length);
+        try {
+          for (long key : keys) {
+            chains.add(cacheStore.get(key));
+          }
+        } catch (TimeoutException e) {
+          throw new AssertionError("Server side store is not expected to throw timeout exception", e);
+        }
+        return getAllResponse(chains);
+      }
       case APPEND: {
         AppendMessage appendMessage = (AppendMessage)message;
 
@@ -400,7 +471,7 @@ public class ClusterTierActiveEntity implements ActiveServerEntity<EhcacheEntity
         final Chain newChain;
         try {
           cacheStore.append(key, appendMessage.getPayload());
-          newChain = cacheStore.get(key);
+          newChain = resolveOnServer(cacheStore, key, cacheStore.get(key));
         } catch (TimeoutException e) {
           throw new AssertionError("Server side store is not expected to throw timeout exception", e);
         }
@@ -427,7 +498,7 @@ public class ClusterTierActiveEntity implements ActiveServerEntity<EhcacheEntity
         final Chain newChain;
         try {
           result = cacheStore.getAndAppend(getAndAppendMessage.getKey(), getAndAppendMessage.getPayload());
-          newChain = cacheStore.get(getAndAppendMessage.getKey());
+          newChain = resolveOnServer(cacheStore, getAndAppendMessage.getKey(), cacheStore.get(getAndAppendMessage.getKey()));
         } catch (TimeoutException e) {
           throw new AssertionError("Server side store is not expected to throw timeout exception", e);
         }
@@ -455,6 +526,17 @@ public class ClusterTierActiveEntity implements ActiveServerEntity<EhcacheEntity
         clientInvalidated(clientDescriptor, invalidationId);
         return success();
       }
+      case CLIENT_INVALIDATION_BATCH_ACK: {
+        ClientInvalidationBatchAck clientInvalidationBatchAck = (ClientInvalidationBatchAck) message;
+        int batchId = clientInvalidationBatchAck.getInvalidationId();
+        LOGGER.debug("SERVER: got notification of invalidation batch ack in cache {} from {} (batch ID {})", storeIdentifier, clientDescriptor, batchId);
+        if (invalidationBatcher != null) {
+          for (int invalidationId : invalidationBatcher.acknowledged(clientDescriptor, batchId)) {
+            clientInvalidated(clientDescriptor, invalidationId);
+          }
+        }
+        return success();
+      }
       case CLEAR: {
         LOGGER.info("Clearing cluster tier {}", storeIdentifier);
         try {
@@ -682,10 +764,14 @@ public class ClusterTierActiveEntity implements ActiveServerEntity<EhcacheEntity
     LOGGER.debug("SERVER: requesting {} client(s) invalidation of hash {} in cache {} (ID {})", clientsToInvalidate.size(), key, storeIdentifier, invalidationId);
     for (ClientDescriptor clientDescriptorThatHasToInvalidate : clientsToInvalidate) {
       LOGGER.debug("SERVER: asking client {} to invalidate hash {} from cache {} (ID {})", clientDescriptorThatHasToInvalidate, key, storeIdentifier, invalidationId);
-      try {
-        clientCommunicator.sendNoResponse(clientDescriptorThatHasToInvalidate, clientInvalidateHash(key, invalidationId));
-      } catch (MessageCodecException mce) {
-        throw new AssertionError("Codec error", mce);
+      if (invalidationBatcher != null) {
+        invalidationBatcher.invalidate(clientDescriptorThatHasToInvalidate, key, invalidationId);
+      } else {
+        try {
+          clientCommunicator.sendNoResponse(clientDescriptorThatHasToInvalidate, clientInvalidateHash(key, invalidationId));
+        } catch (MessageCodecException mce) {
+          throw new AssertionError("Codec error", mce);
+        }
       }
     }
 
@@ -694,6 +780,32 @@ public class ClusterTierActiveEntity implements ActiveServerEntity<EhcacheEntity
     }
   }
 
+  /**
+   * Collapses a chain that outgrew the compaction limit on the server, when server side resolution is enabled.
+   * The compacted chain is what gets replicated to the passives.
+   */
+  private Chain resolveOnServer(ServerSideServerStore cacheStore, long key, Chain chain) throws TimeoutException {
+    if (chainResolver == null || chain.length() <= chainCompactionLimit) {
+      return chain;
+    }
+    Chain resolved = chainResolver.compact(chain);
+    if (resolved == chain) {
+      return chain;
+    }
+    cacheStore.replaceAtHead(key, chain, resolved);
+    return cacheStore.get(key);
+  }
+
+  /**
+   * Stops plain puts from superseding earlier operations on the server, once clients may resolve chains with expiry.
+   * Such puts need the previous value on the client side to tell a creation from an update.
+   */
+  private void resolveExpiryOnClients() {
+    if (chainResolver != null) {
+      chainResolver = new ServerSideChainResolver(false);
+    }
+  }
+
   private void requestChainResolution(ClientDescriptor clientDescriptor, long key, Chain chain) {
     try {
       clientCommunicator.sendNoResponse(clientDescriptor, resolveRequest(key, chain));
@@ -975,6 +1087,15 @@ public class ClusterTierActiveEntity implements ActiveServerEntity<EhcacheEntity
     management.close();
   }
 
+  private void sendInvalidationBatch(ClientDescriptor clientDescriptor, long[] keys, int batchId) {
+    LOGGER.debug("SERVER: asking client {} to invalidate {} hashes from cache {} (batch ID {})", clientDescriptor, keys.length, storeIdentifier, batchId);
+    try {
+      clientCommunicator.sendNoResponse(clientDescriptor, clientInvalidateHashes(keys, batchId));
+    } catch (MessageCodecException mce) {
+      throw new AssertionError("Codec error", mce);
+    }
+  }
+
   protected Set<ClientDescriptor> getConnectedClients() {
     return connectedClients.keySet();
   }
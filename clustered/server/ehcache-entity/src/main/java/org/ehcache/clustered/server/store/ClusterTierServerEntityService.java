@@ -21,6 +21,8 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.ehcache.clustered.common.internal.messages.CommonConfigCodec;
@@ -62,6 +64,7 @@ public class ClusterTierServerEntityService implements EntityServerService<Ehcac
   private static final int MAX_SYNC_CONCURRENCY = 1;
   private final ExecutorService syncGets = new ThreadPoolExecutor(0, MAX_SYNC_CONCURRENCY,
     20, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+  private final ScheduledExecutorService invalidationFlushes = createInvalidationScheduler();
 
   private final EntityConfigurationCodec configCodec = new EntityConfigurationCodec(CONFIG_CODEC);
 
@@ -78,12 +81,29 @@ public class ClusterTierServerEntityService implements EntityServerService<Ehcac
   @Override
   public void close() throws IOException {
     syncGets.shutdownNow();
+    if (invalidationFlushes != null) {
+      invalidationFlushes.shutdownNow();
+    }
+  }
+
+  private static ScheduledExecutorService createInvalidationScheduler() {
+    if (Long.getLong(ClusterTierActiveEntity.INVALIDATION_BATCH_WINDOW_PROP, 0L) <= 0) {
+      // batching is off, no timer thread needed
+      return null;
+    }
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+      Thread thread = new Thread(r, "Ehcache ClusterTier Invalidation Batches");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
   }
 
   @Override
   public ClusterTierActiveEntity createActiveEntity(ServiceRegistry registry, byte[] configuration) throws ConfigurationException {
     ClusterTierEntityConfiguration clusterTierEntityConfiguration = configCodec.decodeClusteredStoreConfiguration(configuration);
-    return new ClusterTierActiveEntity(registry, clusterTierEntityConfiguration, DEFAULT_MAPPER, syncGets);
+    return new ClusterTierActiveEntity(registry, clusterTierEntityConfiguration, DEFAULT_MAPPER, syncGets, invalidationFlushes);
   }
 
   @Override
@@ -61,6 +61,13 @@ public class DefaultConcurrencyStrategyTest {
     assertThat(strategy.concurrencyKey(getMessage), is(UNIVERSAL_KEY));
   }
 
+  @Test
+  public void testConcurrencyKeyForServerStoreGetAllOperation() {
+    ConcurrencyStrategy<EhcacheEntityMessage> strategy = ConcurrencyStrategies.clusterTierConcurrency(DEFAULT_MAPPER);
+    ServerStoreOpMessage.GetAllMessage getAllMessage = new ServerStoreOpMessage.GetAllMessage(new long[] {1L, 2L, 3L});
+    assertThat(strategy.concurrencyKey(getAllMessage), is(UNIVERSAL_KEY));
+  }
+
   @Test
   public void testKeysForSynchronization() {
     final int concurrency = 111;
@@ -292,6 +292,27 @@ public class ServerStoreCompatibilityTest {
     serverStoreCompatibility.verify(serverConfiguration, clientConfiguration);
   }
 
+  @Test
+  public void testEternalMismatch() throws Exception {
+    ServerStoreConfiguration serverConfiguration = new ServerStoreConfiguration(DEDICATED_POOL_ALLOCATION,
+                                                                                STORED_KEY_TYPE,
+                                                                                STORED_VALUE_TYPE,
+                                                                                KEY_SERIALIZER_TYPE,
+                                                                                VALUE_SERIALIZER_TYPE,
+                                                                                Consistency.EVENTUAL, false, false, true);
+
+    ServerStoreConfiguration clientConfiguration = new ServerStoreConfiguration(DEDICATED_POOL_ALLOCATION,
+                                                                                STORED_KEY_TYPE,
+                                                                                STORED_VALUE_TYPE,
+                                                                                KEY_SERIALIZER_TYPE,
+                                                                                VALUE_SERIALIZER_TYPE,
+                                                                                Consistency.EVENTUAL, false, false, false);
+
+    ServerStoreCompatibility serverStoreCompatibility = new ServerStoreCompatibility();
+
+    serverStoreCompatibility.verify(serverConfiguration, clientConfiguration);
+  }
+
   @Test
   public void testPoolResourceTypeMismatch() {
     ServerStoreConfiguration serverConfiguration = new ServerStoreConfiguration(DEDICATED_POOL_ALLOCATION,
@@ -0,0 +1,179 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ehcache.clustered.server.store;
+
+import org.ehcache.clustered.server.TestClientDescriptor;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.terracotta.entity.ClientDescriptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ClientInvalidationBatcherTest {
+
+  private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+  private final List<SentBatch> sent = new ArrayList<>();
+
+  @Test
+  public void testInvalidationsAreSentTogetherWhenTheWindowElapses() {
+    ClientInvalidationBatcher batcher = new ClientInvalidationBatcher(scheduler, 10L, 100, this::record);
+    ClientDescriptor client = TestClientDescriptor.newClient();
+
+    batcher.invalidate(client, 1L, 0);
+    batcher.invalidate(client, 2L, 1);
+    assertThat(sent, empty());
+
+    runScheduledFlushes(1);
+
+    assertThat(sent, hasSize(1));
+    assertThat(sent.get(0).client, is(client));
+    assertThat(sent.get(0).hashes, is(new long[] {1L, 2L}));
+    assertThat(batcher.acknowledged(client, sent.get(0).batchId), contains(0, 1));
+  }
+
+  @Test
+  public void testDuplicateHashesAreCoalesced() {
+    ClientInvalidationBatcher batcher = new ClientInvalidationBatcher(scheduler, 10L, 100, this::record);
+    ClientDescriptor client = TestClientDescriptor.newClient();
+
+    batcher.invalidate(client, 1L, 0);
+    batcher.invalidate(client, 1L, 1);
+    batcher.invalidate(client, 1L, 2);
+
+    runScheduledFlushes(1);
+
+    assertThat(sent, hasSize(1));
+    assertThat(sent.get(0).hashes, is(new long[] {1L}));
+    assertThat(batcher.acknowledged(client, sent.get(0).batchId), containsInAnyOrder(0, 1, 2));
+  }
+
+  @Test
+  public void testBatchIsSentEagerlyWhenFull() {
+    ClientInvalidationBatcher batcher = new ClientInvalidationBatcher(scheduler, 10L, 2, this::record);
+    ClientDescriptor client = TestClientDescriptor.newClient();
+
+    batcher.invalidate(client, 1L, 0);
+    batcher.invalidate(client, 2L, 1);
+
+    assertThat(sent, hasSize(1));
+    assertThat(sent.get(0).hashes, is(new long[] {1L, 2L}));
+
+    // the window flush scheduled for the first invalidation finds nothing left to send
+    runScheduledFlushes(1);
+    assertThat(sent, hasSize(1));
+  }
+
+  @Test
+  public void testBatchesArePerClient() {
+    ClientInvalidationBatcher batcher = new ClientInvalidationBatcher(scheduler, 10L, 100, this::record);
+    ClientDescriptor client1 = TestClientDescriptor.newClient();
+    ClientDescriptor client2 = TestClientDescriptor.newClient();
+
+    batcher.invalidate(client1, 1L, 0);
+    batcher.invalidate(client2, 1L, 0);
+
+    runScheduledFlushes(2);
+
+    assertThat(sent, hasSize(2));
+    SentBatch batch1 = sent.get(0).client.equals(client1) ? sent.get(0) : sent.get(1);
+    SentBatch batch2 = batch1 == sent.get(0) ? sent.get(1) : sent.get(0);
+    assertThat(batcher.acknowledged(client2, batch1.batchId), empty());
+    assertThat(batcher.acknowledged(client1, batch1.batchId), contains(0));
+    assertThat(batcher.acknowledged(client2, batch2.batchId), contains(0));
+  }
+
+  @Test
+  public void testAcknowledgingTwiceReleasesNothing() {
+    ClientInvalidationBatcher batcher = new ClientInvalidationBatcher(scheduler, 10L, 1, this::record);
+    ClientDescriptor client = TestClientDescriptor.newClient();
+
+    batcher.invalidate(client, 1L, 0);
+
+    assertThat(batcher.acknowledged(client, sent.get(0).batchId), contains(0));
+    assertThat(batcher.acknowledged(client, sent.get(0).batchId), empty());
+    assertThat(batcher.inFlightBatchCount(), is(0));
+  }
+
+  @Test
+  public void testDisconnectionDropsPendingAndInFlightBatches() {
+    ClientInvalidationBatcher batcher = new ClientInvalidationBatcher(scheduler, 10L, 2, this::record);
+    ClientDescriptor client = TestClientDescriptor.newClient();
+
+    batcher.invalidate(client, 1L, 0);
+    batcher.invalidate(client, 2L, 1);
+    batcher.invalidate(client, 3L, 2);
+    assertThat(batcher.inFlightBatchCount(), is(1));
+
+    batcher.clientDisconnected(client);
+    runScheduledFlushes(2);
+
+    assertThat(sent, hasSize(1));
+    assertThat(batcher.inFlightBatchCount(), is(0));
+  }
+
+  @Test
+  public void testInvalidationAfterDisconnectionStartsAFreshBatch() {
+    ClientInvalidationBatcher batcher = new ClientInvalidationBatcher(scheduler, 10L, 100, this::record);
+    ClientDescriptor client = TestClientDescriptor.newClient();
+
+    batcher.invalidate(client, 1L, 0);
+    batcher.clientDisconnected(client);
+    batcher.invalidate(client, 2L, 1);
+
+    runScheduledFlushes(2);
+
+    assertThat(sent, hasSize(1));
+    assertThat(sent.get(0).hashes, is(new long[] {2L}));
+  }
+
+  private void runScheduledFlushes(int expected) {
+    ArgumentCaptor<Runnable> flushes = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler, times(expected)).schedule(flushes.capture(), anyLong(), any(TimeUnit.class));
+    flushes.getAllValues().forEach(Runnable::run);
+  }
+
+  private void record(ClientDescriptor client, long[] hashes, int batchId) {
+    sent.add(new SentBatch(client, hashes, batchId));
+  }
+
+  private static class SentBatch {
+    private final ClientDescriptor client;
+    private final long[] hashes;
+    private final int batchId;
+
+    SentBatch(ClientDescriptor client, long[] hashes, int batchId) {
+      this.client = client;
+      this.hashes = hashes;
+      this.batchId = batchId;
+    }
+  }
+}
@@ -34,7 +34,9 @@ import org.ehcache.clustered.common.internal.messages.LifecycleMessage;
 import org.ehcache.clustered.common.internal.messages.ReconnectMessageCodec;
 import org.ehcache.clustered.common.internal.messages.ServerStoreOpMessage;
 import org.ehcache.clustered.common.internal.store.Chain;
+import org.ehcache.clustered.common.internal.store.ChainVersion;
 import org.ehcache.clustered.common.internal.store.ClusterTierEntityConfiguration;
+import org.ehcache.clustered.common.internal.store.operations.OperationCode;
 import org.ehcache.clustered.server.CommunicatorServiceConfiguration;
 import org.ehcache.clustered.server.ConcurrencyStrategies;
 import org.ehcache.clustered.server.EhcacheStateServiceImpl;
@@ -84,6 +86,7 @@ import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
@@ -91,6 +94,7 @@ import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
@@ -115,6 +119,7 @@ import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNotNull;
 import static org.mockito.Mockito.atLeast;
@@ -357,6 +362,48 @@ public class ClusterTierActiveEntityTest {
     assertThat(activeEntity.getClientsWaitingForInvalidation().size(), is(0));
   }
 
+  @Test
+  public void testBatchedAppendInvalidationAcksTakenIntoAccount() throws Exception {
+    System.setProperty(ClusterTierActiveEntity.INVALIDATION_BATCH_WINDOW_PROP, "10");
+    try {
+      ScheduledExecutorService invalidationScheduler = mock(ScheduledExecutorService.class);
+      ClusterTierActiveEntity activeEntity = new ClusterTierActiveEntity(defaultRegistry, defaultConfiguration, DEFAULT_MAPPER, SYNC_GETS_EXECUTOR, invalidationScheduler);
+      activeEntity.createNew();
+
+      TestClientDescriptor client1 = TestClientDescriptor.newClient();
+      TestClientDescriptor client2 = TestClientDescriptor.newClient();
+      activeEntity.connected(client1);
+      activeEntity.connected(client2);
+
+      // attach to the store
+      assertThat(activeEntity.invokeActive(client1.invokeContext(), new LifecycleMessage.ValidateServerStore(defaultStoreName, defaultStoreConfiguration)), succeeds());
+      assertThat(activeEntity.invokeActive(client2.invokeContext(), new LifecycleMessage.ValidateServerStore(defaultStoreName, defaultStoreConfiguration)), succeeds());
+
+      // perform appends, twice on the same key
+      assertThat(activeEntity.invokeActive(client1.invokeContext(), new ServerStoreOpMessage.AppendMessage(1L, createPayload(1L))), succeeds());
+      assertThat(activeEntity.invokeActive(client1.invokeContext(), new ServerStoreOpMessage.AppendMessage(1L, createPayload(2L))), succeeds());
+      assertThat(activeEntity.invokeActive(client1.invokeContext(), new ServerStoreOpMessage.AppendMessage(2L, createPayload(3L))), succeeds());
+      assertThat(activeEntity.getClientsWaitingForInvalidation().size(), is(3));
+
+      // let the batching window elapse
+      ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+      verify(invalidationScheduler).schedule(flush.capture(), anyLong(), any(TimeUnit.class));
+      flush.getValue().run();
+
+      ClientCommunicator clientCommunicator = defaultRegistry.getService(new CommunicatorServiceConfiguration());
+      ArgumentCaptor<EhcacheEntityResponse.ClientInvalidateHashes> batch = ArgumentCaptor.forClass(EhcacheEntityResponse.ClientInvalidateHashes.class);
+      verify(clientCommunicator).sendNoResponse(ArgumentMatchers.eq(client2), batch.capture());
+      verify(clientCommunicator, times(0)).sendNoResponse(ArgumentMatchers.any(), ArgumentMatchers.isA(EhcacheEntityResponse.ClientInvalidateHash.class));
+      assertThat(batch.getValue().getKeys(), is(new long[] {1L, 2L}));
+
+      // a single ack releases every invalidation covered by the batch
+      assertThat(activeEntity.invokeActive(client2.invokeContext(), new ServerStoreOpMessage.ClientInvalidationBatchAck(batch.getValue().getInvalidationId())), succeeds());
+      assertThat(activeEntity.getClientsWaitingForInvalidation().size(), is(0));
+    } finally {
+      System.clearProperty(ClusterTierActiveEntity.INVALIDATION_BATCH_WINDOW_PROP);
+    }
+  }
+
   @Test
   public void testClearInvalidationAcksTakenIntoAccount() throws Exception {
     ClusterTierActiveEntity activeEntity = new ClusterTierActiveEntity(defaultRegistry, defaultConfiguration, DEFAULT_MAPPER, SYNC_GETS_EXECUTOR);
@@ -558,6 +605,119 @@ public class ClusterTierActiveEntityTest {
     assertThat(getResponse.getChain().isEmpty(), is(false));
   }
 
+  @Test
+  public void testGetAllReturnsChainsInKeyOrder() throws Exception {
+    ClusterTierActiveEntity activeEntity = new ClusterTierActiveEntity(defaultRegistry, defaultConfiguration, DEFAULT_MAPPER, SYNC_GETS_EXECUTOR);
+    activeEntity.createNew();
+
+    TestClientDescriptor client = TestClientDescriptor.newClient();
+    activeEntity.connected(client);
+
+    assertThat(activeEntity.invokeActive(client.invokeContext(), new LifecycleMessage.ValidateServerStore(defaultStoreName, defaultStoreConfiguration)), succeeds());
+
+    assertThat(activeEntity.invokeActive(client.invokeContext(), new ServerStoreOpMessage.AppendMessage(1L, createPayload(1L))), succeeds());
+    assertThat(activeEntity.invokeActive(client.invokeContext(), new ServerStoreOpMessage.AppendMessage(3L, createPayload(3L))), succeeds());
+
+    EhcacheEntityResponse response = activeEntity.invokeActive(client.invokeContext(), new ServerStoreOpMessage.GetAllMessage(new long[] {3L, 2L, 1L}));
+    assertThat(response, instanceOf(EhcacheEntityResponse.GetAllResponse.class));
+    List<Chain> chains = ((EhcacheEntityResponse.GetAllResponse) response).getChains();
+    assertThat(chains, hasSize(3));
+    assertThat(chains.get(0), hasPayloads(3L));
+    assertThat(chains.get(1).isEmpty(), is(true));
+    assertThat(chains.get(2), hasPayloads(1L));
+  }
+
+  @Test
+  public void testGetIfModifiedOnlyReturnsChangedChains() throws Exception {
+    ClusterTierActiveEntity activeEntity = new ClusterTierActiveEntity(defaultRegistry, defaultConfiguration, DEFAULT_MAPPER, SYNC_GETS_EXECUTOR);
+    activeEntity.createNew();
+
+    TestClientDescriptor client = TestClientDescriptor.newClient();
+    activeEntity.connected(client);
+
+    assertThat(activeEntity.invokeActive(client.invokeContext(), new LifecycleMessage.ValidateServerStore(defaultStoreName, defaultStoreConfiguration)), succeeds());
+
+    assertThat(activeEntity.invokeActive(client.invokeContext(), new ServerStoreOpMessage.AppendMessage(1L, createPayload(1L))), succeeds());
+    assertThat(activeEntity.invokeActive(client.invokeContext(), new ServerStoreOpMessage.AppendMessage(1L, createPayload(11L))), succeeds());
+
+    EhcacheEntityResponse response = activeEntity.invokeActive(client.invokeContext(), new ServerStoreOpMessage.GetMessage(1L));
+    ChainVersion version = ChainVersion.of(((EhcacheEntityResponse.GetResponse) response).getChain());
+
+    response = activeEntity.invokeActive(client.invokeContext(), new ServerStoreOpMessage.GetIfModifiedMessage(1L, version));
+    assertThat(response.getResponseType(), is(EhcacheResponseType.NOT_MODIFIED));
+
+    assertThat(activeEntity.invokeActive(client.invokeContext(), new ServerStoreOpMessage.AppendMessage(1L, createPayload(111L))), succeeds());
+
+    response = activeEntity.invokeActive(client.invokeContext(), new ServerStoreOpMessage.GetIfModifiedMessage(1L, version));
+    assertThat(response, instanceOf(EhcacheEntityResponse.GetResponse.class));
+    assertThat(((EhcacheEntityResponse.GetResponse) response).getChain(), hasPayloads(1L, 11L, 111L));
+  }
+
+  @Test
+  public void testServerSideChainResolutionCollapsesSupersededPuts() throws Exception {
+    System.setProperty(ClusterTierActiveEntity.CHAIN_RESOLUTION_PROP, "true");
+    System.setProperty(ClusterTierActiveEntity.CHAIN_COMPACTION_THRESHOLD_PROP, "2");
+    try {
+      ServerStoreConfiguration serverStoreConfiguration = new ServerStoreConfigBuilder()
+          .dedicated(defaultResource, 4, MemoryUnit.MEGABYTES)
+          .eternal()
+          .build();
+      ClusterTierActiveEntity activeEntity = new ClusterTierActiveEntity(defaultRegistry,
+        new ClusterTierEntityConfiguration(identifier, defaultStoreName, serverStoreConfiguration), DEFAULT_MAPPER, SYNC_GETS_EXECUTOR);
+      activeEntity.createNew();
+
+      TestClientDescriptor client = TestClientDescriptor.newClient();
+      activeEntity.connected(client);
+
+      assertThat(activeEntity.invokeActive(client.invokeContext(), new LifecycleMessage.ValidateServerStore(defaultStoreName, serverStoreConfiguration)), succeeds());
+
+      for (long value = 1L; value <= 3L; value++) {
+        assertThat(activeEntity.invokeActive(client.invokeContext(), new ServerStoreOpMessage.AppendMessage(1L, putOperation(1L, value))), succeeds());
+      }
+
+      EhcacheEntityResponse response = activeEntity.invokeActive(client.invokeContext(), new ServerStoreOpMessage.GetMessage(1L));
+      Chain chain = ((EhcacheEntityResponse.GetResponse) response).getChain();
+      assertThat(chain.length(), is(1));
+      assertThat(chain.iterator().next().getPayload(), is(putOperation(1L, 3L)));
+    } finally {
+      System.clearProperty(ClusterTierActiveEntity.CHAIN_RESOLUTION_PROP);
+      System.clearProperty(ClusterTierActiveEntity.CHAIN_COMPACTION_THRESHOLD_PROP);
+    }
+  }
+
+  @Test
+  public void testServerSideChainResolutionKeepsPutsOnceANonEternalClientJoins() throws Exception {
+    System.setProperty(ClusterTierActiveEntity.CHAIN_RESOLUTION_PROP, "true");
+    System.setProperty(ClusterTierActiveEntity.CHAIN_COMPACTION_THRESHOLD_PROP, "2");
+    try {
+      ServerStoreConfiguration serverStoreConfiguration = new ServerStoreConfigBuilder()
+          .dedicated(defaultResource, 4, MemoryUnit.MEGABYTES)
+          .eternal()
+          .build();
+      ClusterTierActiveEntity activeEntity = new ClusterTierActiveEntity(defaultRegistry,
+        new ClusterTierEntityConfiguration(identifier, defaultStoreName, serverStoreConfiguration), DEFAULT_MAPPER, SYNC_GETS_EXECUTOR);
+      activeEntity.createNew();
+
+      TestClientDescriptor client = TestClientDescriptor.newClient();
+      activeEntity.connected(client);
+
+      ServerStoreConfiguration clientConfiguration = new ServerStoreConfigBuilder()
+          .dedicated(defaultResource, 4, MemoryUnit.MEGABYTES)
+          .build();
+      assertThat(activeEntity.invokeActive(client.invokeContext(), new LifecycleMessage.ValidateServerStore(defaultStoreName, clientConfiguration)), succeeds());
+
+      for (long value = 1L; value <= 3L; value++) {
+        assertThat(activeEntity.invokeActive(client.invokeContext(), new ServerStoreOpMessage.AppendMessage(1L, putOperation(1L, value))), succeeds());
+      }
+
+      EhcacheEntityResponse response = activeEntity.invokeActive(client.invokeContext(), new ServerStoreOpMessage.GetMessage(1L));
+      assertThat(((EhcacheEntityResponse.GetResponse) response).getChain().length(), is(3));
+    } finally {
+      System.clearProperty(ClusterTierActiveEntity.CHAIN_RESOLUTION_PROP);
+      System.clearProperty(ClusterTierActiveEntity.CHAIN_COMPACTION_THRESHOLD_PROP);
+    }
+  }
+
   @Test
   public void testCreateDedicatedServerStore() throws Exception {
     ClusterTierActiveEntity activeEntity = new ClusterTierActiveEntity(defaultRegistry, defaultConfiguration, DEFAULT_MAPPER, SYNC_GETS_EXECUTOR);
@@ -1212,6 +1372,20 @@ public class ClusterTierActiveEntityTest {
     };
   }
 
+  /**
+   * Encodes a put of a long key to a long value, as a client would.
+   */
+  private static ByteBuffer putOperation(long key, long value) {
+    ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + 4 + 8 + 8);
+    buffer.put(OperationCode.PUT.getValue());
+    buffer.putLong(1000L);
+    buffer.putInt(8);
+    buffer.putLong(key);
+    buffer.putLong(value);
+    buffer.flip();
+    return buffer;
+  }
+
   /**
    * Builder for {@link ServerStoreConfiguration} instances.
    */
@@ -1222,6 +1396,7 @@ public class ClusterTierActiveEntityTest {
     private String keySerializerType;
     private String valueSerializerType;
     private Consistency consistency = Consistency.EVENTUAL;
+    private boolean eternal;
 
 
     ServerStoreConfigBuilder consistency(Consistency consistency) {
@@ -1229,6 +1404,11 @@ public class ClusterTierActiveEntityTest {
       return this;
     }
 
+    ServerStoreConfigBuilder eternal() {
+      this.eternal = true;
+      return this;
+    }
+
     ServerStoreConfigBuilder dedicated(String resourceName, int size, MemoryUnit unit) {
       this.poolAllocation = new Dedicated(resourceName, unit.toBytes(size));
       return this;
@@ -1266,7 +1446,7 @@ public class ClusterTierActiveEntityTest {
 
     ServerStoreConfiguration build() {
       return new ServerStoreConfiguration(poolAllocation, storedKeyType, storedValueType,
-        keySerializerType, valueSerializerType, consistency, false, false);
+        keySerializerType, valueSerializerType, consistency, false, false, eternal);
     }
   }
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache;
+
+import org.ehcache.spi.loaderwriter.CacheLoaderWriter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A non-blocking view of a {@link Cache}.
+ * <p>
+ * Each operation has the semantics of its {@link Cache} counterpart, but reports its outcome through the returned
+ * {@link CompletionStage} rather than by returning it or throwing. Exceptions the {@code Cache} operation would have
+ * thrown (including {@link NullPointerException} for {@code null} arguments) complete the stage exceptionally.
+ * <p>
+ * Depending on the cache configuration, operations are either completed inline, pipelined to a remote tier, or, when
+ * a {@link CacheLoaderWriter} is involved, executed on a thread pool.
+ *
+ * @param <K> the key type for the cache
+ * @param <V> the value type for the cache
+ *
+ * @see Cache#async()
+ */
+public interface AsyncCache<K, V> {
+
+  /**
+   * Retrieves the value currently mapped to the provided key.
+   *
+   * @param key the key, may not be {@code null}
+   * @return a stage completed with the value mapped to the key, {@code null} if none
+   *
+   * @see Cache#get(Object)
+   */
+  CompletionStage<V> getAsync(K key);
+
+  /**
+   * Associates the given value to the given key in the cache.
+   *
+   * @param key the key, may not be {@code null}
+   * @param value the value, may not be {@code null}
+   * @return a stage completed once the mapping is installed
+   *
+   * @see Cache#put(Object, Object)
+   */
+  CompletionStage<Void> putAsync(K key, V value);
+
+  /**
+   * Maps the specified key to the specified value in the cache, unless a non-expired mapping already exists.
+   *
+   * @param key the key, may not be {@code null}
+   * @param value the value, may not be {@code null}
+   * @return a stage completed with the value to which the key was previously mapped, or {@code null} if the key
+   * was installed
+   *
+   * @see Cache#putIfAbsent(Object, Object)
+   */
+  CompletionStage<V> putIfAbsentAsync(K key, V value);
+
+  /**
+   * Removes the value, if any, associated with the provided key.
+   *
+   * @param key the key to remove the value for, may not be {@code null}
+   * @return a stage completed once the mapping is removed
+   *
+   * @see Cache#remove(Object)
+   */
+  CompletionStage<Void> removeAsync(K key);
+
+  /**
+   * Retrieves all values associated with the given key set.
+   *
+   * @param keys keys to query for, may not contain {@code null}
+   * @return a stage completed with a map from keys to values or {@code null} if the key was not mapped
+   *
+   * @see Cache#getAll(Set)
+   */
+  CompletionStage<Map<K, V>> getAllAsync(Set<? extends K> keys);
+
+  /**
+   * Associates all the provided key:value pairs.
+   *
+   * @param entries key:value pairs to associate, keys or values may not be {@code null}
+   * @return a stage completed once all the mappings are installed
+   *
+   * @see Cache#putAll(Map)
+   */
+  CompletionStage<Void> putAllAsync(Map<? extends K, ? extends V> entries);
+
+  /**
+   * Removes any associated value for the given key set.
+   *
+   * @param keys keys to remove values for, may not be {@code null}
+   * @return a stage completed once all the mappings are removed
+   *
+   * @see Cache#removeAll(Set)
+   */
+  CompletionStage<Void> removeAllAsync(Set<? extends K> keys);
+}
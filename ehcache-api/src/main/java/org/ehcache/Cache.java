@@ -256,6 +256,19 @@ public interface Cache<K, V> extends Iterable<Cache.Entry<K,V>> {
    */
   CacheRuntimeConfiguration<K, V> getRuntimeConfiguration();
 
+  /**
+   * Exposes a non-blocking view of this {@code Cache}.
+   * <p>
+   * Mappings installed through the returned view are visible through this {@code Cache} and vice-versa.
+   *
+   * @return the asynchronous view of this cache
+   *
+   * @throws UnsupportedOperationException if this cache implementation does not offer an asynchronous view
+   */
+  default AsyncCache<K, V> async() {
+    throw new UnsupportedOperationException(getClass().getName() + " does not support asynchronous operations");
+  }
+
   /**
    * Returns an iterator over the cache entries.
    * <p>
@@ -75,6 +75,28 @@ public interface CacheManager extends Closeable {
    */
   <K, V> Cache<K, V> getCache(String alias, Class<K> keyType, Class<V> valueType);
 
+  /**
+   * Retrieves the {@link AsyncCache asynchronous view} of the {@link Cache} associated with the given alias, if one
+   * is known.
+   *
+   * @param alias the alias under which to look the {@link Cache} up
+   * @param keyType the {@link Cache} key class
+   * @param valueType the {@link Cache} value class
+   * @param <K> the key type for the cache
+   * @param <V> the value type for the cache
+   * @return the {@link AsyncCache} of the cache associated with the given alias, {@code null} if no such cache exists
+   *
+   * @throws java.lang.IllegalArgumentException if the keyType or valueType do not match the ones with which the
+   * {@code Cache} was created
+   * @throws UnsupportedOperationException if the cache does not offer an asynchronous view
+   *
+   * @see Cache#async()
+   */
+  default <K, V> AsyncCache<K, V> getAsyncCache(String alias, Class<K> keyType, Class<V> valueType) {
+    Cache<K, V> cache = getCache(alias, keyType, valueType);
+    return cache == null ? null : cache.async();
+  }
+
   /**
    * Removes the {@link Cache} associated with the alias provided, if one is known.
    * <p>
@@ -0,0 +1,76 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.spi.serialization;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Implementations of this interface can report the size of the serial form of an instance ahead of time, and write
+ * that serial form straight into a caller provided buffer.
+ * <p>
+ * Tiers storing serialized mappings use this to lay out the serial form alongside their own metadata in a single
+ * buffer, instead of copying a buffer returned by {@link #serialize(Object)}.
+ * <p>
+ * Implementations must be thread-safe, and the bytes written by {@link #serialize(Object, ByteBuffer)} must be
+ * identical to the ones returned by {@link #serialize(Object)}.
+ *
+ * @param <T> the type of the instances to serialize
+ *
+ * @see Serializer
+ */
+public interface DirectSerializer<T> extends Serializer<T> {
+
+  /**
+   * Returns the size in bytes of the serial form of the given instance.
+   *
+   * @param object the instance to size
+   *
+   * @return the size of the serial form
+   *
+   * @throws SerializerException if sizing fails
+   */
+  int serializedSize(T object) throws SerializerException;
+
+  /**
+   * Writes the serial form of the given instance into the given buffer.
+   * <p>
+   * Exactly {@link #serializedSize(Object) serializedSize(object)} bytes are written starting at the buffer's
+   * position, which is advanced past them.
+   *
+   * @param object the instance to serialize
+   * @param target the buffer to write to
+   *
+   * @throws SerializerException if serialization fails
+   * @throws java.nio.BufferOverflowException if the buffer does not have enough remaining space
+   */
+  void serialize(T object, ByteBuffer target) throws SerializerException;
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The default implementation writes into a buffer allocated to the {@link #serializedSize(Object) exact size}
+   * of the serial form.
+   */
+  @Override
+  default ByteBuffer serialize(T object) throws SerializerException {
+    ByteBuffer buffer = ByteBuffer.allocate(serializedSize(object));
+    serialize(object, buffer);
+    buffer.flip();
+    return buffer;
+  }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.core;
+
+import org.ehcache.AsyncCache;
+import org.ehcache.config.ResourceType;
+import org.ehcache.core.config.AsyncCacheConfiguration;
+import org.ehcache.core.config.AsyncCacheConfiguration.RejectionPolicy;
+import org.ehcache.core.spi.store.AsyncStore;
+import org.ehcache.core.spi.store.Store;
+import org.ehcache.core.statistics.BulkOps;
+import org.ehcache.core.statistics.CacheOperationOutcomes.GetAllOutcome;
+import org.ehcache.core.statistics.CacheOperationOutcomes.GetOutcome;
+import org.ehcache.spi.resilience.StoreAccessException;
+import org.slf4j.Logger;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * {@link AsyncCache} view of an {@link EhcacheBase}.
+ * <p>
+ * Reads are pipelined through the store when it is an {@link AsyncStore} and no loader is involved. Otherwise
+ * operations that may block, because they invoke the loader-writer or access a non local tier, are executed on the
+ * executor provided by {@link #setExecutorFactory(Supplier, int, RejectionPolicy)}, while all other operations complete
+ * inline. Once too many operations are pending on that executor, further ones are handled according to the
+ * {@link RejectionPolicy}.
+ */
+class EhcacheAsyncCache<K, V> implements AsyncCache<K, V> {
+
+  private final EhcacheBase<K, V> cache;
+  private final Logger logger;
+
+  private volatile Supplier<? extends ExecutorService> executorFactory;
+  private volatile ExecutorService executor;
+  private volatile int maximumPendingOperations = AsyncCacheConfiguration.DEFAULT_MAXIMUM_PENDING_OPERATIONS;
+  private volatile Semaphore pendingOperations = new Semaphore(AsyncCacheConfiguration.DEFAULT_MAXIMUM_PENDING_OPERATIONS);
+  private volatile RejectionPolicy rejectionPolicy = AsyncCacheConfiguration.DEFAULT_REJECTION_POLICY;
+
+  EhcacheAsyncCache(EhcacheBase<K, V> cache) {
+    this.cache = cache;
+    this.logger = cache.logger;
+  }
+
+  void setExecutorFactory(Supplier<? extends ExecutorService> executorFactory, int maximumPendingOperations, RejectionPolicy rejectionPolicy) {
+    this.executorFactory = executorFactory;
+    this.maximumPendingOperations = maximumPendingOperations;
+    this.pendingOperations = new Semaphore(maximumPendingOperations);
+    this.rejectionPolicy = rejectionPolicy;
+  }
+
+  @Override
+  public CompletionStage<V> getAsync(K key) {
+    AsyncStore<K, V> asyncStore = pipelinedStore();
+    if (asyncStore == null) {
+      return run(() -> cache.get(key));
+    } else {
+      return pipelinedGet(asyncStore, key);
+    }
+  }
+
+  @Override
+  public CompletionStage<Void> putAsync(K key, V value) {
+    return run(() -> {
+      cache.put(key, value);
+      return null;
+    });
+  }
+
+  @Override
+  public CompletionStage<V> putIfAbsentAsync(K key, V value) {
+    return run(() -> cache.putIfAbsent(key, value));
+  }
+
+  @Override
+  public CompletionStage<Void> removeAsync(K key) {
+    return run(() -> {
+      cache.remove(key);
+      return null;
+    });
+  }
+
+  @Override
+  public CompletionStage<Map<K, V>> getAllAsync(Set<? extends K> keys) {
+    AsyncStore<K, V> asyncStore = pipelinedStore();
+    if (asyncStore == null || keys == null) {
+      return run(() -> cache.getAll(keys));
+    } else {
+      return pipelinedGetAll(asyncStore, keys);
+    }
+  }
+
+  @Override
+  public CompletionStage<Void> putAllAsync(Map<? extends K, ? extends V> entries) {
+    return run(() -> {
+      cache.putAll(entries);
+      return null;
+    });
+  }
+
+  @Override
+  public CompletionStage<Void> removeAllAsync(Set<? extends K> keys) {
+    return run(() -> {
+      cache.removeAll(keys);
+      return null;
+    });
+  }
+
+  /**
+   * Shuts down the executor derived for this view, if any. A new one is derived should the cache be used again.
+   */
+  synchronized void shutdown() {
+    if (executor != null) {
+      executor.shutdown();
+      executor = null;
+    }
+  }
+
+  private AsyncStore<K, V> pipelinedStore() {
+    if (cache.store instanceof AsyncStore<?, ?> && cache.getCacheLoaderWriter() == null) {
+      return (AsyncStore<K, V>) cache.store;
+    } else {
+      return null;
+    }
+  }
+
+  private CompletableFuture<V> pipelinedGet(AsyncStore<K, V> store, K key) {
+    cache.getObserver.begin();
+    CompletionStage<Store.ValueHolder<V>> lookup;
+    try {
+      cache.statusTransitioner.checkAvailable();
+      EhcacheBase.checkNonNull(key);
+      lookup = store.getAsync(key);
+    } catch (Throwable e) {
+      cache.getObserver.end(GetOutcome.FAILURE);
+      return failed(e);
+    }
+    return lookup.toCompletableFuture().handle((valueHolder, failure) -> {
+      if (failure == null) {
+        if (valueHolder == null) {
+          cache.getObserver.end(GetOutcome.MISS);
+          return null;
+        } else {
+          cache.getObserver.end(GetOutcome.HIT);
+          return valueHolder.get();
+        }
+      }
+
+      Throwable cause = cause(failure);
+      cache.getObserver.end(GetOutcome.FAILURE);
+      if (cause instanceof StoreAccessException) {
+        return cache.resilienceStrategy.getFailure(key, (StoreAccessException) cause);
+      } else {
+        throw new CompletionException(cause);
+      }
+    });
+  }
+
+  /**
+   * Pipelines the reads of all keys, recording them as a single bulk read like {@link EhcacheBase#getAll(Set)}.
+   */
+  private CompletableFuture<Map<K, V>> pipelinedGetAll(AsyncStore<K, V> store, Set<? extends K> keys) {
+    cache.getAllObserver.begin();
+    Map<K, CompletableFuture<Store.ValueHolder<V>>> lookups = new LinkedHashMap<>(keys.size() * 4 / 3 + 1);
+    try {
+      cache.statusTransitioner.checkAvailable();
+      cache.checkNonNullContent(keys);
+      for (K key : keys) {
+        lookups.put(key, store.getAsync(key).toCompletableFuture());
+      }
+    } catch (Throwable e) {
+      cache.getAllObserver.end(GetAllOutcome.FAILURE);
+      return failed(e);
+    }
+    return CompletableFuture.allOf(lookups.values().toArray(new CompletableFuture<?>[lookups.size()])).handle((ignored, failure) -> {
+      if (failure == null) {
+        Map<K, V> result = new HashMap<>(lookups.size() * 4 / 3 + 1);
+        int hits = 0;
+        for (Map.Entry<K, CompletableFuture<Store.ValueHolder<V>>> lookup : lookups.entrySet()) {
+          Store.ValueHolder<V> valueHolder = lookup.getValue().join();
+          if (valueHolder == null) {
+            result.put(lookup.getKey(), null);
+          } else {
+            result.put(lookup.getKey(), valueHolder.get());
+            hits++;
+          }
+        }
+        cache.addBulkMethodEntriesCount(BulkOps.GET_ALL_HITS, hits);
+        cache.addBulkMethodEntriesCount(BulkOps.GET_ALL_MISS, lookups.size() - hits);
+        cache.getAllObserver.end(GetAllOutcome.SUCCESS);
+        return result;
+      }
+
+      Throwable cause = cause(failure);
+      cache.getAllObserver.end(GetAllOutcome.FAILURE);
+      if (cause instanceof StoreAccessException) {
+        return cache.resilienceStrategy.getAllFailure(keys, (StoreAccessException) cause);
+      } else {
+        throw new CompletionException(cause);
+      }
+    });
+  }
+
+  private <T> CompletableFuture<T> run(Supplier<T> operation) {
+    ExecutorService executorService = mayBlock() ? executor() : null;
+    if (executorService != null) {
+      Semaphore pending = pendingOperations;
+      if (pending.tryAcquire()) {
+        try {
+          return CompletableFuture.supplyAsync(() -> {
+            try {
+              return operation.get();
+            } finally {
+              pending.release();
+            }
+          }, executorService);
+        } catch (RejectedExecutionException e) {
+          pending.release();
+          logger.warn("Asynchronous operation rejected, using inline execution", e);
+        }
+      } else if (rejectionPolicy == RejectionPolicy.ABORT) {
+        return failed(new RejectedExecutionException("Too many pending asynchronous operations: " + maximumPendingOperations));
+      }
+    }
+    try {
+      return CompletableFuture.completedFuture(operation.get());
+    } catch (Throwable e) {
+      return failed(e);
+    }
+  }
+
+  private boolean mayBlock() {
+    if (cache.getCacheLoaderWriter() != null) {
+      return true;
+    }
+    for (ResourceType<?> type : cache.getRuntimeConfiguration().getResourcePools().getResourceTypeSet()) {
+      if (!(type instanceof ResourceType.Core)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private ExecutorService executor() {
+    ExecutorService current = executor;
+    if (current != null || executorFactory == null) {
+      return current;
+    }
+    synchronized (this) {
+      Supplier<? extends ExecutorService> factory = executorFactory;
+      if (executor == null && factory != null) {
+        try {
+          executor = factory.get();
+        } catch (IllegalArgumentException e) {
+          logger.warn("No thread pool available for asynchronous operations, using inline execution", e);
+          executorFactory = null;
+        }
+      }
+      return executor;
+    }
+  }
+
+  private static Throwable cause(Throwable failure) {
+    return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+  }
+
+  private static <T> CompletableFuture<T> failed(Throwable failure) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(failure);
+    return future;
+  }
+}
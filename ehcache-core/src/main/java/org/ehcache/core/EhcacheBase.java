@@ -16,9 +16,11 @@
  */
 package org.ehcache.core;
 
+import org.ehcache.AsyncCache;
 import org.ehcache.Cache;
 import org.ehcache.Status;
 import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.core.config.AsyncCacheConfiguration;
 import org.ehcache.core.events.CacheEventDispatcher;
 import org.ehcache.core.spi.LifeCycled;
 import org.ehcache.core.spi.store.Store;
@@ -55,9 +57,11 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.Optional;
 
 import static org.ehcache.core.exceptions.ExceptionFactory.newCacheLoadingException;
@@ -89,6 +93,8 @@ public abstract class EhcacheBase<K, V> implements InternalCache<K, V> {
 
   protected final Map<BulkOps, LongAdder> bulkMethodEntries = new EnumMap<>(BulkOps.class);
 
+  private final EhcacheAsyncCache<K, V> asyncCache = new EhcacheAsyncCache<>(this);
+
   /**
    * Creates a new {@code EhcacheBase} based on the provided parameters.
    *
@@ -552,6 +558,25 @@ public abstract class EhcacheBase<K, V> implements InternalCache<K, V> {
 
   protected abstract Store.ReplaceStatus doReplace(K key, V oldValue, V newValue) throws StoreAccessException;
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public AsyncCache<K, V> async() {
+    return asyncCache;
+  }
+
+  /**
+   * Sets the factory of the executor on which the blocking operations of the {@link #async() asynchronous view} run.
+   *
+   * @param executorFactory the executor factory, invoked on first use
+   * @param maximumPendingOperations the maximum number of operations queued or running on the executor
+   * @param rejectionPolicy the handling of operations submitted once that maximum is reached
+   */
+  void setAsyncExecutor(Supplier<? extends ExecutorService> executorFactory, int maximumPendingOperations, AsyncCacheConfiguration.RejectionPolicy rejectionPolicy) {
+    asyncCache.setExecutorFactory(executorFactory, maximumPendingOperations, rejectionPolicy);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -574,6 +599,7 @@ public abstract class EhcacheBase<K, V> implements InternalCache<K, V> {
   @Override
   public void close() {
     statusTransitioner.close().succeeded();
+    asyncCache.shutdown();
   }
 
   /**
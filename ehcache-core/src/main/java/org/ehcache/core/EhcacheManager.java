@@ -26,6 +26,7 @@ import org.ehcache.config.CacheConfiguration;
 import org.ehcache.config.Configuration;
 import org.ehcache.config.ResourcePools;
 import org.ehcache.config.ResourceType;
+import org.ehcache.core.config.AsyncCacheConfiguration;
 import org.ehcache.core.config.DefaultConfiguration;
 import org.ehcache.core.config.store.StoreEventSourceConfiguration;
 import org.ehcache.core.config.store.StoreStatisticsConfiguration;
@@ -40,6 +41,7 @@ import org.ehcache.core.resilience.DefaultRecoveryStore;
 import org.ehcache.core.spi.LifeCycled;
 import org.ehcache.core.spi.LifeCycledAdapter;
 import org.ehcache.core.spi.service.CacheManagerProviderService;
+import org.ehcache.core.spi.service.ExecutionService;
 import org.ehcache.core.spi.service.ServiceUtils;
 import org.ehcache.core.spi.store.InternalCacheManager;
 import org.ehcache.core.spi.store.Store;
@@ -78,6 +80,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.UnaryOperator;
 
@@ -342,7 +345,16 @@ public class EhcacheManager implements PersistentCacheManager, InternalCacheMana
       } else {
         resilienceStrategy = resilienceProvider.createResilienceStrategy(alias, config, new DefaultRecoveryStore<>(store), loaderWriter);
       }
-      InternalCache<K, V> cache = new Ehcache<>(config, store, resilienceStrategy, evtService, loaderWriter);
+      Ehcache<K, V> cache = new Ehcache<>(config, store, resilienceStrategy, evtService, loaderWriter);
+
+      ExecutionService executionService = serviceLocator.getService(ExecutionService.class);
+      if (executionService != null) {
+        AsyncCacheConfiguration configured = findSingletonAmongst(AsyncCacheConfiguration.class, adjustedServiceConfigs);
+        AsyncCacheConfiguration asyncConfiguration = configured == null ? new AsyncCacheConfiguration(null) : configured;
+        int maximumPendingOperations = asyncConfiguration.getMaximumPendingOperations();
+        cache.setAsyncExecutor(() -> executionService.getUnorderedExecutor(asyncConfiguration.getThreadPoolAlias(), new LinkedBlockingQueue<>(maximumPendingOperations)),
+          maximumPendingOperations, asyncConfiguration.getRejectionPolicy());
+      }
 
       CacheEventListenerProvider evntLsnrFactory = serviceLocator.getService(CacheEventListenerProvider.class);
       if (evntLsnrFactory != null) {
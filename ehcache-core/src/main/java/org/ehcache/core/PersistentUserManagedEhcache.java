@@ -17,6 +17,7 @@
 
 package org.ehcache.core;
 
+import org.ehcache.AsyncCache;
 import org.ehcache.PersistentUserManagedCache;
 import org.ehcache.Status;
 import org.ehcache.config.CacheConfiguration;
@@ -218,6 +219,14 @@ public class PersistentUserManagedEhcache<K, V> implements PersistentUserManaged
     return cache.getRuntimeConfiguration();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public AsyncCache<K, V> async() {
+    return cache.async();
+  }
+
   /**
    * {@inheritDoc}
    */
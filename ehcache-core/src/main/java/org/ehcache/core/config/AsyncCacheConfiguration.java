@@ -0,0 +1,137 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.core.config;
+
+import org.ehcache.AsyncCache;
+import org.ehcache.core.spi.service.ExecutionService;
+import org.ehcache.spi.service.ServiceConfiguration;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link ServiceConfiguration} selecting the {@link ExecutionService} thread pool on which the blocking operations of
+ * a cache's {@link AsyncCache} view are executed.
+ * <p>
+ * Operations are offloaded to this pool when they may invoke the cache's
+ * {@link org.ehcache.spi.loaderwriter.CacheLoaderWriter} or access a remote tier. In absence of this configuration
+ * the default pool is used.
+ * <p>
+ * At most {@link #getMaximumPendingOperations()} operations are queued or running on the pool at any time, further
+ * operations being handled according to the {@link RejectionPolicy}.
+ */
+public class AsyncCacheConfiguration implements ServiceConfiguration<ExecutionService, String> {
+
+  /**
+   * Default maximum number of pending operations.
+   */
+  public static final int DEFAULT_MAXIMUM_PENDING_OPERATIONS = 1024;
+
+  /**
+   * Default rejection policy.
+   */
+  public static final RejectionPolicy DEFAULT_REJECTION_POLICY = RejectionPolicy.CALLER_RUNS;
+
+  private final String threadPoolAlias;
+  private final int maximumPendingOperations;
+  private final RejectionPolicy rejectionPolicy;
+
+  /**
+   * Creates a new configuration with the provided pool alias, and the default pending operations bound and rejection
+   * policy.
+   *
+   * @param threadPoolAlias the pool alias
+   */
+  public AsyncCacheConfiguration(String threadPoolAlias) {
+    this(threadPoolAlias, DEFAULT_MAXIMUM_PENDING_OPERATIONS, DEFAULT_REJECTION_POLICY);
+  }
+
+  /**
+   * Creates a new configuration with the provided pool alias, pending operations bound and rejection policy.
+   *
+   * @param threadPoolAlias the pool alias
+   * @param maximumPendingOperations the maximum number of operations queued or running on the pool
+   * @param rejectionPolicy the handling of operations submitted once the bound is reached
+   */
+  public AsyncCacheConfiguration(String threadPoolAlias, int maximumPendingOperations, RejectionPolicy rejectionPolicy) {
+    if (maximumPendingOperations <= 0) {
+      throw new IllegalArgumentException("Maximum pending operations must be positive: " + maximumPendingOperations);
+    }
+    this.threadPoolAlias = threadPoolAlias;
+    this.maximumPendingOperations = maximumPendingOperations;
+    this.rejectionPolicy = requireNonNull(rejectionPolicy, "Rejection policy cannot be null");
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Class<ExecutionService> getServiceType() {
+    return ExecutionService.class;
+  }
+
+  /**
+   * Returns the thread pool alias.
+   *
+   * @return the pool alias
+   */
+  public String getThreadPoolAlias() {
+    return threadPoolAlias;
+  }
+
+  /**
+   * Returns the maximum number of operations queued or running on the pool.
+   *
+   * @return the maximum pending operations
+   */
+  public int getMaximumPendingOperations() {
+    return maximumPendingOperations;
+  }
+
+  /**
+   * Returns the handling of operations submitted once the maximum number of pending operations is reached.
+   *
+   * @return the rejection policy
+   */
+  public RejectionPolicy getRejectionPolicy() {
+    return rejectionPolicy;
+  }
+
+  @Override
+  public String derive() {
+    return getThreadPoolAlias();
+  }
+
+  @Override
+  public AsyncCacheConfiguration build(String alias) {
+    return new AsyncCacheConfiguration(alias, maximumPendingOperations, rejectionPolicy);
+  }
+
+  /**
+   * Handling of the asynchronous operations submitted while the maximum number of operations are pending.
+   */
+  public enum RejectionPolicy {
+    /**
+     * The operation runs on the calling thread, slowing callers down to the pace of the pool.
+     */
+    CALLER_RUNS,
+    /**
+     * The returned stage completes exceptionally with a {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    ABORT
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.core.spi.store;
+
+import org.ehcache.spi.resilience.StoreAccessException;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A {@link Store} able to serve reads without blocking the calling thread.
+ * <p>
+ * Stores backed by a remote tier implement this interface so that asynchronous cache reads can be pipelined, rather
+ * than each occupying a thread while waiting on the network.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public interface AsyncStore<K, V> extends Store<K, V> {
+
+  /**
+   * Asynchronously retrieves the {@link Store.ValueHolder} mapped to the given key.
+   * <p>
+   * The returned stage completes with the same result {@link Store#get(Object)} would have returned, or exceptionally
+   * with a {@link StoreAccessException} if the store could not be accessed.
+   *
+   * @param key the key of the mapping to lookup
+   * @return a stage completed with the value mapped to this key, or {@code null} if no mapping exists
+   */
+  CompletionStage<ValueHolder<V>> getAsync(K key);
+}
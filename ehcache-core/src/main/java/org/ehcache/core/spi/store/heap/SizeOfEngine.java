@@ -37,4 +37,15 @@ public interface SizeOfEngine {
    */
   <K, V> long sizeof(K key, Store.ValueHolder<V> holder) throws LimitExceededException;
 
+  /**
+   * Indicates whether sizes only depend on the key and the value of the holder, and not on the holder itself.
+   * <p>
+   * Stores copying a mapping into a holder of their own can then size the original holder, which may carry a cheaper
+   * representation of the value.
+   *
+   * @return {@code true} if sizes do not depend on the holder implementation
+   */
+  default boolean isHolderIndependent() {
+    return false;
+  }
 }
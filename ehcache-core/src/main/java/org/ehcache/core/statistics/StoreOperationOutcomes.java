@@ -187,4 +187,46 @@ public interface StoreOperationOutcomes {
     SUCCESS
   }
 
+  /**
+   * Outcomes of reads of a mapping due for refresh-ahead
+   */
+  enum RefreshAheadOutcome implements StoreOperationOutcomes {
+    /**
+     * a refresh was scheduled
+     */
+    ISSUED,
+    /**
+     * a refresh was already in flight for the key
+     */
+    COALESCED
+  }
+
+  /**
+   * Outcomes of refresh-ahead reloads
+   */
+  enum RefreshOutcome implements StoreOperationOutcomes {
+    /** success. */
+    SUCCESS,
+    /** failure */
+    FAILURE
+  }
+
+  /**
+   * Outcomes of reads going through request coalescing
+   */
+  enum CoalescingOutcome implements StoreOperationOutcomes {
+    /**
+     * the read was issued against the store
+     */
+    LEADER,
+    /**
+     * the read received the result of an in-flight read of the same key
+     */
+    COALESCED,
+    /**
+     * the read gave up waiting on an in-flight read and was issued against the store
+     */
+    TIMEOUT
+  }
+
 }
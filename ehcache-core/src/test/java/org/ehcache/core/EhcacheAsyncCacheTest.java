@@ -0,0 +1,266 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.ehcache.Status;
+import org.ehcache.core.config.AsyncCacheConfiguration;
+import org.ehcache.core.spi.store.AsyncStore;
+import org.ehcache.core.spi.store.Store;
+import org.ehcache.core.statistics.CacheOperationOutcomes;
+import org.ehcache.core.store.SimpleTestStore;
+import org.ehcache.spi.resilience.StoreAccessException;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the {@link org.ehcache.AsyncCache} view of {@link Ehcache}.
+ */
+public class EhcacheAsyncCacheTest extends EhcacheBasicCrudBase {
+
+  @Test
+  public void testGetAsyncCompletesInlineOnLocalStore() throws Exception {
+    this.store = spy(new SimpleTestStore(Collections.singletonMap("key", "value")));
+    Ehcache<String, String> ehcache = getEhcache(null);
+
+    CompletableFuture<String> get = ehcache.async().getAsync("key").toCompletableFuture();
+    assertThat(get.isDone(), is(true));
+    assertThat(get.get(), equalTo("value"));
+    validateStats(ehcache, EnumSet.of(CacheOperationOutcomes.GetOutcome.HIT));
+  }
+
+  @Test
+  public void testGetAsyncNullKey() throws Exception {
+    Ehcache<String, String> ehcache = getEhcache(null);
+
+    try {
+      ehcache.async().getAsync(null).toCompletableFuture().get();
+      fail();
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(NullPointerException.class));
+    }
+  }
+
+  @Test
+  public void testPutAsyncThenGetAsync() throws Exception {
+    this.store = spy(new SimpleTestStore(Collections.<String, String>emptyMap()));
+    Ehcache<String, String> ehcache = getEhcache(null);
+
+    ehcache.async().putAsync("key", "value").toCompletableFuture().get();
+    assertThat(ehcache.get("key"), equalTo("value"));
+    Map<String, String> all = ehcache.async().getAllAsync(Collections.singleton("key")).toCompletableFuture().get();
+    assertThat(all, equalTo(Collections.singletonMap("key", "value")));
+  }
+
+  @Test
+  public void testGetAsyncIsPipelinedThroughAsyncStore() throws Exception {
+    @SuppressWarnings("unchecked")
+    AsyncStore<String, String> asyncStore = mock(AsyncStore.class);
+    CompletableFuture<Store.ValueHolder<String>> lookup = new CompletableFuture<>();
+    when(asyncStore.getAsync("key")).thenReturn(lookup);
+    this.store = asyncStore;
+    Ehcache<String, String> ehcache = getEhcache(null);
+
+    CompletableFuture<String> get = ehcache.async().getAsync("key").toCompletableFuture();
+    assertThat(get.isDone(), is(false));
+
+    @SuppressWarnings("unchecked")
+    Store.ValueHolder<String> valueHolder = mock(Store.ValueHolder.class);
+    when(valueHolder.get()).thenReturn("value");
+    lookup.complete(valueHolder);
+
+    assertThat(get.get(), equalTo("value"));
+    verify(asyncStore, never()).get(any());
+    validateStats(ehcache, EnumSet.of(CacheOperationOutcomes.GetOutcome.HIT));
+  }
+
+  @Test
+  public void testPipelinedGetAsyncStoreAccessException() throws Exception {
+    @SuppressWarnings("unchecked")
+    AsyncStore<String, String> asyncStore = mock(AsyncStore.class);
+    CompletableFuture<Store.ValueHolder<String>> lookup = new CompletableFuture<>();
+    when(asyncStore.getAsync("key")).thenReturn(lookup);
+    when(this.resilienceStrategy.getFailure(eq("key"), any(StoreAccessException.class))).thenReturn("fallback");
+    this.store = asyncStore;
+    Ehcache<String, String> ehcache = getEhcache(null);
+
+    CompletableFuture<String> get = ehcache.async().getAsync("key").toCompletableFuture();
+    lookup.completeExceptionally(new StoreAccessException(""));
+
+    assertThat(get.get(), equalTo("fallback"));
+    verify(this.resilienceStrategy).getFailure(eq("key"), any(StoreAccessException.class));
+    validateStats(ehcache, EnumSet.of(CacheOperationOutcomes.GetOutcome.FAILURE));
+  }
+
+  @Test
+  public void testGetAsyncWithLoaderWriterRunsOnExecutor() throws Exception {
+    this.store = spy(new SimpleTestStore(Collections.singletonMap("key", "value")));
+    Ehcache<String, String> ehcache = getEhcache(new FakeCacheLoaderWriter(Collections.<String, String>emptyMap()));
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    AtomicReference<Thread> executingThread = new AtomicReference<>();
+    executor.submit(() -> executingThread.set(Thread.currentThread())).get();
+    ehcache.setAsyncExecutor(() -> executor, AsyncCacheConfiguration.DEFAULT_MAXIMUM_PENDING_OPERATIONS, AsyncCacheConfiguration.DEFAULT_REJECTION_POLICY);
+
+    AtomicReference<Thread> storeThread = new AtomicReference<>();
+    doAnswer(invocation -> {
+      storeThread.set(Thread.currentThread());
+      return invocation.callRealMethod();
+    }).when(this.store).get("key");
+
+    assertThat(ehcache.async().getAsync("key").toCompletableFuture().get(), equalTo("value"));
+    assertThat(storeThread.get(), sameInstance(executingThread.get()));
+    verify(this.store).get("key");
+
+    ehcache.close();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS), is(true));
+  }
+
+  @Test
+  public void testGetAsyncWithLoaderWriterWithoutExecutorCompletesInline() throws Exception {
+    this.store = spy(new SimpleTestStore(Collections.<String, String>emptyMap()));
+    Ehcache<String, String> ehcache = getEhcache(new FakeCacheLoaderWriter(Collections.<String, String>emptyMap()));
+
+    CompletableFuture<String> get = ehcache.async().getAsync("key").toCompletableFuture();
+    assertThat(get.isDone(), is(true));
+    assertThat(get.get(), is(nullValue()));
+  }
+
+  @Test
+  public void testPipelinedGetAllAsyncRecordsBulkStatistics() throws Exception {
+    @SuppressWarnings("unchecked")
+    AsyncStore<String, String> asyncStore = mock(AsyncStore.class);
+    @SuppressWarnings("unchecked")
+    Store.ValueHolder<String> valueHolder = mock(Store.ValueHolder.class);
+    when(valueHolder.get()).thenReturn("value");
+    when(asyncStore.getAsync("hit")).thenReturn(CompletableFuture.completedFuture(valueHolder));
+    when(asyncStore.getAsync("miss")).thenReturn(CompletableFuture.completedFuture(null));
+    this.store = asyncStore;
+    Ehcache<String, String> ehcache = getEhcache(null);
+
+    Map<String, String> all = ehcache.async().getAllAsync(new HashSet<>(Arrays.asList("hit", "miss"))).toCompletableFuture().get();
+
+    Map<String, String> expected = new HashMap<>();
+    expected.put("hit", "value");
+    expected.put("miss", null);
+    assertThat(all, equalTo(expected));
+    validateStats(ehcache, EnumSet.of(CacheOperationOutcomes.GetAllOutcome.SUCCESS));
+    validateStats(ehcache, EnumSet.noneOf(CacheOperationOutcomes.GetOutcome.class));
+    EhcacheBasicGetAllTest.validateBulkCounters(ehcache, 1, 1);
+  }
+
+  @Test
+  public void testAbortPolicyFailsOperationsBeyondTheBound() throws Exception {
+    this.store = spy(new SimpleTestStore(Collections.singletonMap("key", "value")));
+    Ehcache<String, String> ehcache = getEhcache(new FakeCacheLoaderWriter(Collections.<String, String>emptyMap()));
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    CountDownLatch latch = new CountDownLatch(1);
+    ehcache.setAsyncExecutor(() -> executor, 1, AsyncCacheConfiguration.RejectionPolicy.ABORT);
+    try {
+      doAnswer(invocation -> {
+        latch.await();
+        return invocation.callRealMethod();
+      }).when(this.store).get("key");
+
+      CompletableFuture<String> pending = ehcache.async().getAsync("key").toCompletableFuture();
+      CompletableFuture<String> rejected = ehcache.async().getAsync("key").toCompletableFuture();
+      try {
+        rejected.get();
+        fail();
+      } catch (ExecutionException e) {
+        assertThat(e.getCause(), instanceOf(RejectedExecutionException.class));
+      }
+
+      latch.countDown();
+      assertThat(pending.get(), equalTo("value"));
+      assertThat(ehcache.async().getAsync("key").toCompletableFuture().get(), equalTo("value"));
+    } finally {
+      latch.countDown();
+      ehcache.close();
+    }
+  }
+
+  @Test
+  public void testCallerRunsPolicyRunsOperationsBeyondTheBoundInline() throws Exception {
+    this.store = spy(new SimpleTestStore(Collections.singletonMap("key", "value")));
+    Ehcache<String, String> ehcache = getEhcache(new FakeCacheLoaderWriter(Collections.<String, String>emptyMap()));
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    CountDownLatch latch = new CountDownLatch(1);
+    ehcache.setAsyncExecutor(() -> executor, 1, AsyncCacheConfiguration.RejectionPolicy.CALLER_RUNS);
+    try {
+      AtomicReference<Thread> storeThread = new AtomicReference<>();
+      doAnswer(invocation -> {
+        if (storeThread.compareAndSet(null, Thread.currentThread())) {
+          latch.await();
+        } else {
+          storeThread.set(Thread.currentThread());
+        }
+        return invocation.callRealMethod();
+      }).when(this.store).get("key");
+
+      CompletableFuture<String> pending = ehcache.async().getAsync("key").toCompletableFuture();
+      while (storeThread.get() == null) {
+        Thread.yield();
+      }
+      CompletableFuture<String> inline = ehcache.async().getAsync("key").toCompletableFuture();
+      assertThat(inline.isDone(), is(true));
+      assertThat(storeThread.get(), sameInstance(Thread.currentThread()));
+
+      latch.countDown();
+      assertThat(pending.get(), equalTo("value"));
+    } finally {
+      latch.countDown();
+      ehcache.close();
+    }
+  }
+
+  private Ehcache<String, String> getEhcache(FakeCacheLoaderWriter cacheLoaderWriter) {
+    Ehcache<String, String> ehcache = new Ehcache<>(CACHE_CONFIGURATION, this.store, resilienceStrategy, cacheEventDispatcher, cacheLoaderWriter);
+    ehcache.init();
+    assertThat("cache not initialized", ehcache.getStatus(), is(Status.AVAILABLE));
+    return ehcache;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.heap.holders;
+
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.vm.VM;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Prints the JOL memory layout of every heap tier value holder, followed by a summary of their shallow sizes.
+ * <p>
+ * The report goes to the file given as first argument, or to the standard output when there is none.
+ */
+public final class ValueHolderFootprintReport {
+
+  private static final Class<?>[] HOLDERS = {
+    SimpleOnHeapValueHolder.class,
+    CompactExpiringOnHeapValueHolder.class,
+    CompactExpiringOnHeapValueHolder.Identified.class,
+    CompactOnHeapValueHolder.class,
+    CompactOnHeapValueHolder.Identified.class
+  };
+
+  private ValueHolderFootprintReport() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length == 0) {
+      report(System.out);
+    } else {
+      Path file = Paths.get(args[0]);
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, StandardCharsets.UTF_8.name())) {
+        report(out);
+      }
+    }
+  }
+
+  private static void report(PrintStream out) {
+    out.println(VM.current().details());
+
+    for (Class<?> holder : HOLDERS) {
+      out.println(ClassLayout.parseClass(holder).toPrintable());
+    }
+
+    out.println("Shallow size per layout:");
+    for (Class<?> holder : HOLDERS) {
+      out.printf("  %-60s %4d bytes%n", holder.getName(), ClassLayout.parseClass(holder).instanceSize());
+    }
+  }
+}
@@ -24,6 +24,7 @@ import org.ehcache.config.FluentCacheConfigurationBuilder;
 import org.ehcache.config.ResourcePools;
 import org.ehcache.config.units.MemoryUnit;
 import org.ehcache.impl.config.BaseCacheConfiguration;
+import org.ehcache.core.config.AsyncCacheConfiguration;
 import org.ehcache.core.config.store.StoreEventSourceConfiguration;
 import org.ehcache.expiry.ExpiryPolicy;
 import org.ehcache.impl.config.copy.DefaultCopierConfiguration;
@@ -31,8 +32,10 @@ import org.ehcache.impl.config.event.DefaultCacheEventDispatcherConfiguration;
 import org.ehcache.impl.config.event.DefaultCacheEventListenerConfiguration;
 import org.ehcache.impl.config.event.DefaultEventSourceConfiguration;
 import org.ehcache.impl.config.loaderwriter.DefaultCacheLoaderWriterConfiguration;
+import org.ehcache.impl.config.loaderwriter.RefreshAheadConfiguration;
 import org.ehcache.impl.config.resilience.DefaultResilienceStrategyConfiguration;
 import org.ehcache.impl.config.serializer.DefaultSerializerConfiguration;
+import org.ehcache.impl.config.store.coalescing.RequestCoalescingConfiguration;
 import org.ehcache.impl.config.store.disk.OffHeapDiskStoreConfiguration;
 import org.ehcache.impl.copy.SerializingCopier;
 import org.ehcache.spi.copy.Copier;
@@ -41,6 +44,7 @@ import org.ehcache.spi.resilience.ResilienceStrategy;
 import org.ehcache.spi.serialization.Serializer;
 import org.ehcache.spi.service.ServiceConfiguration;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -362,6 +366,72 @@ public class CacheConfigurationBuilder<K, V> implements FluentCacheConfiguration
     return withoutServices(DefaultCacheLoaderWriterConfiguration.class);
   }
 
+  /**
+   * Adds a {@link ServiceConfiguration} enabling refresh-ahead of the mappings loaded through the cache's
+   * {@link CacheLoaderWriter}, refreshes running on the default thread pool.
+   * <p>
+   * Reads happening once {@code refreshFraction} of a mapping's time-to-live has elapsed return the cached value and
+   * schedule a single asynchronous reload of the mapping.
+   *
+   * @param refreshFraction the fraction of the time-to-live after which reads trigger a refresh, strictly between 0 and 1
+   * @return a new builder with the added configuration
+   *
+   * @see #withoutRefreshAhead()
+   */
+  public CacheConfigurationBuilder<K, V> withRefreshAhead(double refreshFraction) {
+    return withService(new RefreshAheadConfiguration(refreshFraction));
+  }
+
+  /**
+   * Adds a {@link ServiceConfiguration} enabling refresh-ahead of the mappings loaded through the cache's
+   * {@link CacheLoaderWriter}, refreshes running on the given thread pool.
+   *
+   * @param refreshFraction the fraction of the time-to-live after which reads trigger a refresh, strictly between 0 and 1
+   * @param threadPoolAlias the thread pool alias to use
+   * @return a new builder with the added configuration
+   *
+   * @see #withRefreshAhead(double)
+   * @see #withoutRefreshAhead()
+   */
+  public CacheConfigurationBuilder<K, V> withRefreshAhead(double refreshFraction, String threadPoolAlias) {
+    return withService(new RefreshAheadConfiguration(refreshFraction, requireNonNull(threadPoolAlias, "Null threadPoolAlias")));
+  }
+
+  /**
+   * Removes any configured refresh-ahead.
+   *
+   * @return a new builder without refresh-ahead
+   *
+   * @see #withRefreshAhead(double)
+   */
+  public CacheConfigurationBuilder<K, V> withoutRefreshAhead() {
+    return withoutServices(RefreshAheadConfiguration.class);
+  }
+
+  /**
+   * Adds a {@link ServiceConfiguration} coalescing concurrent reads of the same key, so that a burst of misses on a key
+   * only issues a single request against the authoritative tier and the {@link CacheLoaderWriter}.
+   *
+   * @param maximumWait the maximum time a read waits on an in-flight read of the same key before reading on its own
+   * @return a new builder with the added configuration
+   *
+   * @see #withoutRequestCoalescing()
+   */
+  public CacheConfigurationBuilder<K, V> withRequestCoalescing(Duration maximumWait) {
+    return withService(new RequestCoalescingConfiguration(maximumWait));
+  }
+
+  /**
+   * Removes any configured request coalescing.
+   *
+   * @return a new builder without request coalescing
+   *
+   * @see #withRequestCoalescing(Duration)
+   */
+  public CacheConfigurationBuilder<K, V> withoutRequestCoalescing() {
+    return withoutServices(RequestCoalescingConfiguration.class);
+  }
+
   @Override
   public CacheConfigurationBuilder<K, V> withResilienceStrategy(ResilienceStrategy<K, V> resilienceStrategy) {
     return withService(new DefaultResilienceStrategyConfiguration(requireNonNull(resilienceStrategy, "Null resilienceStrategy")));
@@ -495,6 +565,45 @@ public class CacheConfigurationBuilder<K, V> implements FluentCacheConfiguration
     return withoutServices(DefaultCacheEventDispatcherConfiguration.class);
   }
 
+  /**
+   * Adds a {@link ServiceConfiguration} specifying the thread pool alias on which the blocking operations of the
+   * cache's {@link org.ehcache.AsyncCache asynchronous view} are executed.
+   *
+   * @param threadPoolAlias the thread pool alias to use
+   * @return a new builder with the added configuration
+   *
+   * @see #withDefaultAsyncThreadPool()
+   */
+  public CacheConfigurationBuilder<K, V> withAsyncThreadPool(String threadPoolAlias) {
+    return withService(new AsyncCacheConfiguration(threadPoolAlias));
+  }
+
+  /**
+   * Adds a {@link ServiceConfiguration} for the asynchronous operations of the cache, indicating the thread pool alias,
+   * the maximum number of operations pending on that pool and the handling of operations submitted beyond it.
+   *
+   * @param threadPoolAlias the thread pool alias
+   * @param maximumPendingOperations the maximum number of operations queued or running on the pool
+   * @param rejectionPolicy the handling of operations submitted once the maximum is reached
+   * @return a new builder with the added configuration
+   *
+   * @see #withDefaultAsyncThreadPool()
+   */
+  public CacheConfigurationBuilder<K, V> withAsyncThreadPool(String threadPoolAlias, int maximumPendingOperations, AsyncCacheConfiguration.RejectionPolicy rejectionPolicy) {
+    return withService(new AsyncCacheConfiguration(threadPoolAlias, maximumPendingOperations, rejectionPolicy));
+  }
+
+  /**
+   * Restores the default asynchronous operations thread pool settings.
+   *
+   * @return a new builder with the default asynchronous operations thread pool settings
+   *
+   * @see #withAsyncThreadPool(String)
+   */
+  public CacheConfigurationBuilder<K, V> withDefaultAsyncThreadPool() {
+    return withoutServices(AsyncCacheConfiguration.class);
+  }
+
   /**
    * Adds a {@link ServiceConfiguration} for the {@link org.ehcache.impl.internal.store.disk.OffHeapDiskStore.Provider}
    * indicating thread pool alias and write concurrency.
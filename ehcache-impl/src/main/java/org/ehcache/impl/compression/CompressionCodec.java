@@ -0,0 +1,63 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.compression;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compresses and decompresses the serialized form of values.
+ * <p>
+ * The identifier of the codec is stored alongside every compressed value, so that data persisted with one codec is
+ * never decompressed with another. Identifiers range from {@code 1} to {@code 255}, those up to {@code 127} being
+ * reserved for the bundled codecs.
+ * <p>
+ * Implementations must be thread-safe.
+ *
+ * @see org.ehcache.impl.config.store.disk.OffHeapDiskStoreConfiguration
+ */
+public interface CompressionCodec {
+
+  /**
+   * Returns the identifier of the binary format produced by this codec.
+   *
+   * @return the codec identifier, between {@code 1} and {@code 255}
+   */
+  int getId();
+
+  /**
+   * Compresses the remaining bytes of the given buffer.
+   * <p>
+   * The position of {@code source} is not modified.
+   *
+   * @param source the bytes to compress
+   * @return a buffer holding the compressed bytes between its position and limit
+   */
+  ByteBuffer compress(ByteBuffer source);
+
+  /**
+   * Decompresses the remaining bytes of the given buffer.
+   * <p>
+   * The position of {@code source} is not modified.
+   *
+   * @param source the bytes to decompress
+   * @param uncompressedLength the length of the original bytes
+   * @return a buffer holding the original bytes between its position and limit
+   * @throws IllegalArgumentException if the bytes are not a valid output of {@link #compress(ByteBuffer)}
+   */
+  ByteBuffer decompress(ByteBuffer source, int uncompressedLength);
+}
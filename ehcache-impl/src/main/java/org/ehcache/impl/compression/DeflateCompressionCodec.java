@@ -0,0 +1,120 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.compression;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A {@link CompressionCodec} producing zlib streams through the JDK {@link Deflater}.
+ * <p>
+ * This codec usually compresses better than {@link Lz4CompressionCodec}, at a higher CPU cost.
+ */
+public class DeflateCompressionCodec implements CompressionCodec {
+
+  /**
+   * Identifier of this codec.
+   */
+  public static final int ID = 2;
+
+  private final int level;
+
+  /**
+   * Creates a codec using the {@link Deflater#DEFAULT_COMPRESSION default compression level}.
+   */
+  public DeflateCompressionCodec() {
+    this(Deflater.DEFAULT_COMPRESSION);
+  }
+
+  /**
+   * Creates a codec using the given compression level.
+   *
+   * @param level the compression level, from {@code 0} to {@code 9} or {@link Deflater#DEFAULT_COMPRESSION}
+   * @throws IllegalArgumentException if the level is invalid
+   */
+  public DeflateCompressionCodec(int level) {
+    if ((level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION) && level != Deflater.DEFAULT_COMPRESSION) {
+      throw new IllegalArgumentException("Invalid deflate compression level: " + level);
+    }
+    this.level = level;
+  }
+
+  /**
+   * Returns the compression level of this codec.
+   *
+   * @return the compression level
+   */
+  public int getLevel() {
+    return level;
+  }
+
+  @Override
+  public int getId() {
+    return ID;
+  }
+
+  @Override
+  public ByteBuffer compress(ByteBuffer source) {
+    ByteBuffer input = HeapBuffers.onHeap(source);
+    Deflater deflater = new Deflater(level);
+    try {
+      deflater.setInput(input.array(), input.arrayOffset() + input.position(), input.remaining());
+      deflater.finish();
+      byte[] output = new byte[input.remaining() + (input.remaining() >>> 3) + 64];
+      int length = 0;
+      while (!deflater.finished()) {
+        if (length == output.length) {
+          output = Arrays.copyOf(output, output.length << 1);
+        }
+        length += deflater.deflate(output, length, output.length - length);
+      }
+      return ByteBuffer.wrap(output, 0, length);
+    } finally {
+      deflater.end();
+    }
+  }
+
+  @Override
+  public ByteBuffer decompress(ByteBuffer source, int uncompressedLength) {
+    ByteBuffer input = HeapBuffers.onHeap(source);
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(input.array(), input.arrayOffset() + input.position(), input.remaining());
+      byte[] output = new byte[uncompressedLength];
+      int length = 0;
+      while (length < uncompressedLength) {
+        int inflated = inflater.inflate(output, length, uncompressedLength - length);
+        if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        length += inflated;
+      }
+      if (length != uncompressedLength) {
+        throw new IllegalArgumentException("Malformed deflate stream: expected " + uncompressedLength + " bytes but got " + length);
+      }
+      return ByteBuffer.wrap(output);
+    } catch (DataFormatException e) {
+      throw new IllegalArgumentException("Malformed deflate stream", e);
+    } finally {
+      inflater.end();
+    }
+  }
+}
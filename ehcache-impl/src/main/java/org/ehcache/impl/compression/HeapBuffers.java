@@ -0,0 +1,46 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.compression;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Gives array based codecs access to the content of any buffer.
+ */
+final class HeapBuffers {
+
+  private HeapBuffers() {
+    // no instances
+  }
+
+  /**
+   * Returns a buffer with the same remaining content as the given buffer, backed by an accessible array.
+   *
+   * @param buffer the buffer to read
+   * @return {@code buffer} itself if it has an accessible array, a heap copy otherwise
+   */
+  static ByteBuffer onHeap(ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      return buffer;
+    } else {
+      ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+      copy.put(buffer.duplicate()).flip();
+      return copy;
+    }
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.compression;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A fast {@link CompressionCodec} producing the LZ4 block format, implemented in plain Java.
+ * <p>
+ * This codec favours speed over compression ratio: it finds matches through a single probe of a hash table of the
+ * preceding four byte sequences, and skips ahead faster on incompressible input.
+ */
+public class Lz4CompressionCodec implements CompressionCodec {
+
+  /**
+   * Identifier of this codec.
+   */
+  public static final int ID = 1;
+
+  private static final int MIN_MATCH = 4;
+  private static final int LAST_LITERALS = 5;
+  private static final int MATCH_FIND_LIMIT = 12;
+  private static final int MAX_DISTANCE = 0xffff;
+  private static final int HASH_LOG = 12;
+  private static final int SKIP_TRIGGER = 6;
+
+  @Override
+  public int getId() {
+    return ID;
+  }
+
+  @Override
+  public ByteBuffer compress(ByteBuffer source) {
+    ByteBuffer input = HeapBuffers.onHeap(source);
+    byte[] src = input.array();
+    int srcOff = input.arrayOffset() + input.position();
+    int srcLen = input.remaining();
+
+    byte[] dst = new byte[maxCompressedLength(srcLen)];
+    int length = compress(src, srcOff, srcLen, dst);
+    return ByteBuffer.wrap(dst, 0, length);
+  }
+
+  @Override
+  public ByteBuffer decompress(ByteBuffer source, int uncompressedLength) {
+    ByteBuffer input = HeapBuffers.onHeap(source);
+    byte[] dst = new byte[uncompressedLength];
+    try {
+      decompress(input.array(), input.arrayOffset() + input.position(), input.remaining(), dst);
+    } catch (ArrayIndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Malformed LZ4 block", e);
+    }
+    return ByteBuffer.wrap(dst);
+  }
+
+  static int maxCompressedLength(int length) {
+    return length + length / 255 + 16;
+  }
+
+  private static int compress(byte[] src, int srcOff, int srcLen, byte[] dst) {
+    int srcEnd = srcOff + srcLen;
+    int matchLimit = srcEnd - LAST_LITERALS;
+    int matchFindLimit = srcEnd - MATCH_FIND_LIMIT;
+
+    int anchor = srcOff;
+    int op = 0;
+
+    if (srcLen > MATCH_FIND_LIMIT) {
+      // positions are stored plus one so that zero marks an empty slot
+      int[] table = new int[1 << HASH_LOG];
+      int ip = srcOff;
+      int searches = 1 << SKIP_TRIGGER;
+      while (ip < matchFindLimit) {
+        int sequence = readInt(src, ip);
+        int slot = hash(sequence);
+        int ref = table[slot] - 1;
+        table[slot] = ip + 1;
+
+        if (ref < 0 || ip - ref > MAX_DISTANCE || readInt(src, ref) != sequence) {
+          ip += searches++ >>> SKIP_TRIGGER;
+          continue;
+        }
+        searches = 1 << SKIP_TRIGGER;
+
+        while (ip > anchor && ref > srcOff && src[ip - 1] == src[ref - 1]) {
+          ip--;
+          ref--;
+        }
+        int matchLength = MIN_MATCH;
+        while (ip + matchLength < matchLimit && src[ip + matchLength] == src[ref + matchLength]) {
+          matchLength++;
+        }
+
+        op = writeSequence(src, anchor, ip - anchor, ip - ref, matchLength, dst, op);
+        ip += matchLength;
+        anchor = ip;
+      }
+    }
+
+    int literals = srcEnd - anchor;
+    int token = op++;
+    op = writeLength(literals, dst, token, 4, op);
+    System.arraycopy(src, anchor, dst, op, literals);
+    return op + literals;
+  }
+
+  private static int writeSequence(byte[] src, int literalsStart, int literals, int offset, int matchLength, byte[] dst, int op) {
+    int token = op++;
+    op = writeLength(literals, dst, token, 4, op);
+    System.arraycopy(src, literalsStart, dst, op, literals);
+    op += literals;
+    dst[op++] = (byte) offset;
+    dst[op++] = (byte) (offset >>> 8);
+    return writeLength(matchLength - MIN_MATCH, dst, token, 0, op);
+  }
+
+  private static int writeLength(int length, byte[] dst, int token, int shift, int op) {
+    if (length < 15) {
+      dst[token] |= (byte) (length << shift);
+    } else {
+      dst[token] |= (byte) (15 << shift);
+      int remaining = length - 15;
+      while (remaining >= 255) {
+        dst[op++] = (byte) 255;
+        remaining -= 255;
+      }
+      dst[op++] = (byte) remaining;
+    }
+    return op;
+  }
+
+  private static void decompress(byte[] src, int srcOff, int srcLen, byte[] dst) {
+    int srcEnd = srcOff + srcLen;
+    int ip = srcOff;
+    int op = 0;
+
+    while (true) {
+      int token = src[ip++] & 0xff;
+
+      int literals = token >>> 4;
+      if (literals == 15) {
+        int b;
+        do {
+          b = src[ip++] & 0xff;
+          literals += b;
+        } while (b == 255);
+      }
+      if (literals > srcEnd - ip || literals > dst.length - op) {
+        throw new IllegalArgumentException("Malformed LZ4 block: literals overflow");
+      }
+      System.arraycopy(src, ip, dst, op, literals);
+      ip += literals;
+      op += literals;
+
+      if (ip == srcEnd) {
+        if (op != dst.length) {
+          throw new IllegalArgumentException("Malformed LZ4 block: expected " + dst.length + " bytes but got " + op);
+        }
+        return;
+      }
+
+      int offset = (src[ip++] & 0xff) | (src[ip++] & 0xff) << 8;
+      int matchLength = token & 0xf;
+      if (matchLength == 15) {
+        int b;
+        do {
+          b = src[ip++] & 0xff;
+          matchLength += b;
+        } while (b == 255);
+      }
+      matchLength += MIN_MATCH;
+
+      int ref = op - offset;
+      if (offset == 0 || ref < 0 || matchLength > dst.length - op) {
+        throw new IllegalArgumentException("Malformed LZ4 block: invalid match");
+      }
+      if (offset >= matchLength) {
+        System.arraycopy(dst, ref, dst, op, matchLength);
+        op += matchLength;
+      } else {
+        // overlapping copy, repeating the last offset bytes
+        for (int end = op + matchLength; op < end; op++) {
+          dst[op] = dst[ref++];
+        }
+      }
+    }
+  }
+
+  private static int readInt(byte[] src, int index) {
+    return (src[index] & 0xff) | (src[index + 1] & 0xff) << 8 | (src[index + 2] & 0xff) << 16 | (src[index + 3] & 0xff) << 24;
+  }
+
+  private static int hash(int sequence) {
+    return (sequence * -1640531535) >>> (32 - HASH_LOG);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.config.loaderwriter;
+
+import org.ehcache.impl.internal.store.loaderwriter.LoaderWriterStoreProvider;
+import org.ehcache.spi.service.ServiceConfiguration;
+
+/**
+ * {@link ServiceConfiguration} for the {@link LoaderWriterStoreProvider} enabling refresh-ahead loading.
+ * <p>
+ * Once a fraction of the time-to-live of a mapping has elapsed, reads keep returning the cached value but schedule a
+ * single asynchronous reload of the mapping through the cache's {@link org.ehcache.spi.loaderwriter.CacheLoaderWriter}.
+ * Mappings that never expire are never refreshed.
+ */
+public class RefreshAheadConfiguration implements ServiceConfiguration<LoaderWriterStoreProvider, RefreshAheadConfiguration> {
+
+  private final double refreshFraction;
+  private final String threadPoolAlias;
+
+  /**
+   * Creates a new configuration refreshing mappings on the default thread pool.
+   *
+   * @param refreshFraction the fraction of the time-to-live after which reads trigger a refresh, strictly between 0 and 1
+   */
+  public RefreshAheadConfiguration(double refreshFraction) {
+    this(refreshFraction, null);
+  }
+
+  /**
+   * Creates a new configuration refreshing mappings on the given thread pool.
+   *
+   * @param refreshFraction the fraction of the time-to-live after which reads trigger a refresh, strictly between 0 and 1
+   * @param threadPoolAlias the thread pool alias, {@code null} for the default thread pool
+   */
+  public RefreshAheadConfiguration(double refreshFraction, String threadPoolAlias) {
+    if (!(refreshFraction > 0.0 && refreshFraction < 1.0)) {
+      throw new IllegalArgumentException("Refresh fraction must be strictly between 0 and 1, was " + refreshFraction);
+    }
+    this.refreshFraction = refreshFraction;
+    this.threadPoolAlias = threadPoolAlias;
+  }
+
+  /**
+   * Returns the fraction of the time-to-live after which reads trigger a refresh.
+   *
+   * @return the refresh fraction
+   */
+  public double getRefreshFraction() {
+    return refreshFraction;
+  }
+
+  /**
+   * Returns the alias of the thread pool running the refreshes.
+   *
+   * @return the thread pool alias, {@code null} for the default thread pool
+   */
+  public String getThreadPoolAlias() {
+    return threadPoolAlias;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Class<LoaderWriterStoreProvider> getServiceType() {
+    return LoaderWriterStoreProvider.class;
+  }
+
+  @Override
+  public RefreshAheadConfiguration derive() {
+    return new RefreshAheadConfiguration(refreshFraction, threadPoolAlias);
+  }
+
+  @Override
+  public RefreshAheadConfiguration build(RefreshAheadConfiguration config) {
+    return config;
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.config.store.coalescing;
+
+import org.ehcache.impl.internal.store.coalescing.CoalescingStore;
+import org.ehcache.spi.service.ServiceConfiguration;
+
+import java.time.Duration;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link ServiceConfiguration} for the {@link CoalescingStore.Provider} enabling the coalescing of concurrent reads of
+ * the same key.
+ * <p>
+ * While a read of a key is in flight against the underlying tiers (and the cache's loader, if any), other reads of the
+ * same key wait for its result instead of issuing their own request. Waiting reads give up after the configured
+ * maximum wait and then read on their own.
+ */
+public class RequestCoalescingConfiguration implements ServiceConfiguration<CoalescingStore.Provider, RequestCoalescingConfiguration> {
+
+  private final Duration maximumWait;
+
+  /**
+   * Creates a new configuration instance using the provided maximum wait.
+   *
+   * @param maximumWait the maximum time a read waits on an in-flight read of the same key
+   */
+  public RequestCoalescingConfiguration(Duration maximumWait) {
+    requireNonNull(maximumWait, "Maximum wait must not be null");
+    if (maximumWait.isNegative() || maximumWait.isZero()) {
+      throw new IllegalArgumentException("Maximum wait must be positive, was " + maximumWait);
+    }
+    this.maximumWait = maximumWait;
+  }
+
+  /**
+   * Returns the maximum time a read waits on an in-flight read of the same key.
+   *
+   * @return the maximum wait
+   */
+  public Duration getMaximumWait() {
+    return maximumWait;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Class<CoalescingStore.Provider> getServiceType() {
+    return CoalescingStore.Provider.class;
+  }
+
+  @Override
+  public RequestCoalescingConfiguration derive() {
+    return new RequestCoalescingConfiguration(maximumWait);
+  }
+
+  @Override
+  public RequestCoalescingConfiguration build(RequestCoalescingConfiguration config) {
+    return config;
+  }
+}
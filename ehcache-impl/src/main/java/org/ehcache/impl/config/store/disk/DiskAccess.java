@@ -0,0 +1,41 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.config.store.disk;
+
+/**
+ * How the segment hash tables of a disk store reach the data file.
+ * <p>
+ * Mapped keys and values are always read and written with positional file I/O, only the hash tables indexing them
+ * depend on this setting.
+ */
+public enum DiskAccess {
+
+  /**
+   * Hash tables are memory mapped, the operating system writes them back to the data file.
+   */
+  MEMORY_MAPPED,
+
+  /**
+   * Hash tables are mapped copy-on-write, their changes held in the memory of the process and only written back to the
+   * data file with positional writes when the store is flushed.
+   * <p>
+   * The operating system then never writes partially updated tables to the file, at the cost of keeping every changed
+   * table page in memory until the store is closed.
+   */
+  EXPLICIT_IO
+}
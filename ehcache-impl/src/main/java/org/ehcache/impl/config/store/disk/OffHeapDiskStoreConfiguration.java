@@ -17,9 +17,12 @@
 
 package org.ehcache.impl.config.store.disk;
 
+import org.ehcache.impl.compression.CompressionCodec;
 import org.ehcache.impl.internal.store.disk.OffHeapDiskStore;
 import org.ehcache.spi.service.ServiceConfiguration;
 
+import java.time.Duration;
+
 /**
  * {@link ServiceConfiguration} for the default {@link org.ehcache.core.spi.store.Store off heap disk store}.
  */
@@ -27,10 +30,21 @@ public class OffHeapDiskStoreConfiguration implements ServiceConfiguration<OffHe
 
   public static final int DEFAULT_WRITER_CONCURRENCY = 1;
   public static final int DEFAULT_DISK_SEGMENTS = 16;
+  public static final int DEFAULT_COMPRESSION_THRESHOLD = 256;
+  public static final int DEFAULT_WRITE_QUEUE_SIZE = 1024;
 
   private final String threadPoolAlias;
   private final int writerConcurrency;
   private final int diskSegments;
+  private final CompressionCodec compressionCodec;
+  private final int compressionThreshold;
+  private final boolean openDuringRecovery;
+  private final Duration checkpointInterval;
+  private final long checkpointMaxBytes;
+  private final int writeQueueSize;
+  private final Duration compactionInterval;
+  private final long compactionMaxBytes;
+  private final DiskAccess diskAccess;
 
   /**
    * Creates a new configuration instance using the provided {@code diskSegments}. Other attributes are set to their default
@@ -66,9 +80,176 @@ public class OffHeapDiskStoreConfiguration implements ServiceConfiguration<OffHe
    * @see org.ehcache.impl.config.executor.PooledExecutionServiceConfiguration
    */
   public OffHeapDiskStoreConfiguration(String threadPoolAlias, int writerConcurrency, int diskSegments) {
+    this(threadPoolAlias, writerConcurrency, diskSegments, null, DEFAULT_COMPRESSION_THRESHOLD);
+  }
+
+  /**
+   * Creates a new configuration instance using the provided parameters.
+   *
+   * @param threadPoolAlias the thread pool alias
+   * @param writerConcurrency the writer concurrency
+   * @param diskSegments number of disk segments allocated. The more disk segments there is, the more concurrency you get but
+   *               the more resources you are using (mainly file pointers)
+   * @param compressionCodec the codec compressing the serialized values, {@code null} to store them uncompressed
+   * @param compressionThreshold the serialized size in bytes from which values are compressed
+   *
+   * @see org.ehcache.impl.config.executor.PooledExecutionServiceConfiguration
+   */
+  public OffHeapDiskStoreConfiguration(String threadPoolAlias, int writerConcurrency, int diskSegments,
+                                       CompressionCodec compressionCodec, int compressionThreshold) {
+    this(threadPoolAlias, writerConcurrency, diskSegments, compressionCodec, compressionThreshold, false);
+  }
+
+  /**
+   * Creates a new configuration instance using the provided parameters.
+   *
+   * @param threadPoolAlias the thread pool alias
+   * @param writerConcurrency the writer concurrency
+   * @param diskSegments number of disk segments allocated. The more disk segments there is, the more concurrency you get but
+   *               the more resources you are using (mainly file pointers)
+   * @param compressionCodec the codec compressing the serialized values, {@code null} to store them uncompressed
+   * @param compressionThreshold the serialized size in bytes from which values are compressed
+   * @param openDuringRecovery {@code true} to make a persistent store usable while its segments are still being recovered,
+   *               accesses then block until the segment they target is loaded
+   *
+   * @see org.ehcache.impl.config.executor.PooledExecutionServiceConfiguration
+   */
+  public OffHeapDiskStoreConfiguration(String threadPoolAlias, int writerConcurrency, int diskSegments,
+                                       CompressionCodec compressionCodec, int compressionThreshold, boolean openDuringRecovery) {
+    this(threadPoolAlias, writerConcurrency, diskSegments, compressionCodec, compressionThreshold, openDuringRecovery, null, Long.MAX_VALUE);
+  }
+
+  /**
+   * Creates a new configuration instance using the provided parameters.
+   *
+   * @param threadPoolAlias the thread pool alias
+   * @param writerConcurrency the writer concurrency
+   * @param diskSegments number of disk segments allocated. The more disk segments there is, the more concurrency you get but
+   *               the more resources you are using (mainly file pointers)
+   * @param compressionCodec the codec compressing the serialized values, {@code null} to store them uncompressed
+   * @param compressionThreshold the serialized size in bytes from which values are compressed
+   * @param openDuringRecovery {@code true} to make a persistent store usable while its segments are still being recovered,
+   *               accesses then block until the segment they target is loaded
+   * @param checkpointInterval the delay between two checkpoints of the modified segments, {@code null} to disable checkpointing
+   * @param checkpointMaxBytes the maximum number of bytes written by a single checkpoint
+   *
+   * @see org.ehcache.impl.config.executor.PooledExecutionServiceConfiguration
+   */
+  public OffHeapDiskStoreConfiguration(String threadPoolAlias, int writerConcurrency, int diskSegments,
+                                       CompressionCodec compressionCodec, int compressionThreshold, boolean openDuringRecovery,
+                                       Duration checkpointInterval, long checkpointMaxBytes) {
+    this(threadPoolAlias, writerConcurrency, diskSegments, compressionCodec, compressionThreshold, openDuringRecovery,
+      checkpointInterval, checkpointMaxBytes, DEFAULT_WRITE_QUEUE_SIZE);
+  }
+
+  /**
+   * Creates a new configuration instance using the provided parameters.
+   *
+   * @param threadPoolAlias the thread pool alias
+   * @param writerConcurrency the number of threads writing to disk
+   * @param diskSegments number of disk segments allocated. The more disk segments there is, the more concurrency you get but
+   *               the more resources you are using (mainly file pointers)
+   * @param compressionCodec the codec compressing the serialized values, {@code null} to store them uncompressed
+   * @param compressionThreshold the serialized size in bytes from which values are compressed
+   * @param openDuringRecovery {@code true} to make a persistent store usable while its segments are still being recovered,
+   *               accesses then block until the segment they target is loaded
+   * @param checkpointInterval the delay between two checkpoints of the modified segments, {@code null} to disable checkpointing
+   * @param checkpointMaxBytes the maximum number of bytes written by a single checkpoint
+   * @param writeQueueSize the number of pending writes a disk segment accepts before the mutating threads run the pending writes themselves
+   *
+   * @see org.ehcache.impl.config.executor.PooledExecutionServiceConfiguration
+   */
+  public OffHeapDiskStoreConfiguration(String threadPoolAlias, int writerConcurrency, int diskSegments,
+                                       CompressionCodec compressionCodec, int compressionThreshold, boolean openDuringRecovery,
+                                       Duration checkpointInterval, long checkpointMaxBytes, int writeQueueSize) {
+    this(threadPoolAlias, writerConcurrency, diskSegments, compressionCodec, compressionThreshold, openDuringRecovery,
+      checkpointInterval, checkpointMaxBytes, writeQueueSize, null, Long.MAX_VALUE);
+  }
+
+  /**
+   * Creates a new configuration instance using the provided parameters.
+   *
+   * @param threadPoolAlias the thread pool alias
+   * @param writerConcurrency the number of threads writing to disk
+   * @param diskSegments number of disk segments allocated. The more disk segments there is, the more concurrency you get but
+   *               the more resources you are using (mainly file pointers)
+   * @param compressionCodec the codec compressing the serialized values, {@code null} to store them uncompressed
+   * @param compressionThreshold the serialized size in bytes from which values are compressed
+   * @param openDuringRecovery {@code true} to make a persistent store usable while its segments are still being recovered,
+   *               accesses then block until the segment they target is loaded
+   * @param checkpointInterval the delay between two checkpoints of the modified segments, {@code null} to disable checkpointing
+   * @param checkpointMaxBytes the maximum number of bytes written by a single checkpoint
+   * @param writeQueueSize the number of pending writes a disk segment accepts before the mutating threads run the pending writes themselves
+   * @param compactionInterval the delay between two compactions of the fragmented segments, {@code null} to disable compaction
+   * @param compactionMaxBytes the maximum number of bytes moved by a single compaction
+   *
+   * @see org.ehcache.impl.config.executor.PooledExecutionServiceConfiguration
+   */
+  public OffHeapDiskStoreConfiguration(String threadPoolAlias, int writerConcurrency, int diskSegments,
+                                       CompressionCodec compressionCodec, int compressionThreshold, boolean openDuringRecovery,
+                                       Duration checkpointInterval, long checkpointMaxBytes, int writeQueueSize,
+                                       Duration compactionInterval, long compactionMaxBytes) {
+    this(threadPoolAlias, writerConcurrency, diskSegments, compressionCodec, compressionThreshold, openDuringRecovery,
+      checkpointInterval, checkpointMaxBytes, writeQueueSize, compactionInterval, compactionMaxBytes, DiskAccess.MEMORY_MAPPED);
+  }
+
+  /**
+   * Creates a new configuration instance using the provided parameters.
+   *
+   * @param threadPoolAlias the thread pool alias
+   * @param writerConcurrency the number of threads writing to disk
+   * @param diskSegments number of disk segments allocated. The more disk segments there is, the more concurrency you get but
+   *               the more resources you are using (mainly file pointers)
+   * @param compressionCodec the codec compressing the serialized values, {@code null} to store them uncompressed
+   * @param compressionThreshold the serialized size in bytes from which values are compressed
+   * @param openDuringRecovery {@code true} to make a persistent store usable while its segments are still being recovered,
+   *               accesses then block until the segment they target is loaded
+   * @param checkpointInterval the delay between two checkpoints of the modified segments, {@code null} to disable checkpointing
+   * @param checkpointMaxBytes the maximum number of bytes written by a single checkpoint
+   * @param writeQueueSize the number of pending writes a disk segment accepts before the mutating threads run the pending writes themselves
+   * @param compactionInterval the delay between two compactions of the fragmented segments, {@code null} to disable compaction
+   * @param compactionMaxBytes the maximum number of bytes moved by a single compaction
+   * @param diskAccess how the segment hash tables reach the data file
+   *
+   * @see org.ehcache.impl.config.executor.PooledExecutionServiceConfiguration
+   */
+  public OffHeapDiskStoreConfiguration(String threadPoolAlias, int writerConcurrency, int diskSegments,
+                                       CompressionCodec compressionCodec, int compressionThreshold, boolean openDuringRecovery,
+                                       Duration checkpointInterval, long checkpointMaxBytes, int writeQueueSize,
+                                       Duration compactionInterval, long compactionMaxBytes, DiskAccess diskAccess) {
+    if (diskAccess == null) {
+      throw new NullPointerException("Disk access cannot be null");
+    }
+    if (compactionInterval != null && (compactionInterval.isNegative() || compactionInterval.isZero())) {
+      throw new IllegalArgumentException("Compaction interval must be positive: " + compactionInterval);
+    }
+    if (compactionMaxBytes <= 0) {
+      throw new IllegalArgumentException("Compaction maximum bytes must be positive: " + compactionMaxBytes);
+    }
+    if (writeQueueSize <= 0) {
+      throw new IllegalArgumentException("Write queue size must be positive: " + writeQueueSize);
+    }
+    if (checkpointInterval != null && (checkpointInterval.isNegative() || checkpointInterval.isZero())) {
+      throw new IllegalArgumentException("Checkpoint interval must be positive: " + checkpointInterval);
+    }
+    if (checkpointMaxBytes <= 0) {
+      throw new IllegalArgumentException("Checkpoint maximum bytes must be positive: " + checkpointMaxBytes);
+    }
+    if (compressionThreshold < 0) {
+      throw new IllegalArgumentException("Compression threshold must be positive or zero: " + compressionThreshold);
+    }
     this.threadPoolAlias = threadPoolAlias;
     this.writerConcurrency = writerConcurrency;
     this.diskSegments = diskSegments;
+    this.compressionCodec = compressionCodec;
+    this.compressionThreshold = compressionThreshold;
+    this.openDuringRecovery = openDuringRecovery;
+    this.checkpointInterval = checkpointInterval;
+    this.checkpointMaxBytes = checkpointMaxBytes;
+    this.writeQueueSize = writeQueueSize;
+    this.compactionInterval = compactionInterval;
+    this.compactionMaxBytes = compactionMaxBytes;
+    this.diskAccess = diskAccess;
   }
 
   /**
@@ -100,6 +281,87 @@ public class OffHeapDiskStoreConfiguration implements ServiceConfiguration<OffHe
     return diskSegments;
   }
 
+  /**
+   * Returns the codec compressing the serialized values
+   *
+   * @return the compression codec, {@code null} if values are stored uncompressed
+   */
+  public CompressionCodec getCompressionCodec() {
+    return compressionCodec;
+  }
+
+  /**
+   * Returns the serialized size from which values are compressed
+   *
+   * @return the compression threshold in bytes
+   */
+  public int getCompressionThreshold() {
+    return compressionThreshold;
+  }
+
+  /**
+   * Indicates whether the store is usable before all its segments are recovered
+   *
+   * @return {@code true} if the store opens during recovery
+   */
+  public boolean isOpenDuringRecovery() {
+    return openDuringRecovery;
+  }
+
+  /**
+   * Returns the delay between two checkpoints of the modified segments
+   *
+   * @return the checkpoint interval, {@code null} if checkpointing is disabled
+   */
+  public Duration getCheckpointInterval() {
+    return checkpointInterval;
+  }
+
+  /**
+   * Returns the maximum number of bytes written by a single checkpoint
+   *
+   * @return the checkpoint bound in bytes
+   */
+  public long getCheckpointMaxBytes() {
+    return checkpointMaxBytes;
+  }
+
+  /**
+   * Returns the number of pending writes a disk segment accepts before the mutating threads run the pending writes themselves
+   *
+   * @return the write queue size
+   */
+  public int getWriteQueueSize() {
+    return writeQueueSize;
+  }
+
+  /**
+   * Returns the delay between two compactions of the fragmented segments
+   *
+   * @return the compaction interval, {@code null} if compaction is disabled
+   */
+  public Duration getCompactionInterval() {
+    return compactionInterval;
+  }
+
+  /**
+   * Returns the maximum number of bytes moved by a single compaction
+   *
+   * @return the compaction bound in bytes
+   */
+  public long getCompactionMaxBytes() {
+    return compactionMaxBytes;
+  }
+
+  /**
+   * Returns how the segment hash tables reach the data file
+   *
+   * @return the disk access
+   */
+  public DiskAccess getDiskAccess() {
+    return diskAccess;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -110,7 +372,8 @@ public class OffHeapDiskStoreConfiguration implements ServiceConfiguration<OffHe
 
   @Override
   public OffHeapDiskStoreConfiguration derive() {
-    return new OffHeapDiskStoreConfiguration(threadPoolAlias, writerConcurrency, diskSegments);
+    return new OffHeapDiskStoreConfiguration(threadPoolAlias, writerConcurrency, diskSegments, compressionCodec, compressionThreshold, openDuringRecovery,
+      checkpointInterval, checkpointMaxBytes, writeQueueSize, compactionInterval, compactionMaxBytes, diskAccess);
   }
 
   @Override
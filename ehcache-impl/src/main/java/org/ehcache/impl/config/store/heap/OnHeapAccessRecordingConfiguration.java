@@ -0,0 +1,95 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.config.store.heap;
+
+import org.ehcache.impl.internal.store.heap.OnHeapStore;
+import org.ehcache.spi.service.ServiceConfiguration;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link ServiceConfiguration} for the {@link OnHeapStore.Provider} selecting how the heap tier records the access
+ * times its eviction relies on.
+ */
+public class OnHeapAccessRecordingConfiguration implements ServiceConfiguration<OnHeapStore.Provider, OnHeapAccessRecordingConfiguration> {
+
+  /**
+   * Access recording modes supported by the heap tier.
+   */
+  public enum Mode {
+    /**
+     * Every hit writes the access time of the mapping it returns.
+     * <p>
+     * This is the historical, and default, mode.
+     */
+    IMMEDIATE,
+
+    /**
+     * Hits append the mapping to striped, lossy read buffers that are drained in batches to update access times,
+     * either once a buffer fills up or before selecting eviction candidates.
+     * <p>
+     * The hot read path then no longer writes to the mappings it returns, at the cost of their access time lagging
+     * behind, and of some accesses being dropped under contention. Caches whose expiry depends on accesses keep
+     * updating mappings on every hit.
+     */
+    BUFFERED
+  }
+
+  /**
+   * Default access recording mode
+   */
+  public static final Mode DEFAULT_MODE = Mode.IMMEDIATE;
+
+  private final Mode mode;
+
+  /**
+   * Creates a new configuration instance using the provided access recording mode.
+   *
+   * @param mode the access recording mode
+   */
+  public OnHeapAccessRecordingConfiguration(Mode mode) {
+    this.mode = requireNonNull(mode, "Access recording mode must not be null");
+  }
+
+  /**
+   * Returns the configured access recording mode.
+   *
+   * @return the access recording mode
+   */
+  public Mode getMode() {
+    return mode;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Class<OnHeapStore.Provider> getServiceType() {
+    return OnHeapStore.Provider.class;
+  }
+
+  @Override
+  public OnHeapAccessRecordingConfiguration derive() {
+    return new OnHeapAccessRecordingConfiguration(mode);
+  }
+
+  @Override
+  public OnHeapAccessRecordingConfiguration build(OnHeapAccessRecordingConfiguration config) {
+    return config;
+  }
+}
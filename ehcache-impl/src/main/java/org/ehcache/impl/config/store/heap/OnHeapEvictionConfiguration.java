@@ -0,0 +1,92 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.config.store.heap;
+
+import org.ehcache.impl.internal.store.heap.OnHeapStore;
+import org.ehcache.spi.service.ServiceConfiguration;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link ServiceConfiguration} for the {@link OnHeapStore.Provider} selecting the eviction policy of the heap tier.
+ */
+public class OnHeapEvictionConfiguration implements ServiceConfiguration<OnHeapStore.Provider, OnHeapEvictionConfiguration> {
+
+  /**
+   * Eviction policies supported by the heap tier.
+   */
+  public enum Policy {
+    /**
+     * Evicts the least recently accessed mapping out of a small random sample of mappings.
+     * <p>
+     * This is the historical, and default, heap eviction policy.
+     */
+    SAMPLED_LRU,
+
+    /**
+     * Window TinyLFU: new mappings enter a small LRU admission window, and a frequency sketch decides whether mappings
+     * leaving the window are worth retaining over the least valuable mapping of a segmented LRU main space.
+     * <p>
+     * This policy protects frequently used mappings from being flushed by scans of one-hit-wonders.
+     */
+    WINDOW_TINY_LFU
+  }
+
+  /**
+   * Default eviction policy
+   */
+  public static final Policy DEFAULT_POLICY = Policy.SAMPLED_LRU;
+
+  private final Policy policy;
+
+  /**
+   * Creates a new configuration instance using the provided eviction policy.
+   *
+   * @param policy the eviction policy
+   */
+  public OnHeapEvictionConfiguration(Policy policy) {
+    this.policy = requireNonNull(policy, "Eviction policy must not be null");
+  }
+
+  /**
+   * Returns the configured eviction policy.
+   *
+   * @return the eviction policy
+   */
+  public Policy getPolicy() {
+    return policy;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Class<OnHeapStore.Provider> getServiceType() {
+    return OnHeapStore.Provider.class;
+  }
+
+  @Override
+  public OnHeapEvictionConfiguration derive() {
+    return new OnHeapEvictionConfiguration(policy);
+  }
+
+  @Override
+  public OnHeapEvictionConfiguration build(OnHeapEvictionConfiguration config) {
+    return config;
+  }
+}
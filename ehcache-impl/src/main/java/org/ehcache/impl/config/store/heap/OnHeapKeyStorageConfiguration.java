@@ -0,0 +1,95 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.config.store.heap;
+
+import org.ehcache.impl.internal.store.heap.OnHeapStore;
+import org.ehcache.spi.service.ServiceConfiguration;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link ServiceConfiguration} for the {@link OnHeapStore.Provider} selecting how the heap tier holds the keys of its
+ * mappings.
+ */
+public class OnHeapKeyStorageConfiguration implements ServiceConfiguration<OnHeapStore.Provider, OnHeapKeyStorageConfiguration> {
+
+  /**
+   * Key storage modes supported by the heap tier.
+   */
+  public enum Mode {
+    /**
+     * Keys are held as the objects they were put with.
+     * <p>
+     * This is the historical, and default, mode.
+     */
+    OBJECT,
+
+    /**
+     * {@code Long} and {@code Integer} keys are held unboxed, as primitive longs in open addressing tables, and only
+     * boxed again for iteration and eviction.
+     * <p>
+     * This mode only applies to caches keyed by {@code Long} or {@code Integer}, using the default
+     * {@link OnHeapEvictionConfiguration.Policy#SAMPLED_LRU sampled LRU} eviction policy and no key copier. Other
+     * caches keep holding their keys as objects.
+     */
+    PRIMITIVE
+  }
+
+  /**
+   * Default key storage mode
+   */
+  public static final Mode DEFAULT_MODE = Mode.OBJECT;
+
+  private final Mode mode;
+
+  /**
+   * Creates a new configuration instance using the provided key storage mode.
+   *
+   * @param mode the key storage mode
+   */
+  public OnHeapKeyStorageConfiguration(Mode mode) {
+    this.mode = requireNonNull(mode, "Key storage mode must not be null");
+  }
+
+  /**
+   * Returns the configured key storage mode.
+   *
+   * @return the key storage mode
+   */
+  public Mode getMode() {
+    return mode;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Class<OnHeapStore.Provider> getServiceType() {
+    return OnHeapStore.Provider.class;
+  }
+
+  @Override
+  public OnHeapKeyStorageConfiguration derive() {
+    return new OnHeapKeyStorageConfiguration(mode);
+  }
+
+  @Override
+  public OnHeapKeyStorageConfiguration build(OnHeapKeyStorageConfiguration config) {
+    return config;
+  }
+}
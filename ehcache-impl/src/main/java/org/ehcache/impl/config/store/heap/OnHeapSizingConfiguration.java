@@ -0,0 +1,92 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.config.store.heap;
+
+import org.ehcache.impl.internal.store.heap.OnHeapStore;
+import org.ehcache.impl.sizeof.Sizer;
+import org.ehcache.spi.service.ServiceConfiguration;
+
+/**
+ * {@link ServiceConfiguration} for the {@link OnHeapStore.Provider} making a byte sized heap tier account for the
+ * serialized size of its mappings instead of walking their object graph.
+ * <p>
+ * Keys and values are measured by the provided {@link Sizer}s, defaulting to the size of their binary form as produced
+ * by the cache's {@link org.ehcache.spi.serialization.Serializer serializers}. A fixed per mapping overhead is added to
+ * the measured sizes. Each mapping is measured once, when it is installed in the heap tier.
+ * <p>
+ * This configuration has no effect on entry sized heap tiers.
+ */
+public class OnHeapSizingConfiguration implements ServiceConfiguration<OnHeapStore.Provider, OnHeapSizingConfiguration> {
+
+  private final Sizer<?> keySizer;
+  private final Sizer<?> valueSizer;
+
+  /**
+   * Creates a new configuration measuring keys and values with the cache's serializers.
+   */
+  public OnHeapSizingConfiguration() {
+    this(null, null);
+  }
+
+  /**
+   * Creates a new configuration measuring keys and values with the provided sizers.
+   *
+   * @param keySizer the key sizer, {@code null} to use the key serializer
+   * @param valueSizer the value sizer, {@code null} to use the value serializer
+   */
+  public OnHeapSizingConfiguration(Sizer<?> keySizer, Sizer<?> valueSizer) {
+    this.keySizer = keySizer;
+    this.valueSizer = valueSizer;
+  }
+
+  /**
+   * Returns the key sizer.
+   *
+   * @return the key sizer, {@code null} if keys are measured with the key serializer
+   */
+  public Sizer<?> getKeySizer() {
+    return keySizer;
+  }
+
+  /**
+   * Returns the value sizer.
+   *
+   * @return the value sizer, {@code null} if values are measured with the value serializer
+   */
+  public Sizer<?> getValueSizer() {
+    return valueSizer;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Class<OnHeapStore.Provider> getServiceType() {
+    return OnHeapStore.Provider.class;
+  }
+
+  @Override
+  public OnHeapSizingConfiguration derive() {
+    return new OnHeapSizingConfiguration(keySizer, valueSizer);
+  }
+
+  @Override
+  public OnHeapSizingConfiguration build(OnHeapSizingConfiguration config) {
+    return config;
+  }
+}
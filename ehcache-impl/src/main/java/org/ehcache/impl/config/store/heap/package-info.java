@@ -16,7 +16,7 @@
  */
 
 /**
- * Package for configuration classes for the default {@link org.ehcache.core.spi.store.heap.SizeOfEngineProvider sizeof
- * engine provider} implementation used by the on heap {@link org.ehcache.core.spi.store.Store store}.
+ * Package for configuration classes for the on heap {@link org.ehcache.core.spi.store.Store store} and the default
+ * {@link org.ehcache.core.spi.store.heap.SizeOfEngineProvider sizeof engine provider} implementation it uses.
  */
 package org.ehcache.impl.config.store.heap;
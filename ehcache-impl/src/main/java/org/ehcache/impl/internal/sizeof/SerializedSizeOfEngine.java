@@ -0,0 +1,90 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.sizeof;
+
+import org.ehcache.core.spi.store.Store;
+import org.ehcache.impl.internal.store.BinaryValueHolder;
+import org.ehcache.impl.sizeof.Sizer;
+import org.ehcache.spi.serialization.Serializer;
+
+/**
+ * {@code SizeOfEngine} accounting for the serialized size of keys and values, or the size reported by user provided
+ * {@link Sizer}s, plus a fixed per mapping overhead.
+ * <p>
+ * Values whose binary form is already available, such as those faulted from a lower tier, are measured without
+ * being serialized again.
+ */
+@Deprecated
+public class SerializedSizeOfEngine implements org.ehcache.core.spi.store.heap.SizeOfEngine {
+
+  /**
+   * Approximate footprint of the map node, key wrapper and value holder of a mapping.
+   */
+  public static final long MAPPING_OVERHEAD = 96L;
+
+  private final Sizer<Object> keySizer;
+  private final Sizer<Object> valueSizer;
+  private final boolean valueSizedFromBinary;
+
+  /**
+   * Creates a new engine.
+   *
+   * @param keySizer the key sizer
+   * @param valueSizer the value sizer
+   * @param valueSizedFromBinary whether value sizes are the size of their binary form
+   */
+  @SuppressWarnings("unchecked")
+  public SerializedSizeOfEngine(Sizer<?> keySizer, Sizer<?> valueSizer, boolean valueSizedFromBinary) {
+    this.keySizer = (Sizer<Object>) keySizer;
+    this.valueSizer = (Sizer<Object>) valueSizer;
+    this.valueSizedFromBinary = valueSizedFromBinary;
+  }
+
+  /**
+   * Returns a sizer measuring objects through their serialized form.
+   *
+   * @param serializer the serializer
+   * @param <T> the type of the measured objects
+   * @return a serializing sizer
+   */
+  public static <T> Sizer<T> serializing(Serializer<T> serializer) {
+    return object -> serializer.serialize(object).remaining();
+  }
+
+  @Override
+  public <K, V> long sizeof(K key, Store.ValueHolder<V> holder) throws org.ehcache.core.spi.store.heap.LimitExceededException {
+    long valueSize;
+    if (valueSizedFromBinary && holder instanceof BinaryValueHolder && ((BinaryValueHolder) holder).isBinaryValueAvailable()) {
+      valueSize = ((BinaryValueHolder) holder).getBinaryValue().remaining();
+    } else {
+      valueSize = valueSizer.sizeOf(holder.get());
+    }
+    return keySizer.sizeOf(key) + valueSize + MAPPING_OVERHEAD;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Serialized sizes do not account for the holder, and sizing the original holder lets values already in binary
+   * form be measured without being serialized again.
+   */
+  @Override
+  public boolean isHolderIndependent() {
+    return true;
+  }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.coalescing;
+
+import org.ehcache.Cache;
+import org.ehcache.core.CacheConfigurationChangeListener;
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.core.spi.store.AbstractWrapperStoreProvider;
+import org.ehcache.core.spi.store.Store;
+import org.ehcache.core.spi.store.events.StoreEventSource;
+import org.ehcache.core.statistics.OperationObserver;
+import org.ehcache.core.statistics.StoreOperationOutcomes.CoalescingOutcome;
+import org.ehcache.core.statistics.ZeroOperationStatistic;
+import org.ehcache.impl.config.store.coalescing.RequestCoalescingConfiguration;
+import org.ehcache.spi.resilience.StoreAccessException;
+import org.ehcache.spi.service.Service;
+import org.ehcache.spi.service.ServiceConfiguration;
+import org.ehcache.spi.service.ServiceProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.ehcache.core.spi.service.ServiceUtils.findSingletonAmongst;
+
+/**
+ * A {@link Store} wrapper coalescing concurrent {@link #get(Object) reads} of the same key.
+ * <p>
+ * The first read of a key becomes the leader and is issued against the wrapped store, the reads arriving while it is
+ * in flight wait for its result, or failure, for at most the configured maximum wait. Mutations evict the in-flight
+ * read of their key once done, so that reads starting after a mutation never observe a result read before it.
+ */
+public class CoalescingStore<K, V> implements Store<K, V> {
+
+  private final Store<K, V> delegate;
+  private final long maximumWaitNanos;
+  private final ConcurrentMap<K, CompletableFuture<ValueHolder<V>>> inFlight = new ConcurrentHashMap<>();
+
+  private final OperationObserver<CoalescingOutcome> coalescingObserver;
+
+  public CoalescingStore(Store<K, V> delegate, Duration maximumWait, StatisticsService statisticsService) {
+    this.delegate = delegate;
+    this.maximumWaitNanos = maximumWait.toNanos();
+    if (statisticsService == null) {
+      this.coalescingObserver = ZeroOperationStatistic.get();
+    } else {
+      this.coalescingObserver = statisticsService.createOperationStatistics("coalescing", CoalescingOutcome.class, "CoalescingStore", this);
+    }
+  }
+
+  @Override
+  public ValueHolder<V> get(K key) throws StoreAccessException {
+    coalescingObserver.begin();
+    CompletableFuture<ValueHolder<V>> flight = new CompletableFuture<>();
+    CompletableFuture<ValueHolder<V>> leader = inFlight.putIfAbsent(key, flight);
+    if (leader == null) {
+      coalescingObserver.end(CoalescingOutcome.LEADER);
+      return lead(key, flight);
+    }
+
+    boolean interrupted = false;
+    try {
+      ValueHolder<V> valueHolder = leader.get(maximumWaitNanos, TimeUnit.NANOSECONDS);
+      coalescingObserver.end(CoalescingOutcome.COALESCED);
+      return valueHolder;
+    } catch (ExecutionException e) {
+      coalescingObserver.end(CoalescingOutcome.COALESCED);
+      Throwable cause = e.getCause();
+      if (cause instanceof StoreAccessException) {
+        throw (StoreAccessException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      } else {
+        throw new StoreAccessException(cause);
+      }
+    } catch (TimeoutException e) {
+      coalescingObserver.end(CoalescingOutcome.TIMEOUT);
+    } catch (InterruptedException e) {
+      coalescingObserver.end(CoalescingOutcome.TIMEOUT);
+      interrupted = true;
+    }
+
+    try {
+      return delegate.get(key);
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private ValueHolder<V> lead(K key, CompletableFuture<ValueHolder<V>> flight) throws StoreAccessException {
+    try {
+      ValueHolder<V> valueHolder = delegate.get(key);
+      flight.complete(valueHolder);
+      return valueHolder;
+    } catch (StoreAccessException | RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  private void evict(K key) {
+    inFlight.remove(key);
+  }
+
+  private void evict(Set<? extends K> keys) {
+    for (K key : keys) {
+      inFlight.remove(key);
+    }
+  }
+
+  @Override
+  public boolean containsKey(K key) throws StoreAccessException {
+    return delegate.containsKey(key);
+  }
+
+  @Override
+  public PutStatus put(K key, V value) throws StoreAccessException {
+    try {
+      return delegate.put(key, value);
+    } finally {
+      evict(key);
+    }
+  }
+
+  @Override
+  public ValueHolder<V> getAndPut(K key, V value) throws StoreAccessException {
+    try {
+      return delegate.getAndPut(key, value);
+    } finally {
+      evict(key);
+    }
+  }
+
+  @Override
+  public ValueHolder<V> putIfAbsent(K key, V value, Consumer<Boolean> put) throws StoreAccessException {
+    try {
+      return delegate.putIfAbsent(key, value, put);
+    } finally {
+      evict(key);
+    }
+  }
+
+  @Override
+  public boolean remove(K key) throws StoreAccessException {
+    try {
+      return delegate.remove(key);
+    } finally {
+      evict(key);
+    }
+  }
+
+  @Override
+  public ValueHolder<V> getAndRemove(K key) throws StoreAccessException {
+    try {
+      return delegate.getAndRemove(key);
+    } finally {
+      evict(key);
+    }
+  }
+
+  @Override
+  public RemoveStatus remove(K key, V value) throws StoreAccessException {
+    try {
+      return delegate.remove(key, value);
+    } finally {
+      evict(key);
+    }
+  }
+
+  @Override
+  public ValueHolder<V> replace(K key, V value) throws StoreAccessException {
+    try {
+      return delegate.replace(key, value);
+    } finally {
+      evict(key);
+    }
+  }
+
+  @Override
+  public ReplaceStatus replace(K key, V oldValue, V newValue) throws StoreAccessException {
+    try {
+      return delegate.replace(key, oldValue, newValue);
+    } finally {
+      evict(key);
+    }
+  }
+
+  @Override
+  public void clear() throws StoreAccessException {
+    try {
+      delegate.clear();
+    } finally {
+      inFlight.clear();
+    }
+  }
+
+  @Override
+  public StoreEventSource<K, V> getStoreEventSource() {
+    return delegate.getStoreEventSource();
+  }
+
+  @Override
+  public Iterator<Cache.Entry<K, ValueHolder<V>>> iterator() {
+    return delegate.iterator();
+  }
+
+  @Override
+  public ValueHolder<V> getAndCompute(K key, BiFunction<? super K, ? super V, ? extends V> mappingFunction) throws StoreAccessException {
+    try {
+      return delegate.getAndCompute(key, mappingFunction);
+    } finally {
+      evict(key);
+    }
+  }
+
+  @Override
+  public ValueHolder<V> computeAndGet(K key, BiFunction<? super K, ? super V, ? extends V> mappingFunction, Supplier<Boolean> replaceEqual, Supplier<Boolean> invokeWriter) throws StoreAccessException {
+    try {
+      return delegate.computeAndGet(key, mappingFunction, replaceEqual, invokeWriter);
+    } finally {
+      evict(key);
+    }
+  }
+
+  @Override
+  public ValueHolder<V> computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) throws StoreAccessException {
+    try {
+      return delegate.computeIfAbsent(key, mappingFunction);
+    } finally {
+      evict(key);
+    }
+  }
+
+  @Override
+  public Map<K, ValueHolder<V>> bulkCompute(Set<? extends K> keys, Function<Iterable<? extends Map.Entry<? extends K, ? extends V>>, Iterable<? extends Map.Entry<? extends K, ? extends V>>> remappingFunction) throws StoreAccessException {
+    try {
+      return delegate.bulkCompute(keys, remappingFunction);
+    } finally {
+      evict(keys);
+    }
+  }
+
+  @Override
+  public Map<K, ValueHolder<V>> bulkCompute(Set<? extends K> keys, Function<Iterable<? extends Map.Entry<? extends K, ? extends V>>, Iterable<? extends Map.Entry<? extends K, ? extends V>>> remappingFunction, Supplier<Boolean> replaceEqual) throws StoreAccessException {
+    try {
+      return delegate.bulkCompute(keys, remappingFunction, replaceEqual);
+    } finally {
+      evict(keys);
+    }
+  }
+
+  @Override
+  public Map<K, ValueHolder<V>> bulkComputeIfAbsent(Set<? extends K> keys, Function<Iterable<? extends K>, Iterable<? extends Map.Entry<? extends K, ? extends V>>> mappingFunction) throws StoreAccessException {
+    try {
+      return delegate.bulkComputeIfAbsent(keys, mappingFunction);
+    } finally {
+      evict(keys);
+    }
+  }
+
+  @Override
+  public List<CacheConfigurationChangeListener> getConfigurationChangeListeners() {
+    return delegate.getConfigurationChangeListeners();
+  }
+
+  public static class Provider extends AbstractWrapperStoreProvider {
+
+    private volatile StatisticsService statisticsService;
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public Provider() {
+      super((Class) RequestCoalescingConfiguration.class);
+    }
+
+    @Override
+    protected int wrapperRank() {
+      return 3;
+    }
+
+    @Override
+    protected <K, V> Store<K, V> wrap(Store<K, V> store, Configuration<K, V> storeConfig, ServiceConfiguration<?, ?>... serviceConfigs) {
+      RequestCoalescingConfiguration configuration = findSingletonAmongst(RequestCoalescingConfiguration.class, (Object[]) serviceConfigs);
+      return new CoalescingStore<>(store, configuration.getMaximumWait(), statisticsService);
+    }
+
+    @Override
+    public void start(ServiceProvider<Service> serviceProvider) {
+      super.start(serviceProvider);
+      this.statisticsService = serviceProvider.getService(StatisticsService.class);
+    }
+
+    @Override
+    public void stop() {
+      this.statisticsService = null;
+      super.stop();
+    }
+  }
+}
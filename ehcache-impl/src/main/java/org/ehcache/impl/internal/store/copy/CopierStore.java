@@ -48,6 +48,8 @@ import static java.util.stream.Collectors.toSet;
 
 /*
  * <copier>
+ * <coalescing>
+ * <loader-writer>
  * <txn-store-wrapper>
  * <real-store>
  */
@@ -286,7 +288,8 @@ public class CopierStore<K, V> implements Store<K, V> {
 
     @Override
     protected int wrapperRank() {
-      return 3;
+      // outside of the coalescing store, so that coalesced reads are still copied for each reader
+      return 4;
     }
 
     @Override
@@ -0,0 +1,383 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ehcache.impl.internal.store.disk;
+
+import org.ehcache.core.EhcachePrefixLoggerFactory;
+import org.ehcache.core.spi.service.ExecutionService;
+import org.slf4j.Logger;
+import org.terracotta.offheapstore.util.Factory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Schedules the writes of the storage engines of a disk store on a bounded number of writer threads.
+ * <p>
+ * Each storage engine gets its own segment executor: its writes run one at a time in submission order. Once
+ * {@code queueSize} writes are pending, the thread submitting another one runs the pending writes itself instead of
+ * waiting for a writer, as it may hold the segment lock. Writers drain segments in batches of {@value #BATCH_SIZE}
+ * writes, serving first the segments whose queue is full, so that the memory held by pending writes gets released
+ * where it is needed.
+ */
+public class DiskWriteScheduler implements Factory<ExecutorService> {
+
+  static final int BATCH_SIZE = 64;
+  private static final int LATENCY_BUCKETS = Long.SIZE;
+
+  private final Logger logger = EhcachePrefixLoggerFactory.getLogger(DiskWriteScheduler.class);
+
+  private final List<ExecutorService> writers = new ArrayList<>();
+  private final BlockingQueue<ExecutorService> idleWriters;
+  private final int queueSize;
+  private final BlockingDeque<SegmentWriter> ready = new LinkedBlockingDeque<>();
+  private final List<SegmentWriter> segments = new CopyOnWriteArrayList<>();
+  private final LongAdder[] latencies = new LongAdder[LATENCY_BUCKETS];
+  private final ThreadLocal<Boolean> writerThread = new ThreadLocal<>();
+
+  public DiskWriteScheduler(ExecutionService executionService, String poolAlias, int writers, int queueSize) {
+    if (writers <= 0) {
+      throw new IllegalArgumentException("Writer count must be positive: " + writers);
+    }
+    if (queueSize <= 0) {
+      throw new IllegalArgumentException("Write queue size must be positive: " + queueSize);
+    }
+    this.idleWriters = new ArrayBlockingQueue<>(writers);
+    for (int i = 0; i < writers; i++) {
+      ExecutorService writer = executionService.getOrderedExecutor(poolAlias, new LinkedBlockingQueue<>());
+      this.writers.add(writer);
+      this.idleWriters.add(writer);
+    }
+    this.queueSize = queueSize;
+    for (int i = 0; i < latencies.length; i++) {
+      latencies[i] = new LongAdder();
+    }
+  }
+
+  @Override
+  public ExecutorService newInstance() {
+    SegmentWriter segment = new SegmentWriter();
+    segments.add(segment);
+    return segment;
+  }
+
+  /**
+   * Returns the number of writes pending across all segments.
+   *
+   * @return the write queue depth
+   */
+  public long getQueueDepth() {
+    long depth = 0;
+    for (SegmentWriter segment : segments) {
+      depth += segment.queue.size();
+    }
+    return depth;
+  }
+
+  /**
+   * Returns an upper bound of the given percentile of the write latencies, measured from submission to completion.
+   * <p>
+   * Latencies are recorded in power of two buckets, so the bound is at most twice the actual value.
+   *
+   * @param percentile the percentile, between 0 and 100
+   * @return the latency in nanoseconds, {@code null} if no write completed yet
+   */
+  public Long getLatencyPercentile(double percentile) {
+    long[] counts = new long[latencies.length];
+    long total = 0;
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = latencies[i].sum();
+      total += counts[i];
+    }
+    if (total == 0) {
+      return null;
+    }
+    long rank = (long) Math.ceil(total * percentile / 100);
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank && counts[i] > 0) {
+        // bucket i holds the latencies below 2^i, the last bucket ending at Long.MAX_VALUE
+        return (1L << i) - 1;
+      }
+    }
+    return Long.MAX_VALUE;
+  }
+
+  private void recordLatency(long nanos) {
+    latencies[Long.SIZE - Long.numberOfLeadingZeros(Math.max(nanos, 0))].increment();
+  }
+
+  private void schedule(SegmentWriter segment, boolean urgent) {
+    if (urgent) {
+      ready.offerFirst(segment);
+    } else {
+      ready.offerLast(segment);
+    }
+    startWriter();
+  }
+
+  private void startWriter() {
+    ExecutorService writer = idleWriters.poll();
+    if (writer != null) {
+      try {
+        writer.execute(() -> drain(writer));
+      } catch (RejectedExecutionException e) {
+        idleWriters.add(writer);
+        throw e;
+      }
+    }
+  }
+
+  private void drain(ExecutorService writer) {
+    writerThread.set(Boolean.TRUE);
+    try {
+      SegmentWriter segment;
+      while ((segment = ready.poll()) != null) {
+        segment.runBatch();
+      }
+    } finally {
+      writerThread.remove();
+      idleWriters.add(writer);
+      if (!ready.isEmpty()) {
+        startWriter();
+      }
+    }
+  }
+
+  private void terminated(SegmentWriter segment) {
+    segments.remove(segment);
+    if (segments.isEmpty()) {
+      for (ExecutorService writer : writers) {
+        writer.shutdown();
+      }
+    }
+  }
+
+  private static final class Write implements Runnable {
+
+    private final Runnable task;
+    private final long submitted;
+    private final boolean holdsPermit;
+
+    Write(Runnable task, boolean holdsPermit) {
+      this.task = task;
+      this.submitted = System.nanoTime();
+      this.holdsPermit = holdsPermit;
+    }
+
+    @Override
+    public void run() {
+      task.run();
+    }
+  }
+
+  private class SegmentWriter extends AbstractExecutorService {
+
+    private static final int SHUTDOWN = Integer.MIN_VALUE;
+
+    private final Queue<Write> queue = new ConcurrentLinkedQueue<>();
+    private final Semaphore capacity = new Semaphore(queueSize);
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private final CountDownLatch termination = new CountDownLatch(1);
+
+    // the shutdown flag in the sign bit, the count of submissions in progress in the others
+    private final AtomicInteger state = new AtomicInteger();
+
+    @Override
+    public void execute(Runnable command) {
+      if (!enter()) {
+        throw new RejectedExecutionException("Executor is shutting down");
+      }
+      try {
+        // a write submitted from a writer thread must not wait for the writers to make room
+        boolean fromWriter = writerThread.get() != null;
+        if (fromWriter || capacity.tryAcquire()) {
+          queue.add(new Write(command, !fromWriter));
+          if (scheduled.compareAndSet(false, true)) {
+            schedule(this, capacity.availablePermits() == 0);
+          }
+        } else {
+          runInline(new Write(command, false));
+        }
+      } finally {
+        exit();
+      }
+    }
+
+    /**
+     * Runs the pending writes of this segment, then the given one, on the submitting thread.
+     * <p>
+     * The submitter may hold the segment lock, so rather than waiting for a writer to make room it does the writes
+     * itself, only waiting for the write a writer may be running.
+     */
+    private void runInline(Write write) {
+      try {
+        writeLock.lockInterruptibly();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RejectedExecutionException("Interrupted while waiting for a pending write", e);
+      }
+      try {
+        queue.add(write);
+        Write pending;
+        while ((pending = queue.poll()) != null) {
+          run(pending);
+        }
+      } finally {
+        writeLock.unlock();
+      }
+    }
+
+    void runBatch() {
+      try {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+          if (!runNext()) {
+            break;
+          }
+        }
+      } finally {
+        if (queue.isEmpty()) {
+          scheduled.set(false);
+          if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+            ready.offerLast(this);
+          } else {
+            checkTermination();
+          }
+        } else if (capacity.availablePermits() == 0) {
+          ready.offerFirst(this);
+        } else {
+          ready.offerLast(this);
+        }
+      }
+    }
+
+    private boolean runNext() {
+      writeLock.lock();
+      try {
+        Write write = queue.poll();
+        if (write == null) {
+          return false;
+        }
+        run(write);
+        return true;
+      } finally {
+        writeLock.unlock();
+      }
+    }
+
+    private void run(Write write) {
+      try {
+        write.run();
+      } catch (RuntimeException e) {
+        logger.warn("Disk write failed", e);
+      } finally {
+        if (write.holdsPermit) {
+          capacity.release();
+        }
+        recordLatency(System.nanoTime() - write.submitted);
+      }
+    }
+
+    private boolean enter() {
+      while (true) {
+        int current = state.get();
+        if ((current & SHUTDOWN) != 0) {
+          return false;
+        }
+        if (state.compareAndSet(current, current + 1)) {
+          return true;
+        }
+      }
+    }
+
+    private void exit() {
+      if (state.decrementAndGet() == SHUTDOWN) {
+        checkTermination();
+      }
+    }
+
+    private void checkTermination() {
+      if (state.get() == SHUTDOWN && queue.isEmpty() && !scheduled.get() && terminated.compareAndSet(false, true)) {
+        termination.countDown();
+        terminated(this);
+      }
+    }
+
+    private void markShutdown() {
+      int current;
+      do {
+        current = state.get();
+      } while ((current & SHUTDOWN) == 0 && !state.compareAndSet(current, current | SHUTDOWN));
+    }
+
+    @Override
+    public void shutdown() {
+      markShutdown();
+      checkTermination();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      markShutdown();
+      List<Runnable> pending = new ArrayList<>();
+      Write write;
+      while ((write = queue.poll()) != null) {
+        if (write.holdsPermit) {
+          capacity.release();
+        }
+        pending.add(write.task);
+      }
+      checkTermination();
+      return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return (state.get() & SHUTDOWN) != 0;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return terminated.get();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      return termination.await(timeout, unit);
+    }
+  }
+}
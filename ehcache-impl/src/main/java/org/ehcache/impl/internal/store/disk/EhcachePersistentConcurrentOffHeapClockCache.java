@@ -19,18 +19,37 @@ package org.ehcache.impl.internal.store.disk;
 
 import org.ehcache.config.EvictionAdvisor;
 import org.ehcache.impl.internal.store.disk.factories.EhcachePersistentSegmentFactory;
+import org.ehcache.impl.internal.store.disk.factories.EhcachePersistentSegmentFactory.EhcachePersistentSegment;
+import org.ehcache.impl.internal.store.disk.factories.EhcachePersistentSegmentFactory.EhcachePersistentSegment.Checkpoint;
 import org.ehcache.impl.internal.store.offheap.EhcacheOffHeapBackingMap;
 import org.terracotta.offheapstore.Metadata;
 import org.terracotta.offheapstore.MetadataTuple;
 import org.terracotta.offheapstore.Segment;
 import org.terracotta.offheapstore.disk.persistent.AbstractPersistentConcurrentOffHeapCache;
+import org.terracotta.offheapstore.disk.persistent.Persistent;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 import static org.ehcache.impl.internal.store.offheap.factories.EhcacheSegmentFactory.EhcacheSegment.ADVISED_AGAINST_EVICTION;
 import static org.terracotta.offheapstore.Metadata.PINNED;
@@ -42,8 +61,23 @@ import static org.terracotta.offheapstore.MetadataTuple.metadataTuple;
  */
 public class EhcachePersistentConcurrentOffHeapClockCache<K, V> extends AbstractPersistentConcurrentOffHeapCache<K, V> implements EhcacheOffHeapBackingMap<K, V> {
 
+  /**
+   * Leading marker of an index holding each segment in its own block, see {@link #persistSegments(ObjectOutput)}.
+   */
+  public static final int SEGMENTED_INDEX = -1;
+
+  /**
+   * Largest frame a segment block is written in, so that no segment is ever buffered whole.
+   */
+  static final int BLOCK_FRAME_SIZE = 64 * 1024;
+
   private final EvictionAdvisor<? super K, ? super V> evictionAdvisor;
+  private final EhcachePersistentSegmentFactory<K, V> segmentFactory;
   private final AtomicLong[] counters;
+  private final AtomicIntegerArray dirty;
+
+  private volatile CompletableFuture<?>[] recoveries;
+  private SegmentCheckpointer checkpointer;
 
   public EhcachePersistentConcurrentOffHeapClockCache(ObjectInput input, EvictionAdvisor<? super K, ? super V> evictionAdvisor, EhcachePersistentSegmentFactory<K, V> segmentFactory) throws IOException {
     this(evictionAdvisor, segmentFactory, readSegmentCount(input));
@@ -52,110 +86,539 @@ public class EhcachePersistentConcurrentOffHeapClockCache<K, V> extends Abstract
   public EhcachePersistentConcurrentOffHeapClockCache(EvictionAdvisor<? super K, ? super V> evictionAdvisor, EhcachePersistentSegmentFactory<K, V> segmentFactory, int concurrency) {
     super(segmentFactory, concurrency);
     this.evictionAdvisor = evictionAdvisor;
+    this.segmentFactory = segmentFactory;
     this.counters = new AtomicLong[segments.length];
+    this.dirty = new AtomicIntegerArray(segments.length);
     for(int i = 0; i < segments.length; i++) {
       counters[i] = new AtomicLong();
+      dirty.set(i, 1);
     }
   }
 
   public long allocatedMemory() {
-    long total = 0L;
-    for (Segment<K, V> segment : segments) {
-      total += segment.getAllocatedMemory();
-    }
-    return total;
+    return sum(Segment::getAllocatedMemory);
   }
 
   public long occupiedMemory() {
-    long total = 0L;
-    for (Segment<K, V> segment : segments) {
-      total += segment.getOccupiedMemory();
-    }
-    return total;
+    return sum(Segment::getOccupiedMemory);
   }
 
   public long dataAllocatedMemory() {
-    long total = 0L;
-    for (Segment<K, V> segment : segments) {
-      total += segment.getDataAllocatedMemory();
-    }
-    return total;
+    return sum(Segment::getDataAllocatedMemory);
   }
 
   public long dataOccupiedMemory() {
-    long total = 0L;
-    for (Segment<K, V> segment : segments) {
-      total += segment.getDataOccupiedMemory();
-    }
-    return total;
+    return sum(Segment::getDataOccupiedMemory);
   }
 
   public long dataSize() {
-    long total = 0L;
-    for (Segment<K, V> segment : segments) {
-      total += segment.getDataSize();
-    }
-    return total;
+    return sum(Segment::getDataSize);
   }
 
   public long longSize() {
-    long total = 0L;
-    for (Segment<K, V> segment : segments) {
-      total += segment.getSize();
-    }
-    return total;
+    return sum(Segment::getSize);
   }
 
   public long tableCapacity() {
-    long total = 0L;
-    for (Segment<K, V> segment : segments) {
-      total += segment.getTableCapacity();
-    }
-    return total;
+    return sum(Segment::getTableCapacity);
   }
 
   public long usedSlotCount() {
-    long total = 0L;
-    for (Segment<K, V> segment : segments) {
-      total += segment.getUsedSlotCount();
-    }
-    return total;
+    return sum(Segment::getUsedSlotCount);
   }
 
   public long removedSlotCount() {
-    long total = 0L;
-    for (Segment<K, V> segment : segments) {
-      total += segment.getRemovedSlotCount();
-    }
-    return total;
+    return sum(Segment::getRemovedSlotCount);
   }
 
   public long reprobeLength() {
-    long total = 0L;
-    for (Segment<K, V> segment : segments) {
-      total += segment.getReprobeLength();
-    }
-    return total;
+    return sum(Segment::getReprobeLength);
   }
 
   public long vitalMemory() {
-    long total = 0L;
+    return sum(Segment::getVitalMemory);
+  }
+
+  public long dataVitalMemory() {
+    return sum(Segment::getDataVitalMemory);
+  }
+
+  /**
+   * Returns the share of the data storage of a segment which is allocated but not occupied by mappings.
+   *
+   * @param index the segment index
+   * @return the fragmentation of the segment, between 0 and 1
+   */
+  public double fragmentation(int index) {
+    Segment<K, V> segment = segments[index];
+    long allocated = segment.getDataAllocatedMemory();
+    return allocated == 0 ? 0 : 1 - (double) segment.getDataOccupiedMemory() / allocated;
+  }
+
+  /**
+   * Compacts the data storage of a segment, see {@link EhcachePersistentSegment#compact(long)}.
+   *
+   * @param index the segment index
+   * @param maxBytes the number of bytes after which the compaction stops
+   * @return the number of bytes of data moved
+   */
+  public long compactSegment(int index, long maxBytes) {
+    awaitRecovery(index, recoveries);
+    try {
+      return segment(index).compact(maxBytes);
+    } finally {
+      dirty.set(index, 1);
+    }
+  }
+
+  /**
+   * Persists this map, writing each segment in its own block so that segments can be bootstrapped concurrently.
+   * <p>
+   * A block is streamed as a sequence of length prefixed frames of at most {@value #BLOCK_FRAME_SIZE} bytes, ended by
+   * an empty frame.
+   *
+   * @param output the index output
+   * @throws IOException if a segment cannot be persisted
+   */
+  public void persistSegments(ObjectOutput output) throws IOException {
+    output.writeInt(SEGMENTED_INDEX);
+    output.writeInt(segments.length);
     for (Segment<K, V> segment : segments) {
-      total += segment.getVitalMemory();
+      try (ObjectOutputStream blockOutput = new ObjectOutputStream(new BlockOutputStream(output))) {
+        ((Persistent) segment).persist(blockOutput);
+      }
     }
-    return total;
   }
 
-  public long dataVitalMemory() {
+  /**
+   * Indicates whether a segment changed since it was last checkpointed.
+   * <p>
+   * All segments start dirty, so that a first checkpoint of each is taken.
+   *
+   * @param index the segment index
+   * @return {@code true} if the segment needs a checkpoint
+   */
+  public boolean isDirty(int index) {
+    return dirty.get(index) != 0;
+  }
+
+  /**
+   * Returns the number of segments of this map.
+   *
+   * @return the segment count
+   */
+  public int segmentCount() {
+    return segments.length;
+  }
+
+  /**
+   * Starts checkpointing all segments, see {@link EhcachePersistentSegment#enableCheckpoints(java.util.function.LongPredicate)}.
+   * <p>
+   * A segment that invalidates its checkpoints is marked dirty, so that it is checkpointed again.
+   *
+   * @param checkpointer the checkpointer invalidating the checkpoints of a segment
+   */
+  synchronized void enableCheckpoints(SegmentCheckpointer checkpointer) {
+    this.checkpointer = checkpointer;
+    for (int i = 0; i < segments.length; i++) {
+      enableCheckpoints(i, checkpointer);
+    }
+  }
+
+  private void enableCheckpoints(int index, SegmentCheckpointer checkpointer) {
+    segment(index).enableCheckpoints(sequence -> {
+      dirty.set(index, 1);
+      return checkpointer.invalidate(index, sequence);
+    });
+  }
+
+  /**
+   * Stops checkpointing all segments, releasing the storage they held back.
+   */
+  synchronized void disableCheckpoints() {
+    checkpointer = null;
+    for (int i = 0; i < segments.length; i++) {
+      segment(i).disableCheckpoints();
+    }
+  }
+
+  /**
+   * Takes a checkpoint of a segment, then flushes its storage engine so that the checkpoint is consistent on disk.
+   * <p>
+   * The segment is only write locked while it is copied, see {@link EhcachePersistentSegment#checkpoint(long)}.
+   *
+   * @param index the segment index
+   * @param sequence the checkpoint sequence
+   * @return the checkpoint
+   * @throws IOException if the segment cannot be persisted or flushed
+   */
+  Checkpoint checkpointSegment(int index, long sequence) throws IOException {
+    awaitRecovery(index, recoveries);
+    EhcachePersistentSegment<K, V> segment = segment(index);
+    dirty.set(index, 0);
+    try {
+      Checkpoint checkpoint = segment.checkpoint(sequence);
+      segment.flushStorage(checkpoint);
+      return checkpoint;
+    } catch (IOException | RuntimeException e) {
+      dirty.set(index, 1);
+      throw e;
+    }
+  }
+
+  /**
+   * Releases the storage a segment held back for the checkpoints that preceded a now durable one.
+   *
+   * @param index the segment index
+   * @param checkpoint the durable checkpoint
+   */
+  void checkpointed(int index, Checkpoint checkpoint) {
+    segment(index).checkpointed(checkpoint);
+  }
+
+  /**
+   * Marks a segment dirty again, after a failure to record its checkpoint.
+   *
+   * @param index the segment index
+   */
+  public void invalidateCheckpoint(int index) {
+    dirty.set(index, 1);
+  }
+
+  private EhcachePersistentSegment<K, V> segment(int index) {
+    return (EhcachePersistentSegment<K, V>) segments[index];
+  }
+
+  /**
+   * Bootstraps every segment from its block on the given executor, reading the blocks written by
+   * {@link #persistSegments(ObjectOutput)} past the segment count.
+   * <p>
+   * The blocks are read on the calling thread, at most {@code maxInFlight} ahead of the bootstraps. Keyed operations on
+   * a segment block until that segment is bootstrapped, while operations spanning all segments wait for all of them.
+   * Statistics only account for the segments already bootstrapped.
+   * <p>
+   * When {@code clearFailed} is set, a segment that fails to bootstrap is replaced by an empty one once all others
+   * are bootstrapped, so that its mappings are misses rather than failures. The returned future still completes
+   * exceptionally, to report the failure.
+   *
+   * @param input the index input
+   * @param executor the executor running the bootstraps
+   * @param maxInFlight the number of blocks read but not yet bootstrapped
+   * @param clearFailed {@code true} to replace failed segments by empty ones
+   * @return a future completing once all segments are bootstrapped
+   * @throws IOException if the index cannot be read, once the bootstraps already started completed
+   */
+  public CompletableFuture<Void> bootstrapSegments(ObjectInput input, Executor executor, int maxInFlight, boolean clearFailed) throws IOException {
+    Semaphore inFlight = new Semaphore(maxInFlight);
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[segments.length];
+    for (int i = 0; i < segments.length; i++) {
+      inFlight.acquireUninterruptibly();
+      try {
+        byte[] block = readBlock(input);
+        futures[i] = recoverSegment(segment(i), executor, segment -> {
+          try (ObjectInputStream blockInput = new ObjectInputStream(new ByteArrayInputStream(block))) {
+            segment.bootstrap(blockInput);
+          }
+        });
+      } catch (IOException | RuntimeException e) {
+        // the caller releases the page source on failure, so the bootstraps using it must complete first
+        inFlight.release();
+        inFlight.acquireUninterruptibly(maxInFlight);
+        throw e;
+      }
+      futures[i].whenComplete((v, t) -> inFlight.release());
+    }
+    return recovered(futures, clearFailed);
+  }
+
+  /**
+   * Bootstraps every segment from its checkpoint on the given executor, see
+   * {@link #bootstrapSegments(ObjectInput, Executor, int, boolean)}.
+   *
+   * @param checkpoints the segment checkpoints, as read from the checkpoint log
+   * @param executor the executor running the bootstraps
+   * @return a future completing once all segments are bootstrapped
+   */
+  public CompletableFuture<Void> restoreSegments(byte[][] checkpoints, Executor executor) {
+    if (checkpoints.length != segments.length) {
+      throw new IllegalArgumentException("Expected " + segments.length + " segment checkpoints, got " + checkpoints.length);
+    }
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[segments.length];
+    for (int i = 0; i < segments.length; i++) {
+      byte[] checkpoint = checkpoints[i];
+      futures[i] = recoverSegment(segment(i), executor, segment -> segment.restore(checkpoint));
+    }
+    return recovered(futures, false);
+  }
+
+  private static byte[] readBlock(ObjectInput input) throws IOException {
+    ByteArrayOutputStream block = new ByteArrayOutputStream();
+    byte[] frame = new byte[BLOCK_FRAME_SIZE];
+    for (int length = input.readInt(); length != 0; length = input.readInt()) {
+      if (length < 0 || length > BLOCK_FRAME_SIZE) {
+        throw new IOException("Invalid segment block frame length " + length);
+      }
+      input.readFully(frame, 0, length);
+      block.write(frame, 0, length);
+    }
+    return block.toByteArray();
+  }
+
+  private static <K, V> CompletableFuture<?> recoverSegment(EhcachePersistentSegment<K, V> segment, Executor executor, SegmentRecovery<K, V> recovery) {
+    return CompletableFuture.runAsync(() -> {
+      try {
+        recovery.recover(segment);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, executor);
+  }
+
+  private CompletableFuture<Void> recovered(CompletableFuture<?>[] futures, boolean clearFailed) {
+    CompletableFuture<?>[] pending = futures;
+    if (clearFailed) {
+      // an empty segment allocates from the shared page source, which the other segments may still be claiming from
+      CompletableFuture<?>[] settling = new CompletableFuture<?>[futures.length];
+      for (int i = 0; i < futures.length; i++) {
+        settling[i] = futures[i].handle((v, t) -> null);
+      }
+      CompletableFuture<Void> settled = CompletableFuture.allOf(settling);
+      pending = new CompletableFuture<?>[futures.length];
+      for (int i = 0; i < futures.length; i++) {
+        int index = i;
+        pending[i] = futures[i].handle((v, t) -> t).thenCompose(failure -> failure == null
+          ? CompletableFuture.completedFuture(null) : settled.thenRun(() -> replaceSegment(index, failure)));
+      }
+    }
+    recoveries = pending;
+    return CompletableFuture.allOf(pending).thenRun(() -> recoveries = null).thenCompose(v -> CompletableFuture.allOf(futures));
+  }
+
+  private synchronized void replaceSegment(int index, Throwable failure) {
+    try {
+      segment(index).discard();
+    } catch (RuntimeException e) {
+      (failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure).addSuppressed(e);
+    }
+    segments[index] = segmentFactory.newEmptyInstance();
+    dirty.set(index, 1);
+    if (checkpointer != null) {
+      enableCheckpoints(index, checkpointer);
+    }
+  }
+
+  @FunctionalInterface
+  private interface SegmentRecovery<K, V> {
+    void recover(EhcachePersistentSegment<K, V> segment) throws IOException;
+  }
+
+  /**
+   * Writes a segment block as length prefixed frames, see {@link #persistSegments(ObjectOutput)}.
+   */
+  private static final class BlockOutputStream extends OutputStream {
+
+    private final ObjectOutput output;
+    private final byte[] frame = new byte[BLOCK_FRAME_SIZE];
+    private int count;
+
+    BlockOutputStream(ObjectOutput output) {
+      this.output = output;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      if (count == frame.length) {
+        writeFrame();
+      }
+      frame[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      while (len > 0) {
+        if (count == frame.length) {
+          writeFrame();
+        }
+        int length = Math.min(len, frame.length - count);
+        System.arraycopy(b, off, frame, count, length);
+        count += length;
+        off += length;
+        len -= length;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      writeFrame();
+      output.writeInt(0);
+    }
+
+    private void writeFrame() throws IOException {
+      if (count > 0) {
+        output.writeInt(count);
+        output.write(frame, 0, count);
+        count = 0;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of segments bootstrapped so far.
+   *
+   * @return the number of recovered segments
+   */
+  public int recoveredSegments() {
+    CompletableFuture<?>[] pending = recoveries;
+    if (pending == null) {
+      return segments.length;
+    }
+    int recovered = 0;
+    for (CompletableFuture<?> recovery : pending) {
+      if (isRecovered(recovery)) {
+        recovered++;
+      }
+    }
+    return recovered;
+  }
+
+  /**
+   * Waits for all segments to be bootstrapped.
+   *
+   * @throws java.util.concurrent.CompletionException if a segment failed to bootstrap
+   */
+  public void awaitRecovery() {
+    CompletableFuture<?>[] pending = recoveries;
+    if (pending != null) {
+      CompletableFuture.allOf(pending).join();
+    }
+  }
+
+  private void awaitRecovery(int hash) {
+    awaitRecovery(getIndexFor(hash), recoveries);
+  }
+
+  private static void awaitRecovery(int index, CompletableFuture<?>[] pending) {
+    if (pending != null) {
+      pending[index].join();
+    }
+  }
+
+  private void markDirty(int hash) {
+    dirty.set(getIndexFor(hash), 1);
+  }
+
+  private void markAllDirty() {
+    for (int i = 0; i < segments.length; i++) {
+      dirty.set(i, 1);
+    }
+  }
+
+  private static boolean isRecovered(CompletableFuture<?> recovery) {
+    return recovery.isDone() && !recovery.isCompletedExceptionally();
+  }
+
+  private long sum(ToLongFunction<Segment<K, V>> statistic) {
+    CompletableFuture<?>[] pending = recoveries;
     long total = 0L;
-    for (Segment<K, V> segment : segments) {
-      total += segment.getDataVitalMemory();
+    for (int i = 0; i < segments.length; i++) {
+      if (pending == null || isRecovered(pending[i])) {
+        total += statistic.applyAsLong(segments[i]);
+      }
     }
     return total;
   }
 
+  @Override
+  public V get(Object key) {
+    awaitRecovery(key.hashCode());
+    return super.get(key);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    awaitRecovery(key.hashCode());
+    return super.containsKey(key);
+  }
+
+  @Override
+  public V put(K key, V value) {
+    awaitRecovery(key.hashCode());
+    try {
+      return super.put(key, value);
+    } finally {
+      markDirty(key.hashCode());
+    }
+  }
+
+  @Override
+  public V remove(Object key) {
+    awaitRecovery(key.hashCode());
+    try {
+      return super.remove(key);
+    } finally {
+      markDirty(key.hashCode());
+    }
+  }
+
+  @Override
+  public void clear() {
+    awaitRecovery();
+    try {
+      super.clear();
+    } finally {
+      markAllDirty();
+    }
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    awaitRecovery();
+    return super.entrySet();
+  }
+
+  @Override
+  public Set<K> keySet() {
+    awaitRecovery();
+    return super.keySet();
+  }
+
+  @Override
+  public List<Segment<K, V>> getSegments() {
+    awaitRecovery();
+    return super.getSegments();
+  }
+
+  @Override
+  public boolean shrinkOthers(int excludedHash) {
+    // runs under the lock of the excluded segment, so segments still being recovered are skipped rather than awaited
+    CompletableFuture<?>[] pending = recoveries;
+    int excluded = getIndexFor(excludedHash);
+    boolean evicted = false;
+    for (int i = 0; i < segments.length; i++) {
+      if (i != excluded && (pending == null || isRecovered(pending[i]))) {
+        try {
+          evicted |= segments[i].shrink();
+        } finally {
+          dirty.set(i, 1);
+        }
+      }
+    }
+    return evicted;
+  }
+
+  @Override
+  public Map<K, V> removeAllWithHash(int hash) {
+    awaitRecovery(hash);
+    try {
+      return super.removeAllWithHash(hash);
+    } finally {
+      markDirty(hash);
+    }
+  }
+
   @Override
   public V compute(K key, final BiFunction<K, V, V> mappingFunction, final boolean pin) {
+    awaitRecovery(key.hashCode());
     MetadataTuple<V> result = computeWithMetadata(key, (k, current) -> {
       V oldValue = current == null ? null : current.value();
       V newValue = mappingFunction.apply(k, oldValue);
@@ -168,11 +631,13 @@ public class EhcachePersistentConcurrentOffHeapClockCache<K, V> extends Abstract
         return metadataTuple(newValue, (pin ? PINNED : 0) | (evictionAdvisor.adviseAgainstEviction(k, newValue) ? ADVISED_AGAINST_EVICTION : 0));
       }
     });
+    markDirty(key.hashCode());
     return result == null ? null : result.value();
   }
 
   @Override
   public V computeIfPresent(K key, final BiFunction<? super K, ? super V, ? extends V> mappingFunction) {
+    awaitRecovery(key.hashCode());
     MetadataTuple<V> result = computeIfPresentWithMetadata(key, (k, current) -> {
       V oldValue = current.value();
       V newValue = mappingFunction.apply(k, oldValue);
@@ -185,11 +650,13 @@ public class EhcachePersistentConcurrentOffHeapClockCache<K, V> extends Abstract
         return metadataTuple(newValue, (evictionAdvisor.adviseAgainstEviction(k, newValue) ? ADVISED_AGAINST_EVICTION : 0));
       }
     });
+    markDirty(key.hashCode());
     return result == null ? null : result.value();
   }
 
   @Override
   public V computeIfPresentAndPin(final K key, final BiFunction<K, V, V> mappingFunction) {
+    awaitRecovery(key.hashCode());
     MetadataTuple<V> result = computeIfPresentWithMetadata(key, (k, current) -> {
       V oldValue = current.value();
       V newValue = mappingFunction.apply(k, oldValue);
@@ -202,11 +669,13 @@ public class EhcachePersistentConcurrentOffHeapClockCache<K, V> extends Abstract
         return metadataTuple(newValue, PINNED | (evictionAdvisor.adviseAgainstEviction(k, newValue) ? ADVISED_AGAINST_EVICTION : 0));
       }
     });
+    markDirty(key.hashCode());
     return result == null ? null : result.value();
   }
 
   @Override
   public boolean computeIfPinned(final K key, final BiFunction<K,V,V> remappingFunction, final Function<V,Boolean> unpinFunction) {
+    awaitRecovery(key.hashCode());
     final AtomicBoolean unpin = new AtomicBoolean();
     computeIfPresentWithMetadata(key, (k, current) -> {
       if ((current.metadata() & Metadata.PINNED) != 0) {
@@ -228,11 +697,13 @@ public class EhcachePersistentConcurrentOffHeapClockCache<K, V> extends Abstract
         return current;
       }
     });
+    markDirty(key.hashCode());
     return unpin.get();
   }
 
   @Override
   public long nextIdFor(final K key) {
+    awaitRecovery(key.hashCode());
     return counters[getIndexFor(key.hashCode())].getAndIncrement();
   }
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.disk;
+
+import org.ehcache.core.EhcachePrefixLoggerFactory;
+import org.slf4j.Logger;
+import org.terracotta.offheapstore.disk.paging.MappedPage;
+import org.terracotta.offheapstore.disk.paging.MappedPageSource;
+import org.terracotta.offheapstore.paging.OffHeapStorageArea;
+import org.terracotta.offheapstore.paging.Page;
+import org.terracotta.offheapstore.util.ReopeningInterruptibleChannel;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.IdentityHashMap;
+
+/**
+ * Page source of a disk store mapping its pages privately, so that they only reach the file through explicit writes.
+ * <p>
+ * Regions of the file are still allocated by {@link MappedPageSource}, which the storage engines share, but they are
+ * mapped copy-on-write: a page changed by its owner holds the changes in the memory of the process, and its region is
+ * only updated by {@link #write(Page)}. The pages of a disk store are the hash tables of its segments, the file layout
+ * is therefore the same as with shared mappings, and a store can switch between both on restart.
+ */
+public class ExplicitIoPageSource extends MappedPageSource {
+
+  private final Logger logger = EhcachePrefixLoggerFactory.getLogger(ExplicitIoPageSource.class);
+
+  private final IdentityHashMap<MappedPage, Long> pages = new IdentityHashMap<>();
+  private final ReopeningInterruptibleChannel<FileChannel> channel;
+
+  public ExplicitIoPageSource(File file, long size) throws IOException {
+    this(file, true, size);
+  }
+
+  public ExplicitIoPageSource(File file, boolean truncate, long size) throws IOException {
+    super(file, truncate, size);
+    this.channel = ReopeningInterruptibleChannel.create(this::getWritableChannel);
+  }
+
+  @Override
+  public synchronized MappedPage allocate(int size, boolean thief, boolean victim, OffHeapStorageArea owner) {
+    Long address = allocateRegion(size);
+    if (address == null) {
+      return null;
+    }
+    try {
+      // a private mapping does not grow the file, a region past its end would fault on first access
+      if (channel.execute(FileChannel::size) < address + size) {
+        channel.execute(c -> c.write(ByteBuffer.allocate(1), address + size - 1));
+      }
+      MappedPage page = new MappedPage(map(address, size));
+      pages.put(page, address);
+      return page;
+    } catch (IOException e) {
+      freeRegion(address);
+      logger.warn("Mapping a new file section failed", e);
+      return null;
+    }
+  }
+
+  @Override
+  public synchronized void free(Page page) {
+    Long address = pages.remove(page);
+    if (address == null) {
+      throw new AssertionError();
+    }
+    freeRegion(address);
+  }
+
+  @Override
+  public synchronized MappedPage claimPage(long address, long size) throws IOException {
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException("Page of " + size + " bytes at " + address + " exceeds the maximum buffer size");
+    }
+    claimRegion(address, size);
+    try {
+      if (channel.execute(FileChannel::size) < address + size) {
+        throw new EOFException("Page of " + size + " bytes at " + address + " ends past the end of the file");
+      }
+      MappedPage page = new MappedPage(map(address, (int) size));
+      pages.put(page, address);
+      return page;
+    } catch (IOException e) {
+      freeRegion(address);
+      throw e;
+    }
+  }
+
+  @Override
+  public synchronized long getAddress(Page page) {
+    Long address = pages.get(page);
+    if (address == null) {
+      throw new IllegalArgumentException("Page not allocated by this source: " + page);
+    }
+    return address;
+  }
+
+  /**
+   * Writes the content of a page to its region of the file.
+   * <p>
+   * The caller must prevent modifications of the page while it is written, for the region to hold a consistent image.
+   *
+   * @param page the page to write
+   * @throws IOException if the page cannot be written
+   */
+  public void write(Page page) throws IOException {
+    long address = getAddress(page);
+    ByteBuffer content = page.asByteBuffer().duplicate();
+    content.clear();
+    while (content.hasRemaining()) {
+      channel.execute(c -> c.write(content, address + content.position()));
+    }
+  }
+
+  /**
+   * Writes all the pages of this source and forces them to disk.
+   * <p>
+   * Pages being modified concurrently may be written partially, owners needing a consistent image write their pages
+   * with {@link #write(Page)} before flushing.
+   *
+   * @throws IOException if a page cannot be written or the file cannot be forced
+   */
+  @Override
+  public synchronized void flush() throws IOException {
+    for (MappedPage page : pages.keySet()) {
+      write(page);
+    }
+    super.flush();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      channel.close();
+    } finally {
+      super.close();
+    }
+  }
+
+  private MappedByteBuffer map(long address, int size) throws IOException {
+    return channel.execute(c -> c.map(MapMode.PRIVATE, address, size));
+  }
+}
@@ -26,16 +26,20 @@ import org.ehcache.core.EhcachePrefixLoggerFactory;
 import org.ehcache.core.spi.service.DiskResourceService;
 import org.ehcache.core.spi.service.StatisticsService;
 import org.ehcache.core.statistics.OperationStatistic;
+import org.ehcache.impl.compression.CompressionCodec;
+import org.ehcache.impl.config.store.disk.DiskAccess;
 import org.ehcache.impl.config.store.disk.OffHeapDiskStoreConfiguration;
 import org.ehcache.config.units.MemoryUnit;
 import org.ehcache.core.events.StoreEventDispatcher;
 import org.ehcache.CachePersistenceException;
 import org.ehcache.impl.internal.events.ThreadLocalStoreEventDispatcher;
 import org.ehcache.impl.internal.store.disk.factories.EhcachePersistentSegmentFactory;
+import org.ehcache.impl.internal.store.disk.factories.HoldingStorageEngine;
 import org.ehcache.impl.internal.store.offheap.AbstractOffHeapStore;
 import org.ehcache.impl.internal.store.offheap.EhcacheOffHeapBackingMap;
 import org.ehcache.impl.internal.store.offheap.SwitchableEvictionAdvisor;
 import org.ehcache.impl.internal.store.offheap.OffHeapValueHolder;
+import org.ehcache.impl.internal.store.offheap.portability.OffHeapValueHolderPortability;
 import org.ehcache.impl.internal.store.offheap.portability.SerializerPortability;
 import org.ehcache.core.spi.time.TimeSource;
 import org.ehcache.core.spi.time.TimeSourceService;
@@ -56,9 +60,7 @@ import org.slf4j.Logger;
 import org.terracotta.offheapstore.disk.paging.MappedPageSource;
 import org.terracotta.offheapstore.disk.persistent.Persistent;
 import org.terracotta.offheapstore.disk.persistent.PersistentPortability;
-import org.terracotta.offheapstore.disk.storage.FileBackedStorageEngine;
 import org.terracotta.offheapstore.storage.portability.Portability;
-import org.terracotta.offheapstore.util.Factory;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -67,18 +69,29 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import static java.lang.Math.max;
 import static org.ehcache.config.Eviction.noAdvice;
+import static org.ehcache.core.statistics.StatisticType.COUNTER;
+import static org.ehcache.core.statistics.StatisticType.GAUGE;
 import static org.ehcache.core.spi.service.ServiceUtils.findSingletonAmongst;
 import static java.util.Arrays.asList;
 import static org.terracotta.offheapstore.util.MemoryUnit.BYTES;
@@ -92,6 +105,7 @@ public class OffHeapDiskStore<K, V> extends AbstractOffHeapStore<K, V> implement
 
   private static final String KEY_TYPE_PROPERTY_NAME = "keyType";
   private static final String VALUE_TYPE_PROPERTY_NAME = "valueType";
+  private static final int RECOVERY_BLOCKS_IN_FLIGHT = Runtime.getRuntime().availableProcessors();
 
   protected final AtomicReference<Status> status = new AtomicReference<>(Status.UNINITIALIZED);
 
@@ -107,18 +121,88 @@ public class OffHeapDiskStore<K, V> extends AbstractOffHeapStore<K, V> implement
   private final String threadPoolAlias;
   private final int writerConcurrency;
   private final int diskSegments;
-
+  private final CompressionCodec compressionCodec;
+  private final int compressionThreshold;
+  private final boolean openDuringRecovery;
+  private final Duration checkpointInterval;
+  private final long checkpointMaxBytes;
+  private final int writeQueueSize;
+  private final Duration compactionInterval;
+  private final long compactionMaxBytes;
+  private final DiskAccess diskAccess;
+
+  private volatile OffHeapValueHolderPortability<V> valueHolderPortability;
+  private volatile DiskWriteScheduler writeScheduler;
   private volatile EhcachePersistentConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> map;
+  private volatile SegmentCheckpointer checkpointer;
+  private volatile SegmentCompactor compactor;
+
+  public OffHeapDiskStore(FileBasedPersistenceContext fileBasedPersistenceContext,
+                          ExecutionService executionService, String threadPoolAlias, int writerConcurrency, int diskSegments,
+                          final Configuration<K, V> config, TimeSource timeSource, StoreEventDispatcher<K, V> eventDispatcher, long sizeInBytes, StatisticsService statisticsService) {
+    this(fileBasedPersistenceContext, executionService, threadPoolAlias, writerConcurrency, diskSegments, null, 0, false,
+      config, timeSource, eventDispatcher, sizeInBytes, statisticsService);
+  }
+
+  public OffHeapDiskStore(FileBasedPersistenceContext fileBasedPersistenceContext,
+                          ExecutionService executionService, String threadPoolAlias, int writerConcurrency, int diskSegments,
+                          CompressionCodec compressionCodec, int compressionThreshold, boolean openDuringRecovery,
+                          final Configuration<K, V> config, TimeSource timeSource, StoreEventDispatcher<K, V> eventDispatcher, long sizeInBytes, StatisticsService statisticsService) {
+    this(fileBasedPersistenceContext, executionService, threadPoolAlias, writerConcurrency, diskSegments, compressionCodec, compressionThreshold,
+      openDuringRecovery, null, Long.MAX_VALUE, config, timeSource, eventDispatcher, sizeInBytes, statisticsService);
+  }
 
   public OffHeapDiskStore(FileBasedPersistenceContext fileBasedPersistenceContext,
                           ExecutionService executionService, String threadPoolAlias, int writerConcurrency, int diskSegments,
+                          CompressionCodec compressionCodec, int compressionThreshold, boolean openDuringRecovery,
+                          Duration checkpointInterval, long checkpointMaxBytes,
+                          final Configuration<K, V> config, TimeSource timeSource, StoreEventDispatcher<K, V> eventDispatcher, long sizeInBytes, StatisticsService statisticsService) {
+    this(fileBasedPersistenceContext, executionService, threadPoolAlias, writerConcurrency, OffHeapDiskStoreConfiguration.DEFAULT_WRITE_QUEUE_SIZE,
+      diskSegments, compressionCodec, compressionThreshold, openDuringRecovery, checkpointInterval, checkpointMaxBytes,
+      config, timeSource, eventDispatcher, sizeInBytes, statisticsService);
+  }
+
+  public OffHeapDiskStore(FileBasedPersistenceContext fileBasedPersistenceContext,
+                          ExecutionService executionService, String threadPoolAlias, int writerConcurrency, int writeQueueSize, int diskSegments,
+                          CompressionCodec compressionCodec, int compressionThreshold, boolean openDuringRecovery,
+                          Duration checkpointInterval, long checkpointMaxBytes,
                           final Configuration<K, V> config, TimeSource timeSource, StoreEventDispatcher<K, V> eventDispatcher, long sizeInBytes, StatisticsService statisticsService) {
+    this(fileBasedPersistenceContext, executionService, threadPoolAlias, writerConcurrency, writeQueueSize, diskSegments,
+      compressionCodec, compressionThreshold, openDuringRecovery, checkpointInterval, checkpointMaxBytes, null, Long.MAX_VALUE,
+      config, timeSource, eventDispatcher, sizeInBytes, statisticsService);
+  }
+
+  public OffHeapDiskStore(FileBasedPersistenceContext fileBasedPersistenceContext,
+                          ExecutionService executionService, String threadPoolAlias, int writerConcurrency, int writeQueueSize, int diskSegments,
+                          CompressionCodec compressionCodec, int compressionThreshold, boolean openDuringRecovery,
+                          Duration checkpointInterval, long checkpointMaxBytes, Duration compactionInterval, long compactionMaxBytes,
+                          final Configuration<K, V> config, TimeSource timeSource, StoreEventDispatcher<K, V> eventDispatcher, long sizeInBytes, StatisticsService statisticsService) {
+    this(fileBasedPersistenceContext, executionService, threadPoolAlias, writerConcurrency, writeQueueSize, diskSegments,
+      compressionCodec, compressionThreshold, openDuringRecovery, checkpointInterval, checkpointMaxBytes, compactionInterval, compactionMaxBytes,
+      DiskAccess.MEMORY_MAPPED, config, timeSource, eventDispatcher, sizeInBytes, statisticsService);
+  }
+
+  public OffHeapDiskStore(FileBasedPersistenceContext fileBasedPersistenceContext,
+                          ExecutionService executionService, String threadPoolAlias, int writerConcurrency, int writeQueueSize, int diskSegments,
+                          CompressionCodec compressionCodec, int compressionThreshold, boolean openDuringRecovery,
+                          Duration checkpointInterval, long checkpointMaxBytes, Duration compactionInterval, long compactionMaxBytes,
+                          DiskAccess diskAccess, final Configuration<K, V> config, TimeSource timeSource, StoreEventDispatcher<K, V> eventDispatcher,
+                          long sizeInBytes, StatisticsService statisticsService) {
     super(config, timeSource, eventDispatcher, statisticsService);
     this.fileBasedPersistenceContext = fileBasedPersistenceContext;
     this.executionService = executionService;
     this.threadPoolAlias = threadPoolAlias;
     this.writerConcurrency = writerConcurrency;
+    this.writeQueueSize = writeQueueSize;
     this.diskSegments = diskSegments;
+    this.compressionCodec = compressionCodec;
+    this.compressionThreshold = compressionThreshold;
+    this.openDuringRecovery = openDuringRecovery;
+    this.checkpointInterval = checkpointInterval;
+    this.checkpointMaxBytes = checkpointMaxBytes;
+    this.compactionInterval = compactionInterval;
+    this.compactionMaxBytes = compactionMaxBytes;
+    this.diskAccess = diskAccess;
 
     EvictionAdvisor<? super K, ? super V> evictionAdvisor = config.getEvictionAdvisor();
     if (evictionAdvisor != null) {
@@ -133,11 +217,92 @@ public class OffHeapDiskStore<K, V> extends AbstractOffHeapStore<K, V> implement
     this.valueSerializer = config.getValueSerializer();
     this.sizeInBytes = sizeInBytes;
 
+    Set<String> tags = new HashSet<>(asList(getStatisticsTag(), "tier"));
+    if (compressionCodec != null) {
+      registerStatistic("compressionRatio", GAUGE, tags, this::compressionRatio);
+    }
+    registerStatistic("recoveredSegments", GAUGE, tags, () -> {
+      EhcachePersistentConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> localMap = map;
+      // Returning null means not available
+      return localMap == null ? null : localMap.recoveredSegments();
+    });
+    registerStatistic("writeQueueDepth", GAUGE, tags, () -> {
+      DiskWriteScheduler scheduler = writeScheduler;
+      return scheduler == null ? null : scheduler.getQueueDepth();
+    });
+    registerStatistic("writeLatencyP50", GAUGE, tags, () -> writeLatencyPercentile(50));
+    registerStatistic("writeLatencyP99", GAUGE, tags, () -> writeLatencyPercentile(99));
+    registerStatistic("fragmentation", GAUGE, tags, this::fragmentation);
+    registerStatistic("fragmentedSegments", GAUGE, tags, this::fragmentedSegments);
+    registerStatistic("compactedBytes", COUNTER, tags, () -> {
+      SegmentCompactor localCompactor = compactor;
+      return localCompactor == null ? null : localCompactor.getCompactedBytes();
+    });
+
     if (!status.compareAndSet(Status.UNINITIALIZED, Status.AVAILABLE)) {
       throw new AssertionError();
     }
   }
 
+  /**
+   * Ratio between the serialized and the stored size of the values written since this store started.
+   */
+  private Double compressionRatio() {
+    OffHeapValueHolderPortability<V> portability = valueHolderPortability;
+    if (portability == null || portability.getStoredBytes() == 0) {
+      // Returning null means not available
+      return null;
+    }
+    return (double) portability.getUncompressedBytes() / portability.getStoredBytes();
+  }
+
+  /**
+   * Upper bound in nanoseconds of a percentile of the disk write latencies.
+   */
+  private Long writeLatencyPercentile(double percentile) {
+    DiskWriteScheduler scheduler = writeScheduler;
+    // Returning null means not available
+    return scheduler == null ? null : scheduler.getLatencyPercentile(percentile);
+  }
+
+  /**
+   * Share of the data storage allocated on disk which is not occupied by mappings.
+   */
+  private Double fragmentation() {
+    EhcachePersistentConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> localMap = map;
+    if (localMap == null) {
+      // Returning null means not available
+      return null;
+    }
+    long allocated = localMap.dataAllocatedMemory();
+    return allocated == 0 ? 0.0 : 1 - (double) localMap.dataOccupiedMemory() / allocated;
+  }
+
+  /**
+   * Number of segments fragmented enough to be compacted.
+   */
+  private Integer fragmentedSegments() {
+    EhcachePersistentConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> localMap = map;
+    if (localMap == null) {
+      // Returning null means not available
+      return null;
+    }
+    int fragmented = 0;
+    for (int i = 0; i < localMap.segmentCount(); i++) {
+      if (localMap.fragmentation(i) >= SegmentCompactor.FRAGMENTATION_THRESHOLD) {
+        fragmented++;
+      }
+    }
+    return fragmented;
+  }
+
+  @Override
+  protected OffHeapValueHolderPortability<V> createValuePortability(Serializer<V> serializer) {
+    OffHeapValueHolderPortability<V> portability = new OffHeapValueHolderPortability<>(serializer, compressionCodec, compressionThreshold);
+    this.valueHolderPortability = portability;
+    return portability;
+  }
+
   @Override
   protected String getStatisticsTag() {
     return "Disk";
@@ -153,7 +318,7 @@ public class OffHeapDiskStore<K, V> extends AbstractOffHeapStore<K, V> implement
     File indexFile = getIndexFile();
     File metadataFile = getMetadataFile();
 
-    if (dataFile.isFile() && indexFile.isFile() && metadataFile.isFile()) {
+    if (dataFile.isFile() && (indexFile.isFile() || getCheckpointFile().isFile()) && metadataFile.isFile()) {
       try {
         return recoverBackingMap(size, keySerializer, valueSerializer, evictionAdvisor);
       } catch (IOException ex) {
@@ -194,80 +359,206 @@ public class OffHeapDiskStore<K, V> extends AbstractOffHeapStore<K, V> implement
       throw new IllegalStateException("Persisted value type class not found", cnfe);
     }
 
-    try (FileInputStream fin = new FileInputStream(indexFile)) {
-      ObjectInputStream input = new ObjectInputStream(fin);
-      long dataTimestampFromIndex = input.readLong();
-      long dataTimestampFromFile = dataFile.lastModified();
-      long delta = dataTimestampFromFile - dataTimestampFromIndex;
-      if (delta < 0) {
-        logger.info("The index for data file {} is more recent than the data file itself by {}ms : this is harmless.",
-          dataFile.getName(), -delta);
-      } else if (delta > TimeUnit.SECONDS.toMillis(1)) {
-        logger.warn("The index for data file {} is out of date by {}ms, probably due to an unclean shutdown. Creating a new empty store.",
-          dataFile.getName(), delta);
+    File checkpointFile = getCheckpointFile();
+    if (indexFile.isFile()) {
+      try (FileInputStream fin = new FileInputStream(indexFile)) {
+        ObjectInputStream input = new ObjectInputStream(fin);
+        long dataTimestampFromIndex = input.readLong();
+        long dataTimestampFromFile = dataFile.lastModified();
+        long delta = dataTimestampFromFile - dataTimestampFromIndex;
+        if (delta < 0) {
+          logger.info("The index for data file {} is more recent than the data file itself by {}ms : this is harmless.",
+            dataFile.getName(), -delta);
+        } else if (delta > TimeUnit.SECONDS.toMillis(1)) {
+          if (!checkpointFile.isFile()) {
+            logger.warn("The index for data file {} is out of date by {}ms, probably due to an unclean shutdown. Creating a new empty store.",
+              dataFile.getName(), delta);
+            return createBackingMap(size, keySerializer, valueSerializer, evictionAdvisor);
+          }
+          logger.warn("The index for data file {} is out of date by {}ms, probably due to an unclean shutdown. Recovering from the last checkpoint.",
+            dataFile.getName(), delta);
+        } else if (delta > 0) {
+          logger.info("The index for data file {} is out of date by {}ms, assuming this small delta is a result of the OS/filesystem.",
+            dataFile.getName(), delta);
+        }
+
+        if (delta <= TimeUnit.SECONDS.toMillis(1)) {
+          // The index supersedes any checkpoint taken before the last clean shutdown
+          Files.deleteIfExists(checkpointFile.toPath());
+          return recoverFromIndex(input, size, keySerializer, valueSerializer, evictionAdvisor);
+        }
+      } catch (Exception e) {
+        logger.info("Index file was corrupt. Deleting data file {}. {}", dataFile.getAbsolutePath(), e.getMessage());
+        logger.debug("Exception during recovery", e);
         return createBackingMap(size, keySerializer, valueSerializer, evictionAdvisor);
-      } else if (delta > 0) {
-        logger.info("The index for data file {} is out of date by {}ms, assuming this small delta is a result of the OS/filesystem.",
-          dataFile.getName(), delta);
       }
+    } else {
+      logger.warn("The index for data file {} is missing, probably due to an unclean shutdown. Recovering from the last checkpoint.",
+        dataFile.getName());
+    }
 
-      MappedPageSource source = new MappedPageSource(dataFile, false, size);
-      try {
-        PersistentPortability<K> keyPortability = persistent(new SerializerPortability<>(keySerializer));
-        PersistentPortability<OffHeapValueHolder<V>> valuePortability = persistent(createValuePortability(valueSerializer));
-        DiskWriteThreadPool writeWorkers = new DiskWriteThreadPool(executionService, threadPoolAlias, writerConcurrency);
-
-        Factory<FileBackedStorageEngine<K, OffHeapValueHolder<V>>> storageEngineFactory = FileBackedStorageEngine.createFactory(source,
-          max((size / diskSegments) / 10, 1024), BYTES, keyPortability, valuePortability, writeWorkers, false);
-
-        EhcachePersistentSegmentFactory<K, OffHeapValueHolder<V>> factory = new EhcachePersistentSegmentFactory<>(
-          source,
-          storageEngineFactory,
-          64,
-          evictionAdvisor,
-          mapEvictionListener, false);
-        EhcachePersistentConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> m = new EhcachePersistentConcurrentOffHeapClockCache<>(input, evictionAdvisor, factory);
+    try {
+      return recoverFromCheckpoint(checkpointFile, size, keySerializer, valueSerializer, evictionAdvisor);
+    } catch (Exception e) {
+      logger.info("Checkpoint was unusable. Deleting data file {}. {}", dataFile.getAbsolutePath(), e.getMessage());
+      logger.debug("Exception during recovery", e);
+      return createBackingMap(size, keySerializer, valueSerializer, evictionAdvisor);
+    }
+  }
 
+  private EhcachePersistentConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> recoverFromIndex(ObjectInputStream input, long size, Serializer<K> keySerializer, Serializer<V> valueSerializer, SwitchableEvictionAdvisor<K, OffHeapValueHolder<V>> evictionAdvisor) throws IOException {
+    MappedPageSource source = createPageSource(false, size);
+    try {
+      EhcachePersistentSegmentFactory<K, OffHeapValueHolder<V>> factory = createSegmentFactory(source, size, keySerializer, valueSerializer, evictionAdvisor, false);
+      int segmentCount = input.readInt();
+      if (segmentCount == EhcachePersistentConcurrentOffHeapClockCache.SEGMENTED_INDEX) {
+        EhcachePersistentConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> m = new EhcachePersistentConcurrentOffHeapClockCache<>(evictionAdvisor, factory, input.readInt());
+        recoverSegments(executor -> m.bootstrapSegments(input, executor, RECOVERY_BLOCKS_IN_FLIGHT, openDuringRecovery), m.segmentCount(), openDuringRecovery);
+        return m;
+      } else {
+        EhcachePersistentConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> m = new EhcachePersistentConcurrentOffHeapClockCache<>(evictionAdvisor, factory, segmentCount);
         m.bootstrap(input);
         return m;
-      } catch (IOException e) {
-        source.close();
-        throw e;
       }
-    } catch (Exception e) {
-      logger.info("Index file was corrupt. Deleting data file {}. {}", dataFile.getAbsolutePath(), e.getMessage());
-      logger.debug("Exception during recovery", e);
-      return createBackingMap(size, keySerializer, valueSerializer, evictionAdvisor);
+    } catch (IOException e) {
+      source.close();
+      throw e;
     }
   }
 
-  private EhcachePersistentConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> createBackingMap(long size, Serializer<K> keySerializer, Serializer<V> valueSerializer, SwitchableEvictionAdvisor<K, OffHeapValueHolder<V>> evictionAdvisor) throws IOException {
-    File metadataFile = getMetadataFile();
-    try (FileOutputStream fos = new FileOutputStream(metadataFile)) {
-      Properties properties = new Properties();
-      properties.put(KEY_TYPE_PROPERTY_NAME, keyType.getName());
-      properties.put(VALUE_TYPE_PROPERTY_NAME, valueType.getName());
-      properties.store(fos, "Key and value types");
+  private EhcachePersistentConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> recoverFromCheckpoint(File checkpointFile, long size, Serializer<K> keySerializer, Serializer<V> valueSerializer, SwitchableEvictionAdvisor<K, OffHeapValueHolder<V>> evictionAdvisor) throws IOException {
+    byte[][] segments = SegmentCheckpointLog.read(checkpointFile);
+    for (int i = 0; i < segments.length; i++) {
+      if (segments[i] == null) {
+        throw new IOException("No checkpoint of segment " + i + " was completed");
+      }
+    }
+    MappedPageSource source = createPageSource(false, size);
+    try {
+      EhcachePersistentSegmentFactory<K, OffHeapValueHolder<V>> factory = createSegmentFactory(source, size, keySerializer, valueSerializer, evictionAdvisor, false);
+      EhcachePersistentConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> m = new EhcachePersistentConcurrentOffHeapClockCache<>(evictionAdvisor, factory, segments.length);
+      // a checkpoint is only trusted once all its segments bootstrapped, so this never opens during recovery
+      recoverSegments(executor -> m.restoreSegments(segments, executor), segments.length, false);
+      return m;
+    } catch (IOException e) {
+      source.close();
+      throw e;
     }
+  }
 
-    MappedPageSource source = new MappedPageSource(getDataFile(), size);
+  private MappedPageSource createPageSource(boolean truncate, long size) throws IOException {
+    switch (diskAccess) {
+      case MEMORY_MAPPED:
+        return new MappedPageSource(getDataFile(), truncate, size);
+      case EXPLICIT_IO:
+        return new ExplicitIoPageSource(getDataFile(), truncate, size);
+      default:
+        throw new AssertionError("Unsupported disk access " + diskAccess);
+    }
+  }
+
+  private EhcachePersistentSegmentFactory<K, OffHeapValueHolder<V>> createSegmentFactory(MappedPageSource source, long size, Serializer<K> keySerializer, Serializer<V> valueSerializer, SwitchableEvictionAdvisor<K, OffHeapValueHolder<V>> evictionAdvisor, boolean bootstrap) {
     PersistentPortability<K> keyPortability = persistent(new SerializerPortability<>(keySerializer));
     PersistentPortability<OffHeapValueHolder<V>> valuePortability = persistent(createValuePortability(valueSerializer));
-    DiskWriteThreadPool writeWorkers = new DiskWriteThreadPool(executionService, threadPoolAlias, writerConcurrency);
+    DiskWriteScheduler writeWorkers = new DiskWriteScheduler(executionService, threadPoolAlias, writerConcurrency, writeQueueSize);
+    this.writeScheduler = writeWorkers;
 
-    Factory<FileBackedStorageEngine<K, OffHeapValueHolder<V>>> storageEngineFactory = FileBackedStorageEngine.createFactory(source,
-        max((size / diskSegments) / 10, 1024), BYTES, keyPortability, valuePortability, writeWorkers, true);
+    long maxChunkSize = max((size / diskSegments) / 10, 1024);
+    Function<MappedPageSource, HoldingStorageEngine<K, OffHeapValueHolder<V>>> storageEngineFactory = segmentSource ->
+        new HoldingStorageEngine<>(segmentSource, maxChunkSize, BYTES, keyPortability, valuePortability, writeWorkers.newInstance(), bootstrap);
 
-    EhcachePersistentSegmentFactory<K, OffHeapValueHolder<V>> factory = new EhcachePersistentSegmentFactory<>(
+    return new EhcachePersistentSegmentFactory<>(
       source,
       storageEngineFactory,
       64,
       evictionAdvisor,
-      mapEvictionListener, true);
+      mapEvictionListener, bootstrap);
+  }
+
+  private void recoverSegments(SegmentsRecovery bootstrap, int segmentCount, boolean openDuringRecovery) throws IOException {
+    ExecutorService recoveryExecutor = executionService.getUnorderedExecutor(threadPoolAlias, new LinkedBlockingQueue<>());
+    long start = System.nanoTime();
+    CompletableFuture<Void> recovery;
+    try {
+      recovery = bootstrap.recover(recoveryExecutor);
+    } catch (IOException | RuntimeException e) {
+      recoveryExecutor.shutdown();
+      throw e;
+    }
+    recovery = recovery.whenComplete((v, t) -> {
+      recoveryExecutor.shutdown();
+      if (t == null) {
+        logger.debug("Recovered {} segments of data file {} in {}ms", segmentCount, getDataFile().getName(),
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      } else if (openDuringRecovery) {
+        logger.error("Recovery of data file {} failed, the segments that could not be recovered were cleared", getDataFile().getName(), t);
+      }
+    });
+    if (!openDuringRecovery) {
+      try {
+        recovery.join();
+      } catch (CompletionException e) {
+        throw new IOException("Segment recovery failed", e.getCause());
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface SegmentsRecovery {
+    CompletableFuture<Void> recover(Executor executor) throws IOException;
+  }
+
+  private EhcachePersistentConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> createBackingMap(long size, Serializer<K> keySerializer, Serializer<V> valueSerializer, SwitchableEvictionAdvisor<K, OffHeapValueHolder<V>> evictionAdvisor) throws IOException {
+    File metadataFile = getMetadataFile();
+    try (FileOutputStream fos = new FileOutputStream(metadataFile)) {
+      Properties properties = new Properties();
+      properties.put(KEY_TYPE_PROPERTY_NAME, keyType.getName());
+      properties.put(VALUE_TYPE_PROPERTY_NAME, valueType.getName());
+      properties.store(fos, "Key and value types");
+    }
+
+    Files.deleteIfExists(getCheckpointFile().toPath());
+    MappedPageSource source = createPageSource(true, size);
+    EhcachePersistentSegmentFactory<K, OffHeapValueHolder<V>> factory = createSegmentFactory(source, size, keySerializer, valueSerializer, evictionAdvisor, true);
     return new EhcachePersistentConcurrentOffHeapClockCache<>(evictionAdvisor, factory, diskSegments);
 
   }
 
+  private void startCheckpointing() throws IOException {
+    if (checkpointInterval == null) {
+      // a checkpoint left by a previous run would go stale without being updated
+      Files.deleteIfExists(getCheckpointFile().toPath());
+    } else {
+      SegmentCheckpointer localCheckpointer = new SegmentCheckpointer(map, SegmentCheckpointLog.open(getCheckpointFile(), map.segmentCount()), checkpointMaxBytes);
+      localCheckpointer.start(executionService.getScheduledExecutor(threadPoolAlias), checkpointInterval);
+      checkpointer = localCheckpointer;
+    }
+  }
+
+  private void startCompaction() {
+    if (compactionInterval != null) {
+      SegmentCompactor localCompactor = new SegmentCompactor(map, compactionMaxBytes);
+      localCompactor.start(executionService.getScheduledExecutor(threadPoolAlias), compactionInterval);
+      compactor = localCompactor;
+    }
+  }
+
+  private void stopCompaction() {
+    SegmentCompactor localCompactor = compactor;
+    if (localCompactor != null) {
+      compactor = null;
+      localCompactor.close();
+    }
+  }
+
+  private void stopCheckpointing() throws IOException {
+    SegmentCheckpointer localCheckpointer = checkpointer;
+    if (localCheckpointer != null) {
+      checkpointer = null;
+      localCheckpointer.close();
+    }
+  }
+
   @Override
   protected EhcacheOffHeapBackingMap<K, OffHeapValueHolder<V>> backingMap() {
     return map;
@@ -290,6 +581,10 @@ public class OffHeapDiskStore<K, V> extends AbstractOffHeapStore<K, V> implement
     return new File(fileBasedPersistenceContext.getDirectory(), "ehcache-disk-store.meta");
   }
 
+  private File getCheckpointFile() {
+    return new File(fileBasedPersistenceContext.getDirectory(), "ehcache-disk-store.checkpoint");
+  }
+
   @ServiceDependencies({TimeSourceService.class, SerializationProvider.class, ExecutionService.class, DiskResourceService.class})
   public static class Provider extends BaseStoreProvider implements AuthoritativeTier.Provider, ElementalProvider {
 
@@ -348,16 +643,43 @@ public class OffHeapDiskStore<K, V> extends AbstractOffHeapStore<K, V> implement
 
       String threadPoolAlias;
       int writerConcurrency;
+      int writeQueueSize;
       int diskSegments;
+      CompressionCodec compressionCodec;
+      int compressionThreshold;
+      boolean openDuringRecovery;
+      Duration checkpointInterval;
+      long checkpointMaxBytes;
+      Duration compactionInterval;
+      long compactionMaxBytes;
+      DiskAccess diskAccess;
       OffHeapDiskStoreConfiguration config = findSingletonAmongst(OffHeapDiskStoreConfiguration.class, (Object[]) serviceConfigs);
       if (config == null) {
         threadPoolAlias = defaultThreadPool;
         writerConcurrency = OffHeapDiskStoreConfiguration.DEFAULT_WRITER_CONCURRENCY;
+        writeQueueSize = OffHeapDiskStoreConfiguration.DEFAULT_WRITE_QUEUE_SIZE;
         diskSegments = OffHeapDiskStoreConfiguration.DEFAULT_DISK_SEGMENTS;
+        compressionCodec = null;
+        compressionThreshold = OffHeapDiskStoreConfiguration.DEFAULT_COMPRESSION_THRESHOLD;
+        openDuringRecovery = false;
+        checkpointInterval = null;
+        checkpointMaxBytes = Long.MAX_VALUE;
+        compactionInterval = null;
+        compactionMaxBytes = Long.MAX_VALUE;
+        diskAccess = DiskAccess.MEMORY_MAPPED;
       } else {
         threadPoolAlias = config.getThreadPoolAlias();
         writerConcurrency = config.getWriterConcurrency();
+        writeQueueSize = config.getWriteQueueSize();
         diskSegments = config.getDiskSegments();
+        compressionCodec = config.getCompressionCodec();
+        compressionThreshold = config.getCompressionThreshold();
+        openDuringRecovery = config.isOpenDuringRecovery();
+        checkpointInterval = config.getCheckpointInterval();
+        checkpointMaxBytes = config.getCheckpointMaxBytes();
+        compactionInterval = config.getCompactionInterval();
+        compactionMaxBytes = config.getCompactionMaxBytes();
+        diskAccess = config.getDiskAccess();
       }
       PersistenceSpaceIdentifier<?> space = findSingletonAmongst(PersistenceSpaceIdentifier.class, (Object[]) serviceConfigs);
       if (space == null) {
@@ -367,8 +689,8 @@ public class OffHeapDiskStore<K, V> extends AbstractOffHeapStore<K, V> implement
         FileBasedPersistenceContext persistenceContext = diskPersistenceService.createPersistenceContextWithin(space , "offheap-disk-store");
 
         OffHeapDiskStore<K, V> offHeapStore = new OffHeapDiskStore<>(persistenceContext,
-          executionService, threadPoolAlias, writerConcurrency, diskSegments,
-          storeConfig, timeSource, eventDispatcher, unit.toBytes(diskPool.getSize()), getServiceProvider().getService(StatisticsService.class));
+          executionService, threadPoolAlias, writerConcurrency, writeQueueSize, diskSegments, compressionCodec, compressionThreshold, openDuringRecovery,
+          checkpointInterval, checkpointMaxBytes, compactionInterval, compactionMaxBytes, diskAccess, storeConfig, timeSource, eventDispatcher, unit.toBytes(diskPool.getSize()), getServiceProvider().getService(StatisticsService.class));
         createdStores.put(offHeapStore, space);
         return offHeapStore;
       } catch (CachePersistenceException cpex) {
@@ -394,12 +716,26 @@ public class OffHeapDiskStore<K, V> extends AbstractOffHeapStore<K, V> implement
     static <K, V> void close(final OffHeapDiskStore<K, V> resource) throws IOException {
       EhcachePersistentConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> localMap = resource.map;
       if (localMap != null) {
+        resource.stopCompaction();
+        resource.stopCheckpointing();
         resource.map = null;
+        try {
+          localMap.awaitRecovery();
+        } catch (CompletionException e) {
+          // A partially recovered map must not be persisted: drop the index so the next start begins empty
+          localMap.close();
+          if (!resource.getIndexFile().delete()) {
+            resource.logger.warn("Unable to delete index file {} of partially recovered store", resource.getIndexFile().getAbsolutePath());
+          }
+          Files.deleteIfExists(resource.getCheckpointFile().toPath());
+          return;
+        }
         localMap.flush();
         try (ObjectOutputStream output = new ObjectOutputStream(new FileOutputStream(resource.getIndexFile()))) {
           output.writeLong(System.currentTimeMillis());
-          localMap.persist(output);
+          localMap.persistSegments(output);
         }
+        Files.deleteIfExists(resource.getCheckpointFile().toPath());
         localMap.close();
       }
     }
@@ -415,6 +751,12 @@ public class OffHeapDiskStore<K, V> extends AbstractOffHeapStore<K, V> implement
 
     static <K, V> void init(final OffHeapDiskStore<K, V> resource) {
       resource.map = resource.getBackingMap(resource.sizeInBytes, resource.keySerializer, resource.valueSerializer, resource.evictionAdvisor);
+      try {
+        resource.startCheckpointing();
+        resource.startCompaction();
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
     }
 
     @Override
@@ -496,4 +838,12 @@ public class OffHeapDiskStore<K, V> extends AbstractOffHeapStore<K, V> implement
   int getDiskSegments() {
     return diskSegments;
   }
+
+  DiskAccess getDiskAccess() {
+    return diskAccess;
+  }
+
+  SegmentCheckpointer getCheckpointer() {
+    return checkpointer;
+  }
 }
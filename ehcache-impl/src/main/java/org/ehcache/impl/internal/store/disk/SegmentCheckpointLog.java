@@ -0,0 +1,262 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ehcache.impl.internal.store.disk;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append only log of the segment checkpoints of a persistent disk store.
+ * <p>
+ * Every record holds a checkpoint of a single segment with its sequence, and is protected by a checksum. Reading the
+ * log keeps the latest intact record of each segment and stops at the first torn or corrupt record, as left by a crash
+ * in the middle of an append. An invalidation record discards the checkpoints of its segment appended before it, and
+ * those appended after it with a sequence up to its own: a segment that released storage its checkpoints reference
+ * cannot be recovered until it is checkpointed again. The log is compacted once its obsolete records outweigh the
+ * live ones.
+ */
+class SegmentCheckpointLog implements Closeable {
+
+  private static final int MAGIC = 0xECC4EC71;
+  private static final int HEADER_SIZE = 2 * Integer.BYTES;
+  private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES + 2 * Long.BYTES;
+  private static final int INVALIDATION = -1;
+
+  private final File file;
+  private final long[] liveBytes;
+
+  private FileChannel channel;
+  private long size;
+  private long lastSequence;
+
+  private SegmentCheckpointLog(File file, int segmentCount) {
+    this.file = file;
+    this.liveBytes = new long[segmentCount];
+  }
+
+  /**
+   * Opens the log in {@code file} for appending, keeping its records if it was written for the same number of segments.
+   *
+   * @param file the log file
+   * @param segmentCount the number of segments of the store
+   * @return the opened log
+   * @throws IOException if the log cannot be opened
+   */
+  static SegmentCheckpointLog open(File file, int segmentCount) throws IOException {
+    Record[] records = new Record[segmentCount];
+    if (file.isFile()) {
+      try {
+        Record[] existing = readRecords(file);
+        if (existing.length == segmentCount) {
+          records = existing;
+        }
+      } catch (IOException e) {
+        // an unreadable log is replaced by an empty one
+      }
+    }
+    SegmentCheckpointLog log = new SegmentCheckpointLog(file, segmentCount);
+    log.rewrite(records);
+    return log;
+  }
+
+  /**
+   * Reads the latest valid record of each segment.
+   *
+   * @param file the log file
+   * @return the segment checkpoints, {@code null} for the segments without a valid checkpoint
+   * @throws IOException if the log header is missing or invalid
+   */
+  static byte[][] read(File file) throws IOException {
+    Record[] records = readRecords(file);
+    byte[][] blocks = new byte[records.length][];
+    for (int i = 0; i < records.length; i++) {
+      blocks[i] = records[i] == null ? null : records[i].block;
+    }
+    return blocks;
+  }
+
+  private static Record[] readRecords(File file) throws IOException {
+    try (FileChannel in = FileChannel.open(file.toPath(), READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      if (!readFully(in, header) || header.getInt(0) != MAGIC) {
+        throw new IOException("Invalid checkpoint log header in " + file.getAbsolutePath());
+      }
+      Record[] records = new Record[header.getInt(Integer.BYTES)];
+      long[] invalidated = new long[records.length];
+      ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+      while (true) {
+        recordHeader.clear();
+        if (!readFully(in, recordHeader)) {
+          return records;
+        }
+        int segment = recordHeader.getInt(0);
+        int length = recordHeader.getInt(Integer.BYTES);
+        long sequence = recordHeader.getLong(2 * Integer.BYTES);
+        if (segment < 0 || segment >= records.length || length < INVALIDATION || length > in.size() - in.position()) {
+          return records;
+        }
+        ByteBuffer block = ByteBuffer.allocate(Math.max(length, 0));
+        if (!readFully(in, block) || checksum(segment, length, sequence, block.array()) != recordHeader.getLong(2 * Integer.BYTES + Long.BYTES)) {
+          return records;
+        }
+        if (length == INVALIDATION) {
+          records[segment] = null;
+          invalidated[segment] = Math.max(invalidated[segment], sequence);
+        } else if (sequence > invalidated[segment]) {
+          records[segment] = new Record(sequence, block.array());
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the greatest sequence appended to this log, so that the next checkpoints follow it.
+   *
+   * @return the last sequence
+   */
+  synchronized long lastSequence() {
+    return lastSequence;
+  }
+
+  /**
+   * Appends the checkpoint of a segment, the record is only durable once {@link #sync()} returns.
+   *
+   * @param segment the segment index
+   * @param sequence the checkpoint sequence
+   * @param block the checkpoint
+   * @throws IOException if the record cannot be written
+   */
+  synchronized void append(int segment, long sequence, byte[] block) throws IOException {
+    write(segment, block.length, sequence, block);
+    liveBytes[segment] = RECORD_HEADER_SIZE + block.length;
+  }
+
+  /**
+   * Durably invalidates the checkpoints of a segment, up to the given sequence for those not appended yet.
+   *
+   * @param segment the segment index
+   * @param sequence the sequence of the last checkpoint taken of the segment
+   * @throws IOException if the record cannot be written or synced
+   */
+  synchronized void invalidate(int segment, long sequence) throws IOException {
+    write(segment, INVALIDATION, sequence, new byte[0]);
+    liveBytes[segment] = 0;
+    channel.force(false);
+  }
+
+  private void write(int segment, int length, long sequence, byte[] block) throws IOException {
+    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + block.length);
+    record.putInt(segment).putInt(length).putLong(sequence).putLong(checksum(segment, length, sequence, block)).put(block).flip();
+    try {
+      while (record.hasRemaining()) {
+        channel.write(record);
+      }
+    } catch (IOException e) {
+      // a partial record would hide all the records appended after it
+      channel.truncate(size);
+      throw e;
+    }
+    size += RECORD_HEADER_SIZE + block.length;
+    lastSequence = Math.max(lastSequence, sequence);
+  }
+
+  /**
+   * Forces the appended records to disk, and compacts the log if more than half of it is obsolete.
+   *
+   * @throws IOException if the log cannot be synced or compacted
+   */
+  synchronized void sync() throws IOException {
+    channel.force(false);
+    long live = HEADER_SIZE;
+    for (long bytes : liveBytes) {
+      live += bytes;
+    }
+    if (size > 2 * live) {
+      channel.close();
+      rewrite(readRecords(file));
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    channel.close();
+  }
+
+  private void rewrite(Record[] records) throws IOException {
+    File compacted = new File(file.getParentFile(), file.getName() + ".tmp");
+    size = 0;
+    channel = FileChannel.open(compacted.toPath(), CREATE, WRITE, TRUNCATE_EXISTING);
+    try {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      header.putInt(MAGIC).putInt(records.length).flip();
+      while (header.hasRemaining()) {
+        channel.write(header);
+      }
+      size = HEADER_SIZE;
+      for (int i = 0; i < records.length; i++) {
+        liveBytes[i] = 0;
+        if (records[i] != null) {
+          append(i, records[i].sequence, records[i].block);
+        }
+      }
+      channel.force(false);
+    } finally {
+      channel.close();
+    }
+    Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    channel = FileChannel.open(file.toPath(), WRITE);
+    channel.position(size);
+  }
+
+  private static boolean readFully(FileChannel in, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (in.read(buffer) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long checksum(int segment, int length, long sequence, byte[] block) {
+    CRC32 crc = new CRC32();
+    crc.update(ByteBuffer.allocate(2 * Integer.BYTES + Long.BYTES).putInt(segment).putInt(length).putLong(sequence).array());
+    crc.update(block);
+    return crc.getValue();
+  }
+
+  private static final class Record {
+
+    private final long sequence;
+    private final byte[] block;
+
+    Record(long sequence, byte[] block) {
+      this.sequence = sequence;
+      this.block = block;
+    }
+  }
+}
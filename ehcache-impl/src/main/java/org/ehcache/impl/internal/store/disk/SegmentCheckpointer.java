@@ -0,0 +1,127 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ehcache.impl.internal.store.disk;
+
+import org.ehcache.core.EhcachePrefixLoggerFactory;
+import org.ehcache.impl.internal.store.disk.factories.EhcachePersistentSegmentFactory.EhcachePersistentSegment.Checkpoint;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Periodically records the dirty segments of a persistent disk store in its {@link SegmentCheckpointLog}.
+ * <p>
+ * Each round visits the segments in a round robin fashion, and stops once it wrote {@code maxBytes}: the segments left
+ * over are checkpointed first by the next round. A segment is only locked while it is copied, its storage engine is
+ * flushed and its checkpoint written after the lock is released. The storage the segments free meanwhile is held back
+ * until the round is synced.
+ */
+class SegmentCheckpointer extends SegmentScheduler {
+
+  private final Logger logger = EhcachePrefixLoggerFactory.getLogger(SegmentCheckpointer.class);
+
+  private final SegmentCheckpointLog log;
+  private final Map<Integer, Checkpoint> checkpoints = new LinkedHashMap<>();
+
+  private long sequence;
+
+  SegmentCheckpointer(EhcachePersistentConcurrentOffHeapClockCache<?, ?> map, SegmentCheckpointLog log, long maxBytes) {
+    super(map, "Checkpoint", maxBytes);
+    this.log = log;
+    this.sequence = log.lastSequence();
+  }
+
+  @Override
+  synchronized void start(ScheduledExecutorService scheduler, Duration interval) {
+    map.enableCheckpoints(this);
+    super.start(scheduler, interval);
+  }
+
+  /**
+   * Checkpoints dirty segments until {@code maxBytes} are written or all segments were visited.
+   *
+   * @return the number of bytes written
+   * @throws IOException if the log cannot be written
+   */
+  synchronized long checkpoint() throws IOException {
+    return round();
+  }
+
+  @Override
+  long visit(int index, long maxBytes) throws IOException {
+    if (map.isDirty(index)) {
+      Checkpoint checkpoint = map.checkpointSegment(index, ++sequence);
+      checkpoints.put(index, checkpoint);
+      byte[] block = checkpoint.toByteArray();
+      log.append(index, checkpoint.sequence(), block);
+      return block.length;
+    } else {
+      return 0;
+    }
+  }
+
+  @Override
+  void completed() throws IOException {
+    if (!checkpoints.isEmpty()) {
+      log.sync();
+      checkpoints.forEach(map::checkpointed);
+      checkpoints.clear();
+    }
+  }
+
+  @Override
+  void failed() {
+    checkpoints.keySet().forEach(map::invalidateCheckpoint);
+    checkpoints.clear();
+  }
+
+  /**
+   * Durably invalidates the checkpoints of a segment that must release the storage they reference.
+   *
+   * @param index the segment index
+   * @param sequence the sequence of the last checkpoint taken of the segment
+   * @return {@code true} if the checkpoints are invalidated
+   */
+  boolean invalidate(int index, long sequence) {
+    try {
+      log.invalidate(index, sequence);
+      return true;
+    } catch (IOException e) {
+      logger.warn("Invalidation of the checkpoint of disk store segment {} failed", index, e);
+      return false;
+    }
+  }
+
+  /**
+   * Stops checkpointing, waiting for a running checkpoint to complete, closes the log and releases the storage held
+   * back for checkpoints.
+   *
+   * @throws IOException if the log cannot be closed
+   */
+  synchronized void close() throws IOException {
+    stop();
+    try {
+      log.close();
+    } finally {
+      map.disableCheckpoints();
+    }
+  }
+}
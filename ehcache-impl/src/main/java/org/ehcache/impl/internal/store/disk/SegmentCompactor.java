@@ -0,0 +1,64 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ehcache.impl.internal.store.disk;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Periodically compacts the fragmented segments of a disk store.
+ * <p>
+ * Each round visits the segments in a round robin fashion, compacts those of which at least
+ * {@value #FRAGMENTATION_THRESHOLD} of the data storage is free, and stops once it moved {@code maxBytes}: the
+ * segments left over are visited first by the next round.
+ */
+class SegmentCompactor extends SegmentScheduler {
+
+  static final double FRAGMENTATION_THRESHOLD = 0.25;
+
+  private final LongAdder compactedBytes = new LongAdder();
+
+  SegmentCompactor(EhcachePersistentConcurrentOffHeapClockCache<?, ?> map, long maxBytes) {
+    super(map, "Compaction", maxBytes);
+  }
+
+  @Override
+  long visit(int index, long maxBytes) {
+    if (map.fragmentation(index) >= FRAGMENTATION_THRESHOLD) {
+      long moved = map.compactSegment(index, maxBytes);
+      compactedBytes.add(moved);
+      return moved;
+    } else {
+      return 0;
+    }
+  }
+
+  /**
+   * Returns the number of bytes moved by the compactions so far.
+   *
+   * @return the compacted bytes
+   */
+  long getCompactedBytes() {
+    return compactedBytes.sum();
+  }
+
+  /**
+   * Stops compacting, waiting for a running compaction to complete.
+   */
+  void close() {
+    stop();
+  }
+}
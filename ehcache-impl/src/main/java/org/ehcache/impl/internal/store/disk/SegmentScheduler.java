@@ -0,0 +1,132 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ehcache.impl.internal.store.disk;
+
+import org.ehcache.core.EhcachePrefixLoggerFactory;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically runs a background task over the segments of a disk store.
+ * <p>
+ * Each round visits the segments in a round robin fashion, and stops once it processed {@code maxBytes}: the segments
+ * left over are visited first by the next round. Rounds never overlap, and a round in progress is completed before the
+ * scheduler stops.
+ */
+abstract class SegmentScheduler implements Runnable {
+
+  private final Logger logger = EhcachePrefixLoggerFactory.getLogger(getClass());
+
+  protected final EhcachePersistentConcurrentOffHeapClockCache<?, ?> map;
+  private final String activity;
+  private final long maxBytes;
+
+  private ScheduledExecutorService scheduler;
+  private ScheduledFuture<?> task;
+  private int cursor;
+  private boolean closed;
+
+  SegmentScheduler(EhcachePersistentConcurrentOffHeapClockCache<?, ?> map, String activity, long maxBytes) {
+    this.map = map;
+    this.activity = activity;
+    this.maxBytes = maxBytes;
+  }
+
+  synchronized void start(ScheduledExecutorService scheduler, Duration interval) {
+    this.scheduler = scheduler;
+    long delay = interval.toMillis();
+    this.task = scheduler.scheduleWithFixedDelay(this, delay, delay, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public synchronized void run() {
+    if (closed) {
+      return;
+    }
+    try {
+      long processed = round();
+      if (processed > 0) {
+        logger.debug("{} of disk store segments processed {} bytes", activity, processed);
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.warn("{} of disk store segments failed", activity, e);
+    }
+  }
+
+  /**
+   * Visits the segments until {@code maxBytes} are processed or all segments were visited.
+   *
+   * @return the number of bytes processed
+   * @throws IOException if a segment cannot be processed
+   */
+  synchronized long round() throws IOException {
+    int segments = map.segmentCount();
+    long processed = 0;
+    try {
+      for (int visited = 0; visited < segments && processed < maxBytes; visited++) {
+        int index = cursor;
+        cursor = (cursor + 1) % segments;
+        processed += visit(index, maxBytes - processed);
+      }
+      completed();
+    } catch (IOException | RuntimeException e) {
+      failed();
+      throw e;
+    }
+    return processed;
+  }
+
+  /**
+   * Processes a segment.
+   *
+   * @param index the segment index
+   * @param maxBytes the number of bytes left to process in this round
+   * @return the number of bytes processed
+   * @throws IOException if the segment cannot be processed
+   */
+  abstract long visit(int index, long maxBytes) throws IOException;
+
+  /**
+   * Completes a round once all its segments were visited.
+   *
+   * @throws IOException if the round cannot be completed
+   */
+  void completed() throws IOException {
+  }
+
+  /**
+   * Cleans up after a round that failed to visit a segment or to complete.
+   */
+  void failed() {
+  }
+
+  /**
+   * Stops the rounds, waiting for a running round to complete.
+   */
+  synchronized void stop() {
+    closed = true;
+    if (task != null) {
+      task.cancel(false);
+      scheduler.shutdown();
+    }
+  }
+}
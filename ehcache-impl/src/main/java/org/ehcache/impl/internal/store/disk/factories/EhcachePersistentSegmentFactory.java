@@ -18,6 +18,7 @@
 package org.ehcache.impl.internal.store.disk.factories;
 
 import org.ehcache.core.spi.store.Store;
+import org.ehcache.impl.internal.store.disk.ExplicitIoPageSource;
 import org.ehcache.impl.internal.store.offheap.SwitchableEvictionAdvisor;
 import org.ehcache.impl.internal.store.offheap.factories.EhcacheSegmentFactory.EhcacheSegment;
 import org.ehcache.impl.internal.store.offheap.factories.EhcacheSegmentFactory.EhcacheSegment.EvictionListener;
@@ -28,12 +29,28 @@ import org.terracotta.offheapstore.disk.persistent.PersistentStorageEngine;
 import org.terracotta.offheapstore.pinning.PinnableSegment;
 import org.terracotta.offheapstore.util.Factory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
 
+import static org.ehcache.impl.internal.store.disk.factories.HoldingStorageEngine.HEADER_LENGTH;
+import static org.ehcache.impl.internal.store.disk.factories.HoldingStorageEngine.HEADER_OFFSET;
 import static org.ehcache.impl.internal.store.offheap.factories.EhcacheSegmentFactory.EhcacheSegment.ADVISED_AGAINST_EVICTION;
 
 /**
@@ -42,7 +59,8 @@ import static org.ehcache.impl.internal.store.offheap.factories.EhcacheSegmentFa
  */
 public class EhcachePersistentSegmentFactory<K, V> implements Factory<PinnableSegment<K, V>> {
 
-  private final Factory<? extends PersistentStorageEngine<? super K, ? super V>> storageEngineFactory;
+  private final Function<MappedPageSource, ? extends PersistentStorageEngine<? super K, ? super V>> storageEngineFactory;
+  private final boolean segmentSources;
   private final MappedPageSource tableSource;
   private final int tableSize;
 
@@ -52,7 +70,27 @@ public class EhcachePersistentSegmentFactory<K, V> implements Factory<PinnableSe
   private final boolean bootstrap;
 
   public EhcachePersistentSegmentFactory(MappedPageSource source, Factory<? extends PersistentStorageEngine<? super K, ? super V>> storageEngineFactory, int initialTableSize, SwitchableEvictionAdvisor<? super K, ? super V> evictionAdvisor, EhcacheSegment.EvictionListener<K, V> evictionListener, boolean bootstrap) {
+    this(source, s -> storageEngineFactory.newInstance(), false, initialTableSize, evictionAdvisor, evictionListener, bootstrap);
+  }
+
+  /**
+   * Creates a factory of segments that each access the shared page source through their own view, which lets them be
+   * checkpointed when the storage engine is a {@link HoldingStorageEngine}.
+   *
+   * @param source the page source shared by all segments
+   * @param storageEngineFactory creates the storage engine of a segment from the segment view of the page source
+   * @param initialTableSize the initial table size of a segment
+   * @param evictionAdvisor the eviction advisor
+   * @param evictionListener the eviction listener
+   * @param bootstrap {@code false} if the segments are bootstrapped from a persisted state
+   */
+  public EhcachePersistentSegmentFactory(MappedPageSource source, Function<MappedPageSource, ? extends PersistentStorageEngine<? super K, ? super V>> storageEngineFactory, int initialTableSize, SwitchableEvictionAdvisor<? super K, ? super V> evictionAdvisor, EhcacheSegment.EvictionListener<K, V> evictionListener, boolean bootstrap) {
+    this(source, storageEngineFactory, true, initialTableSize, evictionAdvisor, evictionListener, bootstrap);
+  }
+
+  private EhcachePersistentSegmentFactory(MappedPageSource source, Function<MappedPageSource, ? extends PersistentStorageEngine<? super K, ? super V>> storageEngineFactory, boolean segmentSources, int initialTableSize, SwitchableEvictionAdvisor<? super K, ? super V> evictionAdvisor, EhcacheSegment.EvictionListener<K, V> evictionListener, boolean bootstrap) {
     this.storageEngineFactory = storageEngineFactory;
+    this.segmentSources = segmentSources;
     this.tableSource = source;
     this.tableSize = initialTableSize;
     this.evictionAdvisor = evictionAdvisor;
@@ -61,9 +99,28 @@ public class EhcachePersistentSegmentFactory<K, V> implements Factory<PinnableSe
   }
 
   public EhcachePersistentSegment<K, V> newInstance() {
-    PersistentStorageEngine<? super K, ? super V> storageEngine = storageEngineFactory.newInstance();
+    return newInstance(bootstrap);
+  }
+
+  /**
+   * Creates an empty segment, even when the segments of this factory are bootstrapped from a persisted state.
+   *
+   * @return an empty segment
+   */
+  public EhcachePersistentSegment<K, V> newEmptyInstance() {
+    return newInstance(true);
+  }
+
+  private EhcachePersistentSegment<K, V> newInstance(boolean bootstrap) {
+    MappedPageSource source;
     try {
-      return new EhcachePersistentSegment<>(tableSource, storageEngine, tableSize, bootstrap, evictionAdvisor, evictionListener);
+      source = segmentSources ? new SegmentPageSource(tableSource) : tableSource;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    PersistentStorageEngine<? super K, ? super V> storageEngine = storageEngineFactory.apply(source);
+    try {
+      return new EhcachePersistentSegment<>(source, storageEngine, tableSize, bootstrap, evictionAdvisor, evictionListener);
     } catch (RuntimeException e) {
       storageEngine.destroy();
       throw e;
@@ -72,13 +129,24 @@ public class EhcachePersistentSegmentFactory<K, V> implements Factory<PinnableSe
 
   public static class EhcachePersistentSegment<K, V> extends PersistentReadWriteLockedOffHeapClockCache<K, V> {
 
+    static final int COMPACTION_BATCH = 64;
+
     private final SwitchableEvictionAdvisor<? super K, ? super V> evictionAdvisor;
     private final EvictionListener<K, V> evictionListener;
 
+    private final MappedPageSource source;
+    private final SegmentPageSource segmentSource;
+    private final HoldingStorageEngine<? super K, ? super V> holdingEngine;
+    private volatile LongPredicate invalidation;
+    private long checkpointSequence;
+
     EhcachePersistentSegment(MappedPageSource source, PersistentStorageEngine<? super K, ? super V> storageEngine, int tableSize, boolean bootstrap, SwitchableEvictionAdvisor<? super K, ? super V> evictionAdvisor, EvictionListener<K, V> evictionListener) {
       super(source, storageEngine, tableSize, bootstrap);
       this.evictionAdvisor = evictionAdvisor;
       this.evictionListener = evictionListener;
+      this.source = source;
+      this.segmentSource = source instanceof SegmentPageSource ? (SegmentPageSource) source : null;
+      this.holdingEngine = storageEngine instanceof HoldingStorageEngine ? (HoldingStorageEngine<? super K, ? super V>) storageEngine : null;
     }
 
     @Override
@@ -97,6 +165,293 @@ public class EhcachePersistentSegmentFactory<K, V> implements Factory<PinnableSe
       return put(key, value, metadata);
     }
 
+    /**
+     * Moves the live mappings of this segment into the free blocks at lower addresses of its storage, then releases
+     * the storage left unused.
+     * <p>
+     * The hash table is walked in batches of {@value #COMPACTION_BATCH} slots, the segment is only write locked while a
+     * batch is processed. A mapping is only moved when a lower free block fits it: nothing is evicted, and the storage
+     * never grows. The blocks mappings move from are freed like removed mappings, so they stay held back while
+     * checkpoints reference them.
+     *
+     * @param maxBytes the number of bytes after which the compaction stops
+     * @return the number of bytes of data moved
+     * @throws UnsupportedOperationException if the segment storage cannot relocate mappings
+     */
+    public long compact(long maxBytes) {
+      if (holdingEngine == null) {
+        throw new UnsupportedOperationException("Segment storage cannot relocate mappings");
+      }
+      long moved = 0;
+      for (int batch = 0; moved < maxBytes; batch += COMPACTION_BATCH) {
+        Lock lock = writeLock();
+        lock.lock();
+        try {
+          // the table may have been resized or rehashed since the previous batch, its slots are read again
+          IntBuffer table = hashtable;
+          int slots = table.capacity() / ENTRY_SIZE;
+          if (batch >= slots) {
+            break;
+          }
+          for (int slot = batch; slot < Math.min(batch + COMPACTION_BATCH, slots) && moved < maxBytes; slot++) {
+            IntBuffer entry = ((IntBuffer) table.duplicate().position(slot * ENTRY_SIZE)).slice();
+            if (isPresent(entry)) {
+              moved += holdingEngine.relocate(readLong(entry, ENCODING));
+            }
+          }
+        } finally {
+          lock.unlock();
+        }
+      }
+      shrink();
+      return moved;
+    }
+
+    /**
+     * Flushes this segment, writing first its hash table when it is not memory mapped.
+     *
+     * @throws IOException if the segment cannot be flushed
+     */
+    @Override
+    public void flush() throws IOException {
+      Lock lock = writeLock();
+      lock.lock();
+      try {
+        MappedPageSource fileSource = segmentSource == null ? source : segmentSource.source();
+        if (fileSource instanceof ExplicitIoPageSource && hashTablePage != null) {
+          ((ExplicitIoPageSource) fileSource).write(hashTablePage);
+        }
+        super.flush();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Starts checkpointing this segment.
+     * <p>
+     * The storage freed by this segment is held back from reuse until a later checkpoint is durable, so that the data a
+     * recoverable checkpoint references is never overwritten. Should the segment run out of storage meanwhile, the
+     * {@code invalidation} is asked to durably invalidate its checkpoints taken so far, after which the held storage is
+     * released.
+     *
+     * @param invalidation invalidates the checkpoints up to the given sequence, returns {@code false} on failure
+     * @throws UnsupportedOperationException if the segment storage cannot be held back
+     */
+    public void enableCheckpoints(LongPredicate invalidation) {
+      if (segmentSource == null || holdingEngine == null) {
+        throw new UnsupportedOperationException("Segment storage cannot be held back for checkpoints");
+      }
+      if (!HoldingStorageEngine.HEADER_LAYOUT_SUPPORTED) {
+        throw new UnsupportedOperationException("Mapping headers of the storage engine are not laid out as checkpoints expect");
+      }
+      // a checkpoint recovered on startup is still the latest one
+      holdingEngine.frees().start();
+      segmentSource.frees().start();
+      this.invalidation = invalidation;
+    }
+
+    /**
+     * Stops checkpointing this segment, and releases the storage held back.
+     */
+    public void disableCheckpoints() {
+      Lock lock = writeLock();
+      lock.lock();
+      try {
+        invalidation = null;
+        if (holdingEngine != null) {
+          holdingEngine.frees().releaseAll();
+        }
+        if (segmentSource != null) {
+          segmentSource.frees().releaseAll();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Takes a checkpoint of this segment.
+     * <p>
+     * The segment is write locked while its hash table and its persisted state are copied, no I/O happens then. The
+     * checkpoint is only consistent on disk once the storage engine is {@link #flushStorage(Checkpoint) flushed}.
+     *
+     * @param sequence the sequence of the checkpoint, greater than the sequence of all previous checkpoints
+     * @return the checkpoint
+     * @throws IOException if the segment cannot be persisted
+     */
+    public Checkpoint checkpoint(long sequence) throws IOException {
+      Lock lock = writeLock();
+      lock.lock();
+      try {
+        if (invalidation == null) {
+          throw new IllegalStateException("Checkpoints are not enabled");
+        }
+        ByteBuffer table = hashTablePage.asByteBuffer().duplicate();
+        table.clear();
+        byte[] tableImage = new byte[table.remaining()];
+        table.get(tableImage);
+        ByteArrayOutputStream state = new ByteArrayOutputStream();
+        try (ObjectOutputStream stateOutput = new ObjectOutputStream(state)) {
+          persist(stateOutput);
+        }
+        List<Long> heldMappings = holdingEngine.frees().capture();
+        long[] heldPositions = new long[heldMappings.size()];
+        for (int i = 0; i < heldPositions.length; i++) {
+          heldPositions[i] = holdingEngine.filePosition(heldMappings.get(i));
+        }
+        segmentSource.frees().capture();
+        checkpointSequence = sequence;
+        return new Checkpoint(sequence, source.getAddress(hashTablePage), tableImage, heldMappings, heldPositions, state.toByteArray());
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Writes the pending mappings of the storage engine to disk, without locking the segment, then reads back the
+     * headers of the mappings the checkpoint holds.
+     * <p>
+     * The storage engine reads the length of a mapping from its header on disk to free it. A held mapping is released
+     * once the checkpoint is durable, after which its header can be overwritten while the checkpoint is still the one
+     * to recover from: the checkpoint keeps a copy of the header to write back before freeing the mapping.
+     *
+     * @param checkpoint the checkpoint just taken
+     * @throws IOException if the storage engine cannot be flushed
+     */
+    public void flushStorage(Checkpoint checkpoint) throws IOException {
+      ((PersistentStorageEngine<?, ?>) storageEngine).flush();
+      try (FileChannel channel = source.getReadableChannel()) {
+        for (int i = 0; i < checkpoint.heldHeaders.length; i++) {
+          checkpoint.heldHeaders[i] = readFully(channel, ByteBuffer.allocate(HEADER_LENGTH), checkpoint.heldPositions[i] + HEADER_OFFSET).getLong(0);
+        }
+      }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, position + buffer.position()) < 0) {
+          throw new EOFException("Mapping header at " + position + " is beyond the end of the data file");
+        }
+      }
+      return buffer;
+    }
+
+    /**
+     * Releases the storage held back for the checkpoints that preceded the given one, now durable.
+     *
+     * @param checkpoint the durable checkpoint
+     */
+    public void checkpointed(Checkpoint checkpoint) {
+      Lock lock = writeLock();
+      lock.lock();
+      try {
+        if (invalidation != null && checkpointSequence == checkpoint.sequence) {
+          holdingEngine.frees().releaseCaptured();
+          segmentSource.frees().releaseCaptured();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Releases the storage of this segment after it failed to bootstrap, possibly before it claimed its hash table.
+     */
+    public void discard() {
+      Lock lock = writeLock();
+      lock.lock();
+      try {
+        if (hashTablePage == null) {
+          storageEngine.destroy();
+        } else {
+          destroy();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Bootstraps this segment from a checkpoint, as written by {@link Checkpoint#toByteArray()}.
+     * <p>
+     * The hash table image and the headers of the mappings the checkpoint held are written back to the data file first,
+     * then these mappings are freed. A checkpoint whose mapping headers are not laid out as the storage engine lays them
+     * out is rejected before anything is written.
+     *
+     * @param checkpoint the checkpoint
+     * @throws IOException if the segment cannot be bootstrapped
+     */
+    public void restore(byte[] checkpoint) throws IOException {
+      DataInputStream input = new DataInputStream(new ByteArrayInputStream(checkpoint));
+      int headerOffset = input.readInt();
+      int headerLength = input.readInt();
+      if (!HoldingStorageEngine.HEADER_LAYOUT_SUPPORTED || headerOffset != HEADER_OFFSET || headerLength != HEADER_LENGTH) {
+        throw new IOException("Checkpoint mapping headers of " + headerLength + " bytes at offset " + headerOffset
+                              + " do not match the layout of the storage engine");
+      }
+      long tableAddress = input.readLong();
+      ByteBuffer tableImage = ByteBuffer.allocate(input.readInt());
+      input.readFully(tableImage.array());
+      long[] heldMappings = new long[input.readInt()];
+      ByteBuffer heldHeader = ByteBuffer.allocate(HEADER_LENGTH);
+      try (FileChannel channel = source.getWritableChannel()) {
+        while (tableImage.hasRemaining()) {
+          channel.write(tableImage, tableAddress + tableImage.position());
+        }
+        for (int i = 0; i < heldMappings.length; i++) {
+          heldMappings[i] = input.readLong();
+          long position = input.readLong() + HEADER_OFFSET;
+          heldHeader.clear();
+          heldHeader.putLong(0, input.readLong());
+          while (heldHeader.hasRemaining()) {
+            channel.write(heldHeader, position + heldHeader.position());
+          }
+        }
+      }
+      bootstrap(new ObjectInputStream(input));
+      Lock lock = writeLock();
+      lock.lock();
+      try {
+        for (long address : heldMappings) {
+          holdingEngine.free(address);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Releases the storage held back for checkpoints, once they are durably invalidated.
+     *
+     * @return {@code true} if storage was released
+     */
+    private boolean releaseHeldStorage() {
+      if (invalidation == null || (holdingEngine.frees().isEmpty() && segmentSource.frees().isEmpty())) {
+        return false;
+      } else if (invalidation.test(checkpointSequence)) {
+        // the frees are held again from the next checkpoint on
+        boolean released = holdingEngine.frees().releaseAll();
+        return segmentSource.frees().releaseAll() || released;
+      } else {
+        return false;
+      }
+    }
+
+    @Override
+    protected void storageEngineFailure(Object keyObject) {
+      if (!releaseHeldStorage()) {
+        super.storageEngineFailure(keyObject);
+      }
+    }
+
+    @Override
+    protected void tableExpansionFailure(int start, int length) {
+      if (!releaseHeldStorage()) {
+        super.tableExpansionFailure(start, length);
+      }
+    }
+
     @Override
     protected boolean evictable(int status) {
       return super.evictable(status) && (((status & ADVISED_AGAINST_EVICTION) == 0) || !evictionAdvisor.isSwitchedOn());
@@ -118,6 +473,60 @@ public class EhcachePersistentSegmentFactory<K, V> implements Factory<PinnableSe
       }
     }
 
+    /**
+     * A consistent copy of a segment: its hash table image, the mappings it holds back and its persisted state.
+     */
+    public static final class Checkpoint {
+
+      private final long sequence;
+      private final long tableAddress;
+      private final byte[] tableImage;
+      private final List<Long> heldMappings;
+      private final long[] heldPositions;
+      private final long[] heldHeaders;
+      private final byte[] state;
+
+      Checkpoint(long sequence, long tableAddress, byte[] tableImage, List<Long> heldMappings, long[] heldPositions, byte[] state) {
+        this.sequence = sequence;
+        this.tableAddress = tableAddress;
+        this.tableImage = tableImage;
+        this.heldMappings = heldMappings;
+        this.heldPositions = heldPositions;
+        this.heldHeaders = new long[heldPositions.length];
+        this.state = state;
+      }
+
+      public long sequence() {
+        return sequence;
+      }
+
+      /**
+       * Serializes this checkpoint in a block that {@link EhcachePersistentSegment#restore(byte[])} accepts.
+       *
+       * @return the serialized checkpoint
+       */
+      public byte[] toByteArray() {
+        ByteArrayOutputStream block = new ByteArrayOutputStream(Long.BYTES + 4 * Integer.BYTES + tableImage.length + heldMappings.size() * 3 * Long.BYTES + state.length);
+        try (DataOutputStream output = new DataOutputStream(block)) {
+          output.writeInt(HEADER_OFFSET);
+          output.writeInt(HEADER_LENGTH);
+          output.writeLong(tableAddress);
+          output.writeInt(tableImage.length);
+          output.write(tableImage);
+          output.writeInt(heldMappings.size());
+          for (int i = 0; i < heldPositions.length; i++) {
+            output.writeLong(heldMappings.get(i));
+            output.writeLong(heldPositions[i]);
+            output.writeLong(heldHeaders[i]);
+          }
+          output.write(state);
+        } catch (IOException e) {
+          throw new AssertionError(e);
+        }
+        return block.toByteArray();
+      }
+    }
+
     @Override
     protected Set<Entry<K, V>> createEntrySet() {
       return new EntrySet();
@@ -0,0 +1,109 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.disk.factories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Storage freed by a segment but held back from reuse, because the last checkpoint of the segment still references it.
+ * <p>
+ * Frees are held once a checkpoint was taken, captured by the next checkpoint, and released once that checkpoint is
+ * durable: from then on, no checkpoint that can be recovered references them anymore.
+ */
+final class HeldFrees<T> {
+
+  private final Consumer<? super T> release;
+  private final List<T> held = new ArrayList<>();
+  private final List<T> captured = new ArrayList<>();
+  private boolean holding;
+
+  HeldFrees(Consumer<? super T> release) {
+    this.release = release;
+  }
+
+  /**
+   * Holds a free back if a checkpoint may reference it.
+   *
+   * @param free the free to hold
+   * @return {@code true} if the free is held, {@code false} if the caller must perform it
+   */
+  synchronized boolean hold(T free) {
+    if (holding) {
+      held.add(free);
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  /**
+   * Starts holding frees, as a checkpoint may already reference the storage.
+   */
+  synchronized void start() {
+    holding = true;
+  }
+
+  /**
+   * Starts holding frees, and captures those held so far for the checkpoint being taken.
+   *
+   * @return all the frees not released yet, which the checkpoint must perform on recovery
+   */
+  synchronized List<T> capture() {
+    holding = true;
+    captured.addAll(held);
+    held.clear();
+    return new ArrayList<>(captured);
+  }
+
+  /**
+   * Releases the captured frees, once the checkpoint that captured them is durable.
+   */
+  synchronized void releaseCaptured() {
+    captured.forEach(release);
+    captured.clear();
+  }
+
+  /**
+   * Stops holding frees and releases all of them.
+   *
+   * @return {@code true} if any free was released
+   */
+  synchronized boolean releaseAll() {
+    holding = false;
+    boolean released = !held.isEmpty() || !captured.isEmpty();
+    captured.forEach(release);
+    held.forEach(release);
+    captured.clear();
+    held.clear();
+    return released;
+  }
+
+  /**
+   * Forgets all frees, as the storage they belong to was released as a whole.
+   */
+  synchronized void discard() {
+    captured.clear();
+    held.clear();
+  }
+
+  synchronized boolean isEmpty() {
+    return held.isEmpty() && captured.isEmpty();
+  }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.disk.factories;
+
+import org.terracotta.offheapstore.disk.paging.MappedPageSource;
+import org.terracotta.offheapstore.disk.storage.FileBackedStorageEngine;
+import org.terracotta.offheapstore.storage.StorageEngine;
+import org.terracotta.offheapstore.storage.portability.Portability;
+import org.terracotta.offheapstore.util.MemoryUnit;
+
+import java.io.IOException;
+import java.io.ObjectOutput;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * File backed storage engine of a segment that can hold the mappings it frees back from reuse, see {@link HeldFrees}.
+ * <p>
+ * A held mapping keeps its storage allocated, and its pending write if it was not written yet, until it is released.
+ */
+public class HoldingStorageEngine<K, V> extends FileBackedStorageEngine<K, V> {
+
+  /**
+   * Marks the start of a chunk, followed by its file position, base address and capacity, in the persisted state of a
+   * {@link FileBackedStorageEngine}.
+   */
+  private static final int CHUNK_MAGIC = 1313753427;
+
+  /**
+   * Offset and length of the key and value lengths in the header of a mapping on disk.
+   */
+  static final int HEADER_OFFSET = 4;
+  static final int HEADER_LENGTH = 2 * Integer.BYTES;
+
+  /**
+   * Whether {@link FileBackedStorageEngine} lays out the headers of its mappings at {@link #HEADER_OFFSET}, checkpoints
+   * relying on it to save and restore the headers of the mappings they hold.
+   */
+  static final boolean HEADER_LAYOUT_SUPPORTED = headerLayoutSupported();
+
+  private final HeldFrees<Long> frees = new HeldFrees<>(address -> super.free(address));
+  private volatile NavigableMap<Long, Long> chunkPositions = Collections.emptyNavigableMap();
+  private volatile StorageEngine.Owner owner;
+
+  public HoldingStorageEngine(MappedPageSource source, long maxChunkSize, MemoryUnit maxChunkUnit, Portability<? super K> keyPortability, Portability<? super V> valuePortability, ExecutorService writer, boolean bootstrap) {
+    super(source, maxChunkSize, maxChunkUnit, keyPortability, valuePortability, writer, bootstrap);
+  }
+
+  private static boolean headerLayoutSupported() {
+    try {
+      return headerOffset("KEY_LENGTH_OFFSET") == HEADER_OFFSET
+        && headerOffset("VALUE_LENGTH_OFFSET") == HEADER_OFFSET + Integer.BYTES;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return false;
+    }
+  }
+
+  private static int headerOffset(String name) throws ReflectiveOperationException {
+    Field field = FileBackedStorageEngine.class.getDeclaredField(name);
+    field.setAccessible(true);
+    return field.getInt(null);
+  }
+
+  HeldFrees<Long> frees() {
+    return frees;
+  }
+
+  /**
+   * Copies a mapping into a free block at a lower address, without allocating more storage, and points its owner to
+   * the copy. The block the mapping is moved from is freed like any other, so it is held back while checkpoints
+   * reference it.
+   * <p>
+   * The owner must be write locked, so that the mapping cannot be modified meanwhile.
+   *
+   * @param encoding the encoding of the mapping
+   * @return the number of bytes moved, {@code 0} if no lower free block fits the mapping
+   */
+  long relocate(long encoding) {
+    ByteBuffer keyBuffer = readKeyBuffer(encoding);
+    ByteBuffer valueBuffer = readValueBuffer(encoding);
+    int hash = readKeyHash(encoding);
+    long size = keyBuffer.remaining() + valueBuffer.remaining();
+    long allocated = getAllocatedMemory();
+    Long relocated = writeMappingBuffers(keyBuffer, valueBuffer, hash);
+    if (relocated == null) {
+      return 0;
+    } else if (relocated < encoding && getAllocatedMemory() == allocated && owner.updateEncoding(hash, encoding, relocated, ~0L)) {
+      free(encoding);
+      return size;
+    } else {
+      // the copy was never visible, the chunk it may have added is released by the next shrink
+      super.free(relocated);
+      return 0;
+    }
+  }
+
+  @Override
+  public void bind(StorageEngine.Owner owner) {
+    super.bind(owner);
+    this.owner = owner;
+  }
+
+  /**
+   * Persists this engine, recording the file position of each of its chunks along.
+   *
+   * @param output the output
+   * @throws IOException if the engine cannot be persisted
+   */
+  @Override
+  public void persist(ObjectOutput output) throws IOException {
+    ChunkRecordingOutput recordingOutput = new ChunkRecordingOutput(output);
+    super.persist(recordingOutput);
+    chunkPositions = recordingOutput.chunkPositions;
+  }
+
+  /**
+   * Returns the file position of a mapping, as of the last time this engine was persisted.
+   *
+   * @param address the mapping address
+   * @return the file position of the mapping
+   * @throws IllegalStateException if no chunk persisted then contains the mapping
+   */
+  long filePosition(long address) {
+    Map.Entry<Long, Long> chunk = chunkPositions.floorEntry(address);
+    if (chunk == null) {
+      throw new IllegalStateException("No persisted chunk contains mapping " + address);
+    }
+    return chunk.getValue() + (address - chunk.getKey());
+  }
+
+  @Override
+  protected void free(long address) {
+    if (!frees.hold(address)) {
+      super.free(address);
+    }
+  }
+
+  @Override
+  protected void clearInternal() {
+    // the chunks holding the mappings are freed along, and are held back by the page source
+    frees.discard();
+    super.clearInternal();
+  }
+
+  /**
+   * Delegates to an output, recording the chunk headers written to it.
+   */
+  private static class ChunkRecordingOutput implements ObjectOutput {
+
+    private final ObjectOutput delegate;
+    private final NavigableMap<Long, Long> chunkPositions = new TreeMap<>();
+    private final long[] header = new long[2];
+    private int headerLongs = -1;
+
+    ChunkRecordingOutput(ObjectOutput delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void writeInt(int v) throws IOException {
+      headerLongs = v == CHUNK_MAGIC ? 0 : -1;
+      delegate.writeInt(v);
+    }
+
+    @Override
+    public void writeLong(long v) throws IOException {
+      if (headerLongs >= 0) {
+        if (headerLongs < header.length) {
+          header[headerLongs++] = v;
+        } else {
+          // file position, base address, then capacity
+          chunkPositions.put(header[1], header[0]);
+          headerLongs = -1;
+        }
+      }
+      delegate.writeLong(v);
+    }
+
+    @Override
+    public void writeObject(Object obj) throws IOException {
+      headerLongs = -1;
+      delegate.writeObject(obj);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      headerLongs = -1;
+      delegate.write(b);
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+      headerLongs = -1;
+      delegate.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      headerLongs = -1;
+      delegate.write(b, off, len);
+    }
+
+    @Override
+    public void writeBoolean(boolean v) throws IOException {
+      headerLongs = -1;
+      delegate.writeBoolean(v);
+    }
+
+    @Override
+    public void writeByte(int v) throws IOException {
+      headerLongs = -1;
+      delegate.writeByte(v);
+    }
+
+    @Override
+    public void writeShort(int v) throws IOException {
+      headerLongs = -1;
+      delegate.writeShort(v);
+    }
+
+    @Override
+    public void writeChar(int v) throws IOException {
+      headerLongs = -1;
+      delegate.writeChar(v);
+    }
+
+    @Override
+    public void writeFloat(float v) throws IOException {
+      headerLongs = -1;
+      delegate.writeFloat(v);
+    }
+
+    @Override
+    public void writeDouble(double v) throws IOException {
+      headerLongs = -1;
+      delegate.writeDouble(v);
+    }
+
+    @Override
+    public void writeBytes(String s) throws IOException {
+      headerLongs = -1;
+      delegate.writeBytes(s);
+    }
+
+    @Override
+    public void writeChars(String s) throws IOException {
+      headerLongs = -1;
+      delegate.writeChars(s);
+    }
+
+    @Override
+    public void writeUTF(String s) throws IOException {
+      headerLongs = -1;
+      delegate.writeUTF(s);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      delegate.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+  }
+}
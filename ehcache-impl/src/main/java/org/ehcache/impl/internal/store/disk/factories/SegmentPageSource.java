@@ -0,0 +1,118 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.disk.factories;
+
+import org.terracotta.offheapstore.disk.paging.MappedPage;
+import org.terracotta.offheapstore.disk.paging.MappedPageSource;
+import org.terracotta.offheapstore.paging.OffHeapStorageArea;
+import org.terracotta.offheapstore.paging.Page;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * The view of a single segment on the page source shared by all segments of a disk store.
+ * <p>
+ * The regions and pages the segment frees go through {@link #frees()}, so that another segment cannot reuse them while
+ * the last checkpoint of this segment still references them. Everything else is delegated to the shared source.
+ */
+class SegmentPageSource extends MappedPageSource {
+
+  private final MappedPageSource source;
+  private final HeldFrees<Runnable> frees = new HeldFrees<>(Runnable::run);
+
+  SegmentPageSource(MappedPageSource source) throws IOException {
+    super(source.getFile(), false, Long.MAX_VALUE);
+    // the file is only ever accessed through the shared source
+    super.close();
+    this.source = source;
+  }
+
+  MappedPageSource source() {
+    return source;
+  }
+
+  HeldFrees<Runnable> frees() {
+    return frees;
+  }
+
+  @Override
+  public Long allocateRegion(long size) {
+    return source.allocateRegion(size);
+  }
+
+  @Override
+  public void freeRegion(long address) {
+    if (!frees.hold(() -> source.freeRegion(address))) {
+      source.freeRegion(address);
+    }
+  }
+
+  @Override
+  public long claimRegion(long address, long size) {
+    return source.claimRegion(address, size);
+  }
+
+  @Override
+  public FileChannel getReadableChannel() {
+    return source.getReadableChannel();
+  }
+
+  @Override
+  public FileChannel getWritableChannel() {
+    return source.getWritableChannel();
+  }
+
+  @Override
+  public File getFile() {
+    return source.getFile();
+  }
+
+  @Override
+  public MappedPage allocate(int size, boolean thief, boolean victim, OffHeapStorageArea owner) {
+    return source.allocate(size, thief, victim, owner);
+  }
+
+  @Override
+  public void free(Page page) {
+    if (!frees.hold(() -> source.free(page))) {
+      source.free(page);
+    }
+  }
+
+  @Override
+  public MappedPage claimPage(long address, long size) throws IOException {
+    return source.claimPage(address, size);
+  }
+
+  @Override
+  public long getAddress(Page page) {
+    return source.getAddress(page);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    source.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    source.close();
+  }
+}
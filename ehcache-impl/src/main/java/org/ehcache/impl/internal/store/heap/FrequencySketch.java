@@ -0,0 +1,140 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.heap;
+
+/**
+ * A probabilistic count-min sketch estimating the popularity of keys within a time window.
+ * <p>
+ * Each key maps to four 4-bit counters (saturating at 15) held in a {@code long[]} table. Once the number of recorded
+ * increments reaches ten times the table width all counters are halved, so that the sketch ages out stale popularity.
+ * <p>
+ * This class is not thread-safe: callers must confine it to a lock, as concurrent increments could carry a saturated
+ * counter over into its neighbour.
+ */
+final class FrequencySketch {
+
+  private static final long[] SEEDS = {
+    0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+  };
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final long ONE_MASK = 0x1111111111111111L;
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  private volatile long[] table;
+  private int sampleSize;
+  private int size;
+
+  FrequencySketch(long expectedEntries) {
+    ensureCapacity(expectedEntries);
+  }
+
+  /**
+   * Resizes the sketch so that it can accurately track {@code expectedEntries} keys. Growing the sketch discards
+   * all previously recorded frequencies.
+   *
+   * @param expectedEntries number of keys to be tracked
+   */
+  void ensureCapacity(long expectedEntries) {
+    int maximum = (int) Math.min(Math.max(expectedEntries, 1L), MAXIMUM_CAPACITY);
+    long[] current = table;
+    if (current != null && current.length >= maximum) {
+      return;
+    }
+    int length = Math.max(Integer.highestOneBit(maximum - 1) << 1, 1);
+    sampleSize = length > Integer.MAX_VALUE / 10 ? Integer.MAX_VALUE : 10 * length;
+    size = 0;
+    table = new long[length];
+  }
+
+  /**
+   * Returns the number of slots of the backing table.
+   *
+   * @return the table width
+   */
+  int capacity() {
+    return table.length;
+  }
+
+  /**
+   * Returns the estimated number of occurrences of the given key, up to a maximum of 15.
+   *
+   * @param key the key
+   * @return the estimated frequency
+   */
+  int frequency(Object key) {
+    long[] tab = table;
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < 4; i++) {
+      int index = indexOf(tab, hash, i);
+      int count = (int) ((tab[index] >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * Increments the popularity of the given key, if it is not already at its maximum.
+   *
+   * @param key the key
+   */
+  void increment(Object key) {
+    long[] tab = table;
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      added |= incrementAt(tab, indexOf(tab, hash, i), start + i);
+    }
+    if (added && ++size >= sampleSize) {
+      reset(tab);
+    }
+  }
+
+  private static boolean incrementAt(long[] tab, int index, int counter) {
+    int offset = counter << 2;
+    long mask = 0xfL << offset;
+    if ((tab[index] & mask) != mask) {
+      tab[index] += 1L << offset;
+      return true;
+    }
+    return false;
+  }
+
+  private void reset(long[] tab) {
+    int odd = 0;
+    for (int i = 0; i < tab.length; i++) {
+      odd += Long.bitCount(tab[i] & ONE_MASK);
+      tab[i] = (tab[i] >>> 1) & RESET_MASK;
+    }
+    size = (size >>> 1) - (odd >>> 2);
+  }
+
+  private static int indexOf(long[] tab, int hash, int i) {
+    long h = (hash + SEEDS[i]) * SEEDS[i];
+    h += h >>> 32;
+    return ((int) h) & (tab.length - 1);
+  }
+
+  private static int spread(int x) {
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    return (x >>> 16) ^ x;
+  }
+}
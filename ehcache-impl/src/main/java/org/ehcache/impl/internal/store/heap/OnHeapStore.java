@@ -26,6 +26,7 @@ import org.ehcache.core.CacheConfigurationProperty;
 import org.ehcache.config.EvictionAdvisor;
 import org.ehcache.config.ResourcePools;
 import org.ehcache.config.ResourceType;
+import org.ehcache.config.ResourceUnit;
 import org.ehcache.config.units.MemoryUnit;
 import org.ehcache.core.EhcachePrefixLoggerFactory;
 import org.ehcache.core.config.ExpiryUtils;
@@ -35,6 +36,11 @@ import org.ehcache.core.spi.service.StatisticsService;
 import org.ehcache.core.statistics.StatisticType;
 import org.ehcache.core.statistics.OperationObserver;
 import org.ehcache.core.statistics.OperationStatistic;
+import org.ehcache.impl.config.copy.DefaultCopierConfiguration;
+import org.ehcache.impl.config.store.heap.OnHeapAccessRecordingConfiguration;
+import org.ehcache.impl.config.store.heap.OnHeapEvictionConfiguration;
+import org.ehcache.impl.config.store.heap.OnHeapKeyStorageConfiguration;
+import org.ehcache.impl.config.store.heap.OnHeapSizingConfiguration;
 import org.ehcache.impl.store.BaseStore;
 import org.ehcache.spi.resilience.StoreAccessException;
 import org.ehcache.expiry.ExpiryPolicy;
@@ -42,11 +48,12 @@ import org.ehcache.impl.internal.concurrent.ConcurrentHashMap;
 import org.ehcache.core.events.NullStoreEventDispatcher;
 import org.ehcache.impl.store.DefaultStoreEventDispatcher;
 import org.ehcache.impl.internal.sizeof.NoopSizeOfEngine;
-import org.ehcache.impl.internal.store.heap.holders.SimpleOnHeapValueHolder;
 import org.ehcache.impl.internal.store.heap.holders.OnHeapValueHolder;
+import org.ehcache.impl.internal.store.heap.holders.OnHeapValueHolderLayout;
 import org.ehcache.core.spi.time.TimeSource;
 import org.ehcache.core.spi.time.TimeSourceService;
 import org.ehcache.impl.store.HashUtils;
+import org.ehcache.impl.sizeof.Sizer;
 import org.ehcache.sizeof.annotations.IgnoreSizeOf;
 import org.ehcache.core.spi.store.Store;
 import org.ehcache.core.spi.store.events.StoreEventSource;
@@ -88,6 +95,8 @@ import java.util.stream.StreamSupport;
 
 import static org.ehcache.config.Eviction.noAdvice;
 import static org.ehcache.core.config.ExpiryUtils.isExpiryDurationInfinite;
+import static org.ehcache.core.spi.service.ServiceUtils.findAmongst;
+import static org.ehcache.core.spi.service.ServiceUtils.findSingletonAmongst;
 import static org.ehcache.core.exceptions.StorePassThroughException.handleException;
 
 /**
@@ -132,15 +141,19 @@ public class OnHeapStore<K, V> extends BaseStore<K, V> implements HigherCachingT
   };
 
   static final int SAMPLE_SIZE = 8;
+  private final Supplier<Backend<K, V>> backendFactory;
   private volatile Backend<K, V> map;
 
   @SuppressWarnings("deprecation")
   private final org.ehcache.core.spi.store.heap.SizeOfEngine sizeOfEngine;
   private final OnHeapStrategy<K, V> strategy;
+  // null when accesses are applied to mappings as they happen
+  private final ReadBuffer readBuffer;
 
   private volatile long capacity;
   private final EvictionAdvisor<? super K, ? super V> evictionAdvisor;
   private final ExpiryPolicy<? super K, ? super V> expiry;
+  private final OnHeapValueHolderLayout holderLayout;
   private final TimeSource timeSource;
   private final StoreEventDispatcher<K, V> storeEventDispatcher;
   @SuppressWarnings("unchecked")
@@ -188,9 +201,17 @@ public class OnHeapStore<K, V> extends BaseStore<K, V> implements HigherCachingT
 
   private static final Supplier<Boolean> REPLACE_EQUALS_TRUE = () -> Boolean.TRUE;
 
+  /**
+   * Creates a heap store.
+   * <p>
+   * The eviction policy, access recording and key storage of the store are read from the
+   * {@link OnHeapEvictionConfiguration}, {@link OnHeapAccessRecordingConfiguration} and
+   * {@link OnHeapKeyStorageConfiguration} found amongst the service configurations, defaulting when absent.
+   */
   public OnHeapStore(Configuration<K, V> config, TimeSource timeSource,
                      @SuppressWarnings("deprecation") org.ehcache.core.spi.store.heap.SizeOfEngine sizeOfEngine,
-                     StoreEventDispatcher<K, V> eventDispatcher, StatisticsService statisticsService) {
+                     StoreEventDispatcher<K, V> eventDispatcher, StatisticsService statisticsService,
+                     ServiceConfiguration<?, ?>... serviceConfigs) {
     super(config, statisticsService);
 
     this.timeSource = Objects.requireNonNull(timeSource, "timeSource must not be null");
@@ -210,11 +231,26 @@ public class OnHeapStore<K, V> extends BaseStore<K, V> implements HigherCachingT
       this.evictionAdvisor = config.getEvictionAdvisor();
     }
     this.expiry = config.getExpiry();
+    this.holderLayout = OnHeapValueHolderLayout.layoutFor(byteSized, expiry);
     this.storeEventDispatcher = eventDispatcher;
 
-    this.map = new SimpleBackend<>(byteSized);
+    OnHeapEvictionConfiguration evictionConfiguration = findSingletonAmongst(OnHeapEvictionConfiguration.class, (Object[]) serviceConfigs);
+    OnHeapEvictionConfiguration.Policy evictionPolicy = evictionConfiguration == null ? OnHeapEvictionConfiguration.DEFAULT_POLICY : evictionConfiguration.getPolicy();
+    OnHeapKeyStorageConfiguration keyStorageConfiguration = findSingletonAmongst(OnHeapKeyStorageConfiguration.class, (Object[]) serviceConfigs);
+    // unboxed keys cannot be wrapped in copying OnHeapKeys
+    boolean primitiveKeys = keyStorageConfiguration != null && keyStorageConfiguration.getMode() == OnHeapKeyStorageConfiguration.Mode.PRIMITIVE
+      && findAmongst(DefaultCopierConfiguration.class, (Object[]) serviceConfigs).stream()
+        .noneMatch(copierConfig -> copierConfig.getType() == DefaultCopierConfiguration.Type.KEY);
+    this.backendFactory = backendFactory(evictionPolicy, primitiveKeys ? config.getKeyType() : null, byteSized, capacity);
+    this.map = backendFactory.get();
 
     strategy = OnHeapStrategy.strategy(this, expiry, timeSource);
+    OnHeapAccessRecordingConfiguration accessRecordingConfiguration = findSingletonAmongst(OnHeapAccessRecordingConfiguration.class, (Object[]) serviceConfigs);
+    if (accessRecordingConfiguration != null && accessRecordingConfiguration.getMode() == OnHeapAccessRecordingConfiguration.Mode.BUFFERED && !strategy.isAccessSensitive()) {
+      this.readBuffer = new ReadBuffer();
+    } else {
+      this.readBuffer = null;
+    }
 
     getObserver = createObserver("get", StoreOperationOutcomes.GetOutcome.class, true);
     putObserver = createObserver("put", StoreOperationOutcomes.PutOutcome.class, true);
@@ -262,7 +298,7 @@ public class OnHeapStore<K, V> extends BaseStore<K, V> implements HigherCachingT
         return null;
       }
 
-      strategy.setAccessAndExpiryTimeWhenCallerOutsideLock(key, mapping, timeSource.getTimeMillis());
+      recordAccess(key, mapping, timeSource.getTimeMillis());
 
       getObserver.end(StoreOperationOutcomes.GetOutcome.HIT);
       return mapping;
@@ -288,6 +324,14 @@ public class OnHeapStore<K, V> extends BaseStore<K, V> implements HigherCachingT
     }
   }
 
+  private void recordAccess(K key, OnHeapValueHolder<V> mapping, long now) {
+    if (readBuffer == null) {
+      strategy.setAccessAndExpiryTimeWhenCallerOutsideLock(key, mapping, now);
+    } else {
+      readBuffer.record(mapping, now);
+    }
+  }
+
   @Override
   public boolean containsKey(K key) throws StoreAccessException {
     checkKey(key);
@@ -612,9 +656,25 @@ public class OnHeapStore<K, V> extends BaseStore<K, V> implements HigherCachingT
     }
   }
 
+  private static <K, V> Supplier<Backend<K, V>> backendFactory(OnHeapEvictionConfiguration.Policy evictionPolicy, Class<K> primitiveKeyType,
+                                                               boolean byteSized, long capacity) {
+    switch (evictionPolicy) {
+      case SAMPLED_LRU:
+        if (primitiveKeyType != null && PrimitiveKeyBackend.supports(primitiveKeyType)) {
+          return () -> new PrimitiveKeyBackend<>(primitiveKeyType, byteSized);
+        } else {
+          return () -> new SimpleBackend<>(byteSized);
+        }
+      case WINDOW_TINY_LFU:
+        return () -> new WindowTinyLfuBackend<>(byteSized, capacity);
+      default:
+        throw new AssertionError("Unknown enum value " + evictionPolicy);
+    }
+  }
+
   @Override
   public void clear() {
-    this.map = new SimpleBackend<>(!(this.sizeOfEngine instanceof NoopSizeOfEngine));
+    this.map = backendFactory.get();
   }
 
   @Override
@@ -698,7 +758,7 @@ public class OnHeapStore<K, V> extends BaseStore<K, V> implements HigherCachingT
           }
         }
         else {
-          strategy.setAccessAndExpiryTimeWhenCallerOutsideLock(key, cachedValue, now);
+          recordAccess(key, cachedValue, now);
         }
       }
 
@@ -988,7 +1048,7 @@ public class OnHeapStore<K, V> extends BaseStore<K, V> implements HigherCachingT
   }
 
   @Deprecated
-  private long getSizeOfKeyValuePairs(K key, OnHeapValueHolder<V> holder) throws org.ehcache.core.spi.store.heap.LimitExceededException {
+  private long getSizeOfKeyValuePairs(K key, ValueHolder<V> holder) throws org.ehcache.core.spi.store.heap.LimitExceededException {
     return sizeOfEngine.sizeof(key, holder);
   }
 
@@ -999,8 +1059,6 @@ public class OnHeapStore<K, V> extends BaseStore<K, V> implements HigherCachingT
    */
   private static class Fault<V> extends OnHeapValueHolder<V> {
 
-    private static final int FAULT_ID = -1;
-
     @IgnoreSizeOf
     private final Supplier<ValueHolder<V>> source;
     private ValueHolder<V> value;
@@ -1008,7 +1066,7 @@ public class OnHeapStore<K, V> extends BaseStore<K, V> implements HigherCachingT
     private boolean complete;
 
     public Fault(Supplier<ValueHolder<V>> source) {
-      super(FAULT_ID, 0, true);
+      super(0, true);
       this.source = source;
     }
 
@@ -1117,6 +1175,11 @@ public class OnHeapStore<K, V> extends BaseStore<K, V> implements HigherCachingT
     public boolean equals(Object obj) {
       return obj == this;
     }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(this);
+    }
   }
 
   @Override
@@ -1503,9 +1566,10 @@ public class OnHeapStore<K, V> extends BaseStore<K, V> implements HigherCachingT
   private OnHeapValueHolder<V> cloneValueHolder(K key, ValueHolder<V> valueHolder, long now, Duration expiration, boolean sizingEnabled) throws org.ehcache.core.spi.store.heap.LimitExceededException {
     V realValue = valueHolder.get();
     boolean evictionAdvice = checkEvictionAdvice(key, realValue);
-    OnHeapValueHolder<V> clonedValueHolder = new SimpleOnHeapValueHolder<>(valueHolder, realValue, evictionAdvice, now, expiration);
-    if (sizingEnabled) {
-      clonedValueHolder.setSize(getSizeOfKeyValuePairs(key, clonedValueHolder));
+    OnHeapValueHolder<V> clonedValueHolder = holderLayout.copyValueHolder(valueHolder, realValue, evictionAdvice, now, expiration);
+    if (sizingEnabled && holderLayout.isSized()) {
+      // lower tiers may already hold the value in binary form
+      clonedValueHolder.setSize(getSizeOfKeyValuePairs(key, sizeOfEngine.isHolderIndependent() ? valueHolder : clonedValueHolder));
     }
     return clonedValueHolder;
   }
@@ -1518,8 +1582,8 @@ public class OnHeapStore<K, V> extends BaseStore<K, V> implements HigherCachingT
   @SuppressWarnings("deprecation")
   private OnHeapValueHolder<V> makeValue(K key, V value, long creationTime, long expirationTime, boolean size) throws org.ehcache.core.spi.store.heap.LimitExceededException {
     boolean evictionAdvice = checkEvictionAdvice(key, value);
-    OnHeapValueHolder<V> valueHolder = new SimpleOnHeapValueHolder<>(value, creationTime, expirationTime, evictionAdvice);
-    if (size) {
+    OnHeapValueHolder<V> valueHolder = holderLayout.newValueHolder(value, creationTime, expirationTime, evictionAdvice);
+    if (size && holderLayout.isSized()) {
       valueHolder.setSize(getSizeOfKeyValuePairs(key, valueHolder));
     }
     return valueHolder;
@@ -1567,6 +1631,10 @@ public class OnHeapStore<K, V> extends BaseStore<K, V> implements HigherCachingT
    */
   boolean evict(StoreEventSink<K, V> eventSink) {
     evictionObserver.begin();
+    if (readBuffer != null) {
+      // the sampled eviction relies on up to date access times
+      readBuffer.drain();
+    }
     Random random = new Random();
 
     @SuppressWarnings("unchecked")
@@ -1651,14 +1719,41 @@ public class OnHeapStore<K, V> extends BaseStore<K, V> implements HigherCachingT
                                                         ServiceConfiguration<?, ?>... serviceConfigs) {
       TimeSource timeSource = getServiceProvider().getService(TimeSourceService.class).getTimeSource();
 
-      org.ehcache.core.spi.store.heap.SizeOfEngineProvider sizeOfEngineProvider = getServiceProvider().getService(org.ehcache.core.spi.store.heap.SizeOfEngineProvider.class);
-      org.ehcache.core.spi.store.heap.SizeOfEngine sizeOfEngine = sizeOfEngineProvider.createSizeOfEngine(
-          storeConfig.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getUnit(), serviceConfigs);
-      OnHeapStore<K, V> onHeapStore = new OnHeapStore<>(storeConfig, timeSource, sizeOfEngine, eventDispatcher, getServiceProvider().getService(StatisticsService.class));
+      ResourceUnit heapUnit = storeConfig.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getUnit();
+      OnHeapSizingConfiguration sizingConfiguration = findSingletonAmongst(OnHeapSizingConfiguration.class, (Object[]) serviceConfigs);
+      org.ehcache.core.spi.store.heap.SizeOfEngine sizeOfEngine;
+      if (sizingConfiguration != null && heapUnit instanceof MemoryUnit) {
+        sizeOfEngine = serializedSizeOfEngine(storeConfig, sizingConfiguration);
+      } else {
+        org.ehcache.core.spi.store.heap.SizeOfEngineProvider sizeOfEngineProvider = getServiceProvider().getService(org.ehcache.core.spi.store.heap.SizeOfEngineProvider.class);
+        sizeOfEngine = sizeOfEngineProvider.createSizeOfEngine(heapUnit, serviceConfigs);
+      }
+      OnHeapStore<K, V> onHeapStore = new OnHeapStore<>(storeConfig, timeSource, sizeOfEngine, eventDispatcher,
+        getServiceProvider().getService(StatisticsService.class), serviceConfigs);
       createdStores.add(onHeapStore);
       return onHeapStore;
     }
 
+    @SuppressWarnings("deprecation")
+    private static org.ehcache.impl.internal.sizeof.SerializedSizeOfEngine serializedSizeOfEngine(Configuration<?, ?> storeConfig, OnHeapSizingConfiguration sizingConfiguration) {
+      Sizer<?> keySizer = sizingConfiguration.getKeySizer();
+      if (keySizer == null) {
+        if (storeConfig.getKeySerializer() == null) {
+          throw new IllegalStateException("Serialized heap sizing requires a key sizer or a key serializer");
+        }
+        keySizer = org.ehcache.impl.internal.sizeof.SerializedSizeOfEngine.serializing(storeConfig.getKeySerializer());
+      }
+      Sizer<?> valueSizer = sizingConfiguration.getValueSizer();
+      boolean valueSizedFromBinary = valueSizer == null;
+      if (valueSizedFromBinary) {
+        if (storeConfig.getValueSerializer() == null) {
+          throw new IllegalStateException("Serialized heap sizing requires a value sizer or a value serializer");
+        }
+        valueSizer = org.ehcache.impl.internal.sizeof.SerializedSizeOfEngine.serializing(storeConfig.getValueSerializer());
+      }
+      return new org.ehcache.impl.internal.sizeof.SerializedSizeOfEngine(keySizer, valueSizer, valueSizedFromBinary);
+    }
+
     @Override
     public void releaseStore(Store<?, ?> resource) {
       if (!createdStores.remove(resource)) {
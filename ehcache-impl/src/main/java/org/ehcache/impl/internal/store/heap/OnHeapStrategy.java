@@ -60,6 +60,14 @@ interface OnHeapStrategy<K, V> {
    */
   boolean isExpired(OnHeapValueHolder<V> mapping);
 
+  /**
+   * Tells if accessing a mapping may change its expiry, in which case accesses have to be applied to the mapping
+   * as they happen.
+   *
+   * @return if the expiry of mappings depends on their accesses
+   */
+  boolean isAccessSensitive();
+
   /**
    * Set the access time on the mapping and its expiry time if it is access sensitive (TTI). We  expect this action to
    * be called when the caller isn't holding any lock.
@@ -123,6 +131,11 @@ interface OnHeapStrategy<K, V> {
       return mapping.isExpired(timeSource.getTimeMillis());
     }
 
+    @Override
+    public boolean isAccessSensitive() {
+      return true;
+    }
+
     @Override
     public void setAccessAndExpiryTimeWhenCallerOutsideLock(K key, OnHeapValueHolder<V> valueHolder, long now) {
       Duration duration = getAccessDuration(key, valueHolder);
@@ -190,6 +203,11 @@ interface OnHeapStrategy<K, V> {
       return false;
     }
 
+    @Override
+    public boolean isAccessSensitive() {
+      return false;
+    }
+
     @Override
     public void setAccessAndExpiryTimeWhenCallerOutsideLock(K key, OnHeapValueHolder<V> valueHolder, long now) {
       valueHolder.accessed(now, null);
@@ -230,6 +248,11 @@ interface OnHeapStrategy<K, V> {
       return mapping.isExpired(timeSource.getTimeMillis());
     }
 
+    @Override
+    public boolean isAccessSensitive() {
+      return false;
+    }
+
     @Override
     public void setAccessAndExpiryTimeWhenCallerOutsideLock(K key, OnHeapValueHolder<V> valueHolder, long now) {
       valueHolder.accessed(now, null);
@@ -0,0 +1,530 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.heap;
+
+import org.ehcache.config.EvictionAdvisor;
+import org.ehcache.core.spi.store.Store;
+import org.ehcache.impl.internal.store.heap.holders.OnHeapValueHolder;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Backend for {@link Long} and {@link Integer} keyed stores, holding its keys as primitive {@code long}s.
+ * <p>
+ * Mappings are spread over a fixed number of segments, each one an open addressing (linear probing) table made of a
+ * {@code long[]} of keys and an array of value holders. This saves the boxed key and the map node otherwise allocated
+ * per mapping. Keys are only boxed again when handed out through iteration or eviction candidates.
+ * <p>
+ * Reads are optimistic and only fall back to the segment read lock when racing with a write on the same segment.
+ * Compute functions run under the segment write lock and, as with {@link java.util.concurrent.ConcurrentHashMap},
+ * must not update the backend themselves.
+ */
+class PrimitiveKeyBackend<K, V> implements Backend<K, V> {
+
+  private static final int SEGMENT_SHIFT = 28;
+  private static final int SEGMENT_COUNT = 1 << (Integer.SIZE - SEGMENT_SHIFT);
+  private static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+  private final boolean intKeys;
+  private final Segment<V>[] segments;
+  private final boolean byteSized;
+  private final AtomicLong byteSize = new AtomicLong(0L);
+
+  /**
+   * Tells whether keys of the given type can be stored by this backend.
+   *
+   * @param keyType the store key type
+   * @return {@code true} for {@code Long} and {@code Integer} keys
+   */
+  static boolean supports(Class<?> keyType) {
+    return Long.class.equals(keyType) || Integer.class.equals(keyType);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  PrimitiveKeyBackend(Class<K> keyType, boolean byteSized) {
+    if (!supports(keyType)) {
+      throw new IllegalArgumentException("Unsupported key type " + keyType.getName());
+    }
+    this.intKeys = Integer.class.equals(keyType);
+    this.byteSized = byteSized;
+    this.segments = new Segment[SEGMENT_COUNT];
+    for (int i = 0; i < segments.length; i++) {
+      segments[i] = new Segment<>();
+    }
+  }
+
+  @Override
+  public OnHeapValueHolder<V> get(K key) {
+    long k = toLong(key);
+    int hash = spread(key.hashCode());
+    Segment<V> segment = segmentFor(hash);
+
+    if (segment.writer == Thread.currentThread()) {
+      // read from within a compute function: the segment is ours
+      return valueAt(segment.table, k, hash);
+    }
+
+    long stamp = segment.tryOptimisticRead();
+    if (stamp != 0L) {
+      OnHeapValueHolder<V> value = valueAt(segment.table, k, hash);
+      if (segment.validate(stamp)) {
+        return value;
+      }
+    }
+    stamp = segment.readLock();
+    try {
+      return valueAt(segment.table, k, hash);
+    } finally {
+      segment.unlockRead(stamp);
+    }
+  }
+
+  @Override
+  public OnHeapValueHolder<V> compute(K key, BiFunction<K, OnHeapValueHolder<V>, OnHeapValueHolder<V>> computeFunction) {
+    return underWriteLock(key, (segment, hash) -> {
+      long k = toLong(key);
+      Table<V> table = segment.table;
+      int index = probe(table, k, hash);
+      OnHeapValueHolder<V> oldValue = index < 0 ? null : table.values[index];
+      OnHeapValueHolder<V> newValue = computeFunction.apply(key, oldValue);
+      if (newValue == null) {
+        if (oldValue != null) {
+          deleteAt(segment, table, index);
+        }
+      } else if (oldValue == null) {
+        insert(segment, k, hash, newValue);
+      } else {
+        table.values[index] = newValue;
+      }
+      return newValue;
+    });
+  }
+
+  @Override
+  public OnHeapValueHolder<V> computeIfPresent(K key, BiFunction<K, OnHeapValueHolder<V>, OnHeapValueHolder<V>> computeFunction) {
+    return underWriteLock(key, (segment, hash) -> {
+      Table<V> table = segment.table;
+      int index = probe(table, toLong(key), hash);
+      if (index < 0) {
+        return null;
+      }
+      OnHeapValueHolder<V> newValue = computeFunction.apply(key, table.values[index]);
+      if (newValue == null) {
+        deleteAt(segment, table, index);
+      } else {
+        table.values[index] = newValue;
+      }
+      return newValue;
+    });
+  }
+
+  @Override
+  public OnHeapValueHolder<V> putIfAbsent(K key, OnHeapValueHolder<V> value) {
+    return underWriteLock(key, (segment, hash) -> {
+      long k = toLong(key);
+      Table<V> table = segment.table;
+      int index = probe(table, k, hash);
+      if (index < 0) {
+        insert(segment, k, hash, value);
+        return null;
+      } else {
+        return table.values[index];
+      }
+    });
+  }
+
+  @Override
+  public OnHeapValueHolder<V> remove(K key) {
+    return underWriteLock(key, (segment, hash) -> {
+      Table<V> table = segment.table;
+      int index = probe(table, toLong(key), hash);
+      if (index < 0) {
+        return null;
+      }
+      OnHeapValueHolder<V> oldValue = table.values[index];
+      deleteAt(segment, table, index);
+      return oldValue;
+    });
+  }
+
+  @Override
+  public boolean remove(K key, OnHeapValueHolder<V> value) {
+    return underWriteLock(key, (segment, hash) -> {
+      Table<V> table = segment.table;
+      int index = probe(table, toLong(key), hash);
+      if (index >= 0 && matches(value, table.values[index])) {
+        deleteAt(segment, table, index);
+        return Boolean.TRUE;
+      }
+      return Boolean.FALSE;
+    });
+  }
+
+  @Override
+  public boolean replace(K key, OnHeapValueHolder<V> oldValue, OnHeapValueHolder<V> newValue) {
+    return underWriteLock(key, (segment, hash) -> {
+      Table<V> table = segment.table;
+      int index = probe(table, toLong(key), hash);
+      if (index >= 0 && matches(oldValue, table.values[index])) {
+        table.values[index] = newValue;
+        return Boolean.TRUE;
+      }
+      return Boolean.FALSE;
+    });
+  }
+
+  @Override
+  public Collection<Map.Entry<K, OnHeapValueHolder<V>>> removeAllWithHash(int keyHash) {
+    int hash = spread(keyHash);
+    Segment<V> segment = segmentFor(hash);
+    List<Map.Entry<K, OnHeapValueHolder<V>>> removed = new ArrayList<>();
+    long stamp = segment.writeLock();
+    try {
+      Table<V> table = segment.table;
+      int index = hash & table.mask;
+      OnHeapValueHolder<V> value;
+      while ((value = table.values[index]) != null) {
+        long k = table.keys[index];
+        if (hashCodeOf(k) == keyHash) {
+          removed.add(new AbstractMap.SimpleImmutableEntry<>(toKey(k), value));
+          // backward shifting may move another colliding mapping into this slot: check it again
+          deleteAt(segment, table, index);
+        } else {
+          index = (index + 1) & table.mask;
+        }
+      }
+    } finally {
+      segment.unlockWrite(stamp);
+    }
+    if (byteSized) {
+      long delta = 0L;
+      for (Map.Entry<K, OnHeapValueHolder<V>> entry : removed) {
+        delta -= entry.getValue().size();
+      }
+      updateUsageInBytesIfRequired(delta);
+    }
+    return removed;
+  }
+
+  @Override
+  public Iterable<K> keySet() {
+    return () -> new SegmentIterator<>(Map.Entry::getKey);
+  }
+
+  @Override
+  public Iterator<Map.Entry<K, OnHeapValueHolder<V>>> entrySetIterator() {
+    return new SegmentIterator<>(Function.identity());
+  }
+
+  @Override
+  public long mappingCount() {
+    long count = 0L;
+    for (Segment<V> segment : segments) {
+      count += segment.size;
+    }
+    return count;
+  }
+
+  @Override
+  public long byteSize() {
+    if (byteSized) {
+      return byteSize.get();
+    } else {
+      throw new IllegalStateException("This store is not byte sized");
+    }
+  }
+
+  @Override
+  public long naturalSize() {
+    if (byteSized) {
+      return byteSize.get();
+    } else {
+      return mappingCount();
+    }
+  }
+
+  @Override
+  public void updateUsageInBytesIfRequired(long delta) {
+    if (byteSized) {
+      byteSize.addAndGet(delta);
+    }
+  }
+
+  @Override
+  public Map.Entry<K, OnHeapValueHolder<V>> getEvictionCandidate(Random random, int size, Comparator<? super Store.ValueHolder<V>> prioritizer, EvictionAdvisor<Object, ? super OnHeapValueHolder<?>> evictionAdvisor) {
+    K maxKey = null;
+    OnHeapValueHolder<V> maxValue = null;
+    int remaining = size;
+
+    int start = random.nextInt(SEGMENT_COUNT);
+    for (int s = 0; s < SEGMENT_COUNT && remaining > 0; s++) {
+      Segment<V> segment = segments[(start + s) & (SEGMENT_COUNT - 1)];
+      long stamp = segment.readLock();
+      try {
+        Table<V> table = segment.table;
+        int offset = random.nextInt(table.values.length);
+        for (int i = 0; i < table.values.length && remaining > 0; i++) {
+          int index = (offset + i) & table.mask;
+          OnHeapValueHolder<V> value = table.values[index];
+          if (value != null) {
+            K key = toKey(table.keys[index]);
+            if (!evictionAdvisor.adviseAgainstEviction(key, value)) {
+              if (maxValue == null || prioritizer.compare(value, maxValue) > 0) {
+                maxKey = key;
+                maxValue = value;
+              }
+              remaining--;
+            }
+          }
+        }
+      } finally {
+        segment.unlockRead(stamp);
+      }
+    }
+
+    if (maxKey == null) {
+      return null;
+    } else {
+      return new AbstractMap.SimpleImmutableEntry<>(maxKey, maxValue);
+    }
+  }
+
+  private <T> T underWriteLock(K key, SegmentFunction<V, T> function) {
+    int hash = spread(key.hashCode());
+    Segment<V> segment = segmentFor(hash);
+    if (segment.writer == Thread.currentThread()) {
+      throw new IllegalStateException("Recursive update");
+    }
+    long stamp = segment.writeLock();
+    segment.writer = Thread.currentThread();
+    try {
+      return function.apply(segment, hash);
+    } finally {
+      segment.writer = null;
+      segment.unlockWrite(stamp);
+    }
+  }
+
+  private void insert(Segment<V> segment, long k, int hash, OnHeapValueHolder<V> value) {
+    Table<V> table = segment.table;
+    if (segment.size + 1 > table.threshold) {
+      table = resize(segment, table);
+    }
+    int index = -probe(table, k, hash) - 1;
+    table.keys[index] = k;
+    table.values[index] = value;
+    segment.size++;
+  }
+
+  private Table<V> resize(Segment<V> segment, Table<V> table) {
+    Table<V> resized = new Table<>(table.values.length << 1);
+    for (int i = 0; i < table.values.length; i++) {
+      OnHeapValueHolder<V> value = table.values[i];
+      if (value != null) {
+        long k = table.keys[i];
+        int index = -probe(resized, k, spread(hashCodeOf(k))) - 1;
+        resized.keys[index] = k;
+        resized.values[index] = value;
+      }
+    }
+    segment.table = resized;
+    return resized;
+  }
+
+  /**
+   * Removes the mapping at {@code index}, shifting back the following mappings of the probe sequence so that no
+   * tombstone is needed.
+   */
+  private void deleteAt(Segment<V> segment, Table<V> table, int index) {
+    int hole = index;
+    int next = index;
+    while (true) {
+      next = (next + 1) & table.mask;
+      if (table.values[next] == null) {
+        break;
+      }
+      int home = spread(hashCodeOf(table.keys[next])) & table.mask;
+      boolean reachable = hole <= next ? (hole < home && home <= next) : (hole < home || home <= next);
+      if (!reachable) {
+        table.keys[hole] = table.keys[next];
+        table.values[hole] = table.values[next];
+        hole = next;
+      }
+    }
+    table.keys[hole] = 0L;
+    table.values[hole] = null;
+    segment.size--;
+  }
+
+  /**
+   * Returns the index of the given key, or {@code -(insertionIndex + 1)} if the key is absent.
+   */
+  private static int probe(Table<?> table, long k, int hash) {
+    int index = hash & table.mask;
+    while (table.values[index] != null) {
+      if (table.keys[index] == k) {
+        return index;
+      }
+      index = (index + 1) & table.mask;
+    }
+    return -(index + 1);
+  }
+
+  /**
+   * Looks the key up without any lock held, the probe sequence is bounded so that racing writers cannot trap it.
+   */
+  private static <V> OnHeapValueHolder<V> valueAt(Table<V> table, long k, int hash) {
+    int index = hash & table.mask;
+    for (int i = 0; i <= table.mask; i++) {
+      OnHeapValueHolder<V> value = table.values[index];
+      if (value == null) {
+        return null;
+      } else if (table.keys[index] == k) {
+        return value;
+      }
+      index = (index + 1) & table.mask;
+    }
+    return null;
+  }
+
+  private static <V> boolean matches(OnHeapValueHolder<V> expected, OnHeapValueHolder<V> actual) {
+    return expected == actual || expected.equals(actual);
+  }
+
+  private Segment<V> segmentFor(int hash) {
+    return segments[hash >>> SEGMENT_SHIFT];
+  }
+
+  private long toLong(K key) {
+    return ((Number) key).longValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private K toKey(long k) {
+    if (intKeys) {
+      return (K) Integer.valueOf((int) k);
+    } else {
+      return (K) Long.valueOf(k);
+    }
+  }
+
+  /**
+   * Returns the {@code hashCode()} the boxed key would have.
+   */
+  private int hashCodeOf(long k) {
+    return intKeys ? (int) k : Long.hashCode(k);
+  }
+
+  private static int spread(int hash) {
+    int h = hash;
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  @FunctionalInterface
+  private interface SegmentFunction<V, T> {
+    T apply(Segment<V> segment, int hash);
+  }
+
+  private static final class Table<V> {
+    final long[] keys;
+    final OnHeapValueHolder<V>[] values;
+    final int mask;
+    final int threshold;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Table(int capacity) {
+      this.keys = new long[capacity];
+      this.values = new OnHeapValueHolder[capacity];
+      this.mask = capacity - 1;
+      this.threshold = capacity - (capacity >>> 2);
+    }
+  }
+
+  @SuppressWarnings("serial")
+  private static final class Segment<V> extends StampedLock {
+    volatile Table<V> table = new Table<>(INITIAL_SEGMENT_CAPACITY);
+    volatile int size;
+    Thread writer;
+  }
+
+  /**
+   * Weakly consistent iterator, snapshotting one segment at a time.
+   */
+  private final class SegmentIterator<T> implements Iterator<T> {
+
+    private final Function<Map.Entry<K, OnHeapValueHolder<V>>, T> mapper;
+    private int nextSegment = 0;
+    private Iterator<Map.Entry<K, OnHeapValueHolder<V>>> current = Collections.emptyIterator();
+
+    SegmentIterator(Function<Map.Entry<K, OnHeapValueHolder<V>>, T> mapper) {
+      this.mapper = mapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!current.hasNext() && nextSegment < segments.length) {
+        current = snapshot(segments[nextSegment++]);
+      }
+      return current.hasNext();
+    }
+
+    @Override
+    public T next() {
+      if (hasNext()) {
+        return mapper.apply(current.next());
+      } else {
+        throw new NoSuchElementException();
+      }
+    }
+
+    private Iterator<Map.Entry<K, OnHeapValueHolder<V>>> snapshot(Segment<V> segment) {
+      long stamp = segment.readLock();
+      try {
+        Table<V> table = segment.table;
+        List<Map.Entry<K, OnHeapValueHolder<V>>> entries = new ArrayList<>(segment.size);
+        for (int i = 0; i < table.values.length; i++) {
+          OnHeapValueHolder<V> value = table.values[i];
+          if (value != null) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(toKey(table.keys[i]), value));
+          }
+        }
+        return entries.iterator();
+      } finally {
+        segment.unlockRead(stamp);
+      }
+    }
+  }
+}
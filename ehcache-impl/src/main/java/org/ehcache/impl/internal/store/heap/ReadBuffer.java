@@ -0,0 +1,148 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.heap;
+
+import org.ehcache.impl.internal.store.heap.holders.OnHeapValueHolder;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped, lossy buffers recording the accesses of mappings so that their access times can be updated in batches.
+ * <p>
+ * Threads record accesses in the stripe selected by their identity, and a stripe that is full, or whose slot is
+ * concurrently claimed, drops the access. Buffers are drained by whichever thread finds a stripe full, or explicitly
+ * through {@link #drain()} before the access times are relied upon. Draining never moves an access time backwards.
+ */
+final class ReadBuffer {
+
+  static final int STRIPE_CAPACITY = 16;
+  private static final int STRIPE_MASK = STRIPE_CAPACITY - 1;
+  private static final int MAXIMUM_STRIPES = 64;
+
+  private final Stripe[] stripes;
+  private final int stripeMask;
+  private final ReentrantLock drainLock = new ReentrantLock();
+
+  ReadBuffer() {
+    this(Math.min(MAXIMUM_STRIPES, Integer.highestOneBit(Math.max(1, 4 * Runtime.getRuntime().availableProcessors() - 1)) << 1));
+  }
+
+  ReadBuffer(int stripeCount) {
+    if (Integer.bitCount(stripeCount) != 1) {
+      throw new IllegalArgumentException("Stripe count must be a power of two: " + stripeCount);
+    }
+    this.stripes = new Stripe[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      stripes[i] = new Stripe();
+    }
+    this.stripeMask = stripeCount - 1;
+  }
+
+  /**
+   * Records an access to the given mapping, draining the buffers if the stripe of the calling thread is full.
+   *
+   * @param valueHolder the accessed mapping
+   * @param now the access time
+   */
+  void record(OnHeapValueHolder<?> valueHolder, long now) {
+    if (!stripeOf(Thread.currentThread()).offer(valueHolder, now)) {
+      tryDrain();
+    }
+  }
+
+  /**
+   * Applies all recorded accesses, waiting for a concurrent drain to complete.
+   */
+  void drain() {
+    drainLock.lock();
+    try {
+      drainStripes();
+    } finally {
+      drainLock.unlock();
+    }
+  }
+
+  private void tryDrain() {
+    if (!drainLock.isLocked() && drainLock.tryLock()) {
+      try {
+        drainStripes();
+      } finally {
+        drainLock.unlock();
+      }
+    }
+  }
+
+  private void drainStripes() {
+    for (Stripe stripe : stripes) {
+      stripe.drain();
+    }
+  }
+
+  private Stripe stripeOf(Thread thread) {
+    long id = thread.getId() * 0x9e3779b97f4a7c15L;
+    return stripes[(int) (id >>> 32) & stripeMask];
+  }
+
+  private static final class Stripe {
+
+    private final AtomicReferenceArray<OnHeapValueHolder<?>> valueHolders = new AtomicReferenceArray<>(STRIPE_CAPACITY);
+    private final long[] accessTimes = new long[STRIPE_CAPACITY];
+    private final AtomicLong writeCounter = new AtomicLong();
+    // only written by the draining thread
+    private volatile long readCounter;
+
+    /**
+     * @return {@code false} if the stripe is full
+     */
+    boolean offer(OnHeapValueHolder<?> valueHolder, long now) {
+      long head = readCounter;
+      long tail = writeCounter.get();
+      if (tail - head >= STRIPE_CAPACITY) {
+        return false;
+      }
+      if (writeCounter.compareAndSet(tail, tail + 1)) {
+        int index = (int) tail & STRIPE_MASK;
+        accessTimes[index] = now;
+        valueHolders.lazySet(index, valueHolder);
+      }
+      return true;
+    }
+
+    void drain() {
+      long head = readCounter;
+      long tail = writeCounter.get();
+      for (; head < tail; head++) {
+        int index = (int) head & STRIPE_MASK;
+        OnHeapValueHolder<?> valueHolder = valueHolders.get(index);
+        if (valueHolder == null) {
+          // slot claimed but not yet published
+          break;
+        }
+        long accessTime = accessTimes[index];
+        valueHolders.lazySet(index, null);
+        // stripes are drained one after the other, so an older access may be drained after a newer one
+        if (accessTime > valueHolder.lastAccessTime()) {
+          valueHolder.setLastAccessTime(accessTime);
+        }
+      }
+      readCounter = head;
+    }
+  }
+}
@@ -0,0 +1,416 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.heap;
+
+import org.ehcache.config.EvictionAdvisor;
+import org.ehcache.core.spi.store.Store;
+import org.ehcache.impl.internal.store.heap.holders.OnHeapValueHolder;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Backend selecting eviction candidates using the Window TinyLFU policy.
+ * <p>
+ * Mappings are tracked in three LRU ordered segments:
+ * <ul>
+ *   <li>the <em>window</em>, about 1% of the mappings, where every new mapping is admitted,</li>
+ *   <li>the <em>probation</em> segment, holding mappings admitted to the main space but not accessed since,</li>
+ *   <li>the <em>protected</em> segment, about 80% of the main space, holding mappings accessed while on probation.</li>
+ * </ul>
+ * When the window overflows, its least recently used mapping is only admitted into the main space if the
+ * {@link FrequencySketch} estimates it to be more popular than the probation victim it would displace.
+ * <p>
+ * Accesses and writes are not applied to the policy directly: they are recorded in buffers that are replayed under
+ * the policy lock by whichever thread acquires it uncontended, and before eviction candidates are selected. Reads
+ * are recorded in striped, lossy buffers, dropping the reordering when full. Writes are recorded in an unbounded
+ * queue, writers only blocking on the policy lock once too many writes are pending. The frequency sketch is only
+ * updated while replaying the buffers, so that it is confined to the policy lock.
+ */
+class WindowTinyLfuBackend<K, V> extends SimpleBackend<K, V> {
+
+  private static final int WINDOW_PERCENTAGE = 1;
+  private static final int PROTECTED_PERCENTAGE = 80;
+  private static final int MINIMUM_SKETCH_CAPACITY = 16;
+  private static final int MAXIMUM_INITIAL_SKETCH_CAPACITY = 1 << 16;
+  private static final int ESTIMATED_MAPPING_SIZE = 256;
+  private static final int MAXIMUM_PENDING_WRITES = 1024;
+
+  private final ReentrantLock policyLock = new ReentrantLock();
+  private final FrequencySketch sketch;
+  private final AccessBuffer<K> readBuffer = new AccessBuffer<>();
+  private final Queue<PolicyUpdate<K>> writeBuffer = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingWrites = new AtomicInteger();
+  private final Map<K, Boolean> window = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<K, Boolean> probation = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<K, Boolean> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * Creates a new backend.
+   *
+   * @param byteSized whether the store is byte sized
+   * @param capacity the capacity of the store, in bytes when byte sized and in mappings otherwise, used to size the
+   *                 frequency sketch upfront as growing it later discards the recorded frequencies
+   */
+  WindowTinyLfuBackend(boolean byteSized, long capacity) {
+    super(byteSized);
+    long expectedEntries = byteSized ? capacity / ESTIMATED_MAPPING_SIZE : capacity;
+    this.sketch = new FrequencySketch(Math.min(Math.max(expectedEntries, MINIMUM_SKETCH_CAPACITY), MAXIMUM_INITIAL_SKETCH_CAPACITY));
+  }
+
+  @Override
+  public OnHeapValueHolder<V> get(K key) {
+    OnHeapValueHolder<V> value = super.get(key);
+    if (value != null) {
+      if (!readBuffer.offer(key)) {
+        tryDrain();
+      }
+    }
+    return value;
+  }
+
+  @Override
+  public OnHeapValueHolder<V> compute(K key, BiFunction<K, OnHeapValueHolder<V>, OnHeapValueHolder<V>> computeFunction) {
+    return super.compute(key, (mappedKey, mappedValue) -> {
+      OnHeapValueHolder<V> newValue = computeFunction.apply(mappedKey, mappedValue);
+      record(mappedKey, mappedValue, newValue);
+      return newValue;
+    });
+  }
+
+  @Override
+  public OnHeapValueHolder<V> computeIfPresent(K key, BiFunction<K, OnHeapValueHolder<V>, OnHeapValueHolder<V>> computeFunction) {
+    return super.computeIfPresent(key, (mappedKey, mappedValue) -> {
+      OnHeapValueHolder<V> newValue = computeFunction.apply(mappedKey, mappedValue);
+      record(mappedKey, mappedValue, newValue);
+      return newValue;
+    });
+  }
+
+  @Override
+  public OnHeapValueHolder<V> putIfAbsent(K key, OnHeapValueHolder<V> valueHolder) {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    OnHeapValueHolder<V>[] existing = new OnHeapValueHolder[1];
+    compute(key, (mappedKey, mappedValue) -> {
+      existing[0] = mappedValue;
+      return mappedValue == null ? valueHolder : mappedValue;
+    });
+    return existing[0];
+  }
+
+  @Override
+  public boolean replace(K key, OnHeapValueHolder<V> oldValue, OnHeapValueHolder<V> newValue) {
+    boolean[] replaced = new boolean[1];
+    computeIfPresent(key, (mappedKey, mappedValue) -> {
+      if (mappedValue.equals(oldValue)) {
+        replaced[0] = true;
+        return newValue;
+      }
+      return mappedValue;
+    });
+    return replaced[0];
+  }
+
+  @Override
+  public OnHeapValueHolder<V> remove(K key) {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    OnHeapValueHolder<V>[] removed = new OnHeapValueHolder[1];
+    computeIfPresent(key, (mappedKey, mappedValue) -> {
+      removed[0] = mappedValue;
+      return null;
+    });
+    return removed[0];
+  }
+
+  @Override
+  public boolean remove(K key, OnHeapValueHolder<V> value) {
+    boolean[] removed = new boolean[1];
+    computeIfPresent(key, (mappedKey, mappedValue) -> {
+      if (mappedValue.equals(value)) {
+        removed[0] = true;
+        return null;
+      }
+      return mappedValue;
+    });
+    return removed[0];
+  }
+
+  @Override
+  public Collection<Map.Entry<K, OnHeapValueHolder<V>>> removeAllWithHash(int hash) {
+    Collection<Map.Entry<K, OnHeapValueHolder<V>>> removed = super.removeAllWithHash(hash);
+    policyLock.lock();
+    try {
+      drainBuffers();
+      for (Map.Entry<K, OnHeapValueHolder<V>> entry : removed) {
+        // a concurrent re-insertion is re-tracked by its next access or caught by the sampling fallback
+        if (super.get(entry.getKey()) == null) {
+          onRemoval(entry.getKey());
+        }
+      }
+    } finally {
+      policyLock.unlock();
+    }
+    return removed;
+  }
+
+  @Override
+  public Map.Entry<K, OnHeapValueHolder<V>> getEvictionCandidate(Random random, int size, Comparator<? super Store.ValueHolder<V>> prioritizer, EvictionAdvisor<Object, ? super OnHeapValueHolder<?>> evictionAdvisor) {
+    Map.Entry<K, OnHeapValueHolder<V>> candidate;
+    policyLock.lock();
+    try {
+      drainBuffers();
+      candidate = selectVictim(size, evictionAdvisor);
+    } finally {
+      policyLock.unlock();
+    }
+    if (candidate == null) {
+      // Mappings not (or no longer) tracked by the policy are still reachable through sampling
+      return super.getEvictionCandidate(random, size, prioritizer, evictionAdvisor);
+    } else {
+      return candidate;
+    }
+  }
+
+  private void record(K key, OnHeapValueHolder<V> oldValue, OnHeapValueHolder<V> newValue) {
+    if (oldValue == null && newValue == null) {
+      return;
+    }
+    // recorded under the mapping lock, so that the updates of a key are queued in the order they were applied
+    writeBuffer.add(new PolicyUpdate<>(key, newValue == null));
+    if (pendingWrites.incrementAndGet() > MAXIMUM_PENDING_WRITES) {
+      policyLock.lock();
+      try {
+        drainBuffers();
+      } finally {
+        policyLock.unlock();
+      }
+    } else {
+      tryDrain();
+    }
+  }
+
+  private void tryDrain() {
+    // checking the lock first keeps concurrent callers from all writing to the lock state
+    if (!policyLock.isLocked() && policyLock.tryLock()) {
+      try {
+        drainBuffers();
+      } finally {
+        policyLock.unlock();
+      }
+    }
+  }
+
+  private void drainBuffers() {
+    for (PolicyUpdate<K> update; (update = writeBuffer.poll()) != null; ) {
+      pendingWrites.decrementAndGet();
+      if (update.removal) {
+        onRemoval(update.key);
+      } else {
+        onAccess(update.key);
+      }
+    }
+    readBuffer.drainTo(key -> {
+      // a read recorded before a concurrent removal must not track the key again
+      if (super.get(key) != null) {
+        onAccess(key);
+      }
+    });
+  }
+
+  private void onAccess(K key) {
+    sketch.increment(key);
+    if (window.get(key) != null || protectedSegment.get(key) != null) {
+      // reordered by the access ordered maps
+      return;
+    }
+    if (probation.remove(key) != null) {
+      protectedSegment.put(key, Boolean.TRUE);
+      int protectedMaximum = (int) ((trackedCount() - windowMaximum()) * PROTECTED_PERCENTAGE / 100L);
+      Iterator<K> demotions = protectedSegment.keySet().iterator();
+      while (protectedSegment.size() > protectedMaximum && demotions.hasNext()) {
+        K demoted = demotions.next();
+        demotions.remove();
+        probation.put(demoted, Boolean.TRUE);
+      }
+    } else {
+      window.put(key, Boolean.TRUE);
+      if (trackedCount() > sketch.capacity()) {
+        sketch.ensureCapacity(2L * sketch.capacity());
+      }
+    }
+  }
+
+  private void onRemoval(K key) {
+    if (window.remove(key) == null && probation.remove(key) == null) {
+      protectedSegment.remove(key);
+    }
+  }
+
+  private Map.Entry<K, OnHeapValueHolder<V>> selectVictim(int limit, EvictionAdvisor<Object, ? super OnHeapValueHolder<?>> evictionAdvisor) {
+    long windowMaximum = windowMaximum();
+
+    // The window grew while the main space had room: admit its overflow unconditionally
+    Iterator<K> overflow = window.keySet().iterator();
+    while (window.size() > windowMaximum + 1 && overflow.hasNext()) {
+      K admitted = overflow.next();
+      overflow.remove();
+      probation.put(admitted, Boolean.TRUE);
+    }
+
+    Map.Entry<K, OnHeapValueHolder<V>> victim = firstEvictable(probation, limit, evictionAdvisor);
+    if (victim == null) {
+      victim = firstEvictable(protectedSegment, limit, evictionAdvisor);
+    }
+
+    if (window.size() > windowMaximum) {
+      Map.Entry<K, OnHeapValueHolder<V>> candidate = firstEvictable(window, limit, evictionAdvisor);
+      if (candidate != null) {
+        if (victim == null || sketch.frequency(candidate.getKey()) <= sketch.frequency(victim.getKey())) {
+          return candidate;
+        } else {
+          window.remove(candidate.getKey());
+          probation.put(candidate.getKey(), Boolean.TRUE);
+          return victim;
+        }
+      }
+    }
+
+    if (victim == null) {
+      return firstEvictable(window, limit, evictionAdvisor);
+    } else {
+      return victim;
+    }
+  }
+
+  /**
+   * Returns the least recently used mapping of the segment that can be evicted, dropping the keys of mappings that
+   * are no longer present on the way.
+   */
+  private Map.Entry<K, OnHeapValueHolder<V>> firstEvictable(Map<K, Boolean> segment, int limit, EvictionAdvisor<Object, ? super OnHeapValueHolder<?>> evictionAdvisor) {
+    Iterator<K> iterator = segment.keySet().iterator();
+    while (limit > 0 && iterator.hasNext()) {
+      K key = iterator.next();
+      OnHeapValueHolder<V> value = super.get(key);
+      if (value == null) {
+        iterator.remove();
+      } else if (evictionAdvisor.adviseAgainstEviction(key, value)) {
+        limit--;
+      } else {
+        return new AbstractMap.SimpleImmutableEntry<>(key, value);
+      }
+    }
+    return null;
+  }
+
+  private long windowMaximum() {
+    return Math.max(1L, trackedCount() * WINDOW_PERCENTAGE / 100L);
+  }
+
+  private long trackedCount() {
+    return (long) window.size() + probation.size() + protectedSegment.size();
+  }
+
+  private static final class PolicyUpdate<K> {
+
+    private final K key;
+    private final boolean removal;
+
+    PolicyUpdate(K key, boolean removal) {
+      this.key = key;
+      this.removal = removal;
+    }
+  }
+
+  /**
+   * Striped, lossy buffers of accessed keys, following the layout of {@link ReadBuffer}.
+   */
+  private static final class AccessBuffer<K> {
+
+    private static final int STRIPE_CAPACITY = 16;
+    private static final int STRIPE_MASK = STRIPE_CAPACITY - 1;
+    private static final int MAXIMUM_STRIPES = 64;
+
+    private final AtomicReferenceArray<K>[] stripes;
+    private final AtomicLong[] writeCounters;
+    private final long[] readCounters;
+    private final int stripeMask;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    AccessBuffer() {
+      int stripeCount = Math.min(MAXIMUM_STRIPES, Integer.highestOneBit(Math.max(1, 4 * Runtime.getRuntime().availableProcessors() - 1)) << 1);
+      this.stripes = new AtomicReferenceArray[stripeCount];
+      this.writeCounters = new AtomicLong[stripeCount];
+      this.readCounters = new long[stripeCount];
+      for (int i = 0; i < stripeCount; i++) {
+        stripes[i] = new AtomicReferenceArray<>(STRIPE_CAPACITY);
+        writeCounters[i] = new AtomicLong();
+      }
+      this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * @return {@code false} if the stripe of the calling thread is full
+     */
+    boolean offer(K key) {
+      int stripe = (int) ((Thread.currentThread().getId() * 0x9e3779b97f4a7c15L) >>> 32) & stripeMask;
+      AtomicLong writeCounter = writeCounters[stripe];
+      long tail = writeCounter.get();
+      if (stripes[stripe].get((int) tail & STRIPE_MASK) != null) {
+        return false;
+      }
+      if (writeCounter.compareAndSet(tail, tail + 1)) {
+        stripes[stripe].lazySet((int) tail & STRIPE_MASK, key);
+      }
+      return true;
+    }
+
+    /**
+     * Hands the recorded keys over to the given consumer, draining each stripe at most once around so that
+     * concurrent readers cannot keep the calling thread draining. Only to be called under the policy lock.
+     */
+    void drainTo(Consumer<K> consumer) {
+      for (int stripe = 0; stripe < stripes.length; stripe++) {
+        AtomicReferenceArray<K> keys = stripes[stripe];
+        for (int i = 0; i < STRIPE_CAPACITY; i++) {
+          int index = (int) readCounters[stripe] & STRIPE_MASK;
+          K key = keys.get(index);
+          if (key == null) {
+            // empty, or slot claimed but not yet published
+            break;
+          }
+          keys.lazySet(index, null);
+          readCounters[stripe]++;
+          consumer.accept(key);
+        }
+      }
+    }
+  }
+}
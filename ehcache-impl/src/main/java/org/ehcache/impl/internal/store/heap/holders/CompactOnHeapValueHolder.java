@@ -0,0 +1,58 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.heap.holders;
+
+/**
+ * Value holder for mappings that never expire in count sized stores, holding neither identifier, expiration time nor
+ * size.
+ */
+public class CompactOnHeapValueHolder<V> extends OnHeapValueHolder<V> {
+
+  private final V value;
+
+  public CompactOnHeapValueHolder(V value, long creationTime, boolean evictionAdvice) {
+    super(creationTime, evictionAdvice);
+    if (value == null) {
+      throw new NullPointerException("null value");
+    }
+    this.value = value;
+  }
+
+  @Override
+  public V get() {
+    return value;
+  }
+
+  /**
+   * Compact value holder keeping the identifier assigned by a lower tier.
+   */
+  public static class Identified<V> extends CompactOnHeapValueHolder<V> {
+
+    private final long id;
+
+    public Identified(long id, V value, long creationTime, boolean evictionAdvice) {
+      super(value, creationTime, evictionAdvice);
+      this.id = id;
+    }
+
+    @Override
+    public long getId() {
+      return id;
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.heap.holders;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Base value holder of the heap tier for mappings that can expire.
+ */
+public abstract class ExpiringOnHeapValueHolder<V> extends OnHeapValueHolder<V> {
+
+  @SuppressWarnings("rawtypes")
+  private static final AtomicLongFieldUpdater<ExpiringOnHeapValueHolder> EXPIRATIONTIME_UPDATER = AtomicLongFieldUpdater.newUpdater(ExpiringOnHeapValueHolder.class, "expirationTime");
+
+  @SuppressWarnings("CanBeFinal")
+  private volatile long expirationTime;
+
+  protected ExpiringOnHeapValueHolder(long creationTime, long expirationTime, boolean evictionAdvice) {
+    super(creationTime, evictionAdvice);
+    this.expirationTime = expirationTime;
+  }
+
+  @Override
+  public long expirationTime() {
+    return this.expirationTime;
+  }
+
+  @Override
+  public void setExpirationTime(long expirationTime) {
+    if (expirationTime == NO_EXPIRE) {
+      updateExpirationTime(NO_EXPIRE);
+    } else if (expirationTime < 0) {
+      throw new IllegalArgumentException("invalid expiration time: " + expirationTime);
+    } else {
+      updateExpirationTime(expirationTime);
+    }
+  }
+
+  private void updateExpirationTime(long update) {
+    while (true) {
+      long current = this.expirationTime;
+      if (current >= update) {
+        break;
+      }
+      if (EXPIRATIONTIME_UPDATER.compareAndSet(this, current, update)) {
+        break;
+      }
+    }
+  }
+}
@@ -17,25 +17,42 @@
 
 package org.ehcache.impl.internal.store.heap.holders;
 
-import org.ehcache.core.spi.store.AbstractValueHolder;
+import org.ehcache.core.config.ExpiryUtils;
+import org.ehcache.core.spi.store.Store;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import static java.lang.String.format;
+import static org.ehcache.core.config.ExpiryUtils.isExpiryDurationInfinite;
 
 /**
+ * Base value holder of the heap tier.
+ * <p>
+ * This class only holds the state every heap mapping needs: its creation time, last access time and eviction advice.
+ * The identifier, expiration time and size are left to the subclasses that need them, and default to no identifier, no
+ * expiry and no size.
+ *
  * @author Ludovic Orban
  */
-public abstract class OnHeapValueHolder<V> extends AbstractValueHolder<V> {
+public abstract class OnHeapValueHolder<V> implements Store.ValueHolder<V> {
 
-  private final boolean evictionAdvice;
-  private long size;
+  /**
+   * Identifier of value holders that were not assigned one by a lower tier.
+   */
+  public static final long NO_ID = -1L;
 
-  protected OnHeapValueHolder(long id, long creationTime, boolean evictionAdvice) {
-    super(id, creationTime);
-    this.evictionAdvice = evictionAdvice;
-  }
+  @SuppressWarnings("rawtypes")
+  private static final AtomicLongFieldUpdater<OnHeapValueHolder> ACCESSTIME_UPDATER = AtomicLongFieldUpdater.newUpdater(OnHeapValueHolder.class, "lastAccessTime");
 
-  protected OnHeapValueHolder(long id, long creationTime, long expirationTime, boolean evictionAdvice) {
-    super(id, creationTime, expirationTime);
+  private final long creationTime;
+  @SuppressWarnings("CanBeFinal")
+  private volatile long lastAccessTime;
+  private final boolean evictionAdvice;
+
+  protected OnHeapValueHolder(long creationTime, boolean evictionAdvice) {
+    this.creationTime = creationTime;
+    this.lastAccessTime = creationTime;
     this.evictionAdvice = evictionAdvice;
   }
 
@@ -44,21 +61,109 @@ public abstract class OnHeapValueHolder<V> extends AbstractValueHolder<V> {
   }
 
   public long size() {
-    return this.size;
+    return 0L;
   }
 
   public void setSize(long size) {
-    if (this.size != 0) {
-      throw new UnsupportedOperationException("Cannot change the size if it is done already");
+    if (size != 0) {
+      throw new UnsupportedOperationException("This value holder is not sized");
+    }
+  }
+
+  @Override
+  public long getId() {
+    return NO_ID;
+  }
+
+  @Override
+  public long creationTime() {
+    return creationTime;
+  }
+
+  @Override
+  public long expirationTime() {
+    return NO_EXPIRE;
+  }
+
+  /**
+   * Set the new expiration time in milliseconds. Can be {@link #NO_EXPIRE} if the entry
+   * shouldn't expire.
+   *
+   * @param expirationTime new expiration time
+   */
+  public void setExpirationTime(long expirationTime) {
+    if (expirationTime != NO_EXPIRE) {
+      throw new UnsupportedOperationException("This value holder does not expire");
     }
-    this.size = size;
+  }
+
+  public void accessed(long now, Duration expiration) {
+    if (expiration != null) {
+      if (isExpiryDurationInfinite(expiration)) {
+        setExpirationTime(Store.ValueHolder.NO_EXPIRE);
+      } else {
+        long newExpirationTime = ExpiryUtils.getExpirationMillis(now, expiration);
+        setExpirationTime(newExpirationTime);
+      }
+    }
+    setLastAccessTime(now);
+  }
+
+  @Override
+  public boolean isExpired(long expirationTime) {
+    long expire = expirationTime();
+    if (expire == NO_EXPIRE) {
+      return false;
+    }
+    return expire <= expirationTime;
+  }
+
+  @Override
+  public long lastAccessTime() {
+    return lastAccessTime;
+  }
+
+  /**
+   * Set the last time this entry was accessed in milliseconds.
+   *
+   * @param lastAccessTime last time the entry was accessed
+   */
+  public void setLastAccessTime(long lastAccessTime) {
+    while (true) {
+      long current = this.lastAccessTime;
+      if (current >= lastAccessTime) {
+        break;
+      }
+      if (ACCESSTIME_UPDATER.compareAndSet(this, current, lastAccessTime)) {
+        break;
+      }
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    long expirationTime = expirationTime();
+    int result = 1;
+    result = 31 * result + (int)(creationTime ^ (creationTime >>> 32));
+    result = 31 * result + (int)(lastAccessTime ^ (lastAccessTime >>> 32));
+    result = 31 * result + (int)(expirationTime ^ (expirationTime >>> 32));
+    return result;
   }
 
   @Override
   public boolean equals(Object obj) {
     if (obj != null && this.getClass().equals(obj.getClass())) {
-      return super.equals(obj);
+      OnHeapValueHolder<?> other = (OnHeapValueHolder<?>) obj;
+      return
+          other.creationTime == creationTime &&
+          other.expirationTime() == expirationTime() &&
+          other.lastAccessTime == lastAccessTime;
     }
     return false;
   }
+
+  @Override
+  public String toString() {
+    return format("%s", get());
+  }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.heap.holders;
+
+import org.ehcache.core.spi.store.Store;
+import org.ehcache.expiry.ExpiryPolicy;
+
+import java.time.Duration;
+
+import static org.ehcache.core.config.ExpiryUtils.isExpiryDurationInfinite;
+import static org.ehcache.core.spi.store.Store.ValueHolder.NO_EXPIRE;
+import static org.ehcache.impl.internal.store.heap.holders.OnHeapValueHolder.NO_ID;
+
+/**
+ * Layouts of the value holders created by a heap store, chosen once at store creation time so that mappings only
+ * carry the state the store actually uses.
+ */
+public enum OnHeapValueHolderLayout {
+
+  /**
+   * Holders carrying identifier, expiration time and size, as needed by byte sized stores.
+   */
+  FULL {
+    @Override
+    public <V> OnHeapValueHolder<V> newValueHolder(V value, long creationTime, long expirationTime, boolean evictionAdvice) {
+      return new SimpleOnHeapValueHolder<>(value, creationTime, expirationTime, evictionAdvice);
+    }
+
+    @Override
+    public <V> OnHeapValueHolder<V> copyValueHolder(Store.ValueHolder<V> valueHolder, V value, boolean evictionAdvice, long now, Duration expiration) {
+      return new SimpleOnHeapValueHolder<>(valueHolder, value, evictionAdvice, now, expiration);
+    }
+  },
+
+  /**
+   * Holders of count sized stores whose mappings can expire: no size, and an identifier only when assigned by a lower
+   * tier.
+   */
+  COMPACT_EXPIRING {
+    @Override
+    public <V> OnHeapValueHolder<V> newValueHolder(V value, long creationTime, long expirationTime, boolean evictionAdvice) {
+      return new CompactExpiringOnHeapValueHolder<>(value, creationTime, expirationTime, evictionAdvice);
+    }
+
+    @Override
+    public <V> OnHeapValueHolder<V> copyValueHolder(Store.ValueHolder<V> valueHolder, V value, boolean evictionAdvice, long now, Duration expiration) {
+      OnHeapValueHolder<V> copy;
+      if (valueHolder.getId() == NO_ID) {
+        copy = new CompactExpiringOnHeapValueHolder<>(value, valueHolder.creationTime(), valueHolder.expirationTime(), evictionAdvice);
+      } else {
+        copy = new CompactExpiringOnHeapValueHolder.Identified<>(valueHolder.getId(), value, valueHolder.creationTime(), valueHolder.expirationTime(), evictionAdvice);
+      }
+      copy.accessed(now, expiration);
+      return copy;
+    }
+  },
+
+  /**
+   * Holders of count sized stores whose mappings never expire: no expiration time, no size, and an identifier only
+   * when assigned by a lower tier.
+   * <p>
+   * Mappings that turn out to expire nonetheless, for example when faulted from a lower tier populated under a
+   * different expiry, get a {@link #COMPACT_EXPIRING} holder.
+   */
+  COMPACT {
+    @Override
+    public <V> OnHeapValueHolder<V> newValueHolder(V value, long creationTime, long expirationTime, boolean evictionAdvice) {
+      if (expirationTime == NO_EXPIRE) {
+        return new CompactOnHeapValueHolder<>(value, creationTime, evictionAdvice);
+      } else {
+        return COMPACT_EXPIRING.newValueHolder(value, creationTime, expirationTime, evictionAdvice);
+      }
+    }
+
+    @Override
+    public <V> OnHeapValueHolder<V> copyValueHolder(Store.ValueHolder<V> valueHolder, V value, boolean evictionAdvice, long now, Duration expiration) {
+      if (valueHolder.expirationTime() != NO_EXPIRE || (expiration != null && !isExpiryDurationInfinite(expiration))) {
+        return COMPACT_EXPIRING.copyValueHolder(valueHolder, value, evictionAdvice, now, expiration);
+      }
+      OnHeapValueHolder<V> copy;
+      if (valueHolder.getId() == NO_ID) {
+        copy = new CompactOnHeapValueHolder<>(value, valueHolder.creationTime(), evictionAdvice);
+      } else {
+        copy = new CompactOnHeapValueHolder.Identified<>(valueHolder.getId(), value, valueHolder.creationTime(), evictionAdvice);
+      }
+      copy.accessed(now, expiration);
+      return copy;
+    }
+  };
+
+  /**
+   * Creates a value holder for a new mapping.
+   *
+   * @param value the value
+   * @param creationTime the creation time in milliseconds
+   * @param expirationTime the expiration time in milliseconds, or {@link Store.ValueHolder#NO_EXPIRE}
+   * @param evictionAdvice the eviction advice of the mapping
+   * @param <V> the value type
+   * @return a new value holder
+   */
+  public abstract <V> OnHeapValueHolder<V> newValueHolder(V value, long creationTime, long expirationTime, boolean evictionAdvice);
+
+  /**
+   * Creates a value holder from the value holder of another tier, recording an access at {@code now}.
+   *
+   * @param valueHolder the value holder to copy
+   * @param value the value, already copied if required
+   * @param evictionAdvice the eviction advice of the mapping
+   * @param now the access time in milliseconds
+   * @param expiration the access expiration duration, {@code null} to leave the expiration time untouched
+   * @param <V> the value type
+   * @return a new value holder
+   */
+  public abstract <V> OnHeapValueHolder<V> copyValueHolder(Store.ValueHolder<V> valueHolder, V value, boolean evictionAdvice, long now, Duration expiration);
+
+  /**
+   * Indicates whether the holders of this layout record the size of their mapping.
+   *
+   * @return {@code true} if holders are sized
+   */
+  public boolean isSized() {
+    return this == FULL;
+  }
+
+  /**
+   * Returns the most compact layout fitting a store.
+   *
+   * @param byteSized whether the store is byte sized
+   * @param expiry the store expiry
+   * @return the value holder layout
+   */
+  public static OnHeapValueHolderLayout layoutFor(boolean byteSized, ExpiryPolicy<?, ?> expiry) {
+    if (byteSized) {
+      return FULL;
+    } else if (expiry == ExpiryPolicy.NO_EXPIRY) {
+      return COMPACT;
+    } else {
+      return COMPACT_EXPIRING;
+    }
+  }
+}
@@ -20,16 +20,22 @@ package org.ehcache.impl.internal.store.heap.holders;
 import org.ehcache.core.spi.store.Store;
 
 /**
+ * Value holder carrying every piece of heap mapping state: identifier, expiration time and size.
+ *
  * @author Albin Suresh
  */
-public class SimpleOnHeapValueHolder<V> extends OnHeapValueHolder<V> {
+public class SimpleOnHeapValueHolder<V> extends ExpiringOnHeapValueHolder<V> {
+
+  private final long id;
+  private long size;
   private final V value;
 
   protected SimpleOnHeapValueHolder(long id, V value, long creationTime, long expirationTime, boolean evictionAdvice) {
-    super(id, creationTime, expirationTime, evictionAdvice);
+    super(creationTime, expirationTime, evictionAdvice);
     if (value == null) {
       throw new NullPointerException("null value");
     }
+    this.id = id;
     this.value = value;
   }
 
@@ -43,11 +49,7 @@ public class SimpleOnHeapValueHolder<V> extends OnHeapValueHolder<V> {
    * @param expiration computed expiration duration
    */
   public SimpleOnHeapValueHolder(Store.ValueHolder<V> valueHolder, V value, boolean evictionAdvice, long now, java.time.Duration expiration) {
-    super(valueHolder.getId(), valueHolder.creationTime(), valueHolder.expirationTime(), evictionAdvice);
-    if (value == null) {
-      throw new NullPointerException("null value");
-    }
-    this.value = value;
+    this(valueHolder.getId(), value, valueHolder.creationTime(), valueHolder.expirationTime(), evictionAdvice);
     this.accessed(now, expiration);
   }
 
@@ -56,7 +58,25 @@ public class SimpleOnHeapValueHolder<V> extends OnHeapValueHolder<V> {
   }
 
   public SimpleOnHeapValueHolder(V value, long creationTime, long expirationTime, boolean evictionAdvice) {
-    this(-1, value, creationTime, expirationTime, evictionAdvice);
+    this(NO_ID, value, creationTime, expirationTime, evictionAdvice);
+  }
+
+  @Override
+  public long getId() {
+    return id;
+  }
+
+  @Override
+  public long size() {
+    return this.size;
+  }
+
+  @Override
+  public void setSize(long size) {
+    if (this.size != 0) {
+      throw new UnsupportedOperationException("Cannot change the size if it is done already");
+    }
+    this.size = size;
   }
 
   @Override
@@ -16,8 +16,12 @@
  */
 package org.ehcache.impl.internal.store.loaderwriter;
 
+import org.ehcache.core.spi.service.ExecutionService;
+import org.ehcache.core.spi.service.StatisticsService;
 import org.ehcache.core.spi.store.AbstractWrapperStoreProvider;
 import org.ehcache.core.spi.store.Store;
+import org.ehcache.core.spi.time.TimeSourceService;
+import org.ehcache.impl.config.loaderwriter.RefreshAheadConfiguration;
 import org.ehcache.spi.loaderwriter.CacheLoaderWriter;
 import org.ehcache.spi.loaderwriter.CacheLoaderWriterConfiguration;
 import org.ehcache.spi.loaderwriter.CacheLoaderWriterProvider;
@@ -29,12 +33,17 @@ import org.ehcache.spi.service.ServiceConfiguration;
 import org.ehcache.spi.service.ServiceDependencies;
 import org.ehcache.spi.service.ServiceProvider;
 
+import java.util.concurrent.LinkedBlockingQueue;
+
 import static org.ehcache.core.spi.service.ServiceUtils.findSingletonAmongst;
 
-@ServiceDependencies({CacheLoaderWriterProvider.class, WriteBehindProvider.class})
+@ServiceDependencies({CacheLoaderWriterProvider.class, WriteBehindProvider.class, ExecutionService.class, TimeSourceService.class})
 public class LoaderWriterStoreProvider extends AbstractWrapperStoreProvider {
 
   private volatile WriteBehindProvider writeBehindProvider;
+  private volatile ExecutionService executionService;
+  private volatile TimeSourceService timeSourceService;
+  private volatile StatisticsService statisticsService;
 
   @SuppressWarnings({"rawtypes", "unchecked"})
   public LoaderWriterStoreProvider() {
@@ -50,9 +59,11 @@ public class LoaderWriterStoreProvider extends AbstractWrapperStoreProvider {
   @SuppressWarnings("unchecked")
   protected <K, V> Store<K, V> wrap(Store<K, V> store, Store.Configuration<K, V> storeConfig, ServiceConfiguration<?, ?>... serviceConfigs) {
     WriteBehindConfiguration<?> writeBehindConfiguration = findSingletonAmongst(WriteBehindConfiguration.class, (Object[]) serviceConfigs);
+    RefreshAheadConfiguration refreshAheadConfiguration = findSingletonAmongst(RefreshAheadConfiguration.class, (Object[]) serviceConfigs);
     LocalLoaderWriterStore<K, V> loaderWriterStore;
     if(writeBehindConfiguration == null) {
-      loaderWriterStore = new LocalLoaderWriterStore<>(store, storeConfig.getCacheLoaderWriter(), storeConfig.useLoaderInAtomics(), storeConfig.getExpiry());
+      RefreshAhead<K, V> refreshAhead = createRefreshAhead(store, storeConfig.getCacheLoaderWriter(), refreshAheadConfiguration);
+      loaderWriterStore = new LocalLoaderWriterStore<>(store, storeConfig.getCacheLoaderWriter(), storeConfig.useLoaderInAtomics(), storeConfig.getExpiry(), refreshAhead);
     } else {
       CacheLoaderWriter<? super K, V> writeBehindLoaderWriter = writeBehindProvider.createWriteBehindLoaderWriter( key-> {
         try {
@@ -61,14 +72,33 @@ public class LoaderWriterStoreProvider extends AbstractWrapperStoreProvider {
           throw new RuntimeException(ex);
         }
       }, storeConfig.getCacheLoaderWriter(), writeBehindConfiguration);
-      loaderWriterStore = new LocalWriteBehindLoaderWriterStore<>(store, writeBehindLoaderWriter, storeConfig.useLoaderInAtomics(), storeConfig.getExpiry());
+      RefreshAhead<K, V> refreshAhead = createRefreshAhead(store, writeBehindLoaderWriter, refreshAheadConfiguration);
+      loaderWriterStore = new LocalWriteBehindLoaderWriterStore<>(store, writeBehindLoaderWriter, storeConfig.useLoaderInAtomics(), storeConfig.getExpiry(), refreshAhead);
+    }
+    if (loaderWriterStore.getRefreshAhead() != null && statisticsService != null) {
+      statisticsService.registerWithParent(loaderWriterStore.getRefreshAhead(), loaderWriterStore);
     }
     return loaderWriterStore;
   }
 
+  private <K, V> RefreshAhead<K, V> createRefreshAhead(Store<K, V> store, CacheLoaderWriter<? super K, V> cacheLoaderWriter, RefreshAheadConfiguration configuration) {
+    if (configuration == null) {
+      return null;
+    } else {
+      return new RefreshAhead<>(store, cacheLoaderWriter, configuration.getRefreshFraction(), timeSourceService.getTimeSource(),
+        executionService.getUnorderedExecutor(configuration.getThreadPoolAlias(), new LinkedBlockingQueue<>()), statisticsService);
+    }
+  }
+
   @Override
   public void releaseStore(Store<?, ?> resource) {
     try {
+      if (resource instanceof LocalLoaderWriterStore<?, ?>) {
+        RefreshAhead<?, ?> refreshAhead = ((LocalLoaderWriterStore<?, ?>) resource).getRefreshAhead();
+        if (refreshAhead != null) {
+          refreshAhead.close();
+        }
+      }
       if (resource instanceof LocalWriteBehindLoaderWriterStore<?, ?>) {
         writeBehindProvider.releaseWriteBehindLoaderWriter(((LocalWriteBehindLoaderWriterStore<?, ?>) resource).getCacheLoaderWriter());
       }
@@ -81,11 +111,17 @@ public class LoaderWriterStoreProvider extends AbstractWrapperStoreProvider {
   public void start(ServiceProvider<Service> serviceProvider) {
     super.start(serviceProvider);
     this.writeBehindProvider = serviceProvider.getService(WriteBehindProvider.class);
+    this.executionService = serviceProvider.getService(ExecutionService.class);
+    this.timeSourceService = serviceProvider.getService(TimeSourceService.class);
+    this.statisticsService = serviceProvider.getService(StatisticsService.class);
   }
 
   @Override
   public void stop() {
     this.writeBehindProvider = null;
+    this.executionService = null;
+    this.timeSourceService = null;
+    this.statisticsService = null;
     super.stop();
   }
 }
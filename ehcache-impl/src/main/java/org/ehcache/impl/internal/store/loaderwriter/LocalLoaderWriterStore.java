@@ -57,13 +57,24 @@ public class LocalLoaderWriterStore<K, V> implements Store<K, V> {
   private final CacheLoaderWriter<? super K, V> cacheLoaderWriter;
   private final boolean useLoaderInAtomics;
   private final ExpiryPolicy<? super K, ? super V> expiry;
+  private final RefreshAhead<K, V> refreshAhead;
 
   public LocalLoaderWriterStore(Store<K, V> delegate, CacheLoaderWriter<? super K, V> cacheLoaderWriter, boolean useLoaderInAtomics,
                                 ExpiryPolicy<? super K, ? super V> expiry) {
+    this(delegate, cacheLoaderWriter, useLoaderInAtomics, expiry, null);
+  }
+
+  LocalLoaderWriterStore(Store<K, V> delegate, CacheLoaderWriter<? super K, V> cacheLoaderWriter, boolean useLoaderInAtomics,
+                         ExpiryPolicy<? super K, ? super V> expiry, RefreshAhead<K, V> refreshAhead) {
     this.delegate = delegate;
     this.cacheLoaderWriter = cacheLoaderWriter;
     this.useLoaderInAtomics = useLoaderInAtomics;
     this.expiry = expiry;
+    this.refreshAhead = refreshAhead;
+  }
+
+  RefreshAhead<K, V> getRefreshAhead() {
+    return refreshAhead;
   }
 
   @Override
@@ -75,7 +86,11 @@ public class LocalLoaderWriterStore<K, V> implements Store<K, V> {
         throw new StorePassThroughException(newCacheLoadingException(e));
       }
     };
-    return delegate.computeIfAbsent(key, mappingFunction);
+    ValueHolder<V> valueHolder = delegate.computeIfAbsent(key, mappingFunction);
+    if (refreshAhead != null && valueHolder != null) {
+      refreshAhead.onHit(key, valueHolder);
+    }
+    return valueHolder;
   }
 
   @Override
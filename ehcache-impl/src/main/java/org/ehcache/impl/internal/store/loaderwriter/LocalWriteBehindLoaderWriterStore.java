@@ -25,7 +25,12 @@ public class LocalWriteBehindLoaderWriterStore<K, V> extends LocalLoaderWriterSt
   private final CacheLoaderWriter<? super K, V> cacheLoaderWriter;
 
   public LocalWriteBehindLoaderWriterStore(Store<K, V> delegate, CacheLoaderWriter<? super K, V> cacheLoaderWriter, boolean useLoaderInAtomics, ExpiryPolicy<? super K, ? super V> expiry) {
-    super(delegate, cacheLoaderWriter, useLoaderInAtomics, expiry);
+    this(delegate, cacheLoaderWriter, useLoaderInAtomics, expiry, null);
+  }
+
+  LocalWriteBehindLoaderWriterStore(Store<K, V> delegate, CacheLoaderWriter<? super K, V> cacheLoaderWriter, boolean useLoaderInAtomics,
+                                    ExpiryPolicy<? super K, ? super V> expiry, RefreshAhead<K, V> refreshAhead) {
+    super(delegate, cacheLoaderWriter, useLoaderInAtomics, expiry, refreshAhead);
     this.cacheLoaderWriter = cacheLoaderWriter;
   }
 
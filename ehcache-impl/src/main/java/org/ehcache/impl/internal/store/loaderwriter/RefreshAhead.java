@@ -0,0 +1,129 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.loaderwriter;
+
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.core.spi.store.Store;
+import org.ehcache.core.spi.time.TimeSource;
+import org.ehcache.core.statistics.OperationObserver;
+import org.ehcache.core.statistics.StoreOperationOutcomes;
+import org.ehcache.core.statistics.ZeroOperationStatistic;
+import org.ehcache.spi.loaderwriter.CacheLoaderWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Schedules asynchronous reloads of mappings read after a fraction of their time-to-live elapsed.
+ * <p>
+ * At most one reload is in flight per key. A reload only replaces the mapping if it still holds the value that
+ * triggered it, so that concurrent updates are never overwritten by older data from the loader.
+ */
+class RefreshAhead<K, V> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RefreshAhead.class);
+  private static final Supplier<Boolean> SUPPLY_TRUE = () -> Boolean.TRUE;
+  private static final Supplier<Boolean> SUPPLY_FALSE = () -> Boolean.FALSE;
+
+  private final Store<K, V> delegate;
+  private final CacheLoaderWriter<? super K, V> cacheLoaderWriter;
+  private final double refreshFraction;
+  private final TimeSource timeSource;
+  private final ExecutorService executor;
+  private final ConcurrentMap<K, Boolean> inFlight = new ConcurrentHashMap<>();
+
+  private final OperationObserver<StoreOperationOutcomes.RefreshAheadOutcome> refreshAheadObserver;
+  private final OperationObserver<StoreOperationOutcomes.RefreshOutcome> refreshObserver;
+
+  RefreshAhead(Store<K, V> delegate, CacheLoaderWriter<? super K, V> cacheLoaderWriter, double refreshFraction,
+               TimeSource timeSource, ExecutorService executor, StatisticsService statisticsService) {
+    this.delegate = delegate;
+    this.cacheLoaderWriter = cacheLoaderWriter;
+    this.refreshFraction = refreshFraction;
+    this.timeSource = timeSource;
+    this.executor = executor;
+    if (statisticsService == null) {
+      this.refreshAheadObserver = ZeroOperationStatistic.get();
+      this.refreshObserver = ZeroOperationStatistic.get();
+    } else {
+      this.refreshAheadObserver = statisticsService.createOperationStatistics("refreshAhead", StoreOperationOutcomes.RefreshAheadOutcome.class, "RefreshAhead", this);
+      this.refreshObserver = statisticsService.createOperationStatistics("refresh", StoreOperationOutcomes.RefreshOutcome.class, "RefreshAhead", this);
+    }
+  }
+
+  /**
+   * Schedules a reload of the mapping if it is due for a refresh and none is already in flight.
+   *
+   * @param key the key read
+   * @param valueHolder the value holder returned by the read
+   */
+  void onHit(K key, Store.ValueHolder<V> valueHolder) {
+    long expirationTime = valueHolder.expirationTime();
+    if (expirationTime == Store.ValueHolder.NO_EXPIRE) {
+      return;
+    }
+    long creationTime = valueHolder.creationTime();
+    long refreshTime = creationTime + (long) ((expirationTime - creationTime) * refreshFraction);
+    if (timeSource.getTimeMillis() < refreshTime) {
+      return;
+    }
+
+    refreshAheadObserver.begin();
+    if (inFlight.putIfAbsent(key, Boolean.TRUE) != null) {
+      refreshAheadObserver.end(StoreOperationOutcomes.RefreshAheadOutcome.COALESCED);
+      return;
+    }
+    refreshAheadObserver.end(StoreOperationOutcomes.RefreshAheadOutcome.ISSUED);
+
+    V staleValue = valueHolder.get();
+    try {
+      executor.execute(() -> refresh(key, staleValue));
+    } catch (RejectedExecutionException e) {
+      inFlight.remove(key);
+      refreshObserver.begin();
+      refreshObserver.end(StoreOperationOutcomes.RefreshOutcome.FAILURE);
+      LOG.debug("Refresh of key {} rejected", key, e);
+    }
+  }
+
+  private void refresh(K key, V staleValue) {
+    refreshObserver.begin();
+    try {
+      V loaded = cacheLoaderWriter.load(key);
+      delegate.computeAndGet(key, (k, current) -> staleValue.equals(current) ? loaded : current, SUPPLY_TRUE, SUPPLY_FALSE);
+      refreshObserver.end(StoreOperationOutcomes.RefreshOutcome.SUCCESS);
+    } catch (Exception e) {
+      refreshObserver.end(StoreOperationOutcomes.RefreshOutcome.FAILURE);
+      LOG.warn("Refresh of key {} failed, the current mapping is left to expire", key, e);
+    } finally {
+      inFlight.remove(key);
+    }
+  }
+
+  /**
+   * Stops issuing refreshes, abandoning the ones not yet started.
+   */
+  void close() {
+    executor.shutdownNow();
+  }
+}
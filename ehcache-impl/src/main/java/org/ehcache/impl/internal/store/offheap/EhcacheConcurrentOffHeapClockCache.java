@@ -19,6 +19,7 @@ package org.ehcache.impl.internal.store.offheap;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.ehcache.config.EvictionAdvisor;
+import org.ehcache.impl.internal.store.offheap.factories.EhcacheSegmentFactory.EhcacheSegment;
 
 import org.terracotta.offheapstore.MetadataTuple;
 import org.terracotta.offheapstore.Segment;
@@ -148,6 +149,17 @@ public class EhcacheConcurrentOffHeapClockCache<K, V> extends AbstractConcurrent
     return total;
   }
 
+  /**
+   * Shrinks the tables of the sparse segments, skipping the segments that are currently locked.
+   */
+  public void shrinkTables() {
+    for (Segment<K, V> segment : segments) {
+      if (segment instanceof EhcacheSegment<?, ?>) {
+        ((EhcacheSegment<?, ?>) segment).tryShrinkTable();
+      }
+    }
+  }
+
   @Override
   public V compute(K key, final BiFunction<K, V, V> mappingFunction, final boolean pin) {
     MetadataTuple<V> result = computeWithMetadata(key, (k, current) -> {
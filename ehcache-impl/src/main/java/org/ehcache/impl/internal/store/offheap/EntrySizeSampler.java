@@ -0,0 +1,92 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.offheap;
+
+import org.ehcache.core.spi.store.Store;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Remembers the average entry size observed in the off-heap stores of a given profile, so that the next backing map
+ * created for that profile is sized after the entries actually stored rather than after the size assumed by
+ * {@link HeuristicConfiguration}.
+ * <p>
+ * Stores are sampled as they grow and when released, but only once they hold enough entries for their average to be
+ * meaningful.
+ *
+ * @see #profile(Store.Configuration)
+ */
+public class EntrySizeSampler {
+
+  static final long WARM_UP_ENTRIES = 256;
+
+  private volatile int averageEntrySize;
+
+  /**
+   * Returns the average entry size sampled so far.
+   *
+   * @return the average entry size in bytes, {@code 0} if none was sampled
+   */
+  public int averageEntrySize() {
+    return averageEntrySize;
+  }
+
+  /**
+   * Samples the average entry size of the given backing map, if warmed-up.
+   *
+   * @param map the backing map to sample
+   */
+  public void sample(EhcacheOffHeapBackingMap<?, ?> map) {
+    int observed = averageEntrySize(map);
+    if (observed > 0) {
+      averageEntrySize = observed;
+    }
+  }
+
+  /**
+   * Returns the average size of the entries of a backing map.
+   *
+   * @param map the backing map
+   * @return the average entry size in bytes, {@code 0} if the map holds too few entries to tell
+   */
+  static int averageEntrySize(EhcacheOffHeapBackingMap<?, ?> map) {
+    long size = map.longSize();
+    if (size < WARM_UP_ENTRIES) {
+      return 0;
+    } else {
+      return (int) Math.min(Integer.MAX_VALUE, map.dataOccupiedMemory() / size);
+    }
+  }
+
+  /**
+   * Returns the profile of a store: stores sharing key and value types and serializers are expected to hold entries of
+   * similar sizes.
+   *
+   * @param storeConfig the store configuration
+   * @return the store profile
+   */
+  public static List<String> profile(Store.Configuration<?, ?> storeConfig) {
+    return Arrays.asList(storeConfig.getKeyType().getName(), storeConfig.getValueType().getName(),
+      className(storeConfig.getKeySerializer()), className(storeConfig.getValueSerializer()));
+  }
+
+  private static String className(Object o) {
+    return o == null ? null : o.getClass().getName();
+  }
+}
@@ -38,6 +38,7 @@ public class HeuristicConfiguration {
   private static final int MAXIMAL_SEGMENT_SIZE_RATIO = 4;
   private static final int INITIAL_SEGMENT_SIZE_RATIO = 16;
   private static final int ASSUMED_KEY_VALUE_SIZE = 1024;
+  private static final int MINIMUM_KEY_VALUE_SIZE = 16;
 
   private static final int AGGRESSIVE_INITIAL_SEGMENT_SIZE_RATIO = 1;
 
@@ -52,6 +53,17 @@ public class HeuristicConfiguration {
   private final int assumedKeyValueSize;
 
   public HeuristicConfiguration(long maximumSize) {
+    this(maximumSize, ASSUMED_KEY_VALUE_SIZE);
+  }
+
+  /**
+   * Creates a sizing configuration assuming the given average key and value size, which the {@code assumedKeyValueSize}
+   * advanced property still overrides.
+   *
+   * @param maximumSize the size of the store in bytes
+   * @param assumedKeyValueSize the expected average size in bytes of a stored key and value
+   */
+  public HeuristicConfiguration(long maximumSize, int assumedKeyValueSize) {
     if (maximumSize < MINIMUM_MAX_MEMORY_IN_BYTES) {
         throw new IllegalArgumentException("The value of maxBytesLocalOffHeap is less than the minimum allowed value of " + MINIMUM_MAX_MEMORY +
                 ". Reconfigure maxBytesLocalOffHeap in ehcache.xml or programmatically.");
@@ -65,7 +77,7 @@ public class HeuristicConfiguration {
       this.maximumSegmentCount = (int) getAdvancedMemorySizeConfigProperty("maximumSegmentCount", MAXIMUM_SEGMENT_COUNT);
       this.maximalSegmentSizeRatio = (int) getAdvancedMemorySizeConfigProperty("maximalSegmentSizeRatio", MAXIMAL_SEGMENT_SIZE_RATIO);
       this.initialSegmentSizeRatio = (int) getAdvancedMemorySizeConfigProperty("initialSegmentSizeRatio", AGGRESSIVE_INITIAL_SEGMENT_SIZE_RATIO);
-      this.assumedKeyValueSize = (int) getAdvancedMemorySizeConfigProperty("assumedKeyValueSize", ASSUMED_KEY_VALUE_SIZE);
+      this.assumedKeyValueSize = (int) getAdvancedMemorySizeConfigProperty("assumedKeyValueSize", Math.max(MINIMUM_KEY_VALUE_SIZE, assumedKeyValueSize));
     } else {
       this.idealMaxSegmentSize = (int) getAdvancedMemorySizeConfigProperty("idealMaxSegmentSize", IDEAL_MAX_SEGMENT_SIZE);
       this.maximumChunkSize = (int) getAdvancedMemorySizeConfigProperty("maximumChunkSize", MAXIMUM_CHUNK_SIZE);
@@ -73,7 +85,7 @@ public class HeuristicConfiguration {
       this.maximumSegmentCount = (int) getAdvancedMemorySizeConfigProperty("maximumSegmentCount", MAXIMUM_SEGMENT_COUNT);
       this.maximalSegmentSizeRatio = (int) getAdvancedMemorySizeConfigProperty("maximalSegmentSizeRatio", MAXIMAL_SEGMENT_SIZE_RATIO);
       this.initialSegmentSizeRatio = (int) getAdvancedMemorySizeConfigProperty("initialSegmentSizeRatio", INITIAL_SEGMENT_SIZE_RATIO);
-      this.assumedKeyValueSize = (int) getAdvancedMemorySizeConfigProperty("assumedKeyValueSize", ASSUMED_KEY_VALUE_SIZE);
+      this.assumedKeyValueSize = (int) getAdvancedMemorySizeConfigProperty("assumedKeyValueSize", Math.max(MINIMUM_KEY_VALUE_SIZE, assumedKeyValueSize));
     }
   }
 
@@ -93,6 +105,10 @@ public class HeuristicConfiguration {
     return Integer.highestOneBit((int) Math.min(maximumSegmentCount, Math.max(minimumSegmentCount, getMaximumSize() / idealMaxSegmentSize)));
   }
 
+  public int getAssumedKeyValueSize() {
+    return assumedKeyValueSize;
+  }
+
   public int getInitialSegmentTableSize() {
     return Math.max(1, getSegmentDataPageSize() / assumedKeyValueSize);
   }
@@ -102,7 +118,7 @@ public class HeuristicConfiguration {
   }
 
   private long getInitialSegmentCapacity() {
-    return getMaximumSize() / (getConcurrency() * initialSegmentSizeRatio * (assumedKeyValueSize + 16));
+    return Math.max(1, getMaximumSize() / (getConcurrency() * initialSegmentSizeRatio * (assumedKeyValueSize + 16)));
   }
 
   @Override
@@ -111,6 +127,7 @@ public class HeuristicConfiguration {
                 "Minimum Chunk Size         : " + DebuggingUtils.toBase2SuffixedString(getMinimumChunkSize()) + "B\n" +
                 "Maximum Chunk Size         : " + DebuggingUtils.toBase2SuffixedString(getMaximumChunkSize()) + "B\n" +
                 "Concurrency                : " + getConcurrency() + "\n" +
+                "Assumed Key Value Size     : " + DebuggingUtils.toBase2SuffixedString(getAssumedKeyValueSize()) + "B\n" +
                 "Initial Segment Table Size : " + DebuggingUtils.toBase2SuffixedString(getInitialSegmentTableSize()) + " slots\n" +
                 "Segment Data Page Size     : " + DebuggingUtils.toBase2SuffixedString(getSegmentDataPageSize()) + "B\n";
     return sb;
@@ -43,6 +43,7 @@ import org.ehcache.spi.service.ServiceDependencies;
 import org.ehcache.core.collections.ConcurrentWeakIdentityHashMap;
 import org.ehcache.core.statistics.TierOperationOutcomes;
 import org.slf4j.Logger;
+import org.terracotta.offheapstore.Segment;
 import org.terracotta.offheapstore.paging.PageSource;
 import org.terracotta.offheapstore.paging.UpfrontAllocatingPageSource;
 import org.terracotta.offheapstore.pinning.PinnableSegment;
@@ -51,13 +52,18 @@ import org.terracotta.offheapstore.storage.PointerSize;
 import org.terracotta.offheapstore.storage.portability.Portability;
 import org.terracotta.offheapstore.util.Factory;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
 
 import static org.ehcache.config.Eviction.noAdvice;
+import static org.ehcache.core.statistics.StatisticType.GAUGE;
 import static org.ehcache.impl.internal.store.offheap.OffHeapStoreUtils.getBufferSource;
 
 /**
@@ -69,10 +75,18 @@ public class OffHeapStore<K, V> extends AbstractOffHeapStore<K, V> {
   private final Serializer<K> keySerializer;
   private final Serializer<V> valueSerializer;
   private final long sizeInBytes;
+  private final EntrySizeSampler entrySizeSampler;
 
   private volatile EhcacheConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> map;
+  private volatile HeuristicConfiguration heuristicConfiguration;
+  private volatile int initialSegmentTableCapacity;
 
   public OffHeapStore(final Configuration<K, V> config, TimeSource timeSource, StoreEventDispatcher<K, V> eventDispatcher, long sizeInBytes, StatisticsService statisticsService) {
+    this(config, timeSource, eventDispatcher, sizeInBytes, new EntrySizeSampler(), statisticsService);
+  }
+
+  public OffHeapStore(final Configuration<K, V> config, TimeSource timeSource, StoreEventDispatcher<K, V> eventDispatcher, long sizeInBytes,
+                      EntrySizeSampler entrySizeSampler, StatisticsService statisticsService) {
     super(config, timeSource, eventDispatcher, statisticsService);
     EvictionAdvisor<? super K, ? super V> evictionAdvisor = config.getEvictionAdvisor();
     if (evictionAdvisor != null) {
@@ -83,6 +97,45 @@ public class OffHeapStore<K, V> extends AbstractOffHeapStore<K, V> {
     this.keySerializer = config.getKeySerializer();
     this.valueSerializer = config.getValueSerializer();
     this.sizeInBytes = sizeInBytes;
+    this.entrySizeSampler = entrySizeSampler;
+
+    Set<String> tags = new HashSet<>(Arrays.asList(getStatisticsTag(), "tier"));
+    registerStatistic("assumedEntrySize", GAUGE, tags, () -> heuristic(HeuristicConfiguration::getAssumedKeyValueSize));
+    registerStatistic("initialSegmentTableSize", GAUGE, tags, () -> heuristic(HeuristicConfiguration::getInitialSegmentTableSize));
+    registerStatistic("segmentDataPageSize", GAUGE, tags, () -> heuristic(HeuristicConfiguration::getSegmentDataPageSize));
+    registerStatistic("averageEntrySize", GAUGE, tags, this::averageEntrySize);
+    registerStatistic("tableExpansions", GAUGE, tags, this::tableExpansions);
+  }
+
+  private Integer heuristic(ToIntFunction<HeuristicConfiguration> fn) {
+    HeuristicConfiguration configuration = heuristicConfiguration;
+    // Returning null means not available.
+    return configuration == null ? null : fn.applyAsInt(configuration);
+  }
+
+  private Long averageEntrySize() {
+    EhcacheConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> localMap = map;
+    if (localMap == null) {
+      return null;
+    }
+    long size = localMap.longSize();
+    return size == 0 ? null : localMap.dataOccupiedMemory() / size;
+  }
+
+  /**
+   * Number of times the segment tables doubled past their initial capacity, summed over all segments.
+   */
+  private Long tableExpansions() {
+    EhcacheConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> localMap = map;
+    if (localMap == null) {
+      return null;
+    }
+    int initialBits = Integer.numberOfTrailingZeros(Integer.highestOneBit(initialSegmentTableCapacity));
+    long expansions = 0L;
+    for (Segment<K, OffHeapValueHolder<V>> segment : localMap.getSegments()) {
+      expansions += Math.max(0, Long.numberOfTrailingZeros(Long.highestOneBit(segment.getTableCapacity())) - initialBits);
+    }
+    return expansions;
   }
 
   @Override
@@ -96,7 +149,9 @@ public class OffHeapStore<K, V> extends AbstractOffHeapStore<K, V> {
   }
 
   private EhcacheConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> createBackingMap(long size, Serializer<K> keySerializer, Serializer<V> valueSerializer, SwitchableEvictionAdvisor<K, OffHeapValueHolder<V>> evictionAdvisor) {
-    HeuristicConfiguration config = new HeuristicConfiguration(size);
+    int averageEntrySize = entrySizeSampler.averageEntrySize();
+    HeuristicConfiguration config = averageEntrySize > 0 ? new HeuristicConfiguration(size, averageEntrySize) : new HeuristicConfiguration(size);
+    heuristicConfiguration = config;
     PageSource source = new UpfrontAllocatingPageSource(getBufferSource(), config.getMaximumSize(), config.getMaximumChunkSize(), config.getMinimumChunkSize());
     Portability<K> keyPortability = new SerializerPortability<>(keySerializer);
     Portability<OffHeapValueHolder<V>> valuePortability = createValuePortability(valueSerializer);
@@ -108,9 +163,25 @@ public class OffHeapStore<K, V> extends AbstractOffHeapStore<K, V> {
       storageEngineFactory,
       config.getInitialSegmentTableSize(),
       evictionAdvisor,
-      mapEvictionListener);
-    return new EhcacheConcurrentOffHeapClockCache<>(evictionAdvisor, segmentFactory, config.getConcurrency());
+      mapEvictionListener,
+      this::onSegmentGrowth);
+    EhcacheConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> backingMap = new EhcacheConcurrentOffHeapClockCache<>(evictionAdvisor, segmentFactory, config.getConcurrency());
+    initialSegmentTableCapacity = (int) (backingMap.tableCapacity() / config.getConcurrency());
+    return backingMap;
+  }
 
+  /**
+   * Samples the entry sizes while the store runs, and once it is full gives the table memory of segments sized after a
+   * too small assumed entry size back to the entries.
+   */
+  private void onSegmentGrowth(boolean full) {
+    EhcacheConcurrentOffHeapClockCache<K, OffHeapValueHolder<V>> localMap = map;
+    if (localMap != null) {
+      entrySizeSampler.sample(localMap);
+      if (full) {
+        localMap.shrinkTables();
+      }
+    }
   }
 
   @Override
@@ -130,6 +201,7 @@ public class OffHeapStore<K, V> extends AbstractOffHeapStore<K, V> {
 
     private final Set<Store<?, ?>> createdStores = Collections.newSetFromMap(new ConcurrentWeakIdentityHashMap<>());
     private final Map<OffHeapStore<?, ?>, OperationStatistic<?>[]> tierOperationStatistics = new ConcurrentWeakIdentityHashMap<>();
+    private final Map<List<String>, EntrySizeSampler> entrySizeSamplers = new ConcurrentHashMap<>();
 
     @Override
     protected ResourceType<SizedResourcePool> getResourceType() {
@@ -176,8 +248,9 @@ public class OffHeapStore<K, V> extends AbstractOffHeapStore<K, V> {
       MemoryUnit unit = (MemoryUnit)offHeapPool.getUnit();
 
 
+      EntrySizeSampler entrySizeSampler = entrySizeSamplers.computeIfAbsent(EntrySizeSampler.profile(storeConfig), profile -> new EntrySizeSampler());
       OffHeapStore<K, V> offHeapStore = new OffHeapStore<>(storeConfig, timeSource, eventDispatcher, unit.toBytes(offHeapPool
-        .getSize()), getServiceProvider().getService(StatisticsService.class));
+        .getSize()), entrySizeSampler, getServiceProvider().getService(StatisticsService.class));
       createdStores.add(offHeapStore);
       return offHeapStore;
     }
@@ -197,6 +270,7 @@ public class OffHeapStore<K, V> extends AbstractOffHeapStore<K, V> {
       EhcacheConcurrentOffHeapClockCache<?, ?> localMap = resource.map;
       if (localMap != null) {
         resource.map = null;
+        resource.entrySizeSampler.sample(localMap);
         localMap.destroy();
       }
     }
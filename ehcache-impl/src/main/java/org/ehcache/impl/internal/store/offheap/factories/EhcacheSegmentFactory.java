@@ -30,6 +30,7 @@ import java.nio.IntBuffer;
 import java.util.Iterator;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * EhcacheSegmentFactory
@@ -41,19 +42,25 @@ public class EhcacheSegmentFactory<K, V> implements Factory<PinnableSegment<K, V
   private final int tableSize;
   private final SwitchableEvictionAdvisor<? super K, ? super V> evictionAdvisor;
   private final EhcacheSegment.EvictionListener<K, V> evictionListener;
+  private final EhcacheSegment.GrowthListener growthListener;
 
   public EhcacheSegmentFactory(PageSource source, Factory<? extends StorageEngine<? super K, ? super V>> storageEngineFactory, int initialTableSize, SwitchableEvictionAdvisor<? super K, ? super V> evictionAdvisor, EhcacheSegment.EvictionListener<K, V> evictionListener) {
+    this(source, storageEngineFactory, initialTableSize, evictionAdvisor, evictionListener, full -> {});
+  }
+
+  public EhcacheSegmentFactory(PageSource source, Factory<? extends StorageEngine<? super K, ? super V>> storageEngineFactory, int initialTableSize, SwitchableEvictionAdvisor<? super K, ? super V> evictionAdvisor, EhcacheSegment.EvictionListener<K, V> evictionListener, EhcacheSegment.GrowthListener growthListener) {
     this.storageEngineFactory = storageEngineFactory;
     this.tableSource = source;
     this.tableSize = initialTableSize;
     this.evictionAdvisor = evictionAdvisor;
     this.evictionListener = evictionListener;
+    this.growthListener = growthListener;
   }
 
   public PinnableSegment<K, V> newInstance() {
     StorageEngine<? super K, ? super V> storageEngine = storageEngineFactory.newInstance();
     try {
-      return new EhcacheSegment<>(tableSource, storageEngine, tableSize, evictionAdvisor, evictionListener);
+      return new EhcacheSegment<>(tableSource, storageEngine, tableSize, evictionAdvisor, evictionListener, growthListener);
     } catch (RuntimeException e) {
       storageEngine.destroy();
       throw e;
@@ -66,11 +73,20 @@ public class EhcacheSegmentFactory<K, V> implements Factory<PinnableSegment<K, V
 
     private final SwitchableEvictionAdvisor<? super K, ? super V> evictionAdvisor;
     private final EvictionListener<K, V> evictionListener;
+    private final GrowthListener growthListener;
+
+    private int notifiedSize;
+    private boolean filled;
 
     EhcacheSegment(PageSource source, StorageEngine<? super K, ? super V> storageEngine, int tableSize, SwitchableEvictionAdvisor<? super K, ? super V> evictionAdvisor, EvictionListener<K, V> evictionListener) {
+      this(source, storageEngine, tableSize, evictionAdvisor, evictionListener, full -> {});
+    }
+
+    EhcacheSegment(PageSource source, StorageEngine<? super K, ? super V> storageEngine, int tableSize, SwitchableEvictionAdvisor<? super K, ? super V> evictionAdvisor, EvictionListener<K, V> evictionListener, GrowthListener growthListener) {
       super(source, true, storageEngine, tableSize);
       this.evictionAdvisor = evictionAdvisor;
       this.evictionListener = evictionListener;
+      this.growthListener = growthListener;
     }
 
     @Override
@@ -103,6 +119,10 @@ public class EhcacheSegmentFactory<K, V> implements Factory<PinnableSegment<K, V
         boolean evicted = super.evict(index, shrink);
         if (evicted) {
           evictionListener.onEviction(entry.getKey(), entry.getValue());
+          if (!filled) {
+            filled = true;
+            growthListener.onGrowth(true);
+          }
         }
         return evicted;
       } finally {
@@ -110,6 +130,35 @@ public class EhcacheSegmentFactory<K, V> implements Factory<PinnableSegment<K, V
       }
     }
 
+    @Override
+    protected void added(int hash, IntBuffer entry) {
+      super.added(hash, entry);
+      // notify once per power of two, even if removals bring the segment back under it
+      if (size > notifiedSize && Integer.bitCount(size) == 1) {
+        notifiedSize = size;
+        growthListener.onGrowth(false);
+      }
+    }
+
+    /**
+     * Shrinks the table of this segment if it became sparse, unless the segment is locked, including by an operation of
+     * the calling thread that is still in progress.
+     *
+     * @return {@code true} if the segment could be locked
+     */
+    public boolean tryShrinkTable() {
+      ReentrantReadWriteLock lock = getLock();
+      if (lock.isWriteLockedByCurrentThread() || !lock.writeLock().tryLock()) {
+        return false;
+      }
+      try {
+        shrinkTable();
+        return true;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
     @Override
     protected Set<Entry<K, V>> createEntrySet() {
       return new EntrySet();
@@ -119,6 +168,13 @@ public class EhcacheSegmentFactory<K, V> implements Factory<PinnableSegment<K, V
       void onEviction(K key, V value);
     }
 
+    /**
+     * Notified, under the segment lock, each time a segment doubles its number of mappings and on its first eviction.
+     */
+    public interface GrowthListener {
+      void onGrowth(boolean full);
+    }
+
     private class EntrySet extends LockedEntrySet {
       @Override
       public Iterator<Entry<K, V>> iterator() {
@@ -17,15 +17,19 @@
 
 package org.ehcache.impl.internal.store.offheap.portability;
 
+import org.ehcache.impl.compression.CompressionCodec;
 import org.ehcache.impl.internal.store.BinaryValueHolder;
 import org.ehcache.impl.internal.store.offheap.LazyOffHeapValueHolder;
 import org.ehcache.impl.internal.store.offheap.OffHeapValueHolder;
+import org.ehcache.spi.serialization.DirectSerializer;
 import org.ehcache.spi.serialization.Serializer;
+import org.ehcache.spi.serialization.SerializerException;
 import org.terracotta.offheapstore.storage.portability.WriteBackPortability;
 import org.terracotta.offheapstore.storage.portability.WriteContext;
 
 import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * OffHeapValueHolderPortability
@@ -38,10 +42,31 @@ public class OffHeapValueHolderPortability<V> implements WriteBackPortability<Of
   // 5 longs: id, access, expire, creation time, hits (which is kept for compatibility)
   private static final int FIELDS_OVERHEAD = 40;
 
+  // the former hits field flags compressed values as: marker (8 bits), unused (16), codec id (8), original length (32)
+  private static final long COMPRESSED_MARKER = 0x5aL;
+
   private final Serializer<V> serializer;
+  private final CompressionCodec compressionCodec;
+  private final int compressionThreshold;
+  private final LongAdder uncompressedBytes = new LongAdder();
+  private final LongAdder storedBytes = new LongAdder();
 
   public OffHeapValueHolderPortability(Serializer<V> serializer) {
+    this(serializer, null, 0);
+  }
+
+  /**
+   * Creates a portability compressing the serialized values of at least {@code compressionThreshold} bytes, as long as
+   * this makes them smaller.
+   *
+   * @param serializer the value serializer
+   * @param compressionCodec the compression codec, {@code null} to store serialized values as is
+   * @param compressionThreshold the minimum size of the serialized values to compress
+   */
+  public OffHeapValueHolderPortability(Serializer<V> serializer, CompressionCodec compressionCodec, int compressionThreshold) {
     this.serializer = serializer;
+    this.compressionCodec = compressionCodec;
+    this.compressionThreshold = compressionThreshold;
   }
 
   @Override
@@ -49,17 +74,46 @@ public class OffHeapValueHolderPortability<V> implements WriteBackPortability<Of
     ByteBuffer serialized;
     if (valueHolder instanceof BinaryValueHolder && ((BinaryValueHolder)valueHolder).isBinaryValueAvailable()) {
       serialized = ((BinaryValueHolder)valueHolder).getBinaryValue();
+    } else if (compressionCodec == null && serializer instanceof DirectSerializer) {
+      // lay the serial form out right after the fields instead of copying an intermediate buffer
+      DirectSerializer<V> directSerializer = (DirectSerializer<V>) serializer;
+      V value = valueHolder.get();
+      ByteBuffer byteBuffer = writeFields(valueHolder, ByteBuffer.allocate(directSerializer.serializedSize(value) + FIELDS_OVERHEAD), 0L);
+      directSerializer.serialize(value, byteBuffer);
+      byteBuffer.flip();
+      return byteBuffer;
     } else {
       serialized = serializer.serialize(valueHolder.get());
     }
-    ByteBuffer byteBuffer = ByteBuffer.allocate(serialized.remaining() + FIELDS_OVERHEAD);
+
+    if (compressionCodec != null) {
+      int length = serialized.remaining();
+      ByteBuffer compressed = length < compressionThreshold ? null : compressionCodec.compress(serialized);
+      if (compressed != null && compressed.remaining() < length) {
+        uncompressedBytes.add(length);
+        storedBytes.add(compressed.remaining());
+        long flags = COMPRESSED_MARKER << 56 | (long) compressionCodec.getId() << 32 | length;
+        ByteBuffer byteBuffer = writeFields(valueHolder, ByteBuffer.allocate(compressed.remaining() + FIELDS_OVERHEAD), flags);
+        byteBuffer.put(compressed);
+        byteBuffer.flip();
+        return byteBuffer;
+      } else {
+        uncompressedBytes.add(length);
+        storedBytes.add(length);
+      }
+    }
+    ByteBuffer byteBuffer = writeFields(valueHolder, ByteBuffer.allocate(serialized.remaining() + FIELDS_OVERHEAD), 0L);
+    byteBuffer.put(serialized);
+    byteBuffer.flip();
+    return byteBuffer;
+  }
+
+  private static ByteBuffer writeFields(OffHeapValueHolder<?> valueHolder, ByteBuffer byteBuffer, long flags) {
     byteBuffer.putLong(valueHolder.getId());
     byteBuffer.putLong(valueHolder.creationTime());
     byteBuffer.putLong(valueHolder.lastAccessTime());
     byteBuffer.putLong(valueHolder.expirationTime());
-    byteBuffer.putLong(0L); // represent the hits on previous versions. It is kept for compatibility reasons with previously saved data
-    byteBuffer.put(serialized);
-    byteBuffer.flip();
+    byteBuffer.putLong(flags); // represent the hits on previous versions. It is kept for compatibility reasons with previously saved data
     return byteBuffer;
   }
 
@@ -79,8 +133,42 @@ public class OffHeapValueHolderPortability<V> implements WriteBackPortability<Of
     long creationTime = byteBuffer.getLong();
     long lastAccessTime = byteBuffer.getLong();
     long expireTime = byteBuffer.getLong();
-    byteBuffer.getLong(); // hits read from disk. It is kept for compatibility reasons with previously saved data
-    return createLazyOffHeapValueHolder(id, byteBuffer.slice(), serializer, creationTime, expireTime, lastAccessTime, writeContext);
+    long flags = byteBuffer.getLong(); // hits read from disk. It is kept for compatibility reasons with previously saved data
+    ByteBuffer serialized = byteBuffer.slice();
+    if (flags >>> 56 == COMPRESSED_MARKER) {
+      serialized = decompress(serialized, (int) (flags >>> 32) & 0xff, (int) flags);
+    }
+    return createLazyOffHeapValueHolder(id, serialized, serializer, creationTime, expireTime, lastAccessTime, writeContext);
+  }
+
+  /**
+   * Returns the serialized size of the values encoded so far. Only tracked when compressing.
+   *
+   * @return the total serialized size
+   */
+  public long getUncompressedBytes() {
+    return uncompressedBytes.sum();
+  }
+
+  /**
+   * Returns the size the values encoded so far are stored as, compressed or not. Only tracked when compressing.
+   *
+   * @return the total stored size
+   */
+  public long getStoredBytes() {
+    return storedBytes.sum();
+  }
+
+  private ByteBuffer decompress(ByteBuffer compressed, int codecId, int length) {
+    if (compressionCodec == null || compressionCodec.getId() != codecId) {
+      throw new SerializerException("Value was compressed with codec " + codecId + " but the configured codec is "
+        + (compressionCodec == null ? "none" : compressionCodec.getId()));
+    }
+    try {
+      return compressionCodec.decompress(compressed, length);
+    } catch (IllegalArgumentException e) {
+      throw new SerializerException(e);
+    }
   }
 
   protected OffHeapValueHolder<V> createLazyOffHeapValueHolder(long id, ByteBuffer byteBuffer, Serializer<V> serializer, long creationTime, long expireTime, long lastAccessTime, WriteContext writeContext) {
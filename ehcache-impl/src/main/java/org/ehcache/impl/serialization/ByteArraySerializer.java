@@ -17,6 +17,7 @@
 
 package org.ehcache.impl.serialization;
 
+import org.ehcache.spi.serialization.DirectSerializer;
 import org.ehcache.spi.serialization.SerializerException;
 import org.ehcache.spi.serialization.Serializer;
 
@@ -29,7 +30,7 @@ import java.nio.ByteBuffer;
  * Note that {@link #equals(byte[], ByteBuffer)} does not follow the {@code byte[].equals(Object)} contract but does
  * byte-to-byte comparison of both byte arrays.
  */
-public class ByteArraySerializer implements Serializer<byte[]> {
+public class ByteArraySerializer implements DirectSerializer<byte[]> {
 
   /**
    * No arg constructor
@@ -57,6 +58,22 @@ public class ByteArraySerializer implements Serializer<byte[]> {
     return ByteBuffer.wrap(object);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int serializedSize(byte[] object) {
+    return object.length;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void serialize(byte[] object, ByteBuffer target) {
+    target.put(object);
+  }
+
   /**
    * {@inheritDoc}
    */
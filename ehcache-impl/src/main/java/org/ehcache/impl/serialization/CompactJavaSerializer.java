@@ -50,12 +50,21 @@ import static java.lang.Math.max;
  * between the integer representation and the {@link ObjectStreamClass}, and the
  * {@code Class} and the integer representation are stored in a single on-heap
  * map.
+ * <p>
+ * Once assigned, the integer representation of a class is also cached against the class itself, so that
+ * serializing a value only consults lock-free lookups and does not allocate any descriptor probe.
  */
 public class CompactJavaSerializer<T> implements StatefulSerializer<T> {
 
   private volatile StateHolder<Integer, ObjectStreamClass> persistentState;
   private final ConcurrentMap<Integer, ObjectStreamClass> readLookupCache = new ConcurrentHashMap<>();
   private final ConcurrentMap<SerializableDataKey, Integer> writeLookupCache = new ConcurrentHashMap<>();
+  private final ClassValue<Integer> classLookupCache = new ClassValue<Integer>() {
+    @Override
+    protected Integer computeValue(Class<?> type) {
+      return getOrAddMapping(ObjectStreamClass.lookupAny(type));
+    }
+  };
 
   private final Lock lock = new ReentrantLock();
   private int nextStreamIndex = 0;
@@ -90,14 +99,16 @@ public class CompactJavaSerializer<T> implements StatefulSerializer<T> {
    */
   @Override
   public ByteBuffer serialize(T object) throws SerializerException {
+    PooledByteArrayOutputStream bout = new PooledByteArrayOutputStream();
     try {
-      ByteArrayOutputStream bout = new ByteArrayOutputStream();
       try (ObjectOutputStream oout = getObjectOutputStream(bout)) {
         oout.writeObject(object);
       }
-      return ByteBuffer.wrap(bout.toByteArray());
+      return bout.toByteBuffer();
     } catch (IOException e) {
       throw new SerializerException(e);
+    } finally {
+      bout.release();
     }
   }
 
@@ -217,7 +228,12 @@ public class CompactJavaSerializer<T> implements StatefulSerializer<T> {
 
     @Override
     protected void writeClassDescriptor(final ObjectStreamClass desc) throws IOException {
-      writeInt(getOrAddMapping(desc));
+      Class<?> forClass = desc.forClass();
+      if (forClass == null) {
+        writeInt(getOrAddMapping(desc));
+      } else {
+        writeInt(classLookupCache.get(forClass));
+      }
     }
   }
 
@@ -17,6 +17,7 @@
 
 package org.ehcache.impl.serialization;
 
+import org.ehcache.spi.serialization.DirectSerializer;
 import org.ehcache.spi.serialization.Serializer;
 
 import java.nio.ByteBuffer;
@@ -25,7 +26,7 @@ import java.nio.ByteBuffer;
  * Default {@link Serializer} for {@code Long} type. Simply writes the long value
  * to a byte buffer.
  */
-public class LongSerializer implements Serializer<Long> {
+public class LongSerializer implements DirectSerializer<Long> {
 
   /**
    * No arg constructor
@@ -55,6 +56,22 @@ public class LongSerializer implements Serializer<Long> {
     return byteBuffer;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int serializedSize(Long object) {
+    return Long.BYTES;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void serialize(Long object, ByteBuffer target) {
+    target.putLong(object);
+  }
+
   /**
    * {@inheritDoc}
    */
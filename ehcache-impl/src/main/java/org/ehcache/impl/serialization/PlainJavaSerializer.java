@@ -21,7 +21,6 @@ import org.ehcache.core.util.ByteBufferInputStream;
 import org.ehcache.spi.serialization.Serializer;
 import org.ehcache.spi.serialization.SerializerException;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
@@ -45,13 +44,17 @@ public class PlainJavaSerializer<T> implements Serializer<T> {
 
   @Override
   public ByteBuffer serialize(T object) {
-    ByteArrayOutputStream bout = new ByteArrayOutputStream();
-    try(ObjectOutputStream oout = new ObjectOutputStream(bout)) {
-      oout.writeObject(object);
+    PooledByteArrayOutputStream bout = new PooledByteArrayOutputStream();
+    try {
+      try (ObjectOutputStream oout = new ObjectOutputStream(bout)) {
+        oout.writeObject(object);
+      }
+      return bout.toByteBuffer();
     } catch (IOException e) {
       throw new SerializerException(e);
+    } finally {
+      bout.release();
     }
-    return ByteBuffer.wrap(bout.toByteArray());
   }
 
   @SuppressWarnings("unchecked")
@@ -0,0 +1,101 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.serialization;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * An output stream writing into a byte array pooled per thread, so that serializing a value only allocates the
+ * exactly sized array of its serial form.
+ * <p>
+ * The pooled array is held by a plain {@code ThreadLocal<byte[]>}: pooled threads never retain a class of this
+ * library, and hence its class loader. Arrays grown past {@link #MAXIMUM_POOLED_CAPACITY} are not pooled.
+ * <p>
+ * Instances must be {@link #release() released} by the thread that created them.
+ */
+final class PooledByteArrayOutputStream extends OutputStream {
+
+  static final int INITIAL_CAPACITY = 256;
+  static final int MAXIMUM_POOLED_CAPACITY = 64 * 1024;
+
+  private static final ThreadLocal<byte[]> POOL = new ThreadLocal<>();
+
+  private byte[] buffer;
+  private int count;
+
+  PooledByteArrayOutputStream() {
+    byte[] pooled = POOL.get();
+    if (pooled == null) {
+      this.buffer = new byte[INITIAL_CAPACITY];
+    } else {
+      // taking the array out of the pool keeps a nested serialization on this thread from sharing it
+      POOL.set(null);
+      this.buffer = pooled;
+    }
+  }
+
+  @Override
+  public void write(int b) {
+    ensureCapacity(count + 1);
+    buffer[count++] = (byte) b;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) {
+    if (off < 0 || len < 0 || off > b.length - len) {
+      throw new IndexOutOfBoundsException();
+    }
+    ensureCapacity(count + len);
+    System.arraycopy(b, off, buffer, count, len);
+    count += len;
+  }
+
+  /**
+   * Returns a buffer holding a copy of the bytes written so far.
+   *
+   * @return a buffer independent of the pooled array
+   */
+  ByteBuffer toByteBuffer() {
+    return ByteBuffer.wrap(Arrays.copyOf(buffer, count));
+  }
+
+  /**
+   * Returns the array to the pool of the current thread. The stream must not be used afterwards.
+   */
+  void release() {
+    byte[] released = buffer;
+    buffer = null;
+    if (released != null && released.length <= MAXIMUM_POOLED_CAPACITY && POOL.get() == null) {
+      POOL.set(released);
+    }
+  }
+
+  private void ensureCapacity(int minimumCapacity) {
+    if (minimumCapacity < 0) {
+      throw new OutOfMemoryError("Serial form exceeds the maximum array size");
+    } else if (minimumCapacity > buffer.length) {
+      int newCapacity = buffer.length << 1;
+      if (newCapacity - minimumCapacity < 0) {
+        newCapacity = minimumCapacity;
+      }
+      buffer = Arrays.copyOf(buffer, newCapacity);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.sizeof;
+
+/**
+ * Measures the size, in bytes, that a key or value accounts for in a byte sized heap tier.
+ * <p>
+ * Implementations must be thread-safe, should be cheap compared to the cache operation they are part of, and should
+ * return the same size for equal objects so that heap accounting stays deterministic.
+ *
+ * @param <T> the type of the measured objects
+ *
+ * @see org.ehcache.impl.config.store.heap.OnHeapSizingConfiguration
+ */
+@FunctionalInterface
+public interface Sizer<T> {
+
+  /**
+   * Returns the size of the given object.
+   *
+   * @param object the object to measure, never {@code null}
+   * @return the size in bytes
+   */
+  long sizeOf(T object);
+}
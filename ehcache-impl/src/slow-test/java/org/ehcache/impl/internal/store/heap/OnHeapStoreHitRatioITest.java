@@ -0,0 +1,119 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.heap;
+
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.core.events.NullStoreEventDispatcher;
+import org.ehcache.core.internal.statistics.DefaultStatisticsService;
+import org.ehcache.core.store.StoreConfigurationImpl;
+import org.ehcache.impl.config.store.heap.OnHeapEvictionConfiguration;
+import org.ehcache.impl.internal.sizeof.NoopSizeOfEngine;
+import org.ehcache.internal.TestTimeSource;
+import org.ehcache.spi.resilience.StoreAccessException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.ehcache.config.builders.ResourcePoolsBuilder.heap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Replays synthetic access traces against the heap tier and compares the hit ratio of its eviction policies.
+ * <p>
+ * The traces mix a skewed (Zipfian) working set with periodic scans of keys that are only ever requested once, which
+ * is the access pattern hurting the sampled LRU policy the most. Scans make up a tenth of the mixed trace.
+ */
+public class OnHeapStoreHitRatioITest {
+
+  private static final int CAPACITY = 1_000;
+  private static final int KEY_SPACE = 50_000;
+  private static final int REQUESTS = 500_000;
+  private static final double MINIMUM_HIT_RATIO_GAIN = 0.05;
+
+  @Test
+  public void testZipfianTrace() throws StoreAccessException {
+    long[] trace = zipfianTrace(new Random(42L), 0.99, 0, 0);
+    assertWindowTinyLfuOutperformsSampledLru(trace);
+  }
+
+  @Test
+  public void testZipfianTraceWithScans() throws StoreAccessException {
+    long[] trace = zipfianTrace(new Random(42L), 0.99, 9_000, 1_000);
+    assertThat((double) Arrays.stream(trace).filter(key -> key >= KEY_SPACE).count() / trace.length, lessThanOrEqualTo(0.1));
+    assertWindowTinyLfuOutperformsSampledLru(trace);
+  }
+
+  private static void assertWindowTinyLfuOutperformsSampledLru(long[] trace) throws StoreAccessException {
+    double sampled = hitRatio(trace, OnHeapEvictionConfiguration.Policy.SAMPLED_LRU);
+    double tinyLfu = hitRatio(trace, OnHeapEvictionConfiguration.Policy.WINDOW_TINY_LFU);
+    assertThat(sampled, greaterThan(0.4));
+    assertThat(tinyLfu, greaterThan(sampled + MINIMUM_HIT_RATIO_GAIN));
+  }
+
+  private static double hitRatio(long[] trace, OnHeapEvictionConfiguration.Policy policy) throws StoreAccessException {
+    TestTimeSource timeSource = new TestTimeSource();
+    StoreConfigurationImpl<Long, Long> configuration = new StoreConfigurationImpl<>(Long.class, Long.class, null,
+      OnHeapStoreHitRatioITest.class.getClassLoader(), ExpiryPolicyBuilder.noExpiration(), heap(CAPACITY).build(), 1, null, null);
+    OnHeapStore<Long, Long> store = new OnHeapStore<>(configuration, timeSource, new NoopSizeOfEngine(),
+      NullStoreEventDispatcher.nullStoreEventDispatcher(), new DefaultStatisticsService(), new OnHeapEvictionConfiguration(policy));
+
+    long hits = 0;
+    for (long key : trace) {
+      timeSource.advanceTime(1L);
+      if (store.get(key) == null) {
+        store.put(key, key);
+      } else {
+        hits++;
+      }
+    }
+    return (double) hits / trace.length;
+  }
+
+  /**
+   * Generates a Zipfian trace, optionally interleaved with scans of never repeated keys.
+   *
+   * @param scanInterval number of working set requests between two scans, {@code 0} for no scans
+   * @param scanLength number of keys per scan
+   */
+  private static long[] zipfianTrace(Random random, double skew, int scanInterval, int scanLength) {
+    double[] cumulative = new double[KEY_SPACE];
+    double sum = 0;
+    for (int i = 0; i < KEY_SPACE; i++) {
+      sum += 1.0 / Math.pow(i + 1, skew);
+      cumulative[i] = sum;
+    }
+
+    long[] trace = new long[REQUESTS];
+    long scanKey = KEY_SPACE;
+    for (int i = 0, requests = 0; i < REQUESTS; ) {
+      int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+      trace[i++] = rank < 0 ? -rank - 1 : rank;
+      // scans are scheduled after every scanInterval working set requests, so that they only make up a
+      // scanLength / (scanInterval + scanLength) fraction of the trace
+      if (scanInterval > 0 && ++requests % scanInterval == 0) {
+        for (int j = 0; j < scanLength && i < REQUESTS; j++) {
+          trace[i++] = scanKey++;
+        }
+      }
+    }
+    return trace;
+  }
+}
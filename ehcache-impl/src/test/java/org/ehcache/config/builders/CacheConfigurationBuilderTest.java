@@ -20,12 +20,15 @@ package org.ehcache.config.builders;
 import org.ehcache.config.*;
 import org.ehcache.config.units.EntryUnit;
 import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.AsyncCacheConfiguration;
 import org.ehcache.core.spi.service.ServiceUtils;
 import org.ehcache.expiry.ExpiryPolicy;
 import org.ehcache.impl.config.copy.DefaultCopierConfiguration;
 import org.ehcache.impl.config.loaderwriter.DefaultCacheLoaderWriterConfiguration;
+import org.ehcache.impl.config.loaderwriter.RefreshAheadConfiguration;
 import org.ehcache.impl.config.resilience.DefaultResilienceStrategyConfiguration;
 import org.ehcache.impl.config.serializer.DefaultSerializerConfiguration;
+import org.ehcache.impl.config.store.coalescing.RequestCoalescingConfiguration;
 import org.ehcache.impl.config.store.disk.OffHeapDiskStoreConfiguration;
 import org.ehcache.impl.copy.SerializingCopier;
 import org.ehcache.impl.internal.classes.ClassInstanceConfiguration;
@@ -45,6 +48,8 @@ import org.hamcrest.Matchers;
 import org.junit.Test;
 import org.mockito.internal.stubbing.answers.Returns;
 
+import java.time.Duration;
+
 import static java.util.function.UnaryOperator.identity;
 import static org.ehcache.config.builders.CacheConfigurationBuilder.newCacheConfigurationBuilder;
 import static org.ehcache.config.builders.ResourcePoolsBuilder.heap;
@@ -499,6 +504,88 @@ public class CacheConfigurationBuilderTest {
     assertThat(cacheConfiguration.getServiceConfigurations(), not(hasItem(instanceOf(OffHeapDiskStoreConfiguration.class))));
   }
 
+  @Test
+  public void testWithAsyncThreadPool() {
+    CacheConfiguration<Object, Object> cacheConfiguration = newCacheConfigurationBuilder(Object.class, Object.class, heap(10))
+      .withAsyncThreadPool("banana")
+      .build();
+
+    AsyncCacheConfiguration config = findSingletonAmongst(AsyncCacheConfiguration.class, cacheConfiguration.getServiceConfigurations());
+
+    assertThat(config.getThreadPoolAlias(), is("banana"));
+  }
+
+  @Test
+  public void testWithAsyncThreadPoolBound() {
+    CacheConfiguration<Object, Object> cacheConfiguration = newCacheConfigurationBuilder(Object.class, Object.class, heap(10))
+      .withAsyncThreadPool("banana", 16, AsyncCacheConfiguration.RejectionPolicy.ABORT)
+      .build();
+
+    AsyncCacheConfiguration config = findSingletonAmongst(AsyncCacheConfiguration.class, cacheConfiguration.getServiceConfigurations());
+
+    assertThat(config.getThreadPoolAlias(), is("banana"));
+    assertThat(config.getMaximumPendingOperations(), is(16));
+    assertThat(config.getRejectionPolicy(), is(AsyncCacheConfiguration.RejectionPolicy.ABORT));
+  }
+
+  @Test
+  public void testWithDefaultAsyncThreadPool() {
+    CacheConfiguration<Object, Object> cacheConfiguration = newCacheConfigurationBuilder(Object.class, Object.class, heap(10))
+      .withAsyncThreadPool("banana")
+      .withDefaultAsyncThreadPool()
+      .build();
+
+    assertThat(cacheConfiguration.getServiceConfigurations(), not(hasItem(instanceOf(AsyncCacheConfiguration.class))));
+  }
+
+  @Test
+  public void testWithRefreshAhead() {
+    CacheConfiguration<Object, Object> cacheConfiguration = newCacheConfigurationBuilder(Object.class, Object.class, heap(10))
+      .withRefreshAhead(0.75, "banana")
+      .build();
+
+    RefreshAheadConfiguration config = findSingletonAmongst(RefreshAheadConfiguration.class, cacheConfiguration.getServiceConfigurations());
+
+    assertThat(config.getRefreshFraction(), is(0.75));
+    assertThat(config.getThreadPoolAlias(), is("banana"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWithRefreshAheadInvalidFraction() {
+    newCacheConfigurationBuilder(Object.class, Object.class, heap(10)).withRefreshAhead(1.0);
+  }
+
+  @Test
+  public void testWithoutRefreshAhead() {
+    CacheConfiguration<Object, Object> cacheConfiguration = newCacheConfigurationBuilder(Object.class, Object.class, heap(10))
+      .withRefreshAhead(0.5)
+      .withoutRefreshAhead()
+      .build();
+
+    assertThat(cacheConfiguration.getServiceConfigurations(), not(hasItem(instanceOf(RefreshAheadConfiguration.class))));
+  }
+
+  @Test
+  public void testWithRequestCoalescing() {
+    CacheConfiguration<Object, Object> cacheConfiguration = newCacheConfigurationBuilder(Object.class, Object.class, heap(10))
+      .withRequestCoalescing(Duration.ofMillis(250))
+      .build();
+
+    RequestCoalescingConfiguration config = findSingletonAmongst(RequestCoalescingConfiguration.class, cacheConfiguration.getServiceConfigurations());
+
+    assertThat(config.getMaximumWait(), is(Duration.ofMillis(250)));
+  }
+
+  @Test
+  public void testWithoutRequestCoalescing() {
+    CacheConfiguration<Object, Object> cacheConfiguration = newCacheConfigurationBuilder(Object.class, Object.class, heap(10))
+      .withRequestCoalescing(Duration.ofSeconds(1))
+      .withoutRequestCoalescing()
+      .build();
+
+    assertThat(cacheConfiguration.getServiceConfigurations(), not(hasItem(instanceOf(RequestCoalescingConfiguration.class))));
+  }
+
   @Deprecated
   @Test
   public void testWithSizeOfConfig() {
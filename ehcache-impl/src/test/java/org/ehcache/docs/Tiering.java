@@ -34,6 +34,7 @@ import org.ehcache.config.units.EntryUnit;
 import org.ehcache.config.units.MemoryUnit;
 import org.ehcache.docs.plugs.ListenerObject;
 import org.ehcache.event.EventType;
+import org.ehcache.impl.compression.Lz4CompressionCodec;
 import org.ehcache.impl.config.store.disk.OffHeapDiskStoreConfiguration;
 import org.junit.Assume;
 import org.junit.Rule;
@@ -121,6 +122,24 @@ public class Tiering {
     // end::diskSegments[]
   }
 
+  @Test
+  public void diskCompression() throws Exception {
+    // tag::diskCompression[]
+    String storagePath = getStoragePath();
+    PersistentCacheManager persistentCacheManager = CacheManagerBuilder.newCacheManagerBuilder()
+      .with(CacheManagerBuilder.persistence(new File(storagePath, "myData")))
+      .withCache("compressed",
+        CacheConfigurationBuilder.newCacheConfigurationBuilder(Long.class, String.class,
+          ResourcePoolsBuilder.newResourcePoolsBuilder().disk(10, MemoryUnit.MB))
+        .withService(new OffHeapDiskStoreConfiguration(null, OffHeapDiskStoreConfiguration.DEFAULT_WRITER_CONCURRENCY,
+          OffHeapDiskStoreConfiguration.DEFAULT_DISK_SEGMENTS, new Lz4CompressionCodec(), 512)) // <1>
+      )
+      .build(true);
+
+    persistentCacheManager.close();
+    // end::diskCompression[]
+  }
+
   @Test
   public void updateResourcesAtRuntime() throws InterruptedException {
     ListenerObject listener = new ListenerObject();
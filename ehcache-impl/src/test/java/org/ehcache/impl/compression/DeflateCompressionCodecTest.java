@@ -0,0 +1,84 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.compression;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThrows;
+
+public class DeflateCompressionCodecTest {
+
+  @Test
+  public void testRoundTrip() {
+    Random random = new Random(42);
+    for (int level : new int[] {-1, 0, 1, 9}) {
+      DeflateCompressionCodec codec = new DeflateCompressionCodec(level);
+      for (int length : new int[] {0, 1, 100, 100_000}) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        ByteBuffer compressed = codec.compress(ByteBuffer.wrap(bytes));
+        assertThat(toArray(codec.decompress(compressed, length)), is(bytes));
+      }
+    }
+  }
+
+  @Test
+  public void testCompressibleInputShrinks() {
+    DeflateCompressionCodec codec = new DeflateCompressionCodec();
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      sb.append("key-").append(i % 17).append(", ");
+    }
+    byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+    ByteBuffer source = ByteBuffer.wrap(bytes);
+    ByteBuffer compressed = codec.compress(source);
+    assertThat(source.position(), is(0));
+    assertThat(compressed.remaining(), lessThan(bytes.length / 4));
+    assertThat(toArray(codec.decompress(compressed, bytes.length)), is(bytes));
+  }
+
+  @Test
+  public void testInvalidLevelIsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new DeflateCompressionCodec(10));
+    assertThrows(IllegalArgumentException.class, () -> new DeflateCompressionCodec(-2));
+  }
+
+  @Test
+  public void testMalformedInputIsRejected() {
+    DeflateCompressionCodec codec = new DeflateCompressionCodec();
+    byte[] bytes = new byte[1000];
+    ByteBuffer compressed = codec.compress(ByteBuffer.wrap(bytes));
+
+    assertThrows(IllegalArgumentException.class, () -> codec.decompress(compressed, bytes.length + 1));
+    assertThrows(IllegalArgumentException.class, () -> codec.decompress(ByteBuffer.wrap(new byte[] {1, 2, 3, 4}), 10));
+  }
+
+  private static byte[] toArray(ByteBuffer buffer) {
+    byte[] array = new byte[buffer.remaining()];
+    buffer.duplicate().get(array);
+    return array;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.compression;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThrows;
+
+public class Lz4CompressionCodecTest {
+
+  private final Lz4CompressionCodec codec = new Lz4CompressionCodec();
+
+  @Test
+  public void testCompressibleRoundTrip() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      sb.append("key-").append(i % 17).append(", ");
+    }
+    byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+    ByteBuffer compressed = codec.compress(ByteBuffer.wrap(bytes));
+    assertThat(compressed.remaining(), lessThan(bytes.length / 4));
+    assertThat(toArray(codec.decompress(compressed, bytes.length)), is(bytes));
+  }
+
+  @Test
+  public void testRandomRoundTrip() {
+    Random random = new Random(42);
+    for (int length : new int[] {0, 1, 4, 12, 13, 100, 65536, 200_000}) {
+      byte[] bytes = new byte[length];
+      random.nextBytes(bytes);
+      ByteBuffer compressed = codec.compress(ByteBuffer.wrap(bytes));
+      assertThat(toArray(codec.decompress(compressed, length)), is(bytes));
+    }
+  }
+
+  @Test
+  public void testOverlappingMatchRoundTrip() {
+    byte[] bytes = new byte[10_000];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) (i % 3);
+    }
+    ByteBuffer compressed = codec.compress(ByteBuffer.wrap(bytes));
+    assertThat(compressed.remaining(), lessThan(100));
+    assertThat(toArray(codec.decompress(compressed, bytes.length)), is(bytes));
+  }
+
+  @Test
+  public void testDirectBufferWithOffsetRoundTrip() {
+    byte[] bytes = "abcabcabcabcabcabcabcabcabcabcabcabc".getBytes(StandardCharsets.US_ASCII);
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 3);
+    direct.position(3);
+    direct.put(bytes);
+    direct.position(3);
+
+    ByteBuffer compressed = codec.compress(direct);
+    assertThat(direct.position(), is(3));
+
+    ByteBuffer shifted = ByteBuffer.allocateDirect(compressed.remaining() + 5);
+    shifted.position(5);
+    shifted.put(compressed.duplicate());
+    shifted.position(5);
+    assertThat(toArray(codec.decompress(shifted, bytes.length)), is(bytes));
+    assertThat(shifted.position(), equalTo(5));
+  }
+
+  @Test
+  public void testMalformedInputIsRejected() {
+    byte[] bytes = new byte[1000];
+    ByteBuffer compressed = codec.compress(ByteBuffer.wrap(bytes));
+
+    assertThrows(IllegalArgumentException.class, () -> codec.decompress(compressed, bytes.length + 1));
+    assertThrows(IllegalArgumentException.class, () -> codec.decompress(compressed, bytes.length - 1));
+
+    ByteBuffer truncated = compressed.duplicate();
+    truncated.limit(truncated.limit() - 3);
+    assertThrows(IllegalArgumentException.class, () -> codec.decompress(truncated, bytes.length));
+
+    ByteBuffer badOffset = ByteBuffer.wrap(new byte[] {0x0f, (byte) 0xff, 0x00});
+    assertThrows(IllegalArgumentException.class, () -> codec.decompress(badOffset, 100));
+  }
+
+  private static byte[] toArray(ByteBuffer buffer) {
+    byte[] array = new byte[buffer.remaining()];
+    buffer.duplicate().get(array);
+    return array;
+  }
+}
@@ -17,8 +17,11 @@
 
 package org.ehcache.impl.config.store.disk;
 
+import org.ehcache.impl.compression.Lz4CompressionCodec;
 import org.junit.Test;
 
+import java.time.Duration;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
@@ -35,5 +38,68 @@ public class OffHeapDiskStoreConfigurationTest {
     assertThat(derived.getThreadPoolAlias(), is(configuration.getThreadPoolAlias()));
     assertThat(derived.getDiskSegments(), is(configuration.getDiskSegments()));
     assertThat(derived.getWriterConcurrency(), is(configuration.getWriterConcurrency()));
+    assertThat(derived.getCompressionCodec(), is(configuration.getCompressionCodec()));
+    assertThat(derived.getCompressionThreshold(), is(configuration.getCompressionThreshold()));
+    assertThat(derived.isOpenDuringRecovery(), is(false));
+    assertThat(derived.getWriteQueueSize(), is(OffHeapDiskStoreConfiguration.DEFAULT_WRITE_QUEUE_SIZE));
+  }
+
+  @Test
+  public void testDeriveKeepsCompression() {
+    OffHeapDiskStoreConfiguration configuration = new OffHeapDiskStoreConfiguration("foobar", 16, 42, new Lz4CompressionCodec(), 128);
+    OffHeapDiskStoreConfiguration derived = configuration.build(configuration.derive());
+
+    assertThat(derived.getCompressionCodec(), is(sameInstance(configuration.getCompressionCodec())));
+    assertThat(derived.getCompressionThreshold(), is(128));
+  }
+
+  @Test
+  public void testDeriveKeepsOpenDuringRecovery() {
+    OffHeapDiskStoreConfiguration configuration = new OffHeapDiskStoreConfiguration("foobar", 16, 42, null, 128, true);
+    OffHeapDiskStoreConfiguration derived = configuration.build(configuration.derive());
+
+    assertThat(derived.isOpenDuringRecovery(), is(true));
+  }
+
+  @Test
+  public void testDeriveKeepsCheckpointing() {
+    OffHeapDiskStoreConfiguration configuration = new OffHeapDiskStoreConfiguration("foobar", 16, 42, null, 128, false, Duration.ofSeconds(30), 4096);
+    OffHeapDiskStoreConfiguration derived = configuration.build(configuration.derive());
+
+    assertThat(derived.getCheckpointInterval(), is(Duration.ofSeconds(30)));
+    assertThat(derived.getCheckpointMaxBytes(), is(4096L));
+  }
+
+  @Test
+  public void testDeriveKeepsWriteQueueSize() {
+    OffHeapDiskStoreConfiguration configuration = new OffHeapDiskStoreConfiguration("foobar", 16, 42, null, 128, false, null, Long.MAX_VALUE, 64);
+    OffHeapDiskStoreConfiguration derived = configuration.build(configuration.derive());
+
+    assertThat(derived.getWriteQueueSize(), is(64));
+  }
+
+  @Test
+  public void testDeriveKeepsCompaction() {
+    OffHeapDiskStoreConfiguration configuration = new OffHeapDiskStoreConfiguration("foobar", 16, 42, null, 128, false, null, Long.MAX_VALUE, 64,
+      Duration.ofMinutes(5), 8192);
+    OffHeapDiskStoreConfiguration derived = configuration.build(configuration.derive());
+
+    assertThat(derived.getCompactionInterval(), is(Duration.ofMinutes(5)));
+    assertThat(derived.getCompactionMaxBytes(), is(8192L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeCompactionIntervalIsRejected() {
+    new OffHeapDiskStoreConfiguration("foobar", 16, 42, null, 128, false, null, Long.MAX_VALUE, 64, Duration.ofSeconds(-1), 8192);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testZeroWriteQueueSizeIsRejected() {
+    new OffHeapDiskStoreConfiguration("foobar", 16, 42, null, 128, false, null, Long.MAX_VALUE, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testZeroCheckpointIntervalIsRejected() {
+    new OffHeapDiskStoreConfiguration("foobar", 16, 42, null, 128, false, Duration.ZERO, 4096);
   }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.config.store.heap;
+
+import org.ehcache.impl.sizeof.Sizer;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class OnHeapSizingConfigurationTest {
+
+  @Test
+  public void testDeriveDetachesProperly() {
+    Sizer<String> keySizer = String::length;
+    Sizer<byte[]> valueSizer = value -> value.length;
+    OnHeapSizingConfiguration configuration = new OnHeapSizingConfiguration(keySizer, valueSizer);
+    OnHeapSizingConfiguration derived = configuration.build(configuration.derive());
+
+    assertThat(derived, is(not(sameInstance(configuration))));
+    assertThat(derived.getKeySizer(), sameInstance(keySizer));
+    assertThat(derived.getValueSizer(), sameInstance(valueSizer));
+  }
+
+  @Test
+  public void testDefaultsToSerializers() {
+    OnHeapSizingConfiguration configuration = new OnHeapSizingConfiguration();
+
+    assertThat(configuration.getKeySizer(), nullValue());
+    assertThat(configuration.getValueSizer(), nullValue());
+  }
+}
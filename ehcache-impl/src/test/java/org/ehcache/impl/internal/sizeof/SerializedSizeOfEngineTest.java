@@ -0,0 +1,85 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.sizeof;
+
+import org.ehcache.core.spi.store.Store;
+import org.ehcache.impl.internal.store.BinaryValueHolder;
+import org.ehcache.impl.internal.store.heap.holders.SimpleOnHeapValueHolder;
+import org.ehcache.impl.serialization.ByteArraySerializer;
+import org.ehcache.impl.serialization.LongSerializer;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.ehcache.impl.internal.sizeof.SerializedSizeOfEngine.MAPPING_OVERHEAD;
+import static org.ehcache.impl.internal.sizeof.SerializedSizeOfEngine.serializing;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+@Deprecated
+public class SerializedSizeOfEngineTest {
+
+  @Test
+  public void testSizesFromSizers() throws Exception {
+    org.ehcache.core.spi.store.heap.SizeOfEngine sizeOfEngine = new SerializedSizeOfEngine(
+      (String key) -> key.length(), (String value) -> 2L * value.length(), false);
+
+    assertThat(sizeOfEngine.sizeof("key", new SimpleOnHeapValueHolder<>("value", 0L, false)), is(3L + 10L + MAPPING_OVERHEAD));
+  }
+
+  @Test
+  public void testSizesFromSerializers() throws Exception {
+    org.ehcache.core.spi.store.heap.SizeOfEngine sizeOfEngine = new SerializedSizeOfEngine(
+      serializing(new LongSerializer()), serializing(new ByteArraySerializer()), true);
+
+    assertThat(sizeOfEngine.sizeof(42L, new SimpleOnHeapValueHolder<>(new byte[100], 0L, false)), is(8L + 100L + MAPPING_OVERHEAD));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testAvailableBinaryValueIsNotSerializedAgain() throws Exception {
+    Store.ValueHolder<byte[]> valueHolder = mock(Store.ValueHolder.class, withSettings().extraInterfaces(BinaryValueHolder.class));
+    when(((BinaryValueHolder) valueHolder).isBinaryValueAvailable()).thenReturn(true);
+    when(((BinaryValueHolder) valueHolder).getBinaryValue()).thenReturn(ByteBuffer.allocate(64));
+
+    org.ehcache.core.spi.store.heap.SizeOfEngine sizeOfEngine = new SerializedSizeOfEngine(
+      serializing(new LongSerializer()), serializing(new ByteArraySerializer()), true);
+
+    assertThat(sizeOfEngine.sizeof(42L, valueHolder), is(8L + 64L + MAPPING_OVERHEAD));
+    verify(valueHolder, never()).get();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testBinaryValueIsIgnoredWithValueSizer() throws Exception {
+    Store.ValueHolder<byte[]> valueHolder = mock(Store.ValueHolder.class, withSettings().extraInterfaces(BinaryValueHolder.class));
+    when(((BinaryValueHolder) valueHolder).isBinaryValueAvailable()).thenReturn(true);
+    when(((BinaryValueHolder) valueHolder).getBinaryValue()).thenReturn(ByteBuffer.allocate(64));
+    when(valueHolder.get()).thenReturn(new byte[10]);
+
+    org.ehcache.core.spi.store.heap.SizeOfEngine sizeOfEngine = new SerializedSizeOfEngine(
+      (Long key) -> 1L, (byte[] value) -> value.length, false);
+
+    assertThat(sizeOfEngine.sizeof(42L, valueHolder), is(1L + 10L + MAPPING_OVERHEAD));
+  }
+}
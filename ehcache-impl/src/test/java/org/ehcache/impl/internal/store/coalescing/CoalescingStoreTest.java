@@ -0,0 +1,174 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.coalescing;
+
+import org.ehcache.config.ResourceType;
+import org.ehcache.core.spi.store.Store;
+import org.ehcache.spi.resilience.StoreAccessException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CoalescingStoreTest {
+
+  private final CountDownLatch leaderEntered = new CountDownLatch(1);
+  private final CountDownLatch leaderRelease = new CountDownLatch(1);
+
+  private Store<String, String> delegate;
+  private Store.ValueHolder<String> valueHolder;
+  private ExecutorService executor;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    delegate = mock(Store.class);
+    valueHolder = mock(Store.ValueHolder.class);
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @After
+  public void tearDown() {
+    leaderRelease.countDown();
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testConcurrentReadsIssueSingleRequest() throws Exception {
+    when(delegate.get("key")).then(invocation -> blockingRead());
+    CoalescingStore<String, String> store = new CoalescingStore<>(delegate, Duration.ofSeconds(30), null);
+
+    Future<Store.ValueHolder<String>> leader = executor.submit(() -> store.get("key"));
+    leaderEntered.await();
+    Future<Store.ValueHolder<String>> follower = submitWaitingRead(store);
+    leaderRelease.countDown();
+
+    assertThat(leader.get(), sameInstance(valueHolder));
+    assertThat(follower.get(), sameInstance(valueHolder));
+    verify(delegate, times(1)).get("key");
+  }
+
+  @Test
+  public void testFollowerReceivesLeaderFailure() throws Exception {
+    StoreAccessException failure = new StoreAccessException("boom");
+    when(delegate.get("key")).then(invocation -> {
+      blockingRead();
+      throw failure;
+    });
+    CoalescingStore<String, String> store = new CoalescingStore<>(delegate, Duration.ofSeconds(30), null);
+
+    Future<Store.ValueHolder<String>> leader = executor.submit(() -> store.get("key"));
+    leaderEntered.await();
+    Future<Store.ValueHolder<String>> follower = submitWaitingRead(store);
+    leaderRelease.countDown();
+
+    assertFailsWith(leader, failure);
+    assertFailsWith(follower, failure);
+    verify(delegate, times(1)).get("key");
+  }
+
+  @Test
+  public void testFollowerReadsOnItsOwnAfterMaximumWait() throws Exception {
+    @SuppressWarnings("unchecked")
+    Store.ValueHolder<String> ownValueHolder = mock(Store.ValueHolder.class);
+    when(delegate.get("key")).then(invocation -> blockingRead()).thenReturn(ownValueHolder);
+    CoalescingStore<String, String> store = new CoalescingStore<>(delegate, Duration.ofMillis(10), null);
+
+    Future<Store.ValueHolder<String>> leader = executor.submit(() -> store.get("key"));
+    leaderEntered.await();
+
+    assertThat(store.get("key"), sameInstance(ownValueHolder));
+    leaderRelease.countDown();
+    assertThat(leader.get(), sameInstance(valueHolder));
+    verify(delegate, times(2)).get("key");
+  }
+
+  @Test
+  public void testMutationEvictsInFlightRead() throws Exception {
+    @SuppressWarnings("unchecked")
+    Store.ValueHolder<String> updatedValueHolder = mock(Store.ValueHolder.class);
+    when(delegate.get("key")).then(invocation -> blockingRead()).thenReturn(updatedValueHolder);
+    CoalescingStore<String, String> store = new CoalescingStore<>(delegate, Duration.ofSeconds(30), null);
+
+    Future<Store.ValueHolder<String>> leader = executor.submit(() -> store.get("key"));
+    leaderEntered.await();
+    store.put("key", "updated");
+
+    assertThat(store.get("key"), sameInstance(updatedValueHolder));
+    leaderRelease.countDown();
+    assertThat(leader.get(), sameInstance(valueHolder));
+    verify(delegate, times(2)).get("key");
+  }
+
+  @Test
+  public void testProviderDoesNotRankWithoutConfiguration() {
+    CoalescingStore.Provider provider = new CoalescingStore.Provider();
+
+    assertThat(provider.rank(singleton(ResourceType.Core.HEAP), emptySet()), is(0));
+  }
+
+  private Store.ValueHolder<String> blockingRead() throws InterruptedException {
+    leaderEntered.countDown();
+    if (!leaderRelease.await(30, TimeUnit.SECONDS)) {
+      throw new AssertionError("Leader was never released");
+    }
+    return valueHolder;
+  }
+
+  private static void assertFailsWith(Future<?> read, Throwable failure) throws InterruptedException {
+    try {
+      read.get();
+      fail("Expected ExecutionException");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), sameInstance(failure));
+    }
+  }
+
+  private Future<Store.ValueHolder<String>> submitWaitingRead(CoalescingStore<String, String> store) throws InterruptedException {
+    Thread[] reader = new Thread[1];
+    CountDownLatch started = new CountDownLatch(1);
+    Future<Store.ValueHolder<String>> read = executor.submit(() -> {
+      reader[0] = Thread.currentThread();
+      started.countDown();
+      return store.get("key");
+    });
+    started.await();
+    while (reader[0].getState() != Thread.State.TIMED_WAITING) {
+      Thread.sleep(1);
+    }
+    return read;
+  }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ehcache.impl.internal.store.disk;
+
+import org.ehcache.impl.internal.executor.OnDemandExecutionService;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.fail;
+
+public class DiskWriteSchedulerTest {
+
+  @Test
+  public void testWritesOfASegmentRunInOrder() throws Exception {
+    DiskWriteScheduler scheduler = new DiskWriteScheduler(new OnDemandExecutionService(), null, 4, 16);
+    ExecutorService segment = scheduler.newInstance();
+    List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+
+    for (int i = 0; i < 1000; i++) {
+      int value = i;
+      segment.execute(() -> executed.add(value));
+    }
+    segment.shutdown();
+
+    assertThat(segment.awaitTermination(10, TimeUnit.SECONDS), is(true));
+    assertThat(executed, is(IntStream.range(0, 1000).boxed().collect(Collectors.toList())));
+  }
+
+  @Test
+  public void testFullQueueBlocksSubmitter() throws Exception {
+    DiskWriteScheduler scheduler = new DiskWriteScheduler(new OnDemandExecutionService(), null, 1, 2);
+    ExecutorService segment = scheduler.newInstance();
+    CountDownLatch release = new CountDownLatch(1);
+
+    segment.execute(() -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    segment.execute(() -> { });
+
+    CountDownLatch submitted = new CountDownLatch(1);
+    Thread submitter = new Thread(() -> {
+      segment.execute(() -> { });
+      submitted.countDown();
+    });
+    submitter.start();
+
+    assertThat(submitted.await(100, TimeUnit.MILLISECONDS), is(false));
+    release.countDown();
+    assertThat(submitted.await(10, TimeUnit.SECONDS), is(true));
+    submitter.join();
+    segment.shutdown();
+    assertThat(segment.awaitTermination(10, TimeUnit.SECONDS), is(true));
+  }
+
+  @Test
+  public void testFullQueueRunsWritesOnSubmitter() throws Exception {
+    DiskWriteScheduler scheduler = new DiskWriteScheduler(new OnDemandExecutionService(), null, 1, 1);
+    ExecutorService busy = scheduler.newInstance();
+    ExecutorService segment = scheduler.newInstance();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    busy.execute(() -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+
+    List<Thread> executors = Collections.synchronizedList(new ArrayList<>());
+    segment.execute(() -> executors.add(Thread.currentThread()));
+    segment.execute(() -> executors.add(Thread.currentThread()));
+
+    assertThat(executors, is(Arrays.asList(Thread.currentThread(), Thread.currentThread())));
+    release.countDown();
+    busy.shutdown();
+    segment.shutdown();
+    assertThat(busy.awaitTermination(10, TimeUnit.SECONDS), is(true));
+    assertThat(segment.awaitTermination(10, TimeUnit.SECONDS), is(true));
+  }
+
+  @Test
+  public void testInterruptedSubmitterIsRejected() throws Exception {
+    DiskWriteScheduler scheduler = new DiskWriteScheduler(new OnDemandExecutionService(), null, 1, 1);
+    ExecutorService segment = scheduler.newInstance();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    segment.execute(() -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+
+    Thread.currentThread().interrupt();
+    try {
+      segment.execute(() -> { });
+      fail("Expected RejectedExecutionException");
+    } catch (RejectedExecutionException e) {
+      assertThat(Thread.interrupted(), is(true));
+    }
+    release.countDown();
+    segment.shutdown();
+    assertThat(segment.awaitTermination(10, TimeUnit.SECONDS), is(true));
+  }
+
+  @Test
+  public void testShutdownRacingSubmissionsRunsEveryAcceptedWrite() throws Exception {
+    for (int round = 0; round < 100; round++) {
+      ExecutorService segment = new DiskWriteScheduler(new OnDemandExecutionService(), null, 2, 4).newInstance();
+      AtomicInteger accepted = new AtomicInteger();
+      AtomicInteger executed = new AtomicInteger();
+      Thread submitter = new Thread(() -> {
+        try {
+          while (true) {
+            segment.execute(executed::incrementAndGet);
+            accepted.incrementAndGet();
+          }
+        } catch (RejectedExecutionException e) {
+          // the segment shut down
+        }
+      });
+      submitter.start();
+      Thread.yield();
+      segment.shutdown();
+      submitter.join();
+
+      assertThat(segment.awaitTermination(10, TimeUnit.SECONDS), is(true));
+      assertThat(executed.get(), is(accepted.get()));
+    }
+  }
+
+  @Test
+  public void testQueueDepthCountsPendingWrites() throws Exception {
+    DiskWriteScheduler scheduler = new DiskWriteScheduler(new OnDemandExecutionService(), null, 1, 16);
+    ExecutorService first = scheduler.newInstance();
+    ExecutorService second = scheduler.newInstance();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    first.execute(() -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+    first.execute(() -> { });
+    second.execute(() -> { });
+    second.execute(() -> { });
+
+    assertThat(scheduler.getQueueDepth(), is(3L));
+    release.countDown();
+    first.shutdown();
+    second.shutdown();
+    assertThat(first.awaitTermination(10, TimeUnit.SECONDS), is(true));
+    assertThat(second.awaitTermination(10, TimeUnit.SECONDS), is(true));
+    assertThat(scheduler.getQueueDepth(), is(0L));
+  }
+
+  @Test
+  public void testLatencyPercentiles() throws Exception {
+    DiskWriteScheduler scheduler = new DiskWriteScheduler(new OnDemandExecutionService(), null, 1, 16);
+    assertThat(scheduler.getLatencyPercentile(50), nullValue());
+
+    ExecutorService segment = scheduler.newInstance();
+    Future<?> write = segment.submit(() -> {
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    write.get(10, TimeUnit.SECONDS);
+    segment.shutdown();
+    assertThat(segment.awaitTermination(10, TimeUnit.SECONDS), is(true));
+
+    assertThat(scheduler.getLatencyPercentile(99), greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10)));
+  }
+
+  @Test
+  public void testShutdownNowReturnsPendingWrites() throws Exception {
+    DiskWriteScheduler scheduler = new DiskWriteScheduler(new OnDemandExecutionService(), null, 1, 16);
+    ExecutorService segment = scheduler.newInstance();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    segment.execute(() -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+    segment.execute(() -> { });
+    segment.execute(() -> { });
+
+    assertThat(segment.shutdownNow().size(), is(2));
+    assertThat(segment.isTerminated(), is(false));
+    release.countDown();
+    assertThat(segment.awaitTermination(10, TimeUnit.SECONDS), is(true));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testZeroQueueSizeIsRejected() {
+    new DiskWriteScheduler(new OnDemandExecutionService(), null, 1, 0);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.disk;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.terracotta.offheapstore.disk.paging.MappedPage;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class ExplicitIoPageSourceTest {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testPageChangesOnlyReachTheFileWhenWritten() throws Exception {
+    File file = folder.newFile();
+    ExplicitIoPageSource source = new ExplicitIoPageSource(file, 1024 * 1024);
+    try {
+      MappedPage page = source.allocate(4096, false, false, null);
+      long address = source.getAddress(page);
+      page.asByteBuffer().putLong(0, 42L);
+
+      assertThat(readLong(file, address), is(0L));
+      source.write(page);
+      assertThat(readLong(file, address), is(42L));
+    } finally {
+      source.close();
+    }
+  }
+
+  @Test
+  public void testClaimedPageHoldsTheWrittenContent() throws Exception {
+    File file = folder.newFile();
+    ExplicitIoPageSource source = new ExplicitIoPageSource(file, 1024 * 1024);
+    long address;
+    try {
+      MappedPage page = source.allocate(4096, false, false, null);
+      address = source.getAddress(page);
+      page.asByteBuffer().putLong(8, 42L);
+      source.flush();
+    } finally {
+      source.close();
+    }
+
+    ExplicitIoPageSource reopened = new ExplicitIoPageSource(file, false, 1024 * 1024);
+    try {
+      MappedPage page = reopened.claimPage(address, 4096);
+      assertThat(page.asByteBuffer().getLong(8), is(42L));
+    } finally {
+      reopened.close();
+    }
+  }
+
+  private static long readLong(File file, long position) throws Exception {
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+      if (raf.length() < position + Long.BYTES) {
+        return 0L;
+      }
+      raf.seek(position);
+      return raf.readLong();
+    }
+  }
+}
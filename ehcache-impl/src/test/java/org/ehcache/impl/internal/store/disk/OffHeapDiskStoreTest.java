@@ -32,6 +32,7 @@ import org.ehcache.spi.resilience.StoreAccessException;
 import org.ehcache.core.statistics.LowerCachingTierOperationsOutcome;
 import org.ehcache.CachePersistenceException;
 import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.config.store.disk.DiskAccess;
 import org.ehcache.impl.config.store.disk.OffHeapDiskStoreConfiguration;
 import org.ehcache.impl.internal.store.offheap.portability.AssertingOffHeapValueHolderPortability;
 import org.ehcache.impl.internal.store.offheap.portability.OffHeapValueHolderPortability;
@@ -61,8 +62,13 @@ import org.terracotta.context.query.Query;
 import org.terracotta.context.query.QueryBuilder;
 import org.terracotta.statistics.OperationStatistic;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -86,12 +92,17 @@ import static org.ehcache.config.units.MemoryUnit.MB;
 import static org.ehcache.core.spi.ServiceLocator.dependencySet;
 import static org.ehcache.impl.config.store.disk.OffHeapDiskStoreConfiguration.DEFAULT_DISK_SEGMENTS;
 import static org.ehcache.impl.config.store.disk.OffHeapDiskStoreConfiguration.DEFAULT_WRITER_CONCURRENCY;
+import static org.ehcache.impl.config.store.disk.OffHeapDiskStoreConfiguration.DEFAULT_WRITE_QUEUE_SIZE;
 import static org.ehcache.impl.internal.spi.TestServiceProvider.providerContaining;
 import static org.ehcache.test.MockitoUtil.uncheckedGenericMock;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -124,6 +135,372 @@ public class OffHeapDiskStoreTest extends AbstractOffHeapStoreTest {
     }
   }
 
+  @Test
+  public void testRecoveryWhileOpenDuringRecovery() throws Exception {
+    SerializationProvider serializationProvider = new DefaultSerializationProvider(null);
+    serializationProvider.start(providerContaining(diskResourceService));
+    ClassLoader classLoader = getClass().getClassLoader();
+    Serializer<String> keySerializer = serializationProvider.createKeySerializer(String.class, classLoader);
+    Serializer<String> valueSerializer = serializationProvider.createValueSerializer(String.class, classLoader);
+    StoreConfigurationImpl<String, String> storeConfiguration = new StoreConfigurationImpl<>(String.class, String.class,
+      null, classLoader, noExpiration(), null, 0, true, keySerializer, valueSerializer, null, false);
+    OffHeapDiskStore<String, String> offHeapDiskStore = new OffHeapDiskStore<>(
+      getPersistenceContext(),
+      new OnDemandExecutionService(), null, DEFAULT_WRITER_CONCURRENCY, DEFAULT_DISK_SEGMENTS, null, 0, true,
+      storeConfiguration, SystemTimeSource.INSTANCE,
+      new TestStoreEventDispatcher<>(),
+      MB.toBytes(1), new DefaultStatisticsService());
+    OffHeapDiskStore.Provider.init(offHeapDiskStore);
+    try {
+      for (int i = 0; i < 100; i++) {
+        offHeapDiskStore.put("key" + i, "value" + i);
+      }
+
+      OffHeapDiskStore.Provider.close(offHeapDiskStore);
+
+      OffHeapDiskStore.Provider.init(offHeapDiskStore);
+      for (int i = 0; i < 100; i++) {
+        assertThat(offHeapDiskStore.get("key" + i).get(), is("value" + i));
+      }
+    } finally {
+      destroyStore(offHeapDiskStore);
+    }
+  }
+
+  @Test
+  public void testFailedSegmentIsClearedWhileOpenDuringRecovery() throws Exception {
+    SerializationProvider serializationProvider = new DefaultSerializationProvider(null);
+    serializationProvider.start(providerContaining(diskResourceService));
+    ClassLoader classLoader = getClass().getClassLoader();
+    Serializer<String> keySerializer = serializationProvider.createKeySerializer(String.class, classLoader);
+    Serializer<String> valueSerializer = serializationProvider.createValueSerializer(String.class, classLoader);
+    StoreConfigurationImpl<String, String> storeConfiguration = new StoreConfigurationImpl<>(String.class, String.class,
+      null, classLoader, noExpiration(), null, 0, true, keySerializer, valueSerializer, null, false);
+    FileBasedPersistenceContext persistenceContext = getPersistenceContext();
+    OffHeapDiskStore<String, String> offHeapDiskStore = new OffHeapDiskStore<>(
+      persistenceContext,
+      new OnDemandExecutionService(), null, DEFAULT_WRITER_CONCURRENCY, DEFAULT_DISK_SEGMENTS, null, 0, true,
+      storeConfiguration, SystemTimeSource.INSTANCE,
+      new TestStoreEventDispatcher<>(),
+      MB.toBytes(1), new DefaultStatisticsService());
+    OffHeapDiskStore.Provider.init(offHeapDiskStore);
+    try {
+      for (int i = 0; i < 100; i++) {
+        offHeapDiskStore.put("key" + i, "value" + i);
+      }
+
+      OffHeapDiskStore.Provider.close(offHeapDiskStore);
+
+      // breaks the magic number of the first segment block
+      Path index = new File(persistenceContext.getDirectory(), "ehcache-disk-store.index").toPath();
+      byte[] bytes = Files.readAllBytes(index);
+      byte[] magic = ByteBuffer.allocate(Integer.BYTES).putInt(0x494c4c49).array();
+      for (int i = 0; ; i++) {
+        if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + magic.length), magic)) {
+          bytes[i] = 0;
+          break;
+        }
+      }
+      Files.write(index, bytes);
+
+      OffHeapDiskStore.Provider.init(offHeapDiskStore);
+      int recovered = 0;
+      for (int i = 0; i < 100; i++) {
+        Store.ValueHolder<String> valueHolder = offHeapDiskStore.get("key" + i);
+        if (valueHolder != null) {
+          assertThat(valueHolder.get(), is("value" + i));
+          recovered++;
+        }
+      }
+      assertThat(recovered, greaterThan(0));
+      assertThat(recovered, lessThan(100));
+
+      for (int i = 0; i < 100; i++) {
+        offHeapDiskStore.put("key" + i, "value" + i);
+      }
+      OffHeapDiskStore.Provider.close(offHeapDiskStore);
+
+      OffHeapDiskStore.Provider.init(offHeapDiskStore);
+      for (int i = 0; i < 100; i++) {
+        assertThat(offHeapDiskStore.get("key" + i).get(), is("value" + i));
+      }
+    } finally {
+      destroyStore(offHeapDiskStore);
+    }
+  }
+
+  @Test
+  public void testCompactionKeepsLiveMappings() throws Exception {
+    SerializationProvider serializationProvider = new DefaultSerializationProvider(null);
+    serializationProvider.start(providerContaining(diskResourceService));
+    ClassLoader classLoader = getClass().getClassLoader();
+    Serializer<String> keySerializer = serializationProvider.createKeySerializer(String.class, classLoader);
+    Serializer<String> valueSerializer = serializationProvider.createValueSerializer(String.class, classLoader);
+    StoreConfigurationImpl<String, String> storeConfiguration = new StoreConfigurationImpl<>(String.class, String.class,
+      null, classLoader, noExpiration(), null, 0, true, keySerializer, valueSerializer, null, false);
+    OffHeapDiskStore<String, String> offHeapDiskStore = new OffHeapDiskStore<>(
+      getPersistenceContext(),
+      new OnDemandExecutionService(), null, DEFAULT_WRITER_CONCURRENCY, DEFAULT_WRITE_QUEUE_SIZE, DEFAULT_DISK_SEGMENTS, null, 0, false,
+      null, Long.MAX_VALUE, Duration.ofHours(1), Long.MAX_VALUE,
+      storeConfiguration, SystemTimeSource.INSTANCE,
+      new TestStoreEventDispatcher<>(),
+      MB.toBytes(1), new DefaultStatisticsService());
+    OffHeapDiskStore.Provider.init(offHeapDiskStore);
+    try {
+      for (int i = 0; i < 1000; i++) {
+        offHeapDiskStore.put("key" + i, String.join("", Collections.nCopies(i % 50, "value")));
+      }
+      for (int i = 0; i < 1000; i += 2) {
+        offHeapDiskStore.remove("key" + i);
+      }
+
+      EhcachePersistentConcurrentOffHeapClockCache<?, ?> map = (EhcachePersistentConcurrentOffHeapClockCache<?, ?>) offHeapDiskStore.backingMap();
+      long allocated = map.getDataAllocatedMemory();
+      long moved = 0;
+      for (int i = 0; i < map.segmentCount(); i++) {
+        moved += map.compactSegment(i, Long.MAX_VALUE);
+      }
+
+      assertThat(moved, greaterThan(0L));
+      assertThat(map.getDataAllocatedMemory(), lessThanOrEqualTo(allocated));
+      assertThat(map.longSize(), is(500L));
+      for (int i = 1; i < 1000; i += 2) {
+        assertThat(offHeapDiskStore.get("key" + i).get(), is(String.join("", Collections.nCopies(i % 50, "value"))));
+      }
+    } finally {
+      destroyStore(offHeapDiskStore);
+    }
+  }
+
+  @Test
+  public void testRecoveryWithExplicitIo() throws Exception {
+    SerializationProvider serializationProvider = new DefaultSerializationProvider(null);
+    serializationProvider.start(providerContaining(diskResourceService));
+    ClassLoader classLoader = getClass().getClassLoader();
+    Serializer<String> keySerializer = serializationProvider.createKeySerializer(String.class, classLoader);
+    Serializer<String> valueSerializer = serializationProvider.createValueSerializer(String.class, classLoader);
+    StoreConfigurationImpl<String, String> storeConfiguration = new StoreConfigurationImpl<>(String.class, String.class,
+      null, classLoader, noExpiration(), null, 0, true, keySerializer, valueSerializer, null, false);
+    OffHeapDiskStore<String, String> offHeapDiskStore = new OffHeapDiskStore<>(
+      getPersistenceContext(),
+      new OnDemandExecutionService(), null, DEFAULT_WRITER_CONCURRENCY, DEFAULT_WRITE_QUEUE_SIZE, DEFAULT_DISK_SEGMENTS, null, 0, false,
+      null, Long.MAX_VALUE, null, Long.MAX_VALUE, DiskAccess.EXPLICIT_IO,
+      storeConfiguration, SystemTimeSource.INSTANCE,
+      new TestStoreEventDispatcher<>(),
+      MB.toBytes(1), new DefaultStatisticsService());
+    OffHeapDiskStore.Provider.init(offHeapDiskStore);
+    try {
+      for (int i = 0; i < 1000; i++) {
+        offHeapDiskStore.put("key" + i, "value" + i);
+      }
+      for (int i = 0; i < 1000; i += 2) {
+        offHeapDiskStore.remove("key" + i);
+      }
+
+      OffHeapDiskStore.Provider.close(offHeapDiskStore);
+
+      OffHeapDiskStore.Provider.init(offHeapDiskStore);
+      assertThat(((EhcachePersistentConcurrentOffHeapClockCache<?, ?>) offHeapDiskStore.backingMap()).longSize(), is(500L));
+      for (int i = 1; i < 1000; i += 2) {
+        assertThat(offHeapDiskStore.get("key" + i).get(), is("value" + i));
+      }
+    } finally {
+      destroyStore(offHeapDiskStore);
+    }
+  }
+
+  @Test
+  public void testRecoveryFromCheckpointIgnoresLaterChanges() throws Exception {
+    SerializationProvider serializationProvider = new DefaultSerializationProvider(null);
+    serializationProvider.start(providerContaining(diskResourceService));
+    ClassLoader classLoader = getClass().getClassLoader();
+    Serializer<String> keySerializer = serializationProvider.createKeySerializer(String.class, classLoader);
+    Serializer<String> valueSerializer = serializationProvider.createValueSerializer(String.class, classLoader);
+    StoreConfigurationImpl<String, String> storeConfiguration = new StoreConfigurationImpl<>(String.class, String.class,
+      null, classLoader, noExpiration(), null, 0, true, keySerializer, valueSerializer, null, false);
+    OffHeapDiskStore<String, String> offHeapDiskStore = new OffHeapDiskStore<>(
+      getPersistenceContext(),
+      new OnDemandExecutionService(), null, DEFAULT_WRITER_CONCURRENCY, DEFAULT_WRITE_QUEUE_SIZE, DEFAULT_DISK_SEGMENTS, null, 0, false,
+      Duration.ofDays(1), Long.MAX_VALUE, null, Long.MAX_VALUE, DiskAccess.MEMORY_MAPPED,
+      storeConfiguration, SystemTimeSource.INSTANCE,
+      new TestStoreEventDispatcher<>(),
+      MB.toBytes(1), new DefaultStatisticsService());
+    OffHeapDiskStore.Provider.init(offHeapDiskStore);
+    try {
+      for (int i = 0; i < 1000; i++) {
+        offHeapDiskStore.put("key" + i, "value" + i);
+      }
+      offHeapDiskStore.getCheckpointer().checkpoint();
+
+      // frees storage the checkpoint references, then writes mappings of the same size
+      for (int i = 0; i < 1000; i += 2) {
+        offHeapDiskStore.remove("key" + i);
+      }
+      for (int i = 0; i < 1000; i++) {
+        offHeapDiskStore.put((i % 2 == 0 ? "kez" : "key") + i, "vamue" + i);
+      }
+
+      // crash: the index is never written
+      offHeapDiskStore.getCheckpointer().close();
+      ((EhcachePersistentConcurrentOffHeapClockCache<?, ?>) offHeapDiskStore.backingMap()).close();
+
+      OffHeapDiskStore.Provider.init(offHeapDiskStore);
+      assertThat(((EhcachePersistentConcurrentOffHeapClockCache<?, ?>) offHeapDiskStore.backingMap()).longSize(), is(1000L));
+      for (int i = 0; i < 1000; i++) {
+        assertThat(offHeapDiskStore.get("key" + i).get(), is("value" + i));
+      }
+    } finally {
+      destroyStore(offHeapDiskStore);
+    }
+  }
+
+  @Test
+  public void testRecoveryFromCheckpointFreesHeldMappingsReusedSince() throws Exception {
+    SerializationProvider serializationProvider = new DefaultSerializationProvider(null);
+    serializationProvider.start(providerContaining(diskResourceService));
+    ClassLoader classLoader = getClass().getClassLoader();
+    Serializer<String> keySerializer = serializationProvider.createKeySerializer(String.class, classLoader);
+    Serializer<String> valueSerializer = serializationProvider.createValueSerializer(String.class, classLoader);
+    StoreConfigurationImpl<String, String> storeConfiguration = new StoreConfigurationImpl<>(String.class, String.class,
+      null, classLoader, noExpiration(), null, 0, true, keySerializer, valueSerializer, null, false);
+    OffHeapDiskStore<String, String> offHeapDiskStore = new OffHeapDiskStore<>(
+      getPersistenceContext(),
+      new OnDemandExecutionService(), null, DEFAULT_WRITER_CONCURRENCY, DEFAULT_WRITE_QUEUE_SIZE, DEFAULT_DISK_SEGMENTS, null, 0, false,
+      Duration.ofDays(1), Long.MAX_VALUE, null, Long.MAX_VALUE, DiskAccess.MEMORY_MAPPED,
+      storeConfiguration, SystemTimeSource.INSTANCE,
+      new TestStoreEventDispatcher<>(),
+      MB.toBytes(1), new DefaultStatisticsService());
+    OffHeapDiskStore.Provider.init(offHeapDiskStore);
+    try {
+      for (int i = 0; i < 1000; i++) {
+        offHeapDiskStore.put("key" + i, "value" + i);
+      }
+      // the checkpoint holds the removed mappings, and releases them once durable
+      for (int i = 0; i < 1000; i += 2) {
+        offHeapDiskStore.remove("key" + i);
+      }
+      offHeapDiskStore.getCheckpointer().checkpoint();
+      for (int i = 0; i < 1000; i += 2) {
+        offHeapDiskStore.put("kez" + i, "vamue" + i + "-" + i);
+      }
+
+      // crash: the index is never written
+      offHeapDiskStore.getCheckpointer().close();
+      ((EhcachePersistentConcurrentOffHeapClockCache<?, ?>) offHeapDiskStore.backingMap()).close();
+
+      OffHeapDiskStore.Provider.init(offHeapDiskStore);
+      assertThat(((EhcachePersistentConcurrentOffHeapClockCache<?, ?>) offHeapDiskStore.backingMap()).longSize(), is(500L));
+      for (int i = 1; i < 1000; i += 2) {
+        assertThat(offHeapDiskStore.get("key" + i).get(), is("value" + i));
+      }
+      for (int i = 0; i < 1000; i++) {
+        offHeapDiskStore.put("key" + i, "value" + i);
+      }
+      assertThat(((EhcachePersistentConcurrentOffHeapClockCache<?, ?>) offHeapDiskStore.backingMap()).longSize(), is(1000L));
+    } finally {
+      destroyStore(offHeapDiskStore);
+    }
+  }
+
+  @Test
+  public void testCompactionKeepsCheckpointRecoverable() throws Exception {
+    SerializationProvider serializationProvider = new DefaultSerializationProvider(null);
+    serializationProvider.start(providerContaining(diskResourceService));
+    ClassLoader classLoader = getClass().getClassLoader();
+    Serializer<String> keySerializer = serializationProvider.createKeySerializer(String.class, classLoader);
+    Serializer<String> valueSerializer = serializationProvider.createValueSerializer(String.class, classLoader);
+    StoreConfigurationImpl<String, String> storeConfiguration = new StoreConfigurationImpl<>(String.class, String.class,
+      null, classLoader, noExpiration(), null, 0, true, keySerializer, valueSerializer, null, false);
+    OffHeapDiskStore<String, String> offHeapDiskStore = new OffHeapDiskStore<>(
+      getPersistenceContext(),
+      new OnDemandExecutionService(), null, DEFAULT_WRITER_CONCURRENCY, DEFAULT_WRITE_QUEUE_SIZE, DEFAULT_DISK_SEGMENTS, null, 0, false,
+      Duration.ofDays(1), Long.MAX_VALUE, Duration.ofDays(1), Long.MAX_VALUE, DiskAccess.MEMORY_MAPPED,
+      storeConfiguration, SystemTimeSource.INSTANCE,
+      new TestStoreEventDispatcher<>(),
+      MB.toBytes(1), new DefaultStatisticsService());
+    OffHeapDiskStore.Provider.init(offHeapDiskStore);
+    try {
+      for (int i = 0; i < 1000; i++) {
+        offHeapDiskStore.put("key" + i, "value" + i);
+      }
+      for (int i = 0; i < 1000; i += 2) {
+        offHeapDiskStore.remove("key" + i);
+      }
+      offHeapDiskStore.getCheckpointer().checkpoint();
+
+      // moves mappings away from the storage the checkpoint references, then writes mappings of the same size
+      EhcachePersistentConcurrentOffHeapClockCache<?, ?> map = (EhcachePersistentConcurrentOffHeapClockCache<?, ?>) offHeapDiskStore.backingMap();
+      long moved = 0;
+      for (int i = 0; i < map.segmentCount(); i++) {
+        moved += map.compactSegment(i, Long.MAX_VALUE);
+      }
+      assertThat(moved, greaterThan(0L));
+      for (int i = 0; i < 1000; i += 2) {
+        offHeapDiskStore.put("kez" + i, "vamue" + i);
+      }
+
+      // crash: the index is never written
+      offHeapDiskStore.getCheckpointer().close();
+      map.close();
+
+      OffHeapDiskStore.Provider.init(offHeapDiskStore);
+      assertThat(((EhcachePersistentConcurrentOffHeapClockCache<?, ?>) offHeapDiskStore.backingMap()).longSize(), is(500L));
+      for (int i = 1; i < 1000; i += 2) {
+        assertThat(offHeapDiskStore.get("key" + i).get(), is("value" + i));
+      }
+    } finally {
+      destroyStore(offHeapDiskStore);
+    }
+  }
+
+  @Test
+  public void testStoreAtCapacityInvalidatesCheckpointToReuseStorage() throws Exception {
+    SerializationProvider serializationProvider = new DefaultSerializationProvider(null);
+    serializationProvider.start(providerContaining(diskResourceService));
+    ClassLoader classLoader = getClass().getClassLoader();
+    Serializer<String> keySerializer = serializationProvider.createKeySerializer(String.class, classLoader);
+    Serializer<String> valueSerializer = serializationProvider.createValueSerializer(String.class, classLoader);
+    StoreConfigurationImpl<String, String> storeConfiguration = new StoreConfigurationImpl<>(String.class, String.class,
+      null, classLoader, noExpiration(), null, 0, true, keySerializer, valueSerializer, null, false);
+    OffHeapDiskStore<String, String> offHeapDiskStore = new OffHeapDiskStore<>(
+      getPersistenceContext(),
+      new OnDemandExecutionService(), null, DEFAULT_WRITER_CONCURRENCY, DEFAULT_WRITE_QUEUE_SIZE, DEFAULT_DISK_SEGMENTS, null, 0, false,
+      Duration.ofDays(1), Long.MAX_VALUE, null, Long.MAX_VALUE, DiskAccess.MEMORY_MAPPED,
+      storeConfiguration, SystemTimeSource.INSTANCE,
+      new TestStoreEventDispatcher<>(),
+      MB.toBytes(1), new DefaultStatisticsService());
+    OffHeapDiskStore.Provider.init(offHeapDiskStore);
+    try {
+      for (int i = 0; i < 1000; i++) {
+        offHeapDiskStore.put("key" + i, "value" + i);
+      }
+      offHeapDiskStore.getCheckpointer().checkpoint();
+
+      // several times the store capacity: storage held back for the checkpoint must be released
+      String padding = new String(new char[200]).replace('\0', 'x');
+      for (int i = 0; i < 20000; i++) {
+        offHeapDiskStore.put("churn" + i, padding + i);
+        assertThat(offHeapDiskStore.get("churn" + i).get(), is(padding + i));
+      }
+
+      offHeapDiskStore.getCheckpointer().close();
+      ((EhcachePersistentConcurrentOffHeapClockCache<?, ?>) offHeapDiskStore.backingMap()).close();
+
+      OffHeapDiskStore.Provider.init(offHeapDiskStore);
+      for (int i = 0; i < 1000; i++) {
+        Store.ValueHolder<String> value = offHeapDiskStore.get("key" + i);
+        if (value != null) {
+          assertThat(value.get(), is("value" + i));
+        }
+      }
+      for (int i = 0; i < 20000; i++) {
+        assertThat(offHeapDiskStore.get("churn" + i), nullValue());
+      }
+    } finally {
+      destroyStore(offHeapDiskStore);
+    }
+  }
+
   @Test
   public void testRecoveryFailureWhenValueTypeChangesToIncompatibleClass() throws Exception {
     OffHeapDiskStore.Provider provider = new OffHeapDiskStore.Provider();
@@ -238,6 +615,7 @@ public class OffHeapDiskStoreTest extends AbstractOffHeapStoreTest {
     assertThat(offHeapDiskStore1.getThreadPoolAlias(), is("pool"));
     assertThat(offHeapDiskStore1.getWriterConcurrency(), is(2));
     assertThat(offHeapDiskStore1.getDiskSegments(), is(4));
+    assertThat(offHeapDiskStore1.getDiskAccess(), is(DiskAccess.MEMORY_MAPPED));
   }
 
   @Override
@@ -0,0 +1,194 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ehcache.impl.internal.store.disk;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+
+public class SegmentCheckpointLogTest {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testReadKeepsLatestRecordOfEachSegment() throws IOException {
+    File file = new File(folder.getRoot(), "checkpoint");
+    try (SegmentCheckpointLog log = SegmentCheckpointLog.open(file, 3)) {
+      log.append(0, 1, new byte[] {1});
+      log.append(2, 2, new byte[] {2});
+      log.append(0, 3, new byte[] {3, 4});
+      log.sync();
+    }
+
+    byte[][] blocks = SegmentCheckpointLog.read(file);
+    assertThat(blocks, arrayWithSize(3));
+    assertThat(blocks[0], is(new byte[] {3, 4}));
+    assertThat(blocks[1], nullValue());
+    assertThat(blocks[2], is(new byte[] {2}));
+  }
+
+  @Test
+  public void testReadIgnoresTornRecord() throws IOException {
+    File file = new File(folder.getRoot(), "checkpoint");
+    try (SegmentCheckpointLog log = SegmentCheckpointLog.open(file, 2)) {
+      log.append(0, 1, new byte[] {1});
+      log.append(1, 2, new byte[] {2});
+      log.append(0, 3, new byte[] {3, 4, 5});
+      log.sync();
+    }
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.setLength(raf.length() - 1);
+    }
+
+    byte[][] blocks = SegmentCheckpointLog.read(file);
+    assertThat(blocks[0], is(new byte[] {1}));
+    assertThat(blocks[1], is(new byte[] {2}));
+  }
+
+  @Test
+  public void testReadStopsAtCorruptRecord() throws IOException {
+    File file = new File(folder.getRoot(), "checkpoint");
+    try (SegmentCheckpointLog log = SegmentCheckpointLog.open(file, 2)) {
+      log.append(0, 1, new byte[] {1});
+      log.append(0, 2, new byte[] {2});
+      log.append(1, 3, new byte[] {3});
+      log.sync();
+    }
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      // header (8) + first record (25) + second record header (24) lands on the payload of the second record
+      raf.seek(8 + 25 + 24);
+      raf.write(42);
+    }
+
+    byte[][] blocks = SegmentCheckpointLog.read(file);
+    assertThat(blocks[0], is(new byte[] {1}));
+    assertThat(blocks[1], nullValue());
+  }
+
+  @Test
+  public void testSyncCompactsObsoleteRecords() throws IOException {
+    File file = new File(folder.getRoot(), "checkpoint");
+    try (SegmentCheckpointLog log = SegmentCheckpointLog.open(file, 1)) {
+      for (int i = 0; i < 100; i++) {
+        log.append(0, i + 1, new byte[] {(byte) i});
+      }
+      log.sync();
+    }
+
+    assertThat(file.length(), lessThan(100L));
+    assertThat(SegmentCheckpointLog.read(file)[0], is(new byte[] {99}));
+  }
+
+  @Test
+  public void testOpenKeepsRecordsOfSameSegmentCount() throws IOException {
+    File file = new File(folder.getRoot(), "checkpoint");
+    try (SegmentCheckpointLog log = SegmentCheckpointLog.open(file, 2)) {
+      log.append(1, 1, new byte[] {1});
+      log.sync();
+    }
+    try (SegmentCheckpointLog log = SegmentCheckpointLog.open(file, 2)) {
+      log.append(0, 2, new byte[] {2});
+      log.sync();
+    }
+
+    byte[][] blocks = SegmentCheckpointLog.read(file);
+    assertThat(blocks[0], is(new byte[] {2}));
+    assertThat(blocks[1], is(new byte[] {1}));
+  }
+
+  @Test
+  public void testOpenDiscardsRecordsOfOtherSegmentCount() throws IOException {
+    File file = new File(folder.getRoot(), "checkpoint");
+    try (SegmentCheckpointLog log = SegmentCheckpointLog.open(file, 2)) {
+      log.append(1, 1, new byte[] {1});
+      log.sync();
+    }
+    SegmentCheckpointLog.open(file, 4).close();
+
+    byte[][] blocks = SegmentCheckpointLog.read(file);
+    assertThat(blocks, arrayWithSize(4));
+    assertThat(blocks[1], nullValue());
+  }
+
+  @Test
+  public void testInvalidationDiscardsEarlierRecords() throws IOException {
+    File file = new File(folder.getRoot(), "checkpoint");
+    try (SegmentCheckpointLog log = SegmentCheckpointLog.open(file, 2)) {
+      log.append(0, 1, new byte[] {1});
+      log.append(1, 2, new byte[] {2});
+      log.invalidate(0, 1);
+      log.sync();
+    }
+
+    byte[][] blocks = SegmentCheckpointLog.read(file);
+    assertThat(blocks[0], nullValue());
+    assertThat(blocks[1], is(new byte[] {2}));
+  }
+
+  @Test
+  public void testInvalidationDiscardsLaterRecordsUpToItsSequence() throws IOException {
+    File file = new File(folder.getRoot(), "checkpoint");
+    try (SegmentCheckpointLog log = SegmentCheckpointLog.open(file, 1)) {
+      log.invalidate(0, 2);
+      // taken before the invalidation, appended after it
+      log.append(0, 2, new byte[] {1});
+      log.sync();
+    }
+    assertThat(SegmentCheckpointLog.read(file)[0], nullValue());
+
+    try (SegmentCheckpointLog log = SegmentCheckpointLog.open(file, 1)) {
+      log.invalidate(0, 2);
+      log.append(0, 3, new byte[] {2});
+      log.sync();
+    }
+    assertThat(SegmentCheckpointLog.read(file)[0], is(new byte[] {2}));
+  }
+
+  @Test
+  public void testOpenContinuesSequence() throws IOException {
+    File file = new File(folder.getRoot(), "checkpoint");
+    try (SegmentCheckpointLog log = SegmentCheckpointLog.open(file, 2)) {
+      log.append(0, 7, new byte[] {1});
+      log.append(1, 5, new byte[] {2});
+      log.sync();
+    }
+
+    try (SegmentCheckpointLog log = SegmentCheckpointLog.open(file, 2)) {
+      assertThat(log.lastSequence(), is(7L));
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testReadRejectsForeignFile() throws IOException {
+    File file = folder.newFile();
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.writeLong(42L);
+    }
+    SegmentCheckpointLog.read(file);
+  }
+}
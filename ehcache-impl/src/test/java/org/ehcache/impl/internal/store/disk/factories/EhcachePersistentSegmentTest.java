@@ -36,6 +36,8 @@ import org.terracotta.offheapstore.disk.persistent.PersistentPortability;
 import org.terracotta.offheapstore.disk.storage.FileBackedStorageEngine;
 import org.terracotta.offheapstore.util.Factory;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 
 import static org.ehcache.config.Eviction.noAdvice;
@@ -43,7 +45,9 @@ import static org.ehcache.impl.internal.store.disk.OffHeapDiskStore.persistent;
 import static org.ehcache.impl.internal.spi.TestServiceProvider.providerContaining;
 import static org.ehcache.test.MockitoUtil.uncheckedGenericMock;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.terracotta.offheapstore.util.MemoryUnit.BYTES;
@@ -152,4 +156,26 @@ public class EhcachePersistentSegmentTest {
       segment.destroy();
     }
   }
+
+  @Test
+  public void testStorageEngineHeaderLayoutIsSupported() {
+    assertThat(HoldingStorageEngine.HEADER_LAYOUT_SUPPORTED, is(true));
+  }
+
+  @Test
+  public void testRestoreRejectsCheckpointWithMismatchedHeaderLayout() throws IOException {
+    EhcachePersistentSegment<String, String> segment = createTestSegmentWithAdvisorAndListener();
+    try {
+      ByteArrayOutputStream checkpoint = new ByteArrayOutputStream();
+      try (DataOutputStream output = new DataOutputStream(checkpoint)) {
+        output.writeInt(HoldingStorageEngine.HEADER_OFFSET);
+        output.writeInt(Long.BYTES + Integer.BYTES);
+        output.writeLong(0L);
+      }
+      IOException failure = assertThrows(IOException.class, () -> segment.restore(checkpoint.toByteArray()));
+      assertThat(failure.getMessage(), containsString("do not match the layout"));
+    } finally {
+      segment.destroy();
+    }
+  }
 }
@@ -19,22 +19,65 @@ package org.ehcache.impl.internal.store.heap;
 import org.ehcache.core.CacheConfigurationChangeEvent;
 import org.ehcache.core.CacheConfigurationChangeListener;
 import org.ehcache.core.CacheConfigurationProperty;
+import org.ehcache.config.Eviction;
 import org.ehcache.config.EvictionAdvisor;
 import org.ehcache.config.ResourcePools;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
 import org.ehcache.config.units.EntryUnit;
 import org.ehcache.core.events.StoreEventDispatcher;
 import org.ehcache.core.internal.statistics.DefaultStatisticsService;
 import org.ehcache.expiry.ExpiryPolicy;
 import org.ehcache.impl.internal.sizeof.NoopSizeOfEngine;
+import org.ehcache.core.spi.time.SystemTimeSource;
 import org.ehcache.core.spi.time.TimeSource;
 import org.ehcache.core.spi.store.Store;
 import org.ehcache.spi.loaderwriter.CacheLoaderWriter;
+import org.ehcache.spi.resilience.StoreAccessException;
 import org.ehcache.spi.serialization.Serializer;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
 
 import static org.ehcache.config.builders.ResourcePoolsBuilder.newResourcePoolsBuilder;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 
 public class CountSizedOnHeapStoreTest extends OnHeapStoreTest {
 
+  @Test(timeout = 10000L)
+  public void testGetHitDoesNotWaitForMappingLock() throws Exception {
+    OnHeapStore<String, String> store = newStore(SystemTimeSource.INSTANCE,
+      ExpiryPolicyBuilder.timeToIdleExpiration(Duration.ofMinutes(1)), Eviction.noAdvice(), 100);
+    store.put("key", "value");
+
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread writer = new Thread(() -> {
+      try {
+        store.computeAndGet("key", (key, value) -> {
+          locked.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return value;
+        }, () -> false, () -> false);
+      } catch (StoreAccessException e) {
+        throw new AssertionError(e);
+      }
+    });
+    writer.start();
+    try {
+      locked.await();
+      assertThat(store.get("key").get(), equalTo("value"));
+    } finally {
+      release.countDown();
+      writer.join();
+    }
+  }
+
   @Override
   protected void updateStoreCapacity(OnHeapStore<?, ?> store, int newCapacity) {
     CacheConfigurationChangeListener listener = store.getConfigurationChangeListeners().get(0);
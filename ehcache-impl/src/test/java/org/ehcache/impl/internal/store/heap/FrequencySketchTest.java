@@ -0,0 +1,90 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.heap;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class FrequencySketchTest {
+
+  @Test
+  public void testUnseenKeyHasZeroFrequency() {
+    FrequencySketch sketch = new FrequencySketch(512);
+    assertThat(sketch.frequency("unseen"), is(0));
+  }
+
+  @Test
+  public void testIncrementIsCounted() {
+    FrequencySketch sketch = new FrequencySketch(512);
+    sketch.increment("key");
+    sketch.increment("key");
+    sketch.increment("key");
+    assertThat(sketch.frequency("key"), is(3));
+  }
+
+  @Test
+  public void testFrequencySaturates() {
+    FrequencySketch sketch = new FrequencySketch(512);
+    for (int i = 0; i < 100; i++) {
+      sketch.increment("key");
+    }
+    assertThat(sketch.frequency("key"), is(15));
+  }
+
+  @Test
+  public void testPopularKeysOutrankRareKeys() {
+    FrequencySketch sketch = new FrequencySketch(512);
+    for (int i = 0; i < 256; i++) {
+      sketch.increment(i);
+      if (i % 2 == 0) {
+        sketch.increment("hot");
+      }
+    }
+    assertThat(sketch.frequency("hot"), greaterThan(sketch.frequency(1)));
+  }
+
+  @Test
+  public void testResetAgesFrequencies() {
+    FrequencySketch sketch = new FrequencySketch(16);
+    for (int i = 0; i < 15; i++) {
+      sketch.increment("key");
+    }
+    int before = sketch.frequency("key");
+    for (int i = 0; i < 10 * sketch.capacity(); i++) {
+      sketch.increment(i);
+    }
+    assertThat(sketch.frequency("key"), lessThan(before));
+  }
+
+  @Test
+  public void testCapacityIsAPowerOfTwo() {
+    assertThat(new FrequencySketch(0).capacity(), is(1));
+    assertThat(new FrequencySketch(3).capacity(), is(4));
+    assertThat(new FrequencySketch(1000).capacity(), is(1024));
+    FrequencySketch sketch = new FrequencySketch(1000);
+    sketch.ensureCapacity(10);
+    assertThat(sketch.capacity(), is(1024));
+    sketch.ensureCapacity(1025);
+    assertThat(sketch.capacity(), lessThanOrEqualTo(2048));
+  }
+}
@@ -85,7 +85,7 @@ public class OnHeapStoreEvictionTest {
     try {
       executor.submit(() -> store.getOrComputeIfAbsent("prime", key -> {
         semaphore.acquireUninterruptibly();
-        return new OnHeapValueHolder<String>(0, 0, false) {
+        return new OnHeapValueHolder<String>(0, false) {
           @Override
           public String get() {
             return key;
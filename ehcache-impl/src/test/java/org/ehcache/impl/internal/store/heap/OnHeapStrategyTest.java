@@ -18,7 +18,7 @@
 package org.ehcache.impl.internal.store.heap;
 
 import org.ehcache.expiry.ExpiryPolicy;
-import org.ehcache.impl.internal.store.heap.holders.OnHeapValueHolder;
+import org.ehcache.impl.internal.store.heap.holders.ExpiringOnHeapValueHolder;
 import org.ehcache.internal.TestTimeSource;
 import org.junit.Rule;
 import org.junit.Test;
@@ -49,13 +49,13 @@ public class OnHeapStrategyTest {
 
   private OnHeapStrategy<Integer, String> strategy;
 
-  private static class TestOnHeapValueHolder extends OnHeapValueHolder<String> {
+  private static class TestOnHeapValueHolder extends ExpiringOnHeapValueHolder<String> {
 
     long now;
     Duration expiration;
 
     protected TestOnHeapValueHolder(long expirationTime) {
-      super(1, 0, expirationTime, true);
+      super(0, expirationTime, true);
     }
 
     @Override
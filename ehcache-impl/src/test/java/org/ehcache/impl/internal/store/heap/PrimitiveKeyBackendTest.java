@@ -0,0 +1,210 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.heap;
+
+import org.ehcache.impl.internal.store.heap.holders.OnHeapValueHolder;
+import org.ehcache.impl.internal.store.heap.holders.SimpleOnHeapValueHolder;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.ehcache.config.Eviction.noAdvice;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+public class PrimitiveKeyBackendTest {
+
+  @Test
+  public void testSupportedKeyTypes() {
+    assertThat(PrimitiveKeyBackend.supports(Long.class), is(true));
+    assertThat(PrimitiveKeyBackend.supports(Integer.class), is(true));
+    assertThat(PrimitiveKeyBackend.supports(long.class), is(false));
+    assertThat(PrimitiveKeyBackend.supports(Number.class), is(false));
+    assertThat(PrimitiveKeyBackend.supports(String.class), is(false));
+  }
+
+  @Test
+  public void testBehavesAsAMap() {
+    PrimitiveKeyBackend<Long, String> backend = new PrimitiveKeyBackend<>(Long.class, false);
+    Map<Long, OnHeapValueHolder<String>> reference = new HashMap<>();
+    Random random = new Random(42L);
+
+    for (int i = 0; i < 100_000; i++) {
+      long key = random.nextBoolean() ? random.nextInt(2000) - 1000 : random.nextLong();
+      OnHeapValueHolder<String> value = holder("v" + i);
+      switch (random.nextInt(4)) {
+        case 0:
+          assertThat(backend.putIfAbsent(key, value), is(reference.putIfAbsent(key, value)));
+          break;
+        case 1:
+          assertThat(backend.remove(key), is(reference.remove(key)));
+          break;
+        case 2:
+          assertThat(backend.compute(key, (k, v) -> value), sameInstance(value));
+          reference.put(key, value);
+          break;
+        default:
+          assertThat(backend.get(key), is(reference.get(key)));
+      }
+    }
+
+    assertThat(backend.mappingCount(), is((long) reference.size()));
+    for (Map.Entry<Long, OnHeapValueHolder<String>> entry : reference.entrySet()) {
+      assertThat(backend.get(entry.getKey()), sameInstance(entry.getValue()));
+    }
+    Map<Long, OnHeapValueHolder<String>> iterated = new HashMap<>();
+    for (Iterator<Map.Entry<Long, OnHeapValueHolder<String>>> iterator = backend.entrySetIterator(); iterator.hasNext(); ) {
+      Map.Entry<Long, OnHeapValueHolder<String>> entry = iterator.next();
+      assertThat(iterated.put(entry.getKey(), entry.getValue()), nullValue());
+    }
+    assertThat(iterated, is(reference));
+  }
+
+  @Test
+  public void testExtremeKeys() {
+    PrimitiveKeyBackend<Long, String> backend = new PrimitiveKeyBackend<>(Long.class, false);
+    long[] keys = { 0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 32, -(1L << 32) };
+    for (long key : keys) {
+      backend.putIfAbsent(key, holder(Long.toString(key)));
+    }
+    for (long key : keys) {
+      assertThat(backend.get(key).get(), is(Long.toString(key)));
+    }
+    assertThat(backend.mappingCount(), is((long) keys.length));
+  }
+
+  @Test
+  public void testIntegerKeysAreHandedBackAsIntegers() {
+    PrimitiveKeyBackend<Integer, String> backend = new PrimitiveKeyBackend<>(Integer.class, false);
+    backend.putIfAbsent(-7, holder("a"));
+    backend.putIfAbsent(Integer.MAX_VALUE, holder("b"));
+
+    List<Integer> keys = new ArrayList<>();
+    for (Integer key : backend.keySet()) {
+      assertThat(key, instanceOf(Integer.class));
+      keys.add(key);
+    }
+    assertThat(keys, containsInAnyOrder(-7, Integer.MAX_VALUE));
+    assertThat(backend.getEvictionCandidate(new Random(), OnHeapStore.SAMPLE_SIZE, (a, b) -> 0, noAdvice()).getKey(), instanceOf(Integer.class));
+  }
+
+  @Test
+  public void testRemoveAllWithHash() {
+    PrimitiveKeyBackend<Long, String> backend = new PrimitiveKeyBackend<>(Long.class, false);
+    // all three keys share the same Long.hashCode()
+    long first = 5L;
+    long second = (1L << 32) | 4L;
+    long third = (2L << 32) | 7L;
+    backend.putIfAbsent(first, holder("first"));
+    backend.putIfAbsent(second, holder("second"));
+    backend.putIfAbsent(third, holder("third"));
+    for (long i = 0; i < 1000; i++) {
+      backend.putIfAbsent(i + 100, holder("other"));
+    }
+
+    Collection<Map.Entry<Long, OnHeapValueHolder<String>>> removed = backend.removeAllWithHash(Long.hashCode(first));
+
+    Set<Long> removedKeys = new HashSet<>();
+    removed.forEach(entry -> removedKeys.add(entry.getKey()));
+    assertThat(removedKeys, containsInAnyOrder(first, second, third));
+    assertThat(backend.get(first), nullValue());
+    assertThat(backend.get(second), nullValue());
+    assertThat(backend.get(third), nullValue());
+    assertThat(backend.mappingCount(), is(1000L));
+    for (long i = 0; i < 1000; i++) {
+      assertThat(backend.get(i + 100).get(), is("other"));
+    }
+  }
+
+  @Test
+  public void testGetFromComputeFunction() {
+    PrimitiveKeyBackend<Long, String> backend = new PrimitiveKeyBackend<>(Long.class, false);
+    OnHeapValueHolder<String> value = holder("value");
+    backend.putIfAbsent(1L, value);
+
+    backend.compute(1L, (k, v) -> {
+      assertThat(backend.get(k), sameInstance(v));
+      return v;
+    });
+  }
+
+  @Test
+  public void testRecursiveUpdateIsRejected() {
+    PrimitiveKeyBackend<Long, String> backend = new PrimitiveKeyBackend<>(Long.class, false);
+    try {
+      backend.compute(1L, (k, v) -> backend.compute(k, (k2, v2) -> holder("inner")));
+      fail("Expected IllegalStateException");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    assertThat(backend.get(1L), nullValue());
+  }
+
+  @Test
+  public void testFailingComputeLeavesMappingUntouched() {
+    PrimitiveKeyBackend<Long, String> backend = new PrimitiveKeyBackend<>(Long.class, false);
+    OnHeapValueHolder<String> value = holder("value");
+    backend.putIfAbsent(1L, value);
+    try {
+      backend.compute(1L, (k, v) -> {
+        throw new IllegalArgumentException();
+      });
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    assertThat(backend.get(1L), sameInstance(value));
+    assertThat(backend.compute(2L, (k, v) -> holder("other")).get(), is("other"));
+  }
+
+  @Test
+  public void testEvictionAdviceIsHonored() {
+    PrimitiveKeyBackend<Long, String> backend = new PrimitiveKeyBackend<>(Long.class, false);
+    backend.putIfAbsent(1L, new SimpleOnHeapValueHolder<>("vetoed", 0L, true));
+    backend.putIfAbsent(2L, new SimpleOnHeapValueHolder<>("evictable", 0L, false));
+
+    Map.Entry<Long, OnHeapValueHolder<String>> candidate = backend.getEvictionCandidate(new Random(),
+      OnHeapStore.SAMPLE_SIZE, (a, b) -> 0, (key, value) -> value.evictionAdvice());
+    assertThat(candidate.getKey(), is(2L));
+  }
+
+  @Test
+  public void testEmptyBackendHasNoEvictionCandidate() {
+    PrimitiveKeyBackend<Long, String> backend = new PrimitiveKeyBackend<>(Long.class, false);
+    backend.putIfAbsent(1L, holder("value"));
+    backend.remove(1L);
+    assertThat(backend.getEvictionCandidate(new Random(), OnHeapStore.SAMPLE_SIZE, (a, b) -> 0, noAdvice()), nullValue());
+  }
+
+  private static OnHeapValueHolder<String> holder(String value) {
+    return new SimpleOnHeapValueHolder<>(value, 0L, false);
+  }
+}
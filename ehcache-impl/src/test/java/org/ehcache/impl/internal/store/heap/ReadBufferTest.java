@@ -0,0 +1,99 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.heap;
+
+import org.ehcache.impl.internal.store.heap.holders.OnHeapValueHolder;
+import org.ehcache.impl.internal.store.heap.holders.SimpleOnHeapValueHolder;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+public class ReadBufferTest {
+
+  @Test
+  public void testRecordedAccessIsAppliedOnDrain() {
+    ReadBuffer buffer = new ReadBuffer(1);
+    OnHeapValueHolder<String> valueHolder = new SimpleOnHeapValueHolder<>("value", 0L, false);
+
+    buffer.record(valueHolder, 42L);
+    assertThat(valueHolder.lastAccessTime(), is(0L));
+
+    buffer.drain();
+    assertThat(valueHolder.lastAccessTime(), is(42L));
+  }
+
+  @Test
+  public void testAccessesAreAppliedInOrder() {
+    ReadBuffer buffer = new ReadBuffer(1);
+    OnHeapValueHolder<String> valueHolder = new SimpleOnHeapValueHolder<>("value", 0L, false);
+
+    buffer.record(valueHolder, 10L);
+    buffer.record(valueHolder, 20L);
+    buffer.drain();
+
+    assertThat(valueHolder.lastAccessTime(), is(20L));
+  }
+
+  @Test
+  public void testOlderAccessDoesNotMoveTheAccessTimeBackwards() {
+    ReadBuffer buffer = new ReadBuffer(1);
+    OnHeapValueHolder<String> valueHolder = new SimpleOnHeapValueHolder<String>("value", 0L, false) {
+      @Override
+      public void setLastAccessTime(long lastAccessTime) {
+        assertThat(lastAccessTime, greaterThan(lastAccessTime()));
+        super.setLastAccessTime(lastAccessTime);
+      }
+    };
+
+    buffer.record(valueHolder, 20L);
+    buffer.drain();
+    buffer.record(valueHolder, 10L);
+    buffer.drain();
+
+    assertThat(valueHolder.lastAccessTime(), is(20L));
+  }
+
+  @Test
+  public void testFullStripeIsDrainedByRecordingThread() {
+    ReadBuffer buffer = new ReadBuffer(1);
+    OnHeapValueHolder<String> first = new SimpleOnHeapValueHolder<>("first", 0L, false);
+    OnHeapValueHolder<String> last = new SimpleOnHeapValueHolder<>("last", 0L, false);
+
+    buffer.record(first, 1L);
+    for (int i = 1; i < ReadBuffer.STRIPE_CAPACITY; i++) {
+      buffer.record(new SimpleOnHeapValueHolder<>("other", 0L, false), 1L);
+    }
+    assertThat(first.lastAccessTime(), is(0L));
+
+    // dropped, but drains the buffered accesses
+    buffer.record(last, 2L);
+    assertThat(first.lastAccessTime(), is(1L));
+    assertThat(last.lastAccessTime(), is(0L));
+
+    buffer.record(last, 3L);
+    buffer.drain();
+    assertThat(last.lastAccessTime(), is(3L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStripeCountMustBeAPowerOfTwo() {
+    new ReadBuffer(3);
+  }
+}
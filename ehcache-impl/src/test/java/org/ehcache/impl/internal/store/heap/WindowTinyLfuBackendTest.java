@@ -0,0 +1,116 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.heap;
+
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.core.events.NullStoreEventDispatcher;
+import org.ehcache.core.internal.statistics.DefaultStatisticsService;
+import org.ehcache.core.spi.store.Store;
+import org.ehcache.core.store.StoreConfigurationImpl;
+import org.ehcache.impl.config.store.heap.OnHeapEvictionConfiguration;
+import org.ehcache.impl.internal.sizeof.NoopSizeOfEngine;
+import org.ehcache.impl.internal.store.heap.holders.OnHeapValueHolder;
+import org.ehcache.impl.internal.store.heap.holders.SimpleOnHeapValueHolder;
+import org.ehcache.internal.TestTimeSource;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.ehcache.config.Eviction.noAdvice;
+import static org.ehcache.config.builders.ResourcePoolsBuilder.heap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class WindowTinyLfuBackendTest {
+
+  @Test
+  public void testOneHitWondersDoNotFlushHotSet() throws Exception {
+    OnHeapStore<String, String> store = newStore(100);
+
+    for (int i = 0; i < 50; i++) {
+      store.put("hot-" + i, "value");
+    }
+    for (int round = 0; round < 10; round++) {
+      for (int i = 0; i < 50; i++) {
+        store.get("hot-" + i);
+      }
+    }
+    for (int i = 0; i < 1000; i++) {
+      store.put("scan-" + i, "value");
+    }
+
+    for (int i = 0; i < 50; i++) {
+      assertThat(store.get("hot-" + i), notNullValue());
+    }
+  }
+
+  @Test
+  public void testCapacityIsEnforced() throws Exception {
+    OnHeapStore<Integer, String> store = newStore(100);
+    Random random = new Random(42L);
+    for (int i = 0; i < 10_000; i++) {
+      int key = random.nextInt(1000);
+      if (store.get(key) == null) {
+        store.put(key, "value");
+      }
+    }
+
+    int count = 0;
+    Store.Iterator<?> iterator = store.iterator();
+    while (iterator.hasNext()) {
+      iterator.next();
+      count++;
+    }
+    assertThat(count, is(100));
+  }
+
+  @Test
+  public void testRemovedMappingsAreNotCandidates() {
+    WindowTinyLfuBackend<String, String> backend = new WindowTinyLfuBackend<>(false, 16);
+    backend.putIfAbsent("a", new SimpleOnHeapValueHolder<>("a", 0L, false));
+    backend.putIfAbsent("b", new SimpleOnHeapValueHolder<>("b", 0L, false));
+    backend.remove("a");
+    backend.remove("b");
+
+    assertThat(backend.getEvictionCandidate(new Random(), OnHeapStore.SAMPLE_SIZE, (a, b) -> 0, noAdvice()), nullValue());
+  }
+
+  @Test
+  public void testEvictionAdviceIsHonored() {
+    WindowTinyLfuBackend<String, String> backend = new WindowTinyLfuBackend<>(false, 16);
+    backend.putIfAbsent("vetoed", new SimpleOnHeapValueHolder<>("vetoed", 0L, true));
+    backend.putIfAbsent("evictable", new SimpleOnHeapValueHolder<>("evictable", 0L, false));
+
+    Map.Entry<String, OnHeapValueHolder<String>> candidate = backend.getEvictionCandidate(new Random(),
+      OnHeapStore.SAMPLE_SIZE, (a, b) -> 0, (key, value) -> value.evictionAdvice());
+    assertThat(candidate.getKey(), is("evictable"));
+  }
+
+  private static <K> OnHeapStore<K, String> newStore(long entries) {
+    @SuppressWarnings("unchecked")
+    Class<K> keyType = (Class<K>) Object.class;
+    StoreConfigurationImpl<K, String> configuration = new StoreConfigurationImpl<>(keyType, String.class, null,
+      WindowTinyLfuBackendTest.class.getClassLoader(), ExpiryPolicyBuilder.noExpiration(), heap(entries).build(), 1, null, null);
+    return new OnHeapStore<>(configuration, new TestTimeSource(), new NoopSizeOfEngine(),
+      NullStoreEventDispatcher.nullStoreEventDispatcher(), new DefaultStatisticsService(),
+      new OnHeapEvictionConfiguration(OnHeapEvictionConfiguration.Policy.WINDOW_TINY_LFU));
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.heap.holders;
+
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.core.spi.store.Store;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.ehcache.core.spi.store.Store.ValueHolder.NO_EXPIRE;
+import static org.ehcache.impl.internal.store.heap.holders.OnHeapValueHolder.NO_ID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+
+public class OnHeapValueHolderLayoutTest {
+
+  @Test
+  public void testLayoutSelection() {
+    assertThat(OnHeapValueHolderLayout.layoutFor(true, ExpiryPolicy.NO_EXPIRY), is(OnHeapValueHolderLayout.FULL));
+    assertThat(OnHeapValueHolderLayout.layoutFor(true, ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(1))), is(OnHeapValueHolderLayout.FULL));
+    assertThat(OnHeapValueHolderLayout.layoutFor(false, ExpiryPolicy.NO_EXPIRY), is(OnHeapValueHolderLayout.COMPACT));
+    assertThat(OnHeapValueHolderLayout.layoutFor(false, ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(1))), is(OnHeapValueHolderLayout.COMPACT_EXPIRING));
+  }
+
+  @Test
+  public void testCompactHolderHasNoIdExpiryNorSize() {
+    OnHeapValueHolder<String> holder = OnHeapValueHolderLayout.COMPACT.newValueHolder("value", 10L, NO_EXPIRE, true);
+
+    assertThat(holder, instanceOf(CompactOnHeapValueHolder.class));
+    assertThat(holder.get(), is("value"));
+    assertThat(holder.getId(), is(NO_ID));
+    assertThat(holder.creationTime(), is(10L));
+    assertThat(holder.lastAccessTime(), is(10L));
+    assertThat(holder.expirationTime(), is(NO_EXPIRE));
+    assertThat(holder.isExpired(Long.MAX_VALUE), is(false));
+    assertThat(holder.evictionAdvice(), is(true));
+
+    holder.setSize(0L);
+    assertThat(holder.size(), is(0L));
+    try {
+      holder.setSize(42L);
+      fail("Expected UnsupportedOperationException");
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+
+    holder.accessed(20L, ExpiryPolicy.INFINITE);
+    assertThat(holder.lastAccessTime(), is(20L));
+    assertThat(holder.expirationTime(), is(NO_EXPIRE));
+  }
+
+  @Test
+  public void testCompactLayoutFallsBackToExpiringHolders() {
+    OnHeapValueHolder<String> created = OnHeapValueHolderLayout.COMPACT.newValueHolder("value", 10L, 100L, false);
+    assertThat(created, instanceOf(CompactExpiringOnHeapValueHolder.class));
+    assertThat(created.expirationTime(), is(100L));
+
+    Store.ValueHolder<String> expiring = new SimpleOnHeapValueHolder<>(7L, "value", 10L, 100L, false);
+    OnHeapValueHolder<String> copied = OnHeapValueHolderLayout.COMPACT.copyValueHolder(expiring, "value", false, 20L, null);
+    assertThat(copied, instanceOf(CompactExpiringOnHeapValueHolder.Identified.class));
+    assertThat(copied.expirationTime(), is(100L));
+    assertThat(copied.getId(), is(7L));
+  }
+
+  @Test
+  public void testCopyKeepsLowerTierIdentifier() {
+    Store.ValueHolder<String> source = new SimpleOnHeapValueHolder<>(42L, "value", 10L, NO_EXPIRE, false);
+
+    OnHeapValueHolder<String> copy = OnHeapValueHolderLayout.COMPACT.copyValueHolder(source, "copy", true, 20L, null);
+
+    assertThat(copy, instanceOf(CompactOnHeapValueHolder.Identified.class));
+    assertThat(copy.get(), is("copy"));
+    assertThat(copy.getId(), is(42L));
+    assertThat(copy.creationTime(), is(10L));
+    assertThat(copy.lastAccessTime(), is(20L));
+    assertThat(copy.evictionAdvice(), is(true));
+  }
+
+  @Test
+  public void testCopyWithoutIdentifierStaysUnidentified() {
+    Store.ValueHolder<String> source = new SimpleOnHeapValueHolder<>("value", 10L, false);
+
+    assertThat(OnHeapValueHolderLayout.COMPACT.copyValueHolder(source, "value", false, 20L, null).getClass(), is((Object) CompactOnHeapValueHolder.class));
+    assertThat(OnHeapValueHolderLayout.COMPACT_EXPIRING.copyValueHolder(source, "value", false, 20L, null).getClass(), is((Object) CompactExpiringOnHeapValueHolder.class));
+  }
+
+  @Test
+  public void testCompactExpiringHolderTracksExpiry() {
+    OnHeapValueHolder<String> holder = OnHeapValueHolderLayout.COMPACT_EXPIRING.newValueHolder("value", 10L, NO_EXPIRE, false);
+
+    holder.accessed(20L, Duration.ofMillis(30L));
+
+    assertThat(holder.expirationTime(), is(50L));
+    assertThat(holder.isExpired(49L), is(false));
+    assertThat(holder.isExpired(50L), is(true));
+    assertThat(holder.size(), is(0L));
+  }
+
+  @Test
+  public void testFullLayoutIsSized() {
+    OnHeapValueHolder<String> holder = OnHeapValueHolderLayout.FULL.newValueHolder("value", 10L, NO_EXPIRE, false);
+
+    assertThat(holder, instanceOf(SimpleOnHeapValueHolder.class));
+    holder.setSize(42L);
+    assertThat(holder.size(), is(42L));
+  }
+
+  @Test
+  public void testEqualityRequiresSameLayout() {
+    OnHeapValueHolder<String> compact = OnHeapValueHolderLayout.COMPACT.newValueHolder("value", 10L, NO_EXPIRE, false);
+    OnHeapValueHolder<String> full = OnHeapValueHolderLayout.FULL.newValueHolder("value", 10L, NO_EXPIRE, false);
+
+    assertThat(compact.equals(OnHeapValueHolderLayout.COMPACT.newValueHolder("other", 10L, NO_EXPIRE, false)), is(true));
+    assertThat(compact.equals(full), is(false));
+  }
+}
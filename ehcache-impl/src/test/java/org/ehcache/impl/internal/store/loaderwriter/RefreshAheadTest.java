@@ -0,0 +1,151 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.loaderwriter;
+
+import org.ehcache.core.spi.store.Store;
+import org.ehcache.internal.TestTimeSource;
+import org.ehcache.spi.loaderwriter.CacheLoaderWriter;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RefreshAheadTest {
+
+  private Store<String, String> store;
+  private CacheLoaderWriter<String, String> loaderWriter;
+  private ExecutorService executor;
+  private TestTimeSource timeSource;
+  private RefreshAhead<String, String> refreshAhead;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    store = mock(Store.class);
+    loaderWriter = mock(CacheLoaderWriter.class);
+    executor = mock(ExecutorService.class);
+    timeSource = new TestTimeSource(0L);
+    refreshAhead = new RefreshAhead<>(store, loaderWriter, 0.75, timeSource, executor, null);
+  }
+
+  @Test
+  public void testNoRefreshBeforeThreshold() {
+    timeSource.advanceTime(749L);
+    refreshAhead.onHit("key", valueHolder("old", 0L, 1000L));
+
+    verify(executor, never()).execute(any(Runnable.class));
+  }
+
+  @Test
+  public void testNoRefreshOfEternalMapping() {
+    timeSource.advanceTime(100_000L);
+    refreshAhead.onHit("key", valueHolder("old", 0L, Store.ValueHolder.NO_EXPIRE));
+
+    verify(executor, never()).execute(any(Runnable.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testRefreshReplacesUnchangedMapping() throws Exception {
+    when(loaderWriter.load("key")).thenReturn("new");
+    timeSource.advanceTime(750L);
+    refreshAhead.onHit("key", valueHolder("old", 0L, 1000L));
+
+    runScheduledRefresh();
+
+    ArgumentCaptor<BiFunction<String, String, String>> function = ArgumentCaptor.forClass(BiFunction.class);
+    verify(store).computeAndGet(eq("key"), function.capture(), any(), any());
+    assertThat(function.getValue().apply("key", "old"), is("new"));
+    assertThat(function.getValue().apply("key", "concurrent"), is("concurrent"));
+    assertThat(function.getValue().apply("key", null), nullValue());
+  }
+
+  @Test
+  public void testConcurrentReadsAreCoalesced() throws Exception {
+    when(loaderWriter.load("key")).thenReturn("new");
+    timeSource.advanceTime(900L);
+    refreshAhead.onHit("key", valueHolder("old", 0L, 1000L));
+    refreshAhead.onHit("key", valueHolder("old", 0L, 1000L));
+
+    runScheduledRefresh();
+    verify(loaderWriter, times(1)).load("key");
+
+    refreshAhead.onHit("key", valueHolder("old", 0L, 1000L));
+    verify(executor, times(2)).execute(any(Runnable.class));
+  }
+
+  @Test
+  public void testFailedRefreshLeavesMappingUntouched() throws Exception {
+    when(loaderWriter.load("key")).thenThrow(new Exception("boom"));
+    timeSource.advanceTime(800L);
+    refreshAhead.onHit("key", valueHolder("old", 0L, 1000L));
+
+    runScheduledRefresh();
+
+    verify(store, never()).computeAndGet(any(), any(), any(), any());
+    refreshAhead.onHit("key", valueHolder("old", 0L, 1000L));
+    verify(executor, times(2)).execute(any(Runnable.class));
+  }
+
+  @Test
+  public void testRejectedRefreshReleasesKey() {
+    doThrow(new RejectedExecutionException()).when(executor).execute(any(Runnable.class));
+    timeSource.advanceTime(800L);
+    refreshAhead.onHit("key", valueHolder("old", 0L, 1000L));
+    refreshAhead.onHit("key", valueHolder("old", 0L, 1000L));
+
+    verify(executor, times(2)).execute(any(Runnable.class));
+  }
+
+  @Test
+  public void testCloseShutsDownExecutor() {
+    refreshAhead.close();
+
+    verify(executor).shutdownNow();
+  }
+
+  private void runScheduledRefresh() {
+    ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+    verify(executor).execute(refresh.capture());
+    refresh.getValue().run();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Store.ValueHolder<String> valueHolder(String value, long creationTime, long expirationTime) {
+    Store.ValueHolder<String> valueHolder = mock(Store.ValueHolder.class);
+    when(valueHolder.get()).thenReturn(value);
+    when(valueHolder.creationTime()).thenReturn(creationTime);
+    when(valueHolder.expirationTime()).thenReturn(expirationTime);
+    return valueHolder;
+  }
+}
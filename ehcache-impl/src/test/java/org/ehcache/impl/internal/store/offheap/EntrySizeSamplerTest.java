@@ -0,0 +1,71 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.offheap;
+
+import org.ehcache.core.spi.store.Store;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EntrySizeSamplerTest {
+
+  @Test
+  public void testColdMapIsNotSampled() {
+    EntrySizeSampler sampler = new EntrySizeSampler();
+    sampler.sample(backingMap(EntrySizeSampler.WARM_UP_ENTRIES - 1, 100 * (EntrySizeSampler.WARM_UP_ENTRIES - 1)));
+
+    assertThat(sampler.averageEntrySize()).isZero();
+  }
+
+  @Test
+  public void testWarmMapIsSampled() {
+    EntrySizeSampler sampler = new EntrySizeSampler();
+    sampler.sample(backingMap(1000, 64_000));
+    assertThat(sampler.averageEntrySize()).isEqualTo(64);
+
+    sampler.sample(backingMap(0, 0));
+    assertThat(sampler.averageEntrySize()).isEqualTo(64);
+
+    sampler.sample(backingMap(1000, 128_000));
+    assertThat(sampler.averageEntrySize()).isEqualTo(128);
+  }
+
+  @Test
+  public void testProfile() {
+    assertThat(EntrySizeSampler.profile(storeConfig(Long.class, String.class)))
+      .isEqualTo(EntrySizeSampler.profile(storeConfig(Long.class, String.class)))
+      .isNotEqualTo(EntrySizeSampler.profile(storeConfig(String.class, String.class)));
+  }
+
+  private static EhcacheOffHeapBackingMap<?, ?> backingMap(long size, long dataOccupiedMemory) {
+    EhcacheOffHeapBackingMap<?, ?> map = mock(EhcacheOffHeapBackingMap.class);
+    when(map.longSize()).thenReturn(size);
+    when(map.dataOccupiedMemory()).thenReturn(dataOccupiedMemory);
+    return map;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <K, V> Store.Configuration<K, V> storeConfig(Class<K> keyType, Class<V> valueType) {
+    Store.Configuration<K, V> config = mock(Store.Configuration.class);
+    when(config.getKeyType()).thenReturn(keyType);
+    when(config.getValueType()).thenReturn(valueType);
+    return config;
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.internal.store.offheap;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HeuristicConfigurationTest {
+
+  private static final long SIZE = 64L * 1024 * 1024;
+
+  @After
+  public void tearDown() {
+    System.getProperties().remove(OffHeapStoreUtils.PATH_PREFIX + "assumedKeyValueSize");
+  }
+
+  @Test
+  public void testDefaultAssumedKeyValueSize() {
+    assertThat(new HeuristicConfiguration(SIZE).getAssumedKeyValueSize()).isEqualTo(1024);
+  }
+
+  @Test
+  public void testSmallEntriesGetLargerTables() {
+    HeuristicConfiguration small = new HeuristicConfiguration(SIZE, 64);
+    HeuristicConfiguration assumed = new HeuristicConfiguration(SIZE);
+
+    assertThat(small.getAssumedKeyValueSize()).isEqualTo(64);
+    assertThat(small.getInitialSegmentTableSize()).isGreaterThan(assumed.getInitialSegmentTableSize());
+  }
+
+  @Test
+  public void testLargeEntriesGetSmallerTablesAndValidPages() {
+    HeuristicConfiguration large = new HeuristicConfiguration(SIZE, 100 * 1024);
+    HeuristicConfiguration assumed = new HeuristicConfiguration(SIZE);
+
+    assertThat(large.getInitialSegmentTableSize()).isLessThan(assumed.getInitialSegmentTableSize());
+    assertThat(large.getInitialSegmentTableSize()).isPositive();
+    assertThat(large.getSegmentDataPageSize()).isPositive();
+  }
+
+  @Test
+  public void testTinyEntriesAreClamped() {
+    assertThat(new HeuristicConfiguration(SIZE, 1).getAssumedKeyValueSize()).isEqualTo(16);
+  }
+
+  @Test
+  public void testPropertyOverridesObservedSize() {
+    System.setProperty(OffHeapStoreUtils.PATH_PREFIX + "assumedKeyValueSize", "512");
+    assertThat(new HeuristicConfiguration(SIZE, 64).getAssumedKeyValueSize()).isEqualTo(512);
+  }
+}
@@ -19,6 +19,7 @@ package org.ehcache.impl.internal.store.offheap;
 
 import org.ehcache.config.EvictionAdvisor;
 import org.ehcache.config.ResourceType;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
 import org.ehcache.config.units.MemoryUnit;
 import org.ehcache.core.spi.store.Store;
 import org.ehcache.core.internal.statistics.DefaultStatisticsService;
@@ -26,6 +27,7 @@ import org.ehcache.core.store.StoreConfigurationImpl;
 import org.ehcache.expiry.ExpiryPolicy;
 import org.ehcache.impl.internal.events.TestStoreEventDispatcher;
 import org.ehcache.impl.internal.spi.serialization.DefaultSerializationProvider;
+import org.ehcache.core.spi.time.SystemTimeSource;
 import org.ehcache.core.spi.time.TimeSource;
 import org.ehcache.impl.internal.util.UnmatchedResourceType;
 import org.ehcache.impl.internal.store.offheap.portability.AssertingOffHeapValueHolderPortability;
@@ -45,6 +47,7 @@ import static java.util.Collections.EMPTY_LIST;
 import static java.util.Collections.singleton;
 import static org.ehcache.impl.internal.spi.TestServiceProvider.providerContaining;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 
 public class OffHeapStoreTest extends AbstractOffHeapStoreTest {
@@ -122,6 +125,29 @@ public class OffHeapStoreTest extends AbstractOffHeapStoreTest {
     assertRank(provider, 0, ResourceType.Core.OFFHEAP, new UnmatchedResourceType());
   }
 
+  @Test
+  public void testEntrySizeIsSampledWhileTheStoreRuns() throws Exception {
+    SerializationProvider serializationProvider = new DefaultSerializationProvider(null);
+    serializationProvider.start(providerContaining());
+    ClassLoader classLoader = getClass().getClassLoader();
+    Serializer<String> keySerializer = serializationProvider.createKeySerializer(String.class, classLoader);
+    Serializer<String> valueSerializer = serializationProvider.createValueSerializer(String.class, classLoader);
+    StoreConfigurationImpl<String, String> storeConfiguration = new StoreConfigurationImpl<>(String.class, String.class,
+      null, classLoader, ExpiryPolicyBuilder.noExpiration(), null, 0, keySerializer, valueSerializer);
+    EntrySizeSampler entrySizeSampler = new EntrySizeSampler();
+    OffHeapStore<String, String> offHeapStore = new OffHeapStore<>(storeConfiguration, SystemTimeSource.INSTANCE, new TestStoreEventDispatcher<>(),
+      MemoryUnit.MB.toBytes(1), entrySizeSampler, new DefaultStatisticsService());
+    OffHeapStore.Provider.init(offHeapStore);
+    try {
+      for (int i = 0; i < 4 * EntrySizeSampler.WARM_UP_ENTRIES; i++) {
+        offHeapStore.put("key" + i, "value" + i);
+      }
+      assertThat(entrySizeSampler.averageEntrySize(), greaterThan(0));
+    } finally {
+      destroyStore(offHeapStore);
+    }
+  }
+
   private void assertRank(final Store.Provider provider, final int expectedRank, final ResourceType<?>... resources) {
     assertThat(provider.rank(
       new HashSet<>(Arrays.asList(resources)),
@@ -17,10 +17,13 @@
 
 package org.ehcache.impl.internal.store.offheap;
 
+import org.ehcache.impl.compression.DeflateCompressionCodec;
+import org.ehcache.impl.compression.Lz4CompressionCodec;
 import org.ehcache.impl.internal.store.offheap.portability.OffHeapValueHolderPortability;
 import org.ehcache.impl.internal.spi.serialization.DefaultSerializationProvider;
 import org.ehcache.impl.serialization.StringSerializer;
 import org.ehcache.spi.serialization.SerializationProvider;
+import org.ehcache.spi.serialization.SerializerException;
 import org.ehcache.spi.serialization.UnsupportedTypeException;
 import org.junit.Before;
 import org.junit.Test;
@@ -32,10 +35,13 @@ import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 
 import static org.ehcache.impl.internal.spi.TestServiceProvider.providerContaining;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -121,4 +127,38 @@ public class OffHeapValueHolderPortabilityTest {
     verify(writeContext).setLong(OffHeapValueHolderPortability.EXPIRE_TIME_OFFSET, 4L);
   }
 
+  @Test
+  public void testCompressedEncodeDecode() {
+    OffHeapValueHolderPortability<String> portability = new OffHeapValueHolderPortability<>(new StringSerializer(), new Lz4CompressionCodec(), 64);
+    OffHeapValueHolder<String> value = new BasicOffHeapValueHolder<>(-1, String.join("", Collections.nCopies(100, "aValue")), 1L, 2L, 3L);
+
+    ByteBuffer encoded = portability.encode(value);
+    int encodedSize = encoded.remaining();
+    assertThat(encodedSize, lessThan(600 + 40));
+    assertThat(portability.decode(encoded), equalTo(value));
+    assertThat(portability.getUncompressedBytes(), equalTo(600L));
+    assertThat(portability.getStoredBytes(), equalTo(encodedSize - 40L));
+  }
+
+  @Test
+  public void testValuesBelowThresholdAreNotCompressed() {
+    OffHeapValueHolderPortability<String> portability = new OffHeapValueHolderPortability<>(new StringSerializer(), new Lz4CompressionCodec(), 64);
+    ByteBuffer encoded = portability.encode(originalValue);
+
+    assertThat(encoded.getLong(32), equalTo(0L));
+    assertThat(portability.decode(encoded), equalTo(originalValue));
+    assertThat(portability.getStoredBytes(), equalTo(portability.getUncompressedBytes()));
+  }
+
+  @Test
+  public void testDecodingWithAnotherCodecFails() {
+    OffHeapValueHolderPortability<String> lz4 = new OffHeapValueHolderPortability<>(new StringSerializer(), new Lz4CompressionCodec(), 0);
+    OffHeapValueHolderPortability<String> deflate = new OffHeapValueHolderPortability<>(new StringSerializer(), new DeflateCompressionCodec(), 0);
+    OffHeapValueHolder<String> value = new BasicOffHeapValueHolder<>(-1, String.join("", Collections.nCopies(100, "aValue")), 1L, 2L, 3L);
+
+    ByteBuffer encoded = lz4.encode(value);
+    assertThrows(SerializerException.class, () -> deflate.decode(encoded.duplicate()));
+    assertThrows(SerializerException.class, () -> valueHolderPortability.decode(encoded.duplicate()));
+  }
+
 }
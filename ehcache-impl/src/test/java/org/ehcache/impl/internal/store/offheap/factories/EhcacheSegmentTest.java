@@ -39,7 +39,9 @@ import static org.ehcache.impl.internal.spi.TestServiceProvider.providerContaini
 import static org.ehcache.test.MockitoUtil.uncheckedGenericMock;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class EhcacheSegmentTest {
@@ -59,6 +61,16 @@ public class EhcacheSegmentTest {
   }
 
   private EhcacheSegmentFactory.EhcacheSegment<String, String> createTestSegmentWithAdvisorAndListener(final EvictionAdvisor<? super String, ? super String> evictionPredicate, EhcacheSegmentFactory.EhcacheSegment.EvictionListener<String, String> evictionListener) {
+    return createTestSegment(evictionPredicate, evictionListener, 1, full -> {});
+  }
+
+  @SuppressWarnings("unchecked")
+  private EhcacheSegmentFactory.EhcacheSegment<String, String> createTestSegmentWithGrowthListener(int tableSize, EhcacheSegmentFactory.EhcacheSegment.GrowthListener growthListener) {
+    return createTestSegment(Eviction.noAdvice(), mock(EhcacheSegmentFactory.EhcacheSegment.EvictionListener.class), tableSize, growthListener);
+  }
+
+  private EhcacheSegmentFactory.EhcacheSegment<String, String> createTestSegment(final EvictionAdvisor<? super String, ? super String> evictionPredicate, EhcacheSegmentFactory.EhcacheSegment.EvictionListener<String, String> evictionListener,
+                                                                                int tableSize, EhcacheSegmentFactory.EhcacheSegment.GrowthListener growthListener) {
     try {
       HeuristicConfiguration configuration = new HeuristicConfiguration(1024 * 1024);
       SerializationProvider serializationProvider = new DefaultSerializationProvider(null);
@@ -88,7 +100,7 @@ public class EhcacheSegmentTest {
           this.enabled = switchedOn;
         }
       };
-      return new EhcacheSegmentFactory.EhcacheSegment<>(pageSource, storageEngineFactory.newInstance(), 1, wrappedEvictionAdvisor, evictionListener);
+      return new EhcacheSegmentFactory.EhcacheSegment<>(pageSource, storageEngineFactory.newInstance(), tableSize, wrappedEvictionAdvisor, evictionListener, growthListener);
     } catch (UnsupportedTypeException e) {
       throw new AssertionError(e);
     }
@@ -143,4 +155,48 @@ public class EhcacheSegmentTest {
       segment.destroy();
     }
   }
+
+  @Test
+  public void testGrowthFiresEventAtPowersOfTwo() {
+    EhcacheSegmentFactory.EhcacheSegment.GrowthListener growthListener = mock(EhcacheSegmentFactory.EhcacheSegment.GrowthListener.class);
+    EhcacheSegmentFactory.EhcacheSegment<String, String> segment = createTestSegmentWithGrowthListener(1, growthListener);
+    try {
+      for (int i = 0; i < 5; i++) {
+        segment.put("key" + i, "value");
+      }
+      segment.remove("key4");
+      segment.remove("key3");
+      segment.put("key3", "value");
+      verify(growthListener, times(3)).onGrowth(false);
+
+      segment.evict(segment.getEvictionIndex(), false);
+      segment.evict(segment.getEvictionIndex(), false);
+      verify(growthListener).onGrowth(true);
+    } finally {
+      segment.destroy();
+    }
+  }
+
+  @Test
+  public void testTryShrinkTable() {
+    EhcacheSegmentFactory.EhcacheSegment<String, String> segment = createTestSegmentWithGrowthListener(1024, full -> {});
+    try {
+      segment.put("key", "value");
+      long capacity = segment.getTableCapacity();
+
+      segment.writeLock().lock();
+      try {
+        assertThat(segment.tryShrinkTable(), is(false));
+      } finally {
+        segment.writeLock().unlock();
+      }
+      assertThat(segment.getTableCapacity(), is(capacity));
+
+      assertThat(segment.tryShrinkTable(), is(true));
+      assertThat(segment.getTableCapacity(), lessThan(capacity));
+      assertThat(segment.get("key"), is("value"));
+    } finally {
+      segment.destroy();
+    }
+  }
 }
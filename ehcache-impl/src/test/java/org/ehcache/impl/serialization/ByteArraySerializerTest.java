@@ -68,6 +68,22 @@ public class ByteArraySerializerTest {
     assertThat(Arrays.equals(read, bytes), is(true));
   }
 
+  @Test
+  public void testDirectSerializationMatchesSerialize() {
+    ByteArraySerializer serializer = new ByteArraySerializer();
+    long now = System.currentTimeMillis();
+    LOGGER.info("ByteArraySerializer test with seed {}", now);
+    Random random = new Random(now);
+
+    byte[] bytes = new byte[64];
+    random.nextBytes(bytes);
+    ByteBuffer direct = ByteBuffer.allocate(serializer.serializedSize(bytes));
+    serializer.serialize(bytes, direct);
+    assertThat(direct.hasRemaining(), is(false));
+    direct.flip();
+    assertThat(direct, is(serializer.serialize(bytes)));
+  }
+
   @Test(expected = NullPointerException.class)
   public void testReadThrowsOnNullInput() throws ClassNotFoundException {
     new ByteArraySerializer().read(null);
@@ -23,10 +23,20 @@ import org.junit.Test;
 import org.mockito.stubbing.Answer;
 
 import java.io.ObjectStreamClass;
+import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static java.util.stream.Collectors.toSet;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -85,4 +95,45 @@ public class CompactJavaSerializerTest {
 
     assertThat(serializerB.read(serialized), is(object));
   }
+
+  @Test
+  public void testConcurrentSerializationAddsDescriptorsOnce() throws Exception {
+    StateHolder<Integer, ObjectStreamClass> stateMap = new TransientStateHolder<>();
+    StateRepository stateRepository = mock(StateRepository.class);
+    when(stateRepository.getPersistentStateHolder(eq("CompactJavaSerializer-ObjectStreamClassIndex"), eq(Integer.class), eq(ObjectStreamClass.class), any(), any())).thenReturn(stateMap);
+
+    CompactJavaSerializer<Serializable> serializer = new CompactJavaSerializer<>(getClass().getClassLoader());
+    serializer.init(stateRepository);
+
+    Serializable[] objects = { new Date(), new ArrayList<>(Collections.singleton(42)), new HashMap<>(Collections.singletonMap("key", 42L)) };
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<List<ByteBuffer>>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(executor.submit(() -> {
+          List<ByteBuffer> serialized = new ArrayList<>();
+          for (Serializable object : objects) {
+            serialized.add(serializer.serialize(object));
+          }
+          return serialized;
+        }));
+      }
+
+      for (Future<List<ByteBuffer>> future : futures) {
+        List<ByteBuffer> serialized = future.get();
+        for (int i = 0; i < objects.length; i++) {
+          assertThat(serializer.read(serialized.get(i)), is(objects[i]));
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    CompactJavaSerializer<Serializable> reader = new CompactJavaSerializer<>(getClass().getClassLoader());
+    reader.init(stateRepository);
+    assertThat(reader.read(serializer.serialize(objects[2])), is(objects[2]));
+    Set<String> descriptors = stateMap.entrySet().stream().map(e -> e.getValue().getName()).collect(toSet());
+    assertThat(descriptors, hasSize(stateMap.entrySet().size()));
+  }
 }
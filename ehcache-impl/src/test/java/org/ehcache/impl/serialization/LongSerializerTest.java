@@ -21,6 +21,7 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.Random;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -47,6 +48,23 @@ public class LongSerializerTest {
     }
   }
 
+  @Test
+  public void testDirectSerializationMatchesSerialize() {
+    LongSerializer serializer = new LongSerializer();
+    long now = System.currentTimeMillis();
+    LOGGER.info("LongSerializer test with seed {}", now);
+    Random random = new Random(now);
+
+    for (int i = 0; i < 100; i++) {
+      long l = random.nextLong();
+      ByteBuffer direct = ByteBuffer.allocate(serializer.serializedSize(l));
+      serializer.serialize(l, direct);
+      assertThat(direct.hasRemaining(), is(false));
+      direct.flip();
+      assertThat(direct, is(serializer.serialize(l)));
+    }
+  }
+
   @Test(expected = NullPointerException.class)
   public void testReadThrowsOnNullInput() throws ClassNotFoundException {
     new LongSerializer().read(null);
@@ -0,0 +1,79 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.impl.serialization;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class PooledByteArrayOutputStreamTest {
+
+  @Test
+  public void testWrittenBytesAreCopiedOut() {
+    PooledByteArrayOutputStream out = new PooledByteArrayOutputStream();
+    try {
+      byte[] bytes = new byte[PooledByteArrayOutputStream.INITIAL_CAPACITY * 3];
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = (byte) i;
+      }
+      out.write(42);
+      out.write(bytes, 1, bytes.length - 1);
+
+      ByteBuffer written = out.toByteBuffer();
+      assertThat(written.remaining(), is(bytes.length));
+      assertThat(written.get(0), is((byte) 42));
+      assertThat(written.get(bytes.length - 1), is(bytes[bytes.length - 1]));
+    } finally {
+      out.release();
+    }
+  }
+
+  @Test
+  public void testReleasedBufferIsReusedWithoutLeakingContent() {
+    PooledByteArrayOutputStream first = new PooledByteArrayOutputStream();
+    first.write(1);
+    first.write(2);
+    ByteBuffer firstBytes = first.toByteBuffer();
+    first.release();
+
+    PooledByteArrayOutputStream second = new PooledByteArrayOutputStream();
+    try {
+      second.write(3);
+      assertThat(second.toByteBuffer(), is(ByteBuffer.wrap(new byte[] {3})));
+      assertThat(firstBytes, is(ByteBuffer.wrap(new byte[] {1, 2})));
+    } finally {
+      second.release();
+    }
+  }
+
+  @Test
+  public void testNestedStreamsDoNotShareBuffers() {
+    PooledByteArrayOutputStream outer = new PooledByteArrayOutputStream();
+    outer.write(1);
+    PooledByteArrayOutputStream inner = new PooledByteArrayOutputStream();
+    inner.write(2);
+    inner.release();
+    outer.write(3);
+
+    assertThat(outer.toByteBuffer(), is(ByteBuffer.wrap(new byte[] {1, 3})));
+    outer.release();
+  }
+}
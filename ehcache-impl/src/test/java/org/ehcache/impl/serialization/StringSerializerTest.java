@@ -17,6 +17,9 @@
 
 package org.ehcache.impl.serialization;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
 import java.util.Random;
@@ -62,6 +65,14 @@ public class StringSerializerTest {
 
     assertThat(serializer.equals(s, serialized), is(true));
 
+    assertThat(serializer.serializedSize(s), is(serialized.remaining()));
+    ByteBuffer direct = ByteBuffer.allocate(serializer.serializedSize(s) + 2);
+    direct.put((byte) 1);
+    serializer.serialize(s, direct);
+    assertThat(direct.position(), is(direct.limit() - 1));
+    direct.flip().position(1);
+    assertThat(direct, is(serialized));
+
     Random rndm = new Random();
 
     String padded = s + (char) rndm.nextInt();
@@ -80,6 +91,21 @@ public class StringSerializerTest {
     assertThat(serializer.equals(mutated, serialized.asReadOnlyBuffer()), is(false));
   }
 
+  @Test
+  public void testSerialFormIsModifiedUtf8() throws IOException {
+    StringSerializer serializer = new StringSerializer();
+    String string = "eins\0zwei \u00e9\u07ff\u0800\uffff \ud83c\udcb1";
+
+    ByteArrayOutputStream bout = new ByteArrayOutputStream();
+    try (DataOutputStream dout = new DataOutputStream(bout)) {
+      dout.writeUTF(string);
+    }
+    byte[] modifiedUtf8 = bout.toByteArray();
+
+    // skip the length prefix written by writeUTF
+    assertThat(serializer.serialize(string), is(ByteBuffer.wrap(modifiedUtf8, 2, modifiedUtf8.length - 2)));
+  }
+
   @Test
   public void testBackwardsCompatibility() throws UnsupportedEncodingException, ClassNotFoundException {
     StringSerializer serializer = new StringSerializer();
@@ -0,0 +1,58 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.serialization.binary;
+
+/**
+ * Writes and reads the binary form of the instances of a single type.
+ * <p>
+ * Codecs are registered with a {@link BinarySerializer}, either explicitly or through the {@link java.util.ServiceLoader}
+ * mechanism under {@code META-INF/services/org.ehcache.serialization.binary.BinaryCodec}. In the latter case the
+ * implementation must have a public no-argument constructor.
+ * <p>
+ * Implementations must be thread-safe. The binary form of a type must remain readable by later versions of its codec
+ * for as long as persisted or clustered data written with it exists.
+ *
+ * @param <T> the type handled by this codec
+ */
+public interface BinaryCodec<T> {
+
+  /**
+   * Returns the exact type handled by this codec.
+   * <p>
+   * Values are matched to codecs on their runtime class, subtypes need codecs of their own.
+   *
+   * @return the handled type
+   */
+  Class<T> getType();
+
+  /**
+   * Writes the binary form of the given value.
+   *
+   * @param value the value to write, never {@code null}
+   * @param output the output to write to
+   */
+  void write(T value, BinaryOutput output);
+
+  /**
+   * Reads a value from its binary form.
+   *
+   * @param input the input to read from
+   * @return the read value
+   */
+  T read(BinaryInput input);
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.serialization.binary;
+
+import org.ehcache.spi.serialization.SerializerException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The input binary forms are read from by {@link BinaryCodec codecs}.
+ * <p>
+ * Every method mirrors a method of {@link BinaryOutput}. Reading past the end of the binary form throws a
+ * {@link BufferUnderflowException}, which the serializer reports as a {@link SerializerException}.
+ */
+public final class BinaryInput {
+
+  private final BinarySerializer<?> serializer;
+  private final ByteBuffer buffer;
+
+  BinaryInput(BinarySerializer<?> serializer, ByteBuffer buffer) {
+    this.serializer = serializer;
+    this.buffer = buffer;
+  }
+
+  /**
+   * Reads a boolean written by {@link BinaryOutput#writeBoolean(boolean)}.
+   *
+   * @return the read value
+   */
+  public boolean readBoolean() {
+    return buffer.get() != 0;
+  }
+
+  /**
+   * Reads a byte written by {@link BinaryOutput#writeByte(int)}.
+   *
+   * @return the read value
+   */
+  public byte readByte() {
+    return buffer.get();
+  }
+
+  /**
+   * Reads a short written by {@link BinaryOutput#writeShort(int)}.
+   *
+   * @return the read value
+   */
+  public short readShort() {
+    return buffer.getShort();
+  }
+
+  /**
+   * Reads a char written by {@link BinaryOutput#writeChar(char)}.
+   *
+   * @return the read value
+   */
+  public char readChar() {
+    return buffer.getChar();
+  }
+
+  /**
+   * Reads an int written by {@link BinaryOutput#writeInt(int)}.
+   *
+   * @return the read value
+   */
+  public int readInt() {
+    return buffer.getInt();
+  }
+
+  /**
+   * Reads a long written by {@link BinaryOutput#writeLong(long)}.
+   *
+   * @return the read value
+   */
+  public long readLong() {
+    return buffer.getLong();
+  }
+
+  /**
+   * Reads a float written by {@link BinaryOutput#writeFloat(float)}.
+   *
+   * @return the read value
+   */
+  public float readFloat() {
+    return buffer.getFloat();
+  }
+
+  /**
+   * Reads a double written by {@link BinaryOutput#writeDouble(double)}.
+   *
+   * @return the read value
+   */
+  public double readDouble() {
+    return buffer.getDouble();
+  }
+
+  /**
+   * Reads an int written by {@link BinaryOutput#writeVarInt(int)}.
+   *
+   * @return the read value
+   */
+  public int readVarInt() {
+    int zigzag = readUnsignedVarInt();
+    return (zigzag >>> 1) ^ -(zigzag & 1);
+  }
+
+  /**
+   * Reads a long written by {@link BinaryOutput#writeVarLong(long)}.
+   *
+   * @return the read value
+   */
+  public long readVarLong() {
+    long zigzag = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = buffer.get();
+      zigzag |= (long) (b & 0x7f) << shift;
+      if (b >= 0) {
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+      }
+    }
+    throw new SerializerException("Malformed variable length long");
+  }
+
+  /**
+   * Reads a string written by {@link BinaryOutput#writeString(String)}.
+   *
+   * @return the read value
+   */
+  public String readString() {
+    int length = readUnsignedVarInt();
+    if (buffer.hasArray()) {
+      String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), checkLength(length), UTF_8);
+      buffer.position(buffer.position() + length);
+      return value;
+    } else {
+      return new String(readBytes(length), UTF_8);
+    }
+  }
+
+  /**
+   * Reads a byte array written by {@link BinaryOutput#writeBytes(byte[])}.
+   *
+   * @return the read value
+   */
+  public byte[] readBytes() {
+    return readBytes(readUnsignedVarInt());
+  }
+
+  /**
+   * Reads a value written by {@link BinaryOutput#writeObject(Object)}.
+   *
+   * @return the read value, possibly {@code null}
+   * @throws SerializerException if no codec is registered for the written type
+   */
+  public Object readObject() {
+    return serializer.readObject(this);
+  }
+
+  int readUnsignedVarInt() {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      byte b = buffer.get();
+      value |= (b & 0x7f) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new SerializerException("Malformed variable length int");
+  }
+
+  private byte[] readBytes(int length) {
+    byte[] bytes = new byte[checkLength(length)];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private int checkLength(int length) {
+    if (length < 0 || length > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    return length;
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.serialization.binary;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The output binary forms are written to by {@link BinaryCodec codecs}.
+ * <p>
+ * Multi-byte values are written in big-endian order. Variable length integers use seven bits per byte, signed ones
+ * being zigzag encoded first so that small negative values stay small.
+ */
+public final class BinaryOutput {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final BinarySerializer<?> serializer;
+  private byte[] buffer = new byte[INITIAL_CAPACITY];
+  private int count;
+
+  BinaryOutput(BinarySerializer<?> serializer) {
+    this.serializer = serializer;
+  }
+
+  /**
+   * Writes a boolean as a single byte.
+   *
+   * @param value the value to write
+   */
+  public void writeBoolean(boolean value) {
+    writeByte(value ? 1 : 0);
+  }
+
+  /**
+   * Writes the low eight bits of the given value.
+   *
+   * @param value the value to write
+   */
+  public void writeByte(int value) {
+    ensureCapacity(1);
+    buffer[count++] = (byte) value;
+  }
+
+  /**
+   * Writes a short as two bytes.
+   *
+   * @param value the value to write
+   */
+  public void writeShort(int value) {
+    ensureCapacity(2);
+    buffer[count++] = (byte) (value >>> 8);
+    buffer[count++] = (byte) value;
+  }
+
+  /**
+   * Writes a char as two bytes.
+   *
+   * @param value the value to write
+   */
+  public void writeChar(char value) {
+    writeShort(value);
+  }
+
+  /**
+   * Writes an int as four bytes.
+   *
+   * @param value the value to write
+   */
+  public void writeInt(int value) {
+    ensureCapacity(4);
+    buffer[count++] = (byte) (value >>> 24);
+    buffer[count++] = (byte) (value >>> 16);
+    buffer[count++] = (byte) (value >>> 8);
+    buffer[count++] = (byte) value;
+  }
+
+  /**
+   * Writes a long as eight bytes.
+   *
+   * @param value the value to write
+   */
+  public void writeLong(long value) {
+    writeInt((int) (value >>> 32));
+    writeInt((int) value);
+  }
+
+  /**
+   * Writes a float as four bytes.
+   *
+   * @param value the value to write
+   */
+  public void writeFloat(float value) {
+    writeInt(Float.floatToIntBits(value));
+  }
+
+  /**
+   * Writes a double as eight bytes.
+   *
+   * @param value the value to write
+   */
+  public void writeDouble(double value) {
+    writeLong(Double.doubleToLongBits(value));
+  }
+
+  /**
+   * Writes an int using one to five bytes, fewer for values closer to zero.
+   *
+   * @param value the value to write
+   */
+  public void writeVarInt(int value) {
+    writeUnsignedVarInt((value << 1) ^ (value >> 31));
+  }
+
+  /**
+   * Writes a long using one to ten bytes, fewer for values closer to zero.
+   *
+   * @param value the value to write
+   */
+  public void writeVarLong(long value) {
+    long zigzag = (value << 1) ^ (value >> 63);
+    ensureCapacity(10);
+    while ((zigzag & ~0x7fL) != 0) {
+      buffer[count++] = (byte) ((zigzag & 0x7f) | 0x80);
+      zigzag >>>= 7;
+    }
+    buffer[count++] = (byte) zigzag;
+  }
+
+  /**
+   * Writes a non-null string as its length prefixed UTF-8 encoding.
+   *
+   * @param value the value to write
+   */
+  public void writeString(String value) {
+    writeBytes(value.getBytes(UTF_8));
+  }
+
+  /**
+   * Writes a non-null byte array, prefixed by its length.
+   *
+   * @param value the value to write
+   */
+  public void writeBytes(byte[] value) {
+    writeUnsignedVarInt(value.length);
+    ensureCapacity(value.length);
+    System.arraycopy(value, 0, buffer, count, value.length);
+    count += value.length;
+  }
+
+  /**
+   * Writes a possibly {@code null} value of any type handled by the serializer, along with its type.
+   * <p>
+   * This is how codecs write nested, nullable or polymorphic values.
+   *
+   * @param value the value to write
+   * @throws org.ehcache.spi.serialization.SerializerException if no codec is registered for the value's type
+   */
+  public void writeObject(Object value) {
+    serializer.writeObject(this, value);
+  }
+
+  void writeUnsignedVarInt(int value) {
+    ensureCapacity(5);
+    while ((value & ~0x7f) != 0) {
+      buffer[count++] = (byte) ((value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    buffer[count++] = (byte) value;
+  }
+
+  ByteBuffer toByteBuffer() {
+    return ByteBuffer.wrap(buffer, 0, count).slice();
+  }
+
+  private void ensureCapacity(int length) {
+    int minimumCapacity = count + length;
+    if (minimumCapacity < 0) {
+      throw new OutOfMemoryError("Binary form exceeds the maximum array size");
+    } else if (minimumCapacity > buffer.length) {
+      int newCapacity = buffer.length << 1;
+      if (newCapacity - minimumCapacity < 0) {
+        newCapacity = minimumCapacity;
+      }
+      buffer = Arrays.copyOf(buffer, newCapacity);
+    }
+  }
+}
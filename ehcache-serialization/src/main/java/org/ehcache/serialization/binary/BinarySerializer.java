@@ -0,0 +1,284 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.serialization.binary;
+
+import org.ehcache.spi.persistence.StateHolder;
+import org.ehcache.spi.persistence.StateRepository;
+import org.ehcache.spi.serialization.Serializer;
+import org.ehcache.spi.serialization.SerializerException;
+import org.ehcache.spi.serialization.StatefulSerializer;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * A {@link StatefulSerializer} writing values through registered {@link BinaryCodec codecs}, with neither reflection
+ * nor Java serialization involved.
+ * <p>
+ * Each value is written as a variable length type identifier followed by the binary form written by its codec.
+ * The identifiers of the common JDK types ({@code String}, the primitive wrappers and {@code byte[]}) are fixed, while
+ * those of registered types are allocated the first time a value of the type is written, and recorded against the
+ * type name in the {@link StateRepository}. Binary forms therefore remain readable after a restart of a persistent
+ * cache, and by all clients of a clustered cache, as long as they register a codec for the same types.
+ * <p>
+ * When created by the {@link org.ehcache.spi.serialization.SerializationProvider} through the
+ * {@link #BinarySerializer(ClassLoader)} constructor, as happens when configuring this class as a default or cache
+ * serializer, including in XML, the codecs are discovered with the {@link ServiceLoader} of the given class loader.
+ *
+ * @param <T> the type of the instances to serialize
+ */
+public class BinarySerializer<T> implements StatefulSerializer<T> {
+
+  static final String STATE_HOLDER_NAME = "BinarySerializer-TypeIndex";
+  static final int NULL_ID = 0;
+  static final int FIRST_REGISTERED_ID = 32;
+
+  private static final Registration[] BUILTINS = new Registration[BuiltinCodecs.CODECS.size() + 1];
+  static {
+    for (int i = 0; i < BuiltinCodecs.CODECS.size(); i++) {
+      Registration registration = new Registration(BuiltinCodecs.CODECS.get(i));
+      registration.id = i + 1;
+      BUILTINS[registration.id] = registration;
+    }
+  }
+
+  private final Map<Class<?>, Registration> byClass = new HashMap<>();
+  private final Map<String, Registration> byName = new HashMap<>();
+  private volatile Registration[] byId = new Registration[0];
+
+  private final Lock lock = new ReentrantLock();
+  private volatile StateHolder<Integer, String> typeIndex;
+  private int nextId = FIRST_REGISTERED_ID;
+
+  /**
+   * Creates a serializer using the codecs registered as {@link ServiceLoader services} of the given class loader.
+   *
+   * @param classLoader the class loader to discover codecs with
+   *
+   * @see Serializer
+   */
+  public BinarySerializer(ClassLoader classLoader) {
+    this(discoverCodecs(classLoader == null ? BinarySerializer.class.getClassLoader() : classLoader));
+  }
+
+  /**
+   * Creates a serializer using the given codecs.
+   *
+   * @param codecs the codecs of the types to serialize
+   * @throws IllegalArgumentException if two codecs handle the same type, or if a codec handles a built-in type
+   */
+  public BinarySerializer(Iterable<? extends BinaryCodec<?>> codecs) {
+    for (Registration builtin : BUILTINS) {
+      if (builtin != null) {
+        byClass.put(builtin.codec.getType(), builtin);
+      }
+    }
+    for (BinaryCodec<?> codec : codecs) {
+      Registration registration = new Registration(codec);
+      Registration existing = byClass.putIfAbsent(codec.getType(), registration);
+      if (existing != null) {
+        throw new IllegalArgumentException("Duplicate codecs for type " + codec.getType().getName() + ": " + existing.codec + " and " + codec);
+      }
+      byName.put(codec.getType().getName(), registration);
+    }
+  }
+
+  /**
+   * Creates a serializer using the given codec.
+   *
+   * @param codec the codec of the type to serialize
+   * @return a new serializer
+   * @param <T> the serialized type
+   */
+  public static <T> BinarySerializer<T> of(BinaryCodec<? extends T> codec) {
+    return new BinarySerializer<>(singletonList(codec));
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Iterable<? extends BinaryCodec<?>> discoverCodecs(ClassLoader classLoader) {
+    return (Iterable) ServiceLoader.load(BinaryCodec.class, classLoader);
+  }
+
+  @Override
+  public void init(StateRepository stateRepository) {
+    this.typeIndex = stateRepository.getPersistentStateHolder(STATE_HOLDER_NAME, Integer.class, String.class, c -> true, null);
+    lock.lock();
+    try {
+      refreshTypeIndex();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ByteBuffer serialize(T object) throws SerializerException {
+    BinaryOutput output = new BinaryOutput(this);
+    writeObject(output, object);
+    return output.toByteBuffer();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public T read(ByteBuffer binary) throws SerializerException {
+    try {
+      @SuppressWarnings("unchecked")
+      T value = (T) readObject(new BinaryInput(this, binary.duplicate()));
+      return value;
+    } catch (BufferUnderflowException e) {
+      throw new SerializerException("Truncated binary form", e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean equals(T object, ByteBuffer binary) throws SerializerException {
+    return object.equals(read(binary));
+  }
+
+  @SuppressWarnings("unchecked")
+  void writeObject(BinaryOutput output, Object value) {
+    if (value == null) {
+      output.writeUnsignedVarInt(NULL_ID);
+    } else {
+      Registration registration = byClass.get(value.getClass());
+      if (registration == null) {
+        throw new SerializerException("No codec registered for type " + value.getClass().getName());
+      }
+      int id = registration.id;
+      if (id < 0) {
+        id = assignId(registration);
+      }
+      output.writeUnsignedVarInt(id);
+      ((BinaryCodec<Object>) registration.codec).write(value, output);
+    }
+  }
+
+  Object readObject(BinaryInput input) {
+    int id = input.readUnsignedVarInt();
+    if (id == NULL_ID) {
+      return null;
+    } else if (id < BUILTINS.length) {
+      return BUILTINS[id].codec.read(input);
+    } else {
+      Registration[] registrations = byId;
+      int index = id - FIRST_REGISTERED_ID;
+      Registration registration = index >= 0 && index < registrations.length ? registrations[index] : null;
+      if (registration == null) {
+        registration = resolveId(id);
+      }
+      return registration.codec.read(input);
+    }
+  }
+
+  private int assignId(Registration registration) {
+    lock.lock();
+    try {
+      StateHolder<Integer, String> index = checkInitialized();
+      if (registration.id < 0) {
+        // another client may have registered the type already
+        refreshTypeIndex();
+      }
+      String name = registration.codec.getType().getName();
+      while (registration.id < 0) {
+        int id = nextId++;
+        String existing = index.putIfAbsent(id, name);
+        cacheMapping(id, existing == null ? name : existing);
+      }
+      return registration.id;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private Registration resolveId(int id) {
+    lock.lock();
+    try {
+      String name = checkInitialized().get(id);
+      if (name == null) {
+        throw new SerializerException("Unknown type identifier " + id);
+      }
+      Registration registration = cacheMapping(id, name);
+      if (registration == null) {
+        throw new SerializerException("No codec registered for type " + name);
+      }
+      return registration;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void refreshTypeIndex() {
+    for (Map.Entry<Integer, String> entry : checkInitialized().entrySet()) {
+      cacheMapping(entry.getKey(), entry.getValue());
+    }
+  }
+
+  private Registration cacheMapping(int id, String name) {
+    nextId = Math.max(nextId, id + 1);
+    Registration registration = byName.get(name);
+    if (registration != null) {
+      if (registration.id >= 0 && registration.id != id) {
+        throw new AssertionError("Corrupted type index: " + name + " registered as both " + registration.id + " and " + id);
+      }
+      int index = id - FIRST_REGISTERED_ID;
+      Registration[] registrations = byId;
+      if (index >= registrations.length) {
+        registrations = Arrays.copyOf(registrations, index + 1);
+      } else {
+        registrations = registrations.clone();
+      }
+      registrations[index] = registration;
+      byId = registrations;
+      registration.id = id;
+    }
+    return registration;
+  }
+
+  private StateHolder<Integer, String> checkInitialized() {
+    StateHolder<Integer, String> index = typeIndex;
+    if (index == null) {
+      throw new IllegalStateException("BinarySerializer has not been initialized");
+    }
+    return index;
+  }
+
+  private static final class Registration {
+
+    private final BinaryCodec<?> codec;
+    private volatile int id = -1;
+
+    Registration(BinaryCodec<?> codec) {
+      this.codec = codec;
+    }
+  }
+}
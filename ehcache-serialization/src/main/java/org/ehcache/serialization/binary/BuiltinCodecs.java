@@ -0,0 +1,69 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.serialization.binary;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Codecs of the JDK types every {@link BinarySerializer} handles.
+ * <p>
+ * Their type identifiers are fixed by their position in {@link #CODECS}, offset by one as {@code 0} identifies
+ * {@code null}: new built-in codecs can only ever be appended, below {@link BinarySerializer#FIRST_REGISTERED_ID}.
+ */
+final class BuiltinCodecs {
+
+  static final List<BinaryCodec<?>> CODECS = Collections.unmodifiableList(Arrays.<BinaryCodec<?>>asList(
+    codec(String.class, (v, out) -> out.writeString(v), BinaryInput::readString),
+    codec(Integer.class, (v, out) -> out.writeVarInt(v), BinaryInput::readVarInt),
+    codec(Long.class, (v, out) -> out.writeVarLong(v), BinaryInput::readVarLong),
+    codec(Double.class, (v, out) -> out.writeDouble(v), BinaryInput::readDouble),
+    codec(Boolean.class, (v, out) -> out.writeBoolean(v), BinaryInput::readBoolean),
+    codec(byte[].class, (v, out) -> out.writeBytes(v), BinaryInput::readBytes),
+    codec(Float.class, (v, out) -> out.writeFloat(v), BinaryInput::readFloat),
+    codec(Short.class, (v, out) -> out.writeShort(v), BinaryInput::readShort),
+    codec(Byte.class, (v, out) -> out.writeByte(v), BinaryInput::readByte),
+    codec(Character.class, (v, out) -> out.writeChar(v), BinaryInput::readChar)
+  ));
+
+  private BuiltinCodecs() {
+    // no instances
+  }
+
+  private static <T> BinaryCodec<T> codec(Class<T> type, BiConsumer<T, BinaryOutput> writer, Function<BinaryInput, T> reader) {
+    return new BinaryCodec<T>() {
+      @Override
+      public Class<T> getType() {
+        return type;
+      }
+
+      @Override
+      public void write(T value, BinaryOutput output) {
+        writer.accept(value, output);
+      }
+
+      @Override
+      public T read(BinaryInput input) {
+        return reader.apply(input);
+      }
+    };
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.serialization.binary;
+
+import org.ehcache.core.spi.store.TransientStateHolder;
+import org.ehcache.spi.persistence.StateHolder;
+import org.ehcache.spi.persistence.StateRepository;
+import org.ehcache.spi.serialization.SerializerException;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.Predicate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+
+public class BinarySerializerTest {
+
+  @Test
+  public void testBuiltinTypesRoundTrip() throws Exception {
+    BinarySerializer<Object> serializer = new BinarySerializer<>(Collections.emptyList());
+    serializer.init(new TestStateRepository());
+
+    for (Object value : Arrays.asList("eins é🂱", 42, -1, Integer.MIN_VALUE, Long.MAX_VALUE, -3L, 1.5d, true, 2.5f, (short) -7, (byte) 3, 'c')) {
+      assertThat(serializer.read(serializer.serialize(value)), is(value));
+      assertThat(serializer.equals(value, serializer.serialize(value)), is(true));
+    }
+    assertThat((byte[]) serializer.read(serializer.serialize(new byte[] {1, 2, 3})), is(new byte[] {1, 2, 3}));
+  }
+
+  @Test
+  public void testSmallValuesAreCompact() {
+    BinarySerializer<Object> serializer = new BinarySerializer<>(Collections.emptyList());
+    assertThat(serializer.serialize(42).remaining(), is(2));
+    assertThat(serializer.serialize(-2L).remaining(), is(2));
+  }
+
+  @Test
+  public void testRegisteredTypesRoundTrip() throws Exception {
+    BinarySerializer<Segment> serializer = new BinarySerializer<>(Arrays.asList(new Point.Codec(), new Segment.Codec()));
+    serializer.init(new TestStateRepository());
+
+    Segment segment = new Segment(new Point(1, -2, "a"), new Point(3, 4, null));
+    ByteBuffer serialized = serializer.serialize(segment);
+    assertThat(serializer.read(serialized), is(segment));
+    assertThat(serializer.read(serialized), is(segment));
+
+    Segment polymorphic = new Segment(new Point(0, 0, "origin"), "elsewhere");
+    assertThat(serializer.read(serializer.serialize(polymorphic)), is(polymorphic));
+  }
+
+  @Test
+  public void testTypeIdentifiersAreSharedThroughTheStateRepository() throws Exception {
+    TestStateRepository repository = new TestStateRepository();
+
+    BinarySerializer<Object> writer = new BinarySerializer<>(Arrays.asList(new Point.Codec(), new Segment.Codec()));
+    writer.init(repository);
+    ByteBuffer point = writer.serialize(new Point(1, 2, "p"));
+    ByteBuffer segment = writer.serialize(new Segment(new Point(1, 2, "p"), null));
+    assertThat(repository.state.entrySet(), hasSize(2));
+
+    // registration order differs, identifiers must not
+    BinarySerializer<Object> reader = new BinarySerializer<>(Arrays.asList(new Segment.Codec(), new Point.Codec()));
+    reader.init(repository);
+    assertThat(reader.read(point), is(new Point(1, 2, "p")));
+    assertThat(reader.read(segment), is(new Segment(new Point(1, 2, "p"), null)));
+    assertThat(reader.serialize(new Point(1, 2, "p")), is(point));
+    assertThat(repository.state.entrySet(), hasSize(2));
+  }
+
+  @Test
+  public void testTypesRegisteredLaterByAnotherInstanceAreResolved() throws Exception {
+    TestStateRepository repository = new TestStateRepository();
+
+    BinarySerializer<Object> reader = new BinarySerializer<>(Arrays.asList(new Point.Codec(), new Segment.Codec()));
+    reader.init(repository);
+    BinarySerializer<Object> writer = new BinarySerializer<>(Arrays.asList(new Point.Codec(), new Segment.Codec()));
+    writer.init(repository);
+
+    ByteBuffer segment = writer.serialize(new Segment(new Point(5, 6, null), 7L));
+    assertThat(reader.read(segment), is(new Segment(new Point(5, 6, null), 7L)));
+  }
+
+  @Test
+  public void testUnregisteredTypeIsRejected() {
+    BinarySerializer<Object> serializer = BinarySerializer.of(new Point.Codec());
+    serializer.init(new TestStateRepository());
+    assertThrows(SerializerException.class, () -> serializer.serialize(new Segment(new Point(1, 1, null), null)));
+  }
+
+  @Test
+  public void testTypeWithoutLocalCodecIsRejectedOnRead() {
+    TestStateRepository repository = new TestStateRepository();
+    BinarySerializer<Object> writer = new BinarySerializer<>(Arrays.asList(new Point.Codec(), new Segment.Codec()));
+    writer.init(repository);
+    ByteBuffer segment = writer.serialize(new Segment(new Point(1, 1, null), null));
+
+    BinarySerializer<Object> reader = BinarySerializer.of(new Point.Codec());
+    reader.init(repository);
+    assertThrows(SerializerException.class, () -> reader.read(segment));
+  }
+
+  @Test
+  public void testTruncatedBinaryFormIsRejected() {
+    BinarySerializer<Object> serializer = BinarySerializer.of(new Point.Codec());
+    serializer.init(new TestStateRepository());
+    ByteBuffer serialized = serializer.serialize(new Point(1000, 2000, "truncated"));
+    serialized.limit(serialized.limit() - 1);
+    assertThrows(SerializerException.class, () -> serializer.read(serialized));
+  }
+
+  @Test
+  public void testDuplicateCodecsAreRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new BinarySerializer<>(Arrays.asList(new Point.Codec(), new Point.Codec())));
+  }
+
+  @Test
+  public void testCodecsAreDiscoveredAsServices() throws Exception {
+    BinarySerializer<Object> serializer = new BinarySerializer<>(getClass().getClassLoader());
+    serializer.init(new TestStateRepository());
+
+    Segment segment = new Segment(new Point(1, 2, "x"), null);
+    assertThat(serializer.read(serializer.serialize(segment)), is(segment));
+    assertThat(serializer.read(serializer.serialize(null)), nullValue());
+  }
+
+  @Test
+  public void testRegisteredTypesAreCompact() throws Exception {
+    BinarySerializer<Object> serializer = BinarySerializer.of(new Point.Codec());
+    serializer.init(new TestStateRepository());
+    assertThat(serializer.serialize(new Point(1, 2, "p")).remaining(), lessThan(16));
+  }
+
+  static class TestStateRepository implements StateRepository {
+
+    final StateHolder<Integer, String> state = new TransientStateHolder<>();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K extends Serializable, V extends Serializable> StateHolder<K, V> getPersistentStateHolder(String name, Class<K> keyClass, Class<V> valueClass, Predicate<Class<?>> isClassPermitted, ClassLoader classLoader) {
+      assertThat(name, is(BinarySerializer.STATE_HOLDER_NAME));
+      return (StateHolder<K, V>) state;
+    }
+  }
+}
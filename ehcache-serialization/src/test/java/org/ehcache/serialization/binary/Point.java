@@ -0,0 +1,68 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.serialization.binary;
+
+import java.util.Objects;
+
+public final class Point {
+
+  private final int x;
+  private final int y;
+  private final String label;
+
+  public Point(int x, int y, String label) {
+    this.x = x;
+    this.y = y;
+    this.label = label;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o instanceof Point) {
+      Point other = (Point) o;
+      return x == other.x && y == other.y && Objects.equals(label, other.label);
+    } else {
+      return false;
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * x + y) + Objects.hashCode(label);
+  }
+
+  public static class Codec implements BinaryCodec<Point> {
+
+    @Override
+    public Class<Point> getType() {
+      return Point.class;
+    }
+
+    @Override
+    public void write(Point value, BinaryOutput output) {
+      output.writeVarInt(value.x);
+      output.writeVarInt(value.y);
+      output.writeObject(value.label);
+    }
+
+    @Override
+    public Point read(BinaryInput input) {
+      return new Point(input.readVarInt(), input.readVarInt(), (String) input.readObject());
+    }
+  }
+}
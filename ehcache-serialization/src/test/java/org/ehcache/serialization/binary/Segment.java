@@ -0,0 +1,65 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.serialization.binary;
+
+import java.util.Objects;
+
+public final class Segment {
+
+  private final Point from;
+  private final Object to;
+
+  public Segment(Point from, Object to) {
+    this.from = from;
+    this.to = to;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o instanceof Segment) {
+      Segment other = (Segment) o;
+      return from.equals(other.from) && Objects.equals(to, other.to);
+    } else {
+      return false;
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * from.hashCode() + Objects.hashCode(to);
+  }
+
+  public static class Codec implements BinaryCodec<Segment> {
+
+    @Override
+    public Class<Segment> getType() {
+      return Segment.class;
+    }
+
+    @Override
+    public void write(Segment value, BinaryOutput output) {
+      output.writeObject(value.from);
+      output.writeObject(value.to);
+    }
+
+    @Override
+    public Segment read(BinaryInput input) {
+      return new Segment((Point) input.readObject(), input.readObject());
+    }
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.serialization.binary;
+
+import org.ehcache.Cache;
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.xml.XmlConfiguration;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class XmlConfigTest {
+
+  @Test
+  public void testSerializersConfiguredInXml() {
+    XmlConfiguration configuration = new XmlConfiguration(getClass().getResource("/configs/binary-serializer.xml"));
+    try (CacheManager cacheManager = CacheManagerBuilder.newCacheManager(configuration)) {
+      cacheManager.init();
+
+      Cache<Long, Point> points = cacheManager.getCache("points", Long.class, Point.class);
+      for (long i = 0; i < 100; i++) {
+        points.put(i, new Point((int) i, (int) -i, "point-" + i));
+      }
+      for (long i = 0; i < 100; i++) {
+        assertThat(points.get(i), is(new Point((int) i, (int) -i, "point-" + i)));
+      }
+
+      Cache<Long, Segment> segments = cacheManager.getCache("segments", Long.class, Segment.class);
+      Segment segment = new Segment(new Point(1, 2, null), new Point(3, 4, "end"));
+      segments.put(1L, segment);
+      assertThat(segments.get(1L), is(segment));
+    }
+  }
+}
@@ -56,6 +56,8 @@ public interface CacheTemplate {
 
   CacheLoaderWriterType.WriteBehind writeBehind();
 
+  CacheLoaderWriterType.RefreshAhead refreshAhead();
+
   DiskStoreSettingsType diskStoreSettings();
 
   SizeOfEngineLimits heapStoreSettings();
@@ -29,6 +29,7 @@ import org.ehcache.xml.service.DefaultResilienceStrategyConfigurationParser;
 import org.ehcache.xml.service.DefaultSerializerConfigurationParser;
 import org.ehcache.xml.service.DefaultWriteBehindConfigurationParser;
 import org.ehcache.xml.service.OffHeapDiskStoreConfigurationParser;
+import org.ehcache.xml.service.RefreshAheadConfigurationParser;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -52,6 +53,7 @@ public class ServiceConfigurationParser {
     new DefaultResilienceStrategyConfigurationParser(),
     new org.ehcache.xml.service.DefaultSizeOfEngineConfigurationParser(),
     new DefaultWriteBehindConfigurationParser(),
+    new RefreshAheadConfigurationParser(),
     new OffHeapDiskStoreConfigurationParser(),
     new DefaultCacheEventDispatcherConfigurationParser(),
     new DefaultCacheEventListenerConfigurationParser()
@@ -141,6 +141,11 @@ public class CacheSpec implements CacheTemplate {
     return extract(BaseCacheType::getLoaderWriter).map(CacheLoaderWriterType::getWriteBehind).orElse(null);
   }
 
+  @Override
+  public CacheLoaderWriterType.RefreshAhead refreshAhead() {
+    return extract(BaseCacheType::getLoaderWriter).map(CacheLoaderWriterType::getRefreshAhead).orElse(null);
+  }
+
   @Override
   public DiskStoreSettingsType diskStoreSettings() {
     return extract(BaseCacheType::getDiskStoreSettings).orElse(null);
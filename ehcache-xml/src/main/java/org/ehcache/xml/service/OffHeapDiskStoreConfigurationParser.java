@@ -17,12 +17,28 @@
 
 package org.ehcache.xml.service;
 
+import org.ehcache.impl.compression.CompressionCodec;
+import org.ehcache.impl.compression.DeflateCompressionCodec;
+import org.ehcache.impl.compression.Lz4CompressionCodec;
+import org.ehcache.impl.config.store.disk.DiskAccess;
 import org.ehcache.impl.config.store.disk.OffHeapDiskStoreConfiguration;
+import org.ehcache.xml.exceptions.XmlConfigurationException;
 import org.ehcache.xml.model.CacheTemplate;
 import org.ehcache.xml.model.CacheType;
+import org.ehcache.xml.model.CompressionType;
+import org.ehcache.xml.model.DiskAccessType;
 import org.ehcache.xml.model.DiskStoreSettingsType;
+import org.ehcache.xml.model.TimeTypeWithPropSubst;
 
 import java.math.BigInteger;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.ehcache.xml.XmlModel.convertToJavaTemporalUnit;
+import static org.ehcache.xml.XmlModel.convertToXmlTimeUnit;
 
 public class OffHeapDiskStoreConfigurationParser
   extends SimpleCoreServiceConfigurationParser<CacheTemplate, CacheType, DiskStoreSettingsType, DiskStoreSettingsType, OffHeapDiskStoreConfiguration> {
@@ -30,11 +46,108 @@ public class OffHeapDiskStoreConfigurationParser
   public OffHeapDiskStoreConfigurationParser() {
     super(OffHeapDiskStoreConfiguration.class,
       CacheTemplate::diskStoreSettings,
-      config -> new OffHeapDiskStoreConfiguration(config.getThreadPool(), config.getWriterConcurrency().intValue(), config.getDiskSegments().intValue()),
+      config -> {
+        DiskStoreSettingsType.Checkpoint checkpoint = config.getCheckpoint();
+        DiskStoreSettingsType.Compaction compaction = config.getCompaction();
+        return new OffHeapDiskStoreConfiguration(config.getThreadPool(), config.getWriterConcurrency().intValue(), config.getDiskSegments().intValue(),
+          parseCompression(config.getCompression()), config.getCompressionThreshold().intValue(), config.isOpenDuringRecovery(),
+          checkpoint == null ? null : parseInterval(checkpoint.getInterval()),
+          checkpoint == null || checkpoint.getMaxBytes() == null ? Long.MAX_VALUE : checkpoint.getMaxBytes().longValue(),
+          config.getWriteQueueSize().intValue(),
+          compaction == null ? null : parseInterval(compaction.getInterval()),
+          compaction == null || compaction.getMaxBytes() == null ? Long.MAX_VALUE : compaction.getMaxBytes().longValue(),
+          parseDiskAccess(config.getDiskAccess()));
+      },
       CacheType::getDiskStoreSettings, CacheType::setDiskStoreSettings,
       config -> new DiskStoreSettingsType()
         .withThreadPool(config.getThreadPoolAlias())
         .withDiskSegments(BigInteger.valueOf(config.getDiskSegments()))
-        .withWriterConcurrency(BigInteger.valueOf(config.getWriterConcurrency())));
+        .withWriterConcurrency(BigInteger.valueOf(config.getWriterConcurrency()))
+        .withWriteQueueSize(BigInteger.valueOf(config.getWriteQueueSize()))
+        .withCompression(unparseCompression(config.getCompressionCodec()))
+        .withCompressionThreshold(BigInteger.valueOf(config.getCompressionThreshold()))
+        .withOpenDuringRecovery(config.isOpenDuringRecovery())
+        .withCheckpoint(unparseCheckpoint(config))
+        .withCompaction(unparseCompaction(config))
+        .withDiskAccess(unparseDiskAccess(config.getDiskAccess())));
+  }
+
+  private static CompressionCodec parseCompression(CompressionType compression) {
+    switch (compression.value()) {
+      case "none":
+        return null;
+      case "lz4":
+        return new Lz4CompressionCodec();
+      case "deflate":
+        return new DeflateCompressionCodec();
+      default:
+        throw new XmlConfigurationException("Unsupported compression: " + compression.value());
+    }
+  }
+
+  private static CompressionType unparseCompression(CompressionCodec codec) {
+    if (codec == null) {
+      return CompressionType.fromValue("none");
+    } else if (codec.getClass() == Lz4CompressionCodec.class) {
+      return CompressionType.fromValue("lz4");
+    } else if (codec.getClass() == DeflateCompressionCodec.class
+      && ((DeflateCompressionCodec) codec).getLevel() == Deflater.DEFAULT_COMPRESSION) {
+      return CompressionType.fromValue("deflate");
+    } else {
+      throw new XmlConfigurationException("XML translation for compression codec " + codec + " is not supported");
+    }
+  }
+
+  private static DiskAccess parseDiskAccess(DiskAccessType diskAccess) {
+    switch (diskAccess.value()) {
+      case "memory-mapped":
+        return DiskAccess.MEMORY_MAPPED;
+      case "explicit-io":
+        return DiskAccess.EXPLICIT_IO;
+      default:
+        throw new XmlConfigurationException("Unsupported disk access: " + diskAccess.value());
+    }
+  }
+
+  private static DiskAccessType unparseDiskAccess(DiskAccess diskAccess) {
+    switch (diskAccess) {
+      case MEMORY_MAPPED:
+        return DiskAccessType.fromValue("memory-mapped");
+      case EXPLICIT_IO:
+        return DiskAccessType.fromValue("explicit-io");
+      default:
+        throw new XmlConfigurationException("XML translation for disk access " + diskAccess + " is not supported");
+    }
+  }
+
+  private static Duration parseInterval(TimeTypeWithPropSubst interval) {
+    return Duration.of(interval.getValue().longValue(), convertToJavaTemporalUnit(interval.getUnit()));
+  }
+
+  private static TimeTypeWithPropSubst unparseInterval(Duration interval) {
+    TimeUnit unit = interval.toNanos() % MILLISECONDS.toNanos(1) == 0 ? MILLISECONDS : NANOSECONDS;
+    return new TimeTypeWithPropSubst()
+      .withValue(BigInteger.valueOf(unit.convert(interval.toNanos(), NANOSECONDS)))
+      .withUnit(convertToXmlTimeUnit(unit));
+  }
+
+  private static DiskStoreSettingsType.Checkpoint unparseCheckpoint(OffHeapDiskStoreConfiguration config) {
+    Duration interval = config.getCheckpointInterval();
+    if (interval == null) {
+      return null;
+    }
+    return new DiskStoreSettingsType.Checkpoint()
+      .withInterval(unparseInterval(interval))
+      .withMaxBytes(config.getCheckpointMaxBytes() == Long.MAX_VALUE ? null : BigInteger.valueOf(config.getCheckpointMaxBytes()));
+  }
+
+  private static DiskStoreSettingsType.Compaction unparseCompaction(OffHeapDiskStoreConfiguration config) {
+    Duration interval = config.getCompactionInterval();
+    if (interval == null) {
+      return null;
+    }
+    return new DiskStoreSettingsType.Compaction()
+      .withInterval(unparseInterval(interval))
+      .withMaxBytes(config.getCompactionMaxBytes() == Long.MAX_VALUE ? null : BigInteger.valueOf(config.getCompactionMaxBytes()));
   }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.xml.service;
+
+import org.ehcache.impl.config.loaderwriter.RefreshAheadConfiguration;
+import org.ehcache.xml.model.BaseCacheType;
+import org.ehcache.xml.model.CacheLoaderWriterType;
+import org.ehcache.xml.model.CacheTemplate;
+import org.ehcache.xml.model.CacheType;
+
+public class RefreshAheadConfigurationParser
+  extends SimpleCoreServiceConfigurationParser<CacheTemplate, CacheType, CacheLoaderWriterType.RefreshAhead, CacheLoaderWriterType, RefreshAheadConfiguration> {
+
+  public RefreshAheadConfigurationParser() {
+    super(RefreshAheadConfiguration.class,
+      CacheTemplate::refreshAhead,
+      config -> new RefreshAheadConfiguration(config.getFraction(), config.getThreadPool()),
+      BaseCacheType::getLoaderWriter, BaseCacheType::setLoaderWriter,
+      config -> new CacheLoaderWriterType().withRefreshAhead(new CacheLoaderWriterType.RefreshAhead()
+        .withFraction(config.getRefreshFraction())
+        .withThreadPool(config.getThreadPoolAlias())),
+      (existing, additional) -> {
+        existing.setRefreshAhead(additional.getRefreshAhead());
+        return existing;
+      });
+  }
+}
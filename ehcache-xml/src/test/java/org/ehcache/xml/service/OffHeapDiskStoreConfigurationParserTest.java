@@ -18,12 +18,17 @@
 package org.ehcache.xml.service;
 
 import org.ehcache.config.CacheConfiguration;
+import org.ehcache.impl.compression.Lz4CompressionCodec;
+import org.ehcache.impl.config.store.disk.DiskAccess;
 import org.ehcache.impl.config.store.disk.OffHeapDiskStoreConfiguration;
 import org.ehcache.xml.XmlConfiguration;
 import org.ehcache.xml.model.CacheType;
 import org.ehcache.xml.model.DiskStoreSettingsType;
+import org.ehcache.xml.model.TimeUnit;
 import org.junit.Test;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.ehcache.config.builders.CacheConfigurationBuilder.newCacheConfigurationBuilder;
 import static org.ehcache.config.builders.ResourcePoolsBuilder.heap;
@@ -42,6 +47,58 @@ public class OffHeapDiskStoreConfigurationParserTest {
     assertThat(diskConfig.getDiskSegments()).isEqualTo(4);
   }
 
+  @Test
+  public void parseServiceConfigurationWithCompression() throws Exception {
+    OffHeapDiskStoreConfiguration configured = parseDiskStoreSettings("/configs/disk-store-compression.xml", "configured");
+    assertThat(configured.getCompressionCodec()).isInstanceOf(Lz4CompressionCodec.class);
+    assertThat(configured.getCompressionThreshold()).isEqualTo(128);
+
+    OffHeapDiskStoreConfiguration defaulted = parseDiskStoreSettings("/configs/disk-store-compression.xml", "defaulted");
+    assertThat(defaulted.getCompressionCodec()).isNull();
+    assertThat(defaulted.getCompressionThreshold()).isEqualTo(OffHeapDiskStoreConfiguration.DEFAULT_COMPRESSION_THRESHOLD);
+  }
+
+  @Test
+  public void parseServiceConfigurationWithOpenDuringRecovery() throws Exception {
+    assertThat(parseDiskStoreSettings("/configs/disk-store-open-during-recovery.xml", "configured").isOpenDuringRecovery()).isTrue();
+    assertThat(parseDiskStoreSettings("/configs/disk-store-open-during-recovery.xml", "defaulted").isOpenDuringRecovery()).isFalse();
+  }
+
+  @Test
+  public void parseServiceConfigurationWithCheckpoint() throws Exception {
+    OffHeapDiskStoreConfiguration configured = parseDiskStoreSettings("/configs/disk-store-checkpoint.xml", "configured");
+    assertThat(configured.getCheckpointInterval()).isEqualTo(Duration.ofSeconds(30));
+    assertThat(configured.getCheckpointMaxBytes()).isEqualTo(1048576L);
+
+    OffHeapDiskStoreConfiguration defaulted = parseDiskStoreSettings("/configs/disk-store-checkpoint.xml", "defaulted");
+    assertThat(defaulted.getCheckpointInterval()).isNull();
+    assertThat(defaulted.getCheckpointMaxBytes()).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  public void parseServiceConfigurationWithWriteQueueSize() throws Exception {
+    assertThat(parseDiskStoreSettings("/configs/disk-store-write-queue-size.xml", "configured").getWriteQueueSize()).isEqualTo(256);
+    assertThat(parseDiskStoreSettings("/configs/disk-store-write-queue-size.xml", "defaulted").getWriteQueueSize())
+      .isEqualTo(OffHeapDiskStoreConfiguration.DEFAULT_WRITE_QUEUE_SIZE);
+  }
+
+  @Test
+  public void parseServiceConfigurationWithDiskAccess() throws Exception {
+    assertThat(parseDiskStoreSettings("/configs/disk-store-disk-access.xml", "configured").getDiskAccess()).isEqualTo(DiskAccess.EXPLICIT_IO);
+    assertThat(parseDiskStoreSettings("/configs/disk-store-disk-access.xml", "defaulted").getDiskAccess()).isEqualTo(DiskAccess.MEMORY_MAPPED);
+  }
+
+  @Test
+  public void parseServiceConfigurationWithCompaction() throws Exception {
+    OffHeapDiskStoreConfiguration configured = parseDiskStoreSettings("/configs/disk-store-compaction.xml", "configured");
+    assertThat(configured.getCompactionInterval()).isEqualTo(Duration.ofMinutes(10));
+    assertThat(configured.getCompactionMaxBytes()).isEqualTo(4194304L);
+
+    OffHeapDiskStoreConfiguration defaulted = parseDiskStoreSettings("/configs/disk-store-compaction.xml", "defaulted");
+    assertThat(defaulted.getCompactionInterval()).isNull();
+    assertThat(defaulted.getCompactionMaxBytes()).isEqualTo(Long.MAX_VALUE);
+  }
+
   @Test
   public void unparseServiceConfiguration() {
     CacheConfiguration<?, ?> cacheConfig =
@@ -52,7 +109,67 @@ public class OffHeapDiskStoreConfigurationParserTest {
     DiskStoreSettingsType diskStoreSettings = cacheType.getDiskStoreSettings();
     assertThat(diskStoreSettings.getThreadPool()).isEqualTo("foo");
     assertThat(diskStoreSettings.getWriterConcurrency()).isEqualTo(4);
+    assertThat(diskStoreSettings.getWriteQueueSize()).isEqualTo(1024);
     assertThat(diskStoreSettings.getDiskSegments()).isEqualTo(8);
+    assertThat(diskStoreSettings.getCompression().value()).isEqualTo("none");
+    assertThat(diskStoreSettings.isOpenDuringRecovery()).isFalse();
+    assertThat(diskStoreSettings.getCheckpoint()).isNull();
+    assertThat(diskStoreSettings.getCompaction()).isNull();
+    assertThat(diskStoreSettings.getDiskAccess().value()).isEqualTo("memory-mapped");
+  }
+
+  @Test
+  public void unparseServiceConfigurationWithCompression() {
+    CacheConfiguration<?, ?> cacheConfig = newCacheConfigurationBuilder(Object.class, Object.class, heap(10))
+      .withService(new OffHeapDiskStoreConfiguration("foo", 4, 8, new Lz4CompressionCodec(), 512)).build();
+    CacheType cacheType = new CacheType();
+    cacheType = new OffHeapDiskStoreConfigurationParser().unparseServiceConfiguration(cacheConfig, cacheType);
+
+    DiskStoreSettingsType diskStoreSettings = cacheType.getDiskStoreSettings();
+    assertThat(diskStoreSettings.getCompression().value()).isEqualTo("lz4");
+    assertThat(diskStoreSettings.getCompressionThreshold()).isEqualTo(512);
+  }
+
+  @Test
+  public void unparseServiceConfigurationWithCheckpoint() {
+    CacheConfiguration<?, ?> cacheConfig = newCacheConfigurationBuilder(Object.class, Object.class, heap(10))
+      .withService(new OffHeapDiskStoreConfiguration("foo", 4, 8, null, 256, false, Duration.ofMinutes(1), 4096)).build();
+    CacheType cacheType = new CacheType();
+    cacheType = new OffHeapDiskStoreConfigurationParser().unparseServiceConfiguration(cacheConfig, cacheType);
+
+    DiskStoreSettingsType.Checkpoint checkpoint = cacheType.getDiskStoreSettings().getCheckpoint();
+    assertThat(checkpoint.getInterval().getValue()).isEqualTo(60000);
+    assertThat(checkpoint.getInterval().getUnit()).isEqualTo(TimeUnit.MILLIS);
+    assertThat(checkpoint.getMaxBytes()).isEqualTo(4096);
+  }
+
+  @Test
+  public void unparseServiceConfigurationWithCompaction() {
+    CacheConfiguration<?, ?> cacheConfig = newCacheConfigurationBuilder(Object.class, Object.class, heap(10))
+      .withService(new OffHeapDiskStoreConfiguration("foo", 4, 8, null, 256, false, null, Long.MAX_VALUE, 1024,
+        Duration.ofMinutes(10), Long.MAX_VALUE)).build();
+    CacheType cacheType = new CacheType();
+    cacheType = new OffHeapDiskStoreConfigurationParser().unparseServiceConfiguration(cacheConfig, cacheType);
+
+    DiskStoreSettingsType.Compaction compaction = cacheType.getDiskStoreSettings().getCompaction();
+    assertThat(compaction.getInterval().getValue()).isEqualTo(600000);
+    assertThat(compaction.getInterval().getUnit()).isEqualTo(TimeUnit.MILLIS);
+    assertThat(compaction.getMaxBytes()).isNull();
+  }
+
+  @Test
+  public void unparseServiceConfigurationWithExplicitIo() {
+    CacheConfiguration<?, ?> cacheConfig = newCacheConfigurationBuilder(Object.class, Object.class, heap(10))
+      .withService(new OffHeapDiskStoreConfiguration("foo", 4, 8, null, 256, false, null, Long.MAX_VALUE, 1024,
+        null, Long.MAX_VALUE, DiskAccess.EXPLICIT_IO)).build();
+    CacheType cacheType = new CacheType();
+    cacheType = new OffHeapDiskStoreConfigurationParser().unparseServiceConfiguration(cacheConfig, cacheType);
+
+    assertThat(cacheType.getDiskStoreSettings().getDiskAccess().value()).isEqualTo("explicit-io");
   }
 
+  private OffHeapDiskStoreConfiguration parseDiskStoreSettings(String resource, String alias) throws Exception {
+    CacheConfiguration<?, ?> cacheConfiguration = new XmlConfiguration(getClass().getResource(resource)).getCacheConfigurations().get(alias);
+    return findSingletonAmongst(OffHeapDiskStoreConfiguration.class, cacheConfiguration.getServiceConfigurations());
+  }
 }
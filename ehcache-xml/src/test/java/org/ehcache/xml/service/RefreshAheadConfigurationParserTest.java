@@ -0,0 +1,69 @@
+/*
+ * Copyright Terracotta, Inc.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ehcache.xml.service;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.impl.config.loaderwriter.RefreshAheadConfiguration;
+import org.ehcache.impl.config.loaderwriter.writebehind.DefaultWriteBehindConfiguration;
+import org.ehcache.xml.XmlConfiguration;
+import org.ehcache.xml.model.CacheLoaderWriterType;
+import org.ehcache.xml.model.CacheType;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.ehcache.config.builders.CacheConfigurationBuilder.newCacheConfigurationBuilder;
+import static org.ehcache.config.builders.ResourcePoolsBuilder.heap;
+import static org.ehcache.core.spi.service.ServiceUtils.findSingletonAmongst;
+
+public class RefreshAheadConfigurationParserTest {
+
+  @Test
+  public void parseServiceConfiguration() throws Exception {
+    CacheConfiguration<?, ?> cacheConfiguration = new XmlConfiguration(getClass().getResource("/configs/refresh-ahead-cache.xml")).getCacheConfigurations().get("bar");
+    RefreshAheadConfiguration refreshAheadConfig =
+      findSingletonAmongst(RefreshAheadConfiguration.class, cacheConfiguration.getServiceConfigurations());
+
+    assertThat(refreshAheadConfig).isNotNull();
+    assertThat(refreshAheadConfig.getRefreshFraction()).isEqualTo(0.75);
+    assertThat(refreshAheadConfig.getThreadPoolAlias()).isEqualTo("refresh-pool");
+  }
+
+  @Test
+  public void parseServiceConfigurationFromTemplateWithWriteBehind() throws Exception {
+    CacheConfiguration<?, ?> cacheConfiguration = new XmlConfiguration(getClass().getResource("/configs/refresh-ahead-cache.xml")).getCacheConfigurations().get("template1");
+    RefreshAheadConfiguration refreshAheadConfig =
+      findSingletonAmongst(RefreshAheadConfiguration.class, cacheConfiguration.getServiceConfigurations());
+
+    assertThat(refreshAheadConfig).isNotNull();
+    assertThat(refreshAheadConfig.getRefreshFraction()).isEqualTo(0.5);
+    assertThat(refreshAheadConfig.getThreadPoolAlias()).isNull();
+    assertThat(findSingletonAmongst(DefaultWriteBehindConfiguration.class, cacheConfiguration.getServiceConfigurations())).isNotNull();
+  }
+
+  @Test
+  public void unparseServiceConfiguration() {
+    CacheConfiguration<?, ?> cacheConfig = newCacheConfigurationBuilder(Object.class, Object.class, heap(10))
+      .withRefreshAhead(0.25, "foo").build();
+    CacheType cacheType = new CacheType();
+    cacheType = new RefreshAheadConfigurationParser().unparseServiceConfiguration(cacheConfig, cacheType);
+
+    CacheLoaderWriterType.RefreshAhead refreshAhead = cacheType.getLoaderWriter().getRefreshAhead();
+    assertThat(refreshAhead.getFraction()).isEqualTo(0.25);
+    assertThat(refreshAhead.getThreadPool()).isEqualTo("foo");
+  }
+}